@@ -119,6 +119,19 @@ public class OrderRepositoryIntegrationTest extends BaseCrudRepositoryIntegratio
     }
   }
 
+  @Test
+  public void testStreamOrdersBySupplyingFacilityAndStatus() {
+    Order order = cloneOrder(orders.get(0));
+    order.setStatus(OrderStatus.ORDERED);
+    repository.save(order);
+    List<Order> receivedOrders = new ArrayList<>();
+    repository.streamOrders(order.getSupplyingFacility(), null, null, OrderStatus.ORDERED,
+        receivedOrders::add);
+
+    Assert.assertEquals(1, receivedOrders.size());
+    Assert.assertEquals(order.getId(), receivedOrders.get(0).getId());
+  }
+
   private Order cloneOrder(Order order) {
     Order clonedOrder = new Order();
     Integer instanceNumber = this.getNextInstanceNumber();
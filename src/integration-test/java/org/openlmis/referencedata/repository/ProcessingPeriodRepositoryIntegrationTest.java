@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -148,4 +149,41 @@ public class ProcessingPeriodRepositoryIntegrationTest
 
     Assert.assertEquals(periods.size(), receivedPeriods.size());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testFindPreviousPeriod() {
+    final int periodsCount = 120;
+    List<ProcessingPeriod> periods = new ArrayList<>();
+    for (int periodNumber = 0; periodNumber < periodsCount; periodNumber++) {
+      periods.add(generatePeriodInstance(
+              PERIOD_NAME + periodNumber,
+              testSchedule,
+              PERIOD_DESCRIPTION + periodNumber,
+              LocalDate.of(2010, 1, 1).plusMonths(periodNumber),
+              LocalDate.of(2010, 1, 31).plusMonths(periodNumber)));
+    }
+    List<ProcessingPeriod> shuffledPeriods = new ArrayList<>(periods);
+    Collections.shuffle(shuffledPeriods);
+    periodRepository.save(shuffledPeriods);
+
+    ProcessingSchedule otherSchedule = generateScheduleInstance("other", "otherCode", "Other");
+    scheduleRepository.save(otherSchedule);
+    periodRepository.save(generatePeriodInstance(PERIOD_NAME, otherSchedule, PERIOD_DESCRIPTION,
+            LocalDate.of(2019, 12, 15), LocalDate.of(2019, 12, 20)));
+
+    ProcessingPeriod currentPeriod = periods.get(periodsCount - 1);
+    ProcessingPeriod previousPeriod =
+            periodRepository.findPreviousPeriod(testSchedule, currentPeriod.getStartDate());
+
+    Assert.assertEquals(periods.get(periodsCount - 2).getId(), previousPeriod.getId());
+  }
+
+  @Test
+  public void testFindPreviousPeriodWhenThereIsNone() {
+    ProcessingPeriod period = periodRepository.save(generatePeriodInstance(
+            PERIOD_NAME, testSchedule, PERIOD_DESCRIPTION,
+            LocalDate.of(2016, 1, 1), LocalDate.of(2016, 2, 1)));
+
+    Assert.assertNull(periodRepository.findPreviousPeriod(testSchedule, period.getStartDate()));
+  }
+}
@@ -1,5 +1,7 @@
 package org.openlmis.referencedata.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -21,6 +23,8 @@ import org.openlmis.requisition.repository.RequisitionLineRepository;
 import org.openlmis.requisition.repository.RequisitionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -62,6 +66,9 @@ public class RequisitionLineRepositoryIntegrationTest
   @Autowired
   private ProductCategoryRepository productCategoryRepository;
 
+  @PersistenceContext
+  private EntityManager entityManager;
+
   private List<RequisitionLine> requisitionLines;
 
   @Before
@@ -129,6 +136,89 @@ public class RequisitionLineRepositoryIntegrationTest
     }
   }
 
+  @Test
+  public void testSearchRequisitionLinesByFacilityProgramAndPeriod() {
+    RequisitionLine requisitionLine = cloneRequisitionLine(requisitionLines.get(0));
+    Requisition requisition = requisitionLine.getRequisition();
+    List<RequisitionLine> receivedRequisitionLines = repository.searchRequisitionLines(
+            requisition.getFacility(),
+            requisition.getProgram(),
+            requisition.getProcessingPeriod());
+
+    Assert.assertEquals(2, receivedRequisitionLines.size());
+    for (RequisitionLine receivedRequisitionLine : receivedRequisitionLines) {
+      Assert.assertEquals(
+              requisition.getId(),
+              receivedRequisitionLine.getRequisition().getId());
+      Assert.assertEquals(
+              requisitionLine.getProduct().getId(),
+              receivedRequisitionLine.getProduct().getId());
+    }
+  }
+
+  @Test
+  public void testSearchRequisitionLinesByFacilityProgramAndPeriodSkipsEmergencyRequisitions() {
+    Requisition requisition = requisitionLines.get(0).getRequisition();
+    Requisition emergencyRequisition = new Requisition();
+    emergencyRequisition.setProgram(requisition.getProgram());
+    emergencyRequisition.setFacility(requisition.getFacility());
+    emergencyRequisition.setProcessingPeriod(requisition.getProcessingPeriod());
+    emergencyRequisition.setStatus(RequisitionStatus.INITIATED);
+    emergencyRequisition.setEmergency(true);
+    requisitionRepository.save(emergencyRequisition);
+    RequisitionLine emergencyLine = generateInstance();
+    emergencyLine.setRequisition(emergencyRequisition);
+    repository.save(emergencyLine);
+
+    List<RequisitionLine> receivedRequisitionLines = repository.searchRequisitionLines(
+            requisition.getFacility(),
+            requisition.getProgram(),
+            requisition.getProcessingPeriod());
+
+    Assert.assertEquals(1, receivedRequisitionLines.size());
+    Assert.assertEquals(requisition.getId(),
+        receivedRequisitionLines.get(0).getRequisition().getId());
+  }
+
+  @Test
+  public void testSearchRequisitionLinesByFacilityProgramAndPeriodWithConstantStatementCount() {
+    final int linesCount = 50;
+    Requisition requisition = requisitionLines.get(0).getRequisition();
+    long singleLineStatements = countSearchStatements(requisition, 1);
+
+    for (int lineNumber = 1; lineNumber < linesCount; lineNumber++) {
+      RequisitionLine requisitionLine = generateInstance();
+      requisitionLine.setRequisition(requisition);
+      repository.save(requisitionLine);
+    }
+
+    Assert.assertEquals(singleLineStatements, countSearchStatements(requisition, linesCount));
+  }
+
+  private long countSearchStatements(Requisition requisition, int expectedLinesCount) {
+    entityManager.flush();
+    entityManager.clear();
+
+    Statistics statistics = entityManager.getEntityManagerFactory()
+        .unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    try {
+      statistics.clear();
+      List<RequisitionLine> receivedRequisitionLines = repository.searchRequisitionLines(
+              requisition.getFacility(),
+              requisition.getProgram(),
+              requisition.getProcessingPeriod());
+      for (RequisitionLine receivedRequisitionLine : receivedRequisitionLines) {
+        Assert.assertNotNull(receivedRequisitionLine.getProduct().getProductCategory().getCode());
+      }
+
+      Assert.assertEquals(expectedLinesCount, receivedRequisitionLines.size());
+      return statistics.getPrepareStatementCount();
+    } finally {
+      statistics.setStatisticsEnabled(false);
+    }
+  }
+
   private RequisitionLine cloneRequisitionLine(RequisitionLine requisitionLine) {
     RequisitionLine clonedRequisitionLine = new RequisitionLine();
     clonedRequisitionLine.setProduct(requisitionLine.getProduct());
@@ -1,5 +1,7 @@
 package org.openlmis.referencedata.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -15,12 +17,18 @@ import org.openlmis.referencedata.domain.ProcessingSchedule;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionStatus;
 import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.requisition.utils.RequisitionSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 @SuppressWarnings("PMD.TooManyMethods")
 public class RequisitionRepositoryIntegrationTest
@@ -53,6 +61,9 @@ public class RequisitionRepositoryIntegrationTest
   @Autowired
   private FacilityTypeRepository facilityTypeRepository;
 
+  @PersistenceContext
+  private EntityManager entityManager;
+
   private List<Requisition> requisitions;
 
   RequisitionRepository getRepository() {
@@ -157,6 +168,173 @@ public class RequisitionRepositoryIntegrationTest
     Assert.assertEquals(5, receivedRequisitions.size());
   }
 
+  @Test
+  public void testSearchRequisitionsPageByPage() {
+    List<UUID> receivedIds = new ArrayList<>();
+    List<Requisition> page = repository.searchRequisitions(
+        null, null, null, null, null, null, null, null, null, 2, true);
+    int pages = 0;
+    while (!page.isEmpty()) {
+      pages++;
+      Assert.assertTrue(page.size() <= 2);
+      for (Requisition receivedRequisition : page) {
+        receivedIds.add(receivedRequisition.getId());
+      }
+      Requisition last = page.get(page.size() - 1);
+      page = repository.searchRequisitions(null, null, null, null, null, null, null,
+          last.getCreatedDate(), last.getId(), 2, true);
+    }
+
+    Assert.assertEquals(3, pages);
+    Assert.assertEquals(5, receivedIds.size());
+    for (Requisition requisition : requisitions) {
+      Assert.assertTrue(receivedIds.contains(requisition.getId()));
+    }
+  }
+
+  @Test
+  public void testSearchRequisitionsWithoutLines() {
+    Requisition requisition = requisitions.get(0);
+    requisition.setSupervisoryNode(null);
+    repository.save(requisition);
+
+    List<Requisition> receivedRequisitions = repository.searchRequisitions(
+        requisition.getFacility(), null, null, null, null, null, null, null, null, 10, false);
+
+    Assert.assertEquals(1, receivedRequisitions.size());
+    Requisition receivedRequisition = receivedRequisitions.get(0);
+    Assert.assertNotSame(requisition, receivedRequisition);
+    Assert.assertEquals(requisition.getId(), receivedRequisition.getId());
+    Assert.assertEquals(requisition.getProgram().getId(),
+        receivedRequisition.getProgram().getId());
+    Assert.assertEquals(requisition.getStatus(), receivedRequisition.getStatus());
+    Assert.assertNull(receivedRequisition.getSupervisoryNode());
+    Assert.assertNull(receivedRequisition.getRequisitionLines());
+  }
+
+  @Test
+  public void testSearchRequisitionsWithoutLinesWithConstantStatementCount() {
+    Requisition requisition = requisitions.get(0);
+    long statementsForOne = countSearchStatementsWithoutLines(requisition.getProgram(), 1);
+
+    Facility facility = requisition.getFacility();
+    for (int i = 0; i < 10; i++) {
+      Requisition another = new Requisition();
+      another.setProgram(requisition.getProgram());
+      another.setFacility(generateFacility(facility.getGeographicZone(), facility.getType()));
+      another.setProcessingPeriod(requisition.getProcessingPeriod());
+      another.setSupervisoryNode(requisition.getSupervisoryNode());
+      another.setStatus(RequisitionStatus.INITIATED);
+      repository.save(another);
+    }
+
+    Assert.assertEquals(statementsForOne,
+        countSearchStatementsWithoutLines(requisition.getProgram(), 11));
+  }
+
+  @Test
+  public void testSearchRequisitionSummaries() {
+    List<RequisitionSummary> firstPage = repository.searchRequisitionSummaries(
+        null, null, null, null, null, null, RequisitionStatus.INITIATED, null, null, 3);
+    RequisitionSummary last = firstPage.get(firstPage.size() - 1);
+    List<RequisitionSummary> secondPage = repository.searchRequisitionSummaries(
+        null, null, null, null, null, null, RequisitionStatus.INITIATED,
+        last.getCreatedDate(), last.getId(), null);
+
+    Assert.assertEquals(3, firstPage.size());
+    Assert.assertEquals(2, secondPage.size());
+    for (RequisitionSummary summary : secondPage) {
+      Requisition requisition = repository.findOne(summary.getId());
+      Assert.assertEquals(requisition.getFacility().getCode(), summary.getFacilityCode());
+      Assert.assertEquals(requisition.getProgram().getId(), summary.getProgramId());
+      Assert.assertEquals(requisition.getProcessingPeriod().getId(),
+          summary.getProcessingPeriodId());
+      Assert.assertEquals(RequisitionStatus.INITIATED, summary.getStatus());
+      Assert.assertEquals(Long.valueOf(0), summary.getRequisitionLinesCount());
+    }
+  }
+
+  @Test
+  public void testSearchRequisitionSummariesBySupervisoryNodesAndStatus() {
+    requisitions.get(0).setStatus(RequisitionStatus.AUTHORIZED);
+    repository.save(requisitions.get(0));
+    List<UUID> supervisoryNodeIds = Arrays.asList(
+        requisitions.get(0).getSupervisoryNode().getId(),
+        requisitions.get(1).getSupervisoryNode().getId());
+
+    List<RequisitionSummary> summaries = repository.searchRequisitionSummaries(
+        supervisoryNodeIds, RequisitionStatus.AUTHORIZED, new PageRequest(0, 10));
+
+    Assert.assertEquals(1, summaries.size());
+    Assert.assertEquals(requisitions.get(0).getId(), summaries.get(0).getId());
+  }
+
+  @Test
+  public void testSearchRequisitionsBySupervisoryNodesAndStatus() {
+    for (int i = 0; i < 3; i++) {
+      requisitions.get(i).setStatus(RequisitionStatus.AUTHORIZED);
+      repository.save(requisitions.get(i));
+    }
+    List<UUID> supervisoryNodeIds = Arrays.asList(
+        requisitions.get(0).getSupervisoryNode().getId(),
+        requisitions.get(1).getSupervisoryNode().getId(),
+        requisitions.get(3).getSupervisoryNode().getId());
+
+    List<Requisition> receivedRequisitions = repository.searchRequisitions(
+        supervisoryNodeIds, RequisitionStatus.AUTHORIZED, null);
+
+    Assert.assertEquals(2, receivedRequisitions.size());
+    for (Requisition receivedRequisition : receivedRequisitions) {
+      Assert.assertEquals(RequisitionStatus.AUTHORIZED, receivedRequisition.getStatus());
+      Assert.assertTrue(
+          supervisoryNodeIds.contains(receivedRequisition.getSupervisoryNode().getId()));
+    }
+
+    List<Requisition> firstPage = repository.searchRequisitions(
+        supervisoryNodeIds, RequisitionStatus.AUTHORIZED, new PageRequest(0, 1));
+    List<Requisition> secondPage = repository.searchRequisitions(
+        supervisoryNodeIds, RequisitionStatus.AUTHORIZED, new PageRequest(1, 1));
+    List<Requisition> thirdPage = repository.searchRequisitions(
+        supervisoryNodeIds, RequisitionStatus.AUTHORIZED, new PageRequest(2, 1));
+
+    Assert.assertEquals(1, firstPage.size());
+    Assert.assertEquals(1, secondPage.size());
+    Assert.assertNotEquals(firstPage.get(0).getId(), secondPage.get(0).getId());
+    Assert.assertTrue(thirdPage.isEmpty());
+  }
+
+  @Test
+  public void testSearchRequisitionsByEmptySupervisoryNodes() {
+    List<Requisition> receivedRequisitions = repository.searchRequisitions(
+        new ArrayList<>(), RequisitionStatus.INITIATED, null);
+
+    Assert.assertTrue(receivedRequisitions.isEmpty());
+  }
+
+  private long countSearchStatementsWithoutLines(Program program, int expectedCount) {
+    entityManager.flush();
+    entityManager.clear();
+
+    Statistics statistics = entityManager.getEntityManagerFactory()
+        .unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    try {
+      statistics.clear();
+      List<Requisition> receivedRequisitions = repository.searchRequisitions(
+          null, program, null, null, null, null, null, null, null, null, false);
+      for (Requisition receivedRequisition : receivedRequisitions) {
+        Assert.assertNotNull(receivedRequisition.getFacility().getCode());
+        Assert.assertNotNull(receivedRequisition.getProcessingPeriod().getName());
+        Assert.assertNotNull(receivedRequisition.getSupervisoryNode().getCode());
+      }
+
+      Assert.assertEquals(expectedCount, receivedRequisitions.size());
+      return statistics.getPrepareStatementCount();
+    } finally {
+      statistics.setStatisticsEnabled(false);
+    }
+  }
+
   private SupervisoryNode generateSupervisoryNode() {
     SupervisoryNode supervisoryNode = new SupervisoryNode();
     supervisoryNode.setCode("code" + this.getNextInstanceNumber());
@@ -194,9 +372,11 @@ public class RequisitionRepositoryIntegrationTest
   }
 
   private Facility generateFacility() {
+    return generateFacility(generateGeographicZone(), generateFacilityType());
+  }
+
+  private Facility generateFacility(GeographicZone geographicZone, FacilityType facilityType) {
     Integer instanceNumber = this.getNextInstanceNumber();
-    GeographicZone geographicZone = generateGeographicZone();
-    FacilityType facilityType = generateFacilityType();
     Facility facility = new Facility();
     facility.setType(facilityType);
     facility.setGeographicZone(geographicZone);
@@ -1,19 +1,39 @@
 package org.openlmis.referencedata.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Test;
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
 import org.openlmis.hierarchyandsupervision.repository.SupervisoryNodeRepository;
 import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.FacilityType;
 import org.openlmis.referencedata.domain.GeographicLevel;
 import org.openlmis.referencedata.domain.GeographicZone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.repository.CrudRepository;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public class SupervisoryNodeRepositoryIntegrationTest extends 
     BaseCrudRepositoryIntegrationTest<SupervisoryNode> {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(SupervisoryNodeRepositoryIntegrationTest.class);
+
+  private static final int[] BENCHMARK_TREE_LEVEL_SIZES = {1, 10, 100, 500, 1389};
+  private static final int BENCHMARK_TREE_SIZE = 2000;
+
   @Autowired
   private SupervisoryNodeRepository supervisoryNodeRepository;
 
@@ -29,6 +49,9 @@ public class SupervisoryNodeRepositoryIntegrationTest extends
   @Autowired
   private GeographicLevelRepository geographicLevelRepository;
 
+  @PersistenceContext
+  private EntityManager entityManager;
+
   private GeographicZone geographicZone = new GeographicZone();
   private GeographicLevel geographicLevel = new GeographicLevel();
   private Facility facility = new Facility();
@@ -72,4 +95,91 @@ public class SupervisoryNodeRepositoryIntegrationTest extends
     node.setFacility(facility);
     return node;
   }
+
+  @Test
+  public void testFindSubtreeIds() {
+    SupervisoryNode root = supervisoryNodeRepository.save(generateInstance());
+    SupervisoryNode child = generateChildNode(root);
+    SupervisoryNode grandChild = generateChildNode(child);
+    SupervisoryNode otherChild = generateChildNode(root);
+    SupervisoryNode otherRoot = supervisoryNodeRepository.save(generateInstance());
+    generateChildNode(otherRoot);
+
+    Set<UUID> rootSubtree = supervisoryNodeRepository.findSubtreeIds(root.getId());
+    Set<UUID> childSubtree = supervisoryNodeRepository.findSubtreeIds(child.getId());
+    Set<UUID> leafSubtree = supervisoryNodeRepository.findSubtreeIds(grandChild.getId());
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(root.getId(), child.getId(),
+        grandChild.getId(), otherChild.getId())), rootSubtree);
+    Assert.assertEquals(new HashSet<>(Arrays.asList(child.getId(), grandChild.getId())),
+        childSubtree);
+    Assert.assertEquals(new HashSet<>(Arrays.asList(grandChild.getId())), leafSubtree);
+    Assert.assertTrue(supervisoryNodeRepository.findSubtreeIds(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  public void testFindSubtreeIdsOfLargeTreeWithSingleQuery() {
+    SupervisoryNode root = generateBenchmarkTree();
+    entityManager.flush();
+    entityManager.clear();
+
+    Statistics statistics = entityManager.getEntityManagerFactory()
+        .unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    try {
+      statistics.clear();
+      long start = System.nanoTime();
+      Set<UUID> walkedIds = new HashSet<>();
+      collectSubtreeIds(supervisoryNodeRepository.findOne(root.getId()), walkedIds);
+      long walkMillis = (System.nanoTime() - start) / 1_000_000;
+      long walkStatements = statistics.getPrepareStatementCount();
+      LOGGER.info("Resolving subtree of " + BENCHMARK_TREE_SIZE + " supervisory nodes took "
+          + walkStatements + " statements (" + walkMillis + " ms) walking child nodes");
+      entityManager.clear();
+
+      statistics.clear();
+      start = System.nanoTime();
+      Set<UUID> subtreeIds = supervisoryNodeRepository.findSubtreeIds(root.getId());
+      long queryMillis = (System.nanoTime() - start) / 1_000_000;
+      long queryStatements = statistics.getPrepareStatementCount();
+      LOGGER.info("Resolving subtree of " + BENCHMARK_TREE_SIZE + " supervisory nodes took "
+          + queryStatements + " statement (" + queryMillis + " ms) with recursive query");
+
+      Assert.assertEquals(BENCHMARK_TREE_SIZE, walkedIds.size());
+      Assert.assertEquals(walkedIds, subtreeIds);
+      Assert.assertEquals(1, queryStatements);
+      Assert.assertTrue(walkStatements > BENCHMARK_TREE_LEVEL_SIZES.length);
+    } finally {
+      statistics.setStatisticsEnabled(false);
+    }
+  }
+
+  private SupervisoryNode generateChildNode(SupervisoryNode parent) {
+    SupervisoryNode node = generateInstance();
+    node.setParentNode(parent);
+    return supervisoryNodeRepository.save(node);
+  }
+
+  private SupervisoryNode generateBenchmarkTree() {
+    List<SupervisoryNode> parents = new ArrayList<>();
+    parents.add(supervisoryNodeRepository.save(generateInstance()));
+    SupervisoryNode root = parents.get(0);
+
+    for (int level = 1; level < BENCHMARK_TREE_LEVEL_SIZES.length; level++) {
+      List<SupervisoryNode> nodes = new ArrayList<>();
+      for (int i = 0; i < BENCHMARK_TREE_LEVEL_SIZES[level]; i++) {
+        nodes.add(generateChildNode(parents.get(i % parents.size())));
+      }
+      parents = nodes;
+    }
+    return root;
+  }
+
+  private void collectSubtreeIds(SupervisoryNode node, Set<UUID> ids) {
+    ids.add(node.getId());
+    for (SupervisoryNode childNode : node.getChildNodes()) {
+      collectSubtreeIds(childNode, ids);
+    }
+  }
 }
@@ -16,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.repository.CrudRepository;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -105,6 +106,27 @@ public class SupplyLineRepositoryIntegrationTest
     }
   }
 
+  @Test
+  public void testSearchSupplyLinesByProgramIds() {
+    SupplyLine supplyLine = cloneSupplyLine(supplyLines.get(0));
+    List<SupplyLine> receivedSupplyLines = repository.searchSupplyLines(Arrays.asList(
+            supplyLine.getProgram().getId(), supplyLines.get(1).getProgram().getId()));
+
+    Assert.assertEquals(3, receivedSupplyLines.size());
+    for (SupplyLine receivedSupplyLine : receivedSupplyLines) {
+      Assert.assertNotEquals(
+              supplyLines.get(2).getProgram().getId(),
+              receivedSupplyLine.getProgram().getId());
+    }
+  }
+
+  @Test
+  public void testSearchSupplyLinesByEmptyProgramIds() {
+    List<SupplyLine> receivedSupplyLines = repository.searchSupplyLines(new ArrayList<>());
+
+    Assert.assertEquals(0, receivedSupplyLines.size());
+  }
+
   private SupplyLine cloneSupplyLine(SupplyLine supplyLine) {
     SupplyLine clonedSupplyLine = new SupplyLine();
     clonedSupplyLine.setProgram(supplyLine.getProgram());
@@ -0,0 +1,31 @@
+package org.openlmis.referencedata.web;
+
+import guru.nidi.ramltester.junit.RamlMatchers;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CacheControllerIntegrationTest extends BaseWebIntegrationTest {
+
+  private static final String RESOURCE_URL = "/api/caches";
+  private static final String ACCESS_TOKEN = "access_token";
+
+  @Test
+  public void shouldReturnStatisticsOfAllCaches() {
+    List<String> cacheNames = restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .when()
+        .get(RESOURCE_URL)
+        .then()
+        .statusCode(200)
+        .extract().jsonPath().getList("name");
+
+    assertTrue(cacheNames.contains("requisitionTemplates"));
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+}
@@ -1,5 +1,6 @@
 package org.openlmis.referencedata.web;
 
+import com.jayway.restassured.RestAssured;
 import guru.nidi.ramltester.junit.RamlMatchers;
 import org.junit.Before;
 import org.junit.Test;
@@ -38,6 +39,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.UUID;
 
@@ -327,6 +329,36 @@ public class FacilityControllerIntegrationTest extends BaseWebIntegrationTest {
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  @Test
+  public void shouldGetFacilityWithSupportedProgramsAfterItWasLoadedByAnotherRequest() {
+    facility2.setSupportedPrograms(Collections.singletonList(program));
+    facilityRepository.save(facility2);
+
+    // facility2 does not supply any order, so its programs are not read by this request;
+    // the RAML-checking client keeps query parameters of earlier requests, so a plain one is used
+    RestAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .pathParam("id", facility2.getId())
+        .when()
+        .get("/api/facilities/{id}/orders")
+        .then()
+        .statusCode(200);
+
+    Facility response = restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .pathParam("id", facility2.getId())
+        .when()
+        .get(ID_URL)
+        .then()
+        .statusCode(200)
+        .extract().as(Facility.class);
+
+    assertEquals(1, response.getSupportedPrograms().size());
+    assertEquals(program.getId(), response.getSupportedPrograms().get(0).getId());
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
   @Test
   public void shouldNotGetNonexistentFacility() {
 
@@ -40,6 +40,8 @@ import org.openlmis.requisition.repository.RequisitionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Month;
@@ -48,6 +50,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -60,10 +64,13 @@ public class OrderControllerIntegrationTest extends BaseWebIntegrationTest {
   private static final String RESOURCE_URL = "/api/orders";
   private static final String SEARCH_URL = RESOURCE_URL + "/search";
   private static final String ID_URL = RESOURCE_URL + "/{id}";
+  private static final String CSV_URL = RESOURCE_URL + "/csv/{id}";
+  private static final String EXPORT_URL = RESOURCE_URL + "/export";
   private static final String ACCESS_TOKEN = "access_token";
   private static final String REQUESTING_FACILITY = "requestingFacility";
   private static final String SUPPLYING_FACILITY = "supplyingFacility";
   private static final String PROGRAM = "program";
+  private static final String FORMAT = "format";
   private static final UUID ID = UUID.fromString("1752b457-0a4b-4de0-bf94-5a6a8002427e");
   private static final String NUMBER = "10.90";
 
@@ -396,7 +403,7 @@ public class OrderControllerIntegrationTest extends BaseWebIntegrationTest {
   @Test
   public void shouldPrintOrderAsCsv() {
     String csvContent = restAssured.given()
-            .queryParam("format", "csv")
+            .queryParam(FORMAT, "csv")
             .queryParam(ACCESS_TOKEN, getToken())
             .pathParam("id", secondOrder.getId())
             .when()
@@ -414,10 +421,83 @@ public class OrderControllerIntegrationTest extends BaseWebIntegrationTest {
     }
   }
 
+  @Test
+  public void shouldStreamOrderCsv() {
+    String csvContent = restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .pathParam("id", secondOrder.getId())
+            .when()
+            .get(CSV_URL)
+            .then()
+            .statusCode(200)
+            .contentType("text/csv")
+            .extract().body().asString();
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertTrue(csvContent.startsWith(
+        "facilityCode,createdDate,orderNum,productName,productCode,orderedQuantity"));
+    for (OrderLine o : orderRepository.findOne(secondOrder.getId()).getOrderLines()) {
+      assertTrue(csvContent.contains(o.getProduct().getPrimaryName()
+              + "," + o.getProduct().getCode()
+              + "," + o.getOrderedQuantity()));
+    }
+  }
+
+  @Test
+  public void shouldExportOrdersAsZipOfCsvFiles() throws IOException {
+    byte[] zipContent = restAssured.given()
+            .queryParam(SUPPLYING_FACILITY, secondOrder.getSupplyingFacility().getId())
+            .queryParam("status", OrderStatus.RECEIVED)
+            .queryParam(FORMAT, "csv")
+            .queryParam(ACCESS_TOKEN, getToken())
+            .when()
+            .get(EXPORT_URL)
+            .then()
+            .statusCode(200)
+            .contentType("application/zip")
+            .extract().body().asByteArray();
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    List<String> entryNames = new ArrayList<>();
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipContent))) {
+      for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+        entryNames.add(entry.getName());
+      }
+    }
+    assertEquals(Arrays.asList("order-O2.csv", "order-O3.csv"), entryNames);
+  }
+
+  @Test
+  public void shouldNotExportOrdersWhenNoneMatch() {
+    restAssured.given()
+            .queryParam(SUPPLYING_FACILITY, secondOrder.getSupplyingFacility().getId())
+            .queryParam(FORMAT, "pdf")
+            .queryParam(ACCESS_TOKEN, getToken())
+            .when()
+            .get(EXPORT_URL)
+            .then()
+            .statusCode(404);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
+  @Test
+  public void shouldNotStreamCsvOfNonexistentOrder() {
+    restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .pathParam("id", UUID.randomUUID())
+            .when()
+            .get(CSV_URL)
+            .then()
+            .statusCode(400);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
   @Test
   public void shouldPrintOrderAsPdf() {
     restAssured.given()
-            .queryParam("format", "pdf")
+            .queryParam(FORMAT, "pdf")
             .queryParam(ACCESS_TOKEN, getToken())
             .pathParam("id", thirdOrder.getId().toString())
             .when()
@@ -457,6 +537,27 @@ public class OrderControllerIntegrationTest extends BaseWebIntegrationTest {
     assertEquals(order.getSupplyingFacility().getId(), supplyLine.getSupplyingFacility().getId());
   }
 
+  @Test
+  public void shouldNotConvertAnyRequisitionIfOneDoesNotExist() {
+    orderRepository.deleteAll();
+    Requisition nonexistent = new Requisition();
+    nonexistent.setId(UUID.randomUUID());
+
+    restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .body(Arrays.asList(requisition, nonexistent))
+            .when()
+            .post("/api/orders/requisitions")
+            .then()
+            .statusCode(400);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(0, orderRepository.count());
+    assertEquals(RequisitionStatus.APPROVED,
+        requisitionRepository.findOne(requisition.getId()).getStatus());
+  }
+
   @Test
   public void shouldFindBySupplyingFacility() {
     Order[] response = restAssured.given()
@@ -6,6 +6,7 @@ import org.junit.Test;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.referencedata.repository.ProgramRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 import java.util.Arrays;
@@ -143,6 +144,38 @@ public class ProgramControllerIntegrationTest extends BaseWebIntegrationTest {
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  @Test
+  public void shouldNotGetAllProgramsIfNotModified() {
+
+    String etag = restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .when()
+          .get(RESOURCE_URL)
+          .then()
+          .statusCode(200)
+          .extract().header(HttpHeaders.ETAG);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+
+    restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .header(HttpHeaders.IF_NONE_MATCH, etag)
+          .when()
+          .get(RESOURCE_URL)
+          .then()
+          .statusCode(304);
+
+    programRepository.save(program);
+
+    restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .header(HttpHeaders.IF_NONE_MATCH, etag)
+          .when()
+          .get(RESOURCE_URL)
+          .then()
+          .statusCode(200);
+  }
+
   @Test
   public void shouldGetChosenProgram() {
 
@@ -4,6 +4,7 @@ import guru.nidi.ramltester.junit.RamlMatchers;
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.openlmis.cache.LruCache;
 import org.openlmis.fulfillment.domain.Order;
 import org.openlmis.fulfillment.domain.OrderLine;
 import org.openlmis.fulfillment.domain.OrderStatus;
@@ -37,6 +38,7 @@ import org.openlmis.referencedata.repository.ProgramRepository;
 import org.openlmis.referencedata.repository.ProcessingScheduleRepository;
 import org.openlmis.reporting.exception.ReportingException;
 import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.service.RenderedReportKey;
 import org.openlmis.reporting.service.TemplateService;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionStatus;
@@ -60,6 +62,7 @@ import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -77,6 +80,9 @@ public class ProofOfDeliveryControllerIntegrationTest extends BaseWebIntegration
   @Autowired
   private TemplateService templateService;
 
+  @Autowired
+  private LruCache<RenderedReportKey, byte[]> renderedReportCache;
+
   @Autowired
   private OrderRepository orderRepository;
 
@@ -264,7 +270,7 @@ public class ProofOfDeliveryControllerIntegrationTest extends BaseWebIntegration
     MultipartFile templateOfProofOfDelivery = new MockMultipartFile("file",
         podReport.getFilename(), "multipart/form-data", IOUtils.toByteArray(fileInputStream));
 
-    Template template = new Template(PRINT_POD, null, null, CONSISTENCY_REPORT, "");
+    Template template = new Template(PRINT_POD, null, CONSISTENCY_REPORT, "", null);
     templateService.validateFileAndInsertTemplate(template, templateOfProofOfDelivery);
 
     restAssured.given()
@@ -316,6 +322,27 @@ public class ProofOfDeliveryControllerIntegrationTest extends BaseWebIntegration
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  @Test
+  public void shouldEvictPrintedReportWhenProofOfDeliveryIsUpdated() {
+    RenderedReportKey key = new RenderedReportKey(UUID.randomUUID(), 0L, "hash", "pdf",
+        proofOfDelivery.getId());
+    renderedReportCache.put(key, new byte[0]);
+    proofOfDelivery.setTotalReceivedPacks(2);
+
+    restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .contentType(MediaType.APPLICATION_JSON_VALUE)
+          .pathParam("id", proofOfDelivery.getId())
+          .body(proofOfDelivery)
+          .when()
+          .put(ID_URL)
+          .then()
+          .statusCode(200);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertNull(renderedReportCache.get(key));
+  }
+
   @Test
   public void shouldCreateNewProofOfDeliveryIfDoesNotExist() {
 
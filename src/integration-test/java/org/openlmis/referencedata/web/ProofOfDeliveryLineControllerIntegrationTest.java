@@ -3,6 +3,7 @@ package org.openlmis.referencedata.web;
 import guru.nidi.ramltester.junit.RamlMatchers;
 import org.junit.Before;
 import org.junit.Test;
+import org.openlmis.cache.LruCache;
 import org.openlmis.fulfillment.domain.Order;
 import org.openlmis.fulfillment.domain.OrderLine;
 import org.openlmis.fulfillment.domain.OrderStatus;
@@ -34,6 +35,7 @@ import org.openlmis.referencedata.repository.GeographicZoneRepository;
 import org.openlmis.referencedata.repository.ProcessingPeriodRepository;
 import org.openlmis.referencedata.repository.ProcessingScheduleRepository;
 import org.openlmis.referencedata.repository.ProgramRepository;
+import org.openlmis.reporting.service.RenderedReportKey;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionStatus;
 import org.openlmis.requisition.repository.RequisitionRepository;
@@ -48,6 +50,7 @@ import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -102,6 +105,9 @@ public class ProofOfDeliveryLineControllerIntegrationTest extends BaseWebIntegra
   @Autowired
   private ProofOfDeliveryLineRepository proofOfDeliveryLineRepository;
 
+  @Autowired
+  private LruCache<RenderedReportKey, byte[]> renderedReportCache;
+
   @Autowired
   private SupervisoryNodeRepository supervisoryNodeRepository;
 
@@ -357,6 +363,27 @@ public class ProofOfDeliveryLineControllerIntegrationTest extends BaseWebIntegra
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  @Test
+  public void shouldEvictPrintedReportWhenProofOfDeliveryLineIsUpdated() {
+    RenderedReportKey key = new RenderedReportKey(UUID.randomUUID(), 0L, "hash", "pdf",
+        proofOfDeliveryLine.getProofOfDelivery().getId());
+    renderedReportCache.put(key, new byte[0]);
+    proofOfDeliveryLine.setNotes(NOTES);
+
+    restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .contentType(MediaType.APPLICATION_JSON_VALUE)
+          .pathParam("id", proofOfDeliveryLine.getId())
+          .body(proofOfDeliveryLine)
+          .when()
+          .put(ID_URL)
+          .then()
+          .statusCode(200);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertNull(renderedReportCache.get(key));
+  }
+
   @Test
   public void shouldCreateNewProofOfDeliveryLineIfDoesNotExist() {
 
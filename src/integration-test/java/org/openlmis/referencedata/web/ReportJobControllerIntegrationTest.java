@@ -0,0 +1,158 @@
+package org.openlmis.referencedata.web;
+
+import com.jayway.restassured.RestAssured;
+import guru.nidi.ramltester.junit.RamlMatchers;
+import org.junit.Before;
+import org.junit.Test;
+import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.repository.TemplateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ReportJobControllerIntegrationTest extends BaseWebIntegrationTest {
+
+  private static final String RESOURCE_URL = "/api/reportJobs";
+  private static final String ID_URL = RESOURCE_URL + "/{id}";
+  private static final String RESULT_URL = ID_URL + "/result";
+  private static final String ACCESS_TOKEN = "access_token";
+  private static final String TEMPLATE = "template";
+  private static final String FORMAT = "format";
+
+  @Autowired
+  private TemplateRepository templateRepository;
+
+  private Template template = new Template();
+
+  @Before
+  public void setUp() {
+    template.setName("ReportJobControllerIntegrationTest");
+    templateRepository.save(template);
+  }
+
+  @Test
+  public void shouldQueueReportJob() {
+    Map<?, ?> job = restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .queryParam(TEMPLATE, template.getId())
+        .queryParam(FORMAT, "html")
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .when()
+        .post(RESOURCE_URL)
+        .then()
+        .statusCode(202)
+        .extract().as(Map.class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(template.getId().toString(), job.get("templateId"));
+    assertEquals("html", job.get(FORMAT));
+    assertTrue(job.containsKey("status"));
+  }
+
+  @Test
+  public void shouldGetReportJobSubmittedByCurrentUser() {
+    // the RAML-checking client keeps query parameters of earlier requests, so the job is
+    // submitted with a plain one and only reading it is checked against RAML
+    String jobId = RestAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .queryParam(TEMPLATE, template.getId())
+        .queryParam(FORMAT, "html")
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .when()
+        .post(RESOURCE_URL)
+        .then()
+        .statusCode(202)
+        .extract().path("id");
+
+    Map<?, ?> job = restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .pathParam("id", jobId)
+        .when()
+        .get(ID_URL)
+        .then()
+        .statusCode(200)
+        .extract().as(Map.class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(jobId, job.get("id"));
+    assertFalse(job.containsKey("submittedBy"));
+  }
+
+  @Test
+  public void shouldNotQueueReportJobOfNonexistentTemplate() {
+    restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .queryParam(TEMPLATE, UUID.randomUUID())
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .when()
+        .post(RESOURCE_URL)
+        .then()
+        .statusCode(404);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
+  @Test
+  public void shouldNotQueueReportJobInUnsupportedFormat() {
+    restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .queryParam(TEMPLATE, template.getId())
+        .queryParam(FORMAT, "doc")
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .when()
+        .post(RESOURCE_URL)
+        .then()
+        .statusCode(400);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
+  @Test
+  public void shouldNotQueueReportJobWithParameterNotDeclaredByTemplate() {
+    restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .queryParam(TEMPLATE, template.getId())
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .body(Collections.singletonMap("pod_id", "1 OR 1 = 1"))
+        .when()
+        .post(RESOURCE_URL)
+        .then()
+        .statusCode(400);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
+  @Test
+  public void shouldNotGetNonexistentReportJob() {
+    restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .pathParam("id", UUID.randomUUID())
+        .when()
+        .get(ID_URL)
+        .then()
+        .statusCode(404);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
+  @Test
+  public void shouldNotGetResultOfNonexistentReportJob() {
+    restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .pathParam("id", UUID.randomUUID())
+        .when()
+        .get(RESULT_URL)
+        .then()
+        .statusCode(404);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+}
@@ -1,6 +1,11 @@
 package org.openlmis.referencedata.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.restassured.RestAssured;
 import guru.nidi.ramltester.junit.RamlMatchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
@@ -32,11 +37,21 @@ import org.openlmis.requisition.domain.RequisitionStatus;
 import org.openlmis.requisition.repository.CommentRepository;
 import org.openlmis.requisition.repository.RequisitionLineRepository;
 import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.requisition.utils.RequisitionActionResult;
+import org.openlmis.requisition.utils.RequisitionSummary;
+import org.openlmis.requisition.web.RequisitionController;
 import org.openlmis.settings.domain.ConfigurationSetting;
 import org.openlmis.settings.repository.ConfigurationSettingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.persistence.EntityManagerFactory;
+
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -47,6 +62,7 @@ import java.util.UUID;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -65,13 +81,24 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
   private static final String SUBMIT_URL = RESOURCE_URL + "/{id}/submit";
   private static final String SUBMITTED_URL = RESOURCE_URL + "/submitted";
   private static final String AUTHORIZATION_URL = RESOURCE_URL + "/{id}/authorize";
+  private static final String BATCH_APPROVE_URL = RESOURCE_URL + "/approve";
+  private static final String BATCH_AUTHORIZE_URL = RESOURCE_URL + "/authorize";
   private static final String ID_COMMENT_URL = RESOURCE_URL + "/comments/{id}";
   private static final String ID_URL = RESOURCE_URL + "/{id}";
   private static final String SEARCH_URL = RESOURCE_URL + "/search";
+  private static final String VIEW = "view";
+  private static final String FACILITY = "facility";
+  private static final String SIZE = "size";
+  private static final String MAX_PAGE_SIZE = "maxSearchPageSize";
+  private static final String SUMMARY_VIEW = "summary";
   private static final String REQ_FOR_APPROVAL_URL = RESOURCE_URL + "/requisitions-for-approval";
   private static final UUID ID = UUID.fromString("1752b457-0a4b-4de0-bf94-5a6a8002427e");
   private static final String COMMENT_TEXT = "OpenLMIS";
   private static final String COMMENT = "Comment";
+  private static final int BULK_REQUISITION_LINES_COUNT = 300;
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(RequisitionControllerIntegrationTest.class);
 
   @Autowired
   private ProductRepository productRepository;
@@ -118,6 +145,15 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
   @Autowired
   private SupervisoryNodeRepository supervisoryNodeRepository;
 
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private RequisitionController requisitionController;
+
+  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+  private int batchSize;
+
   private RequisitionLine requisitionLine = new RequisitionLine();
   private Requisition requisition = new Requisition();
   private ProcessingPeriod period = new ProcessingPeriod();
@@ -227,7 +263,7 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
             .queryParam(ACCESS_TOKEN, getToken())
             .queryParam("program", program.getId())
             .queryParam("processingPeriod", period.getId())
-            .queryParam("facility", facility.getId())
+            .queryParam(FACILITY, facility.getId())
             .queryParam("supervisoryNode", supervisoryNode.getId())
             .queryParam("requisitionStatus", RequisitionStatus.INITIATED)
             .queryParam("createdDateFrom", localDateTime.minusDays(2).toString())
@@ -263,6 +299,121 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
     }
   }
 
+  @Test
+  public void shouldFindNextPageOfRequisitionsWithoutLines() {
+    Requisition secondRequisition = saveRequisitionCreatedAfter(requisition);
+
+    Requisition[] response = restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .queryParam(FACILITY, facility.getId())
+            .queryParam("lastCreatedDate", requisition.getCreatedDate().toString())
+            .queryParam("lastId", requisition.getId())
+            .queryParam(SIZE, 1)
+            .queryParam("includeLines", false)
+            .when()
+            .get(SEARCH_URL)
+            .then()
+            .statusCode(200)
+            .extract().as(Requisition[].class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(1, response.length);
+    assertEquals(secondRequisition.getId(), response[0].getId());
+    assertEquals(facility.getId(), response[0].getFacility().getId());
+    assertNull(response[0].getRequisitionLines());
+  }
+
+  @Test
+  public void shouldFindNextPageAfterCreatedDateAsReturnedInPreviousPage() throws IOException {
+    String firstPage = restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .queryParam(FACILITY, facility.getId())
+            .queryParam(SIZE, 1)
+            .when()
+            .get(SEARCH_URL)
+            .then()
+            .statusCode(200)
+            .extract().asString();
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    JsonNode last = new ObjectMapper().readTree(firstPage).get(0);
+    assertEquals(requisition.getId().toString(), last.get("id").asText());
+
+    Requisition secondRequisition = saveRequisitionCreatedAfter(requisition);
+    // the RAML-checking client keeps query parameters of earlier requests, so a plain one is used
+    Requisition[] secondPage = RestAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .queryParam(FACILITY, facility.getId())
+            .queryParam("lastCreatedDate", last.get("createdDate").toString())
+            .queryParam("lastId", last.get("id").asText())
+            .queryParam(SIZE, 1)
+            .when()
+            .get(SEARCH_URL)
+            .then()
+            .statusCode(200)
+            .extract().as(Requisition[].class);
+
+    assertEquals(1, secondPage.length);
+    assertEquals(secondRequisition.getId(), secondPage[0].getId());
+  }
+
+  @Test
+  public void shouldFindAtMostMaxPageSizeOfRequisitionsWithoutSize() {
+    saveRequisitionCreatedAfter(requisition);
+    Object maxPageSize = ReflectionTestUtils.getField(requisitionController, MAX_PAGE_SIZE);
+    ReflectionTestUtils.setField(requisitionController, MAX_PAGE_SIZE, 1);
+
+    try {
+      Requisition[] response = restAssured.given()
+              .queryParam(ACCESS_TOKEN, getToken())
+              .queryParam(FACILITY, facility.getId())
+              .when()
+              .get(SEARCH_URL)
+              .then()
+              .statusCode(200)
+              .extract().as(Requisition[].class);
+
+      assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(),
+          RamlMatchers.hasNoViolations());
+      assertEquals(1, response.length);
+      assertEquals(requisition.getId(), response[0].getId());
+    } finally {
+      ReflectionTestUtils.setField(requisitionController, MAX_PAGE_SIZE, maxPageSize);
+    }
+  }
+
+  @Test
+  public void shouldNotFindRequisitionsWithoutCreatedDateOfLastRequisition() {
+    restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .queryParam("lastId", requisition.getId())
+            .when()
+            .get(SEARCH_URL)
+            .then()
+            .statusCode(400);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
+  @Test
+  public void shouldFindRequisitionSummaries() {
+    RequisitionSummary[] response = restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .queryParam(FACILITY, facility.getId())
+            .queryParam(VIEW, SUMMARY_VIEW)
+            .when()
+            .get(SEARCH_URL)
+            .then()
+            .statusCode(200)
+            .extract().as(RequisitionSummary[].class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(1, response.length);
+    assertEquals(requisition.getId(), response[0].getId());
+    assertEquals(facility.getCode(), response[0].getFacilityCode());
+    assertEquals(Long.valueOf(0), response[0].getRequisitionLinesCount());
+  }
+
   @Test
   public void shouldSubmitCorrectRequisition() {
 
@@ -700,6 +851,37 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  private Requisition generateBulkRequisition() {
+    Requisition bulkRequisition = new Requisition();
+    bulkRequisition.setId(UUID.randomUUID());
+    bulkRequisition.setFacility(facility);
+    bulkRequisition.setProcessingPeriod(period);
+    bulkRequisition.setProgram(program);
+    bulkRequisition.setEmergency(false);
+    bulkRequisition.setStatus(RequisitionStatus.INITIATED);
+
+    List<RequisitionLine> requisitionLines = new ArrayList<>();
+    for (int i = 0; i < BULK_REQUISITION_LINES_COUNT; i++) {
+      RequisitionLine line = new RequisitionLine();
+      line.setProduct(product);
+      line.setRequestedQuantity(i);
+      line.setBeginningBalance(i);
+      requisitionLines.add(line);
+    }
+    bulkRequisition.setRequisitionLines(requisitionLines);
+    return bulkRequisition;
+  }
+
+  private long countStatementsOfSavingLinesOneByOne(Statistics statistics) {
+    statistics.clear();
+    Requisition savedOneByOne = generateBulkRequisition();
+    savedOneByOne.getRequisitionLines().forEach(requisitionLineRepository::save);
+    savedOneByOne = requisitionRepository.save(savedOneByOne);
+    long statements = statistics.getPrepareStatementCount();
+    requisitionRepository.delete(savedOneByOne.getId());
+    return statements;
+  }
+
   private Comment createComment(User author, Requisition req, String commentText) {
     Comment comment = new Comment();
     comment.setAuthor(author);
@@ -763,6 +945,113 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
     userRepository.save(user);
   }
 
+  @Test
+  public void shouldGetSummariesOfRequisitionsForApproval() {
+    requisition.setSupervisoryNode(supervisoryNode);
+    requisition.setStatus(RequisitionStatus.AUTHORIZED);
+    requisitionRepository.save(requisition);
+
+    user.setSupervisedNode(supervisoryNode);
+    userRepository.save(user);
+
+    RequisitionSummary[] response = restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .queryParam(VIEW, SUMMARY_VIEW)
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .when()
+        .get(REQ_FOR_APPROVAL_URL)
+        .then()
+        .statusCode(200)
+        .extract().as(RequisitionSummary[].class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(1, response.length);
+    assertEquals(requisition.getId(), response[0].getId());
+    assertEquals(RequisitionStatus.AUTHORIZED, response[0].getStatus());
+    user.setSupervisedNode(null);
+    userRepository.save(user);
+  }
+
+  @Test
+  public void shouldGetPageOfRequisitionsForApproval() {
+    requisition.setStatus(RequisitionStatus.AUTHORIZED);
+    requisitionRepository.save(requisition);
+
+    Requisition secondRequisition = new Requisition();
+    secondRequisition.setFacility(facility);
+    secondRequisition.setProcessingPeriod(period);
+    secondRequisition.setProgram(program);
+    secondRequisition.setSupervisoryNode(supervisoryNode);
+    secondRequisition.setStatus(RequisitionStatus.AUTHORIZED);
+    secondRequisition = requisitionRepository.save(secondRequisition);
+
+    user.setSupervisedNode(supervisoryNode);
+    userRepository.save(user);
+
+    Requisition[] response = restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .queryParam("page", 1)
+        .queryParam(SIZE, 1)
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .when()
+        .get(REQ_FOR_APPROVAL_URL)
+        .then()
+        .statusCode(200)
+        .extract().as(Requisition[].class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(1, response.length);
+    assertEquals(secondRequisition.getId(), response[0].getId());
+    user.setSupervisedNode(null);
+    userRepository.save(user);
+  }
+
+  @Test
+  public void shouldGetRequisitionsForApprovalFromWholeSupervisoryNodeSubtree() {
+    SupervisoryNode childNode = generateChildSupervisoryNode(supervisoryNode, "child");
+    SupervisoryNode grandChildNode = generateChildSupervisoryNode(childNode, "grandChild");
+
+    requisition.setSupervisoryNode(grandChildNode);
+    requisition.setStatus(RequisitionStatus.AUTHORIZED);
+    requisitionRepository.save(requisition);
+
+    user.setSupervisedNode(supervisoryNode);
+    userRepository.save(user);
+
+    Requisition[] response = restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .when()
+        .get(REQ_FOR_APPROVAL_URL)
+        .then()
+        .statusCode(200)
+        .extract().as(Requisition[].class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(1, response.length);
+    assertEquals(requisition.getId(), response[0].getId());
+    user.setSupervisedNode(null);
+    userRepository.save(user);
+    grandChildNode.setParentNode(null);
+    supervisoryNodeRepository.save(grandChildNode);
+    childNode.setParentNode(null);
+    supervisoryNodeRepository.save(childNode);
+  }
+
+  @Test
+  public void shouldNotGetRequisitionsForApprovalWithInvalidPageSize() {
+    restAssured.given()
+        .queryParam(ACCESS_TOKEN, getToken())
+        .queryParam(SIZE, 0)
+        .contentType(MediaType.APPLICATION_JSON_VALUE)
+        .when()
+        .get(REQ_FOR_APPROVAL_URL)
+        .then()
+        .statusCode(400);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
   @Test
   public void shouldInsertComment() {
 
@@ -946,6 +1235,67 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
     testApproveRequisition(requisition);
   }
 
+  @Test
+  public void shouldApproveRequisitionsInBatchDespiteFailures() {
+    requisition.setStatus(RequisitionStatus.AUTHORIZED);
+    requisitionRepository.save(requisition);
+    Requisition initiatedRequisition = generateRequisition(RequisitionStatus.INITIATED);
+    UUID nonexistentId = UUID.randomUUID();
+
+    RequisitionActionResult[] response = restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .body(Arrays.asList(requisition.getId(), initiatedRequisition.getId(), nonexistentId))
+            .when()
+            .put(BATCH_APPROVE_URL)
+            .then()
+            .statusCode(200)
+            .extract().as(RequisitionActionResult[].class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(3, response.length);
+    assertEquals(requisition.getId(), response[0].getRequisitionId());
+    assertTrue(response[0].isSuccessful());
+    assertEquals(RequisitionStatus.APPROVED, response[0].getStatus());
+    assertEquals(initiatedRequisition.getId(), response[1].getRequisitionId());
+    assertFalse(response[1].isSuccessful());
+    assertEquals(nonexistentId, response[2].getRequisitionId());
+    assertFalse(response[2].isSuccessful());
+    assertEquals(RequisitionStatus.APPROVED,
+        requisitionRepository.findOne(requisition.getId()).getStatus());
+    assertEquals(RequisitionStatus.INITIATED,
+        requisitionRepository.findOne(initiatedRequisition.getId()).getStatus());
+  }
+
+  @Test
+  public void shouldAuthorizeValidRequisitionsInBatch() {
+    requisition.setStatus(RequisitionStatus.SUBMITTED);
+    requisitionRepository.save(requisition);
+    requisitionLine.setRequisition(requisition);
+    requisitionLineRepository.save(requisitionLine);
+    Requisition requisitionWithoutLines = generateRequisition(RequisitionStatus.SUBMITTED);
+
+    RequisitionActionResult[] response = restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .body(Arrays.asList(requisition.getId(), requisitionWithoutLines.getId()))
+            .when()
+            .put(BATCH_AUTHORIZE_URL)
+            .then()
+            .statusCode(200)
+            .extract().as(RequisitionActionResult[].class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(2, response.length);
+    assertTrue(response[0].isSuccessful());
+    assertEquals(RequisitionStatus.AUTHORIZED, response[0].getStatus());
+    assertFalse(response[1].isSuccessful());
+    assertEquals(RequisitionStatus.AUTHORIZED,
+        requisitionRepository.findOne(requisition.getId()).getStatus());
+    assertEquals(RequisitionStatus.SUBMITTED,
+        requisitionRepository.findOne(requisitionWithoutLines.getId()).getStatus());
+  }
+
   @Test
   public void shouldInitializeRequisition() {
 
@@ -963,6 +1313,43 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  @Test
+  public void shouldInitializeRequisitionWithLinesInJdbcBatches() {
+    requisitionRepository.delete(requisition);
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    try {
+      long statementsBefore = countStatementsOfSavingLinesOneByOne(statistics);
+
+      statistics.clear();
+      String requisitionId = restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .contentType(MediaType.APPLICATION_JSON_VALUE)
+          .body(generateBulkRequisition())
+          .when()
+          .post(INITIATE_URL)
+          .then()
+          .statusCode(201)
+          .extract().path("id");
+      long statementsAfter = statistics.getPrepareStatementCount();
+      LOGGER.info("Saving requisition with " + BULK_REQUISITION_LINES_COUNT + " lines took "
+          + statementsBefore + " statements one by one and " + statementsAfter
+          + " statements on initiate with batch size " + batchSize);
+      Requisition initiated = requisitionRepository.findOne(UUID.fromString(requisitionId));
+      assertEquals(BULK_REQUISITION_LINES_COUNT,
+          requisitionLineRepository.searchRequisitionLines(initiated, null).size());
+
+      assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(),
+          RamlMatchers.hasNoViolations());
+      assertEquals(BULK_REQUISITION_LINES_COUNT + 1, statistics.getEntityInsertCount());
+      assertTrue(statementsBefore > BULK_REQUISITION_LINES_COUNT);
+      assertTrue(statementsAfter < BULK_REQUISITION_LINES_COUNT / batchSize + 20);
+    } finally {
+      statistics.setStatisticsEnabled(false);
+    }
+  }
+
   @Test
   public void shouldGetSubmittedRequisitions() {
 
@@ -983,6 +1370,47 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  @Test
+  public void shouldGetSubmittedRequisitionSummaries() {
+    requisition.setStatus(RequisitionStatus.SUBMITTED);
+    requisitionRepository.save(requisition);
+    requisitionLine.setRequisition(requisition);
+    requisitionLineRepository.save(requisitionLine);
+
+    RequisitionSummary[] response = restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .queryParam(VIEW, SUMMARY_VIEW)
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .when()
+            .get(SUBMITTED_URL)
+            .then()
+            .statusCode(200)
+            .extract().as(RequisitionSummary[].class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(1, response.length);
+    assertEquals(requisition.getId(), response[0].getId());
+    assertEquals(facility.getCode(), response[0].getFacilityCode());
+    assertEquals(program.getId(), response[0].getProgramId());
+    assertEquals(period.getName(), response[0].getProcessingPeriodName());
+    assertEquals(RequisitionStatus.SUBMITTED, response[0].getStatus());
+    assertEquals(Long.valueOf(1), response[0].getRequisitionLinesCount());
+  }
+
+  @Test
+  public void shouldNotGetSubmittedRequisitionsInUnknownView() {
+    restAssured.given()
+            .queryParam(ACCESS_TOKEN, getToken())
+            .queryParam(VIEW, "unknown")
+            .contentType(MediaType.APPLICATION_JSON_VALUE)
+            .when()
+            .get(SUBMITTED_URL)
+            .then()
+            .statusCode(400);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
+
   @Test
   public void shouldAuthorizeRequisition() {
 
@@ -1095,4 +1523,33 @@ public class RequisitionControllerIntegrationTest extends BaseWebIntegrationTest
 
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
+
+  private SupervisoryNode generateChildSupervisoryNode(SupervisoryNode parent, String code) {
+    SupervisoryNode childNode = new SupervisoryNode();
+    childNode.setCode(code);
+    childNode.setFacility(facility);
+    childNode.setParentNode(parent);
+    return supervisoryNodeRepository.save(childNode);
+  }
+
+  private Requisition generateRequisition(RequisitionStatus status) {
+    Requisition newRequisition = new Requisition();
+    newRequisition.setFacility(facility);
+    newRequisition.setProcessingPeriod(period);
+    newRequisition.setProgram(program);
+    newRequisition.setStatus(status);
+    return requisitionRepository.save(newRequisition);
+  }
+
+  private Requisition saveRequisitionCreatedAfter(Requisition previous) {
+    Requisition next = new Requisition();
+    next.setFacility(facility);
+    next.setProcessingPeriod(period);
+    next.setProgram(program);
+    next.setSupervisoryNode(supervisoryNode);
+    next.setStatus(RequisitionStatus.INITIATED);
+    next = requisitionRepository.save(next);
+    next.setCreatedDate(previous.getCreatedDate().plusDays(1));
+    return requisitionRepository.save(next);
+  }
 }
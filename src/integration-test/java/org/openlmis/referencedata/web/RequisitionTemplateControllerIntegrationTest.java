@@ -1,5 +1,6 @@
 package org.openlmis.referencedata.web;
 
+import com.jayway.restassured.RestAssured;
 import guru.nidi.ramltester.junit.RamlMatchers;
 import org.junit.Before;
 import org.junit.Test;
@@ -66,6 +67,27 @@ public class RequisitionTemplateControllerIntegrationTest extends BaseWebIntegra
     }
   }
 
+  @Test
+  public void shouldNotFindCachedRequisitionTemplateAfterItsProgramWasChanged() {
+    Program previousProgram = requisitionTemplate.getProgram();
+    assertEquals(1, searchRequisitionTemplates(previousProgram).length);
+
+    requisitionTemplate.setProgram(generateProgram());
+    restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .contentType(MediaType.APPLICATION_JSON_VALUE)
+          .pathParam("id", requisitionTemplate.getId())
+          .body(requisitionTemplate)
+          .when()
+          .put(ID_URL)
+          .then()
+          .statusCode(200);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(0, searchRequisitionTemplates(previousProgram).length);
+    assertEquals(1, searchRequisitionTemplates(requisitionTemplate.getProgram()).length);
+  }
+
   @Test
   public void shouldDeleteRequisitionTemplate() {
 
@@ -211,6 +233,18 @@ public class RequisitionTemplateControllerIntegrationTest extends BaseWebIntegra
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  // the RAML-checking client keeps path parameters of earlier requests, so a plain one is used
+  private RequisitionTemplate[] searchRequisitionTemplates(Program program) {
+    return RestAssured.given()
+        .queryParam(PROGRAM, program.getId())
+        .queryParam(ACCESS_TOKEN, getToken())
+        .when()
+        .get(SEARCH_URL)
+        .then()
+        .statusCode(200)
+        .extract().as(RequisitionTemplate[].class);
+  }
+
   private RequisitionTemplate generateRequisitionTemplate() {
     RequisitionTemplate reqTemplate = new RequisitionTemplate();
     reqTemplate.setProgram(generateProgram());
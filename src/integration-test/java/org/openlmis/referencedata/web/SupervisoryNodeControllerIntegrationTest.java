@@ -5,6 +5,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
 import org.openlmis.hierarchyandsupervision.repository.SupervisoryNodeRepository;
+import org.openlmis.hierarchyandsupervision.service.SupervisoryNodeService;
 import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.FacilityOperator;
 import org.openlmis.referencedata.domain.FacilityType;
@@ -37,6 +38,9 @@ public class SupervisoryNodeControllerIntegrationTest extends BaseWebIntegration
   @Autowired
   private SupervisoryNodeRepository repository;
 
+  @Autowired
+  private SupervisoryNodeService supervisoryNodeService;
+
   @Autowired
   private FacilityRepository facilityRepository;
 
@@ -138,6 +142,31 @@ public class SupervisoryNodeControllerIntegrationTest extends BaseWebIntegration
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  @Test
+  public void shouldEvictCachedSubtreesWhenSupervisoryNodeIsMoved() {
+    SupervisoryNode childNode = new SupervisoryNode();
+    childNode.setCode("childNodeCode");
+    childNode.setFacility(supervisoryNode.getFacility());
+    childNode = repository.save(childNode);
+    assertEquals(1, supervisoryNodeService.getSubtreeIds(supervisoryNode).size());
+
+    childNode.setParentNode(supervisoryNode);
+    restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .contentType(MediaType.APPLICATION_JSON_VALUE)
+          .pathParam("id", childNode.getId())
+          .body(childNode)
+          .when()
+          .put(ID_URL)
+          .then()
+          .statusCode(200);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertTrue(supervisoryNodeService.getSubtreeIds(supervisoryNode).contains(childNode.getId()));
+    childNode.setParentNode(null);
+    repository.save(childNode);
+  }
+
   @Test
   public void shouldUpdateSupervisoryNode() {
 
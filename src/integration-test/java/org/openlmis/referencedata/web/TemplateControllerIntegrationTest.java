@@ -3,26 +3,33 @@ package org.openlmis.referencedata.web;
 import guru.nidi.ramltester.junit.RamlMatchers;
 import org.junit.Before;
 import org.junit.Test;
+import org.openlmis.cache.LruCache;
 import org.openlmis.reporting.model.Template;
 import org.openlmis.reporting.repository.TemplateRepository;
+import org.openlmis.reporting.service.CachedJasperReport;
+import org.openlmis.reporting.service.TemplateWarmUpService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+@SuppressWarnings("PMD.TooManyMethods")
 public class TemplateControllerIntegrationTest extends BaseWebIntegrationTest {
 
   private static final String RESOURCE_URL = "/api/templates";
   private static final String ID_URL = RESOURCE_URL + "/{id}";
+  private static final String LOAD_STATUSES_URL = RESOURCE_URL + "/loadStatuses";
   private static final String ACCESS_TOKEN = "access_token";
   private static final String TEMPLATE_CONTROLLER_TEST = "TemplateControllerIntegrationTest";
   private static final UUID ID = UUID.fromString("1752b457-0a4b-4de0-bf94-5a6a8002427e");
@@ -30,6 +37,12 @@ public class TemplateControllerIntegrationTest extends BaseWebIntegrationTest {
   @Autowired
   private TemplateRepository templateRepository;
 
+  @Autowired
+  private LruCache<UUID, CachedJasperReport> jasperReportCache;
+
+  @Autowired
+  private TemplateWarmUpService templateWarmUpService;
+
   private Template template = new Template();
   private Integer currentInstanceNumber;
 
@@ -117,6 +130,27 @@ public class TemplateControllerIntegrationTest extends BaseWebIntegrationTest {
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
 
+  @Test
+  public void shouldEvictCachedReportWhenTemplateIsUpdated() {
+    jasperReportCache.put(template.getId(), new CachedJasperReport(template.getVersion(), null));
+    template.setDescription(TEMPLATE_CONTROLLER_TEST);
+
+    Template response = restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .contentType(MediaType.APPLICATION_JSON_VALUE)
+          .pathParam("id", template.getId())
+          .body(template)
+          .when()
+          .put(ID_URL)
+          .then()
+          .statusCode(200)
+          .extract().as(Template.class);
+
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+    assertEquals(Long.valueOf(template.getVersion() + 1), response.getVersion());
+    assertNull(jasperReportCache.get(template.getId()));
+  }
+
   @Test
   public void shouldCreateNewRequisitionTemplateIfDoesNotExist() {
 
@@ -188,4 +222,27 @@ public class TemplateControllerIntegrationTest extends BaseWebIntegrationTest {
 
     assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
   }
+
+  @Test
+  public void shouldFlagTemplatesWhichFailedToLoad() {
+    templateWarmUpService.warmUp();
+
+    Map[] statuses = restAssured.given()
+          .queryParam(ACCESS_TOKEN, getToken())
+          .contentType(MediaType.APPLICATION_JSON_VALUE)
+          .when()
+          .get(LOAD_STATUSES_URL)
+          .then()
+          .statusCode(200)
+          .extract().as(Map[].class);
+
+    Map status = Arrays.stream(statuses)
+        .filter(candidate -> template.getName().equals(candidate.get("templateName")))
+        .findFirst()
+        .orElse(null);
+    assertNotNull(status);
+    assertEquals(false, status.get("loaded"));
+    assertNotNull(status.get("errorMessage"));
+    assertThat(RAML_ASSERT_MESSAGE, restAssured.getLastReport(), RamlMatchers.hasNoViolations());
+  }
 }
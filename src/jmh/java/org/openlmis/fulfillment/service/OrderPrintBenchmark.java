@@ -0,0 +1,153 @@
+package org.openlmis.fulfillment.service;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.design.JRDesignField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.domain.OrderLine;
+import org.openlmis.fulfillment.utils.OrderGenerator;
+import org.openlmis.fulfillment.utils.OrderLineDataSource;
+import org.openlmis.reporting.service.ReportVirtualizerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.openlmis.fulfillment.service.OrderDocumentService.DEFAULT_COLUMNS;
+
+/**
+ * Measures rendering of order lines for printing. Run with the jmh task, which adds the gc
+ * profiler, and compare gc.alloc.rate.norm (bytes allocated per operation) of the benchmarks.
+ * The map benchmark reads the lines the way they were read before OrderLineDataSource, by
+ * building a map per line. Comparing the average time of writePdf with writePdfCompilingTemplate
+ * shows what reusing the compiled order template saves on each print. The PDF benchmarks use
+ * writeOrderPdf, so a failing render fails the benchmark instead of being timed as a success.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OrderPrintBenchmark {
+
+  @Param({"200", "1000"})
+  private int lineCount;
+
+  private OrderDocumentService orderDocumentService;
+  private Order order;
+  private JRField[] fields;
+
+  /**
+   * Creates order with lines and service rendering it.
+   */
+  @Setup
+  public void setUp() {
+    orderDocumentService = newOrderDocumentService();
+    order = OrderGenerator.generateOrderWithLines(lineCount);
+
+    fields = new JRField[DEFAULT_COLUMNS.length];
+    for (int i = 0; i < fields.length; i++) {
+      JRDesignField field = new JRDesignField();
+      field.setName(DEFAULT_COLUMNS[i]);
+      fields[i] = field;
+    }
+  }
+
+  /**
+   * Reads all columns of order lines from a map built for each line.
+   */
+  @Benchmark
+  public void readLinesThroughMaps(Blackhole blackhole) {
+    for (OrderLine orderLine : order.getOrderLines()) {
+      if (orderLine.getOrderedQuantity() > 0) {
+        Map<String, Object> row = new HashMap<>();
+        row.put(DEFAULT_COLUMNS[0], order.getRequestingFacility().getCode());
+        row.put(DEFAULT_COLUMNS[1], order.getCreatedDate());
+        row.put(DEFAULT_COLUMNS[2], order.getOrderCode());
+        row.put(DEFAULT_COLUMNS[3], orderLine.getProduct().getPrimaryName());
+        row.put(DEFAULT_COLUMNS[4], orderLine.getProduct().getCode());
+        row.put(DEFAULT_COLUMNS[5], orderLine.getOrderedQuantity());
+        row.put(DEFAULT_COLUMNS[6], orderLine.getFilledQuantity());
+        for (String column : DEFAULT_COLUMNS) {
+          blackhole.consume(row.get(column));
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads all columns of order lines as fields of the order line data source.
+   */
+  @Benchmark
+  public void readLinesThroughDataSource(Blackhole blackhole) {
+    OrderLineDataSource dataSource = new OrderLineDataSource(order);
+    while (dataSource.next()) {
+      for (JRField field : fields) {
+        blackhole.consume(dataSource.getFieldValue(field));
+      }
+    }
+  }
+
+  @Benchmark
+  public void writeCsv(Blackhole blackhole) throws IOException {
+    orderDocumentService.orderToCsv(order, DEFAULT_COLUMNS, new BlackholeOutputStream(blackhole));
+  }
+
+  @Benchmark
+  public void writePdf(Blackhole blackhole) throws JRException, IOException {
+    orderDocumentService.writeOrderPdf(order, DEFAULT_COLUMNS,
+        new BlackholeOutputStream(blackhole));
+  }
+
+  /**
+   * Writes PDF with a new service each time, so the template is compiled for every print as it
+   * was before the compiled template was kept.
+   */
+  @Benchmark
+  public void writePdfCompilingTemplate(Blackhole blackhole) throws JRException, IOException {
+    newOrderDocumentService().writeOrderPdf(order, DEFAULT_COLUMNS,
+        new BlackholeOutputStream(blackhole));
+  }
+
+  private static OrderDocumentService newOrderDocumentService() {
+    OrderDocumentService service = new OrderDocumentService();
+    ReflectionTestUtils.setField(service, "reportVirtualizerFactory",
+        new ReportVirtualizerFactory());
+    return service;
+  }
+
+  private static class BlackholeOutputStream extends OutputStream {
+
+    private final Blackhole blackhole;
+
+    BlackholeOutputStream(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void write(int oneByte) {
+      blackhole.consume(oneByte);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      blackhole.consume(bytes);
+    }
+  }
+}
@@ -3,17 +3,24 @@ package org.openlmis;
 import org.openlmis.referencedata.i18n.ExposedMessageSourceImpl;
 import org.openlmis.referencedata.validate.ProcessingPeriodValidator;
 import org.openlmis.requisition.validate.RequisitionValidator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ImportResource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.i18n.CookieLocaleResolver;
 
 import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @SpringBootApplication
 @ImportResource("applicationContext.xml")
+@EnableScheduling
 public class Application {
 
   public static void main(String[] args) {
@@ -61,4 +68,35 @@ public class Application {
   public RequisitionValidator beforeSaveRequisitionValidator() {
     return new RequisitionValidator();
   }
-}
\ No newline at end of file
+
+  /**
+   * Creates pool of threads rendering documents of exported orders. When all threads are busy
+   * and the queue is full, the exporting request thread renders the document itself.
+   *
+   * @param threads Number of rendering threads.
+   * @param queueSize Maximum number of documents waiting for a free thread.
+   * @return Created ExecutorService.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService orderExportExecutor(
+      @Value("${order.export.threads}") int threads,
+      @Value("${order.export.queueSize}") int queueSize) {
+    return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueSize), new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * Creates pool of threads rendering reports in the background.
+   *
+   * @param threads Number of rendering threads.
+   * @param maxPendingJobs Maximum number of report jobs queued or running at once.
+   * @return Created ExecutorService.
+   */
+  @Bean(destroyMethod = "shutdownNow")
+  public ExecutorService reportJobExecutor(
+      @Value("${report.jobs.threads}") int threads,
+      @Value("${report.jobs.maxPendingJobs}") int maxPendingJobs) {
+    return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(maxPendingJobs));
+  }
+}
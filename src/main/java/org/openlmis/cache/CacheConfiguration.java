@@ -0,0 +1,160 @@
+package org.openlmis.cache;
+
+import org.openlmis.product.domain.Product;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.ProcessingPeriod;
+import org.openlmis.referencedata.domain.Program;
+import org.openlmis.reporting.service.CachedJasperReport;
+import org.openlmis.reporting.service.RenderedReportKey;
+import org.openlmis.requisition.domain.RequisitionTemplate;
+import org.openlmis.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Declares in-process caches of the service. Statistics of every cache declared here are
+ * exposed by {@link org.openlmis.cache.web.CacheController}.
+ */
+@Configuration
+public class CacheConfiguration {
+
+  /**
+   * Cache of requisition templates keyed by ID of their program.
+   *
+   * @param maxSize Maximum number of programs whose templates are cached.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<UUID, List<RequisitionTemplate>> requisitionTemplateCache(
+      @Value("${cache.requisitionTemplates.maxSize}") int maxSize) {
+    return new LruCache<>("requisitionTemplates", maxSize);
+  }
+
+  /**
+   * Cache of supervisory node subtrees, keyed by ID of the root node. Values are IDs of all
+   * nodes in the subtree, including the root.
+   *
+   * @param maxSize Maximum number of subtrees cached.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<UUID, Set<UUID>> supervisoryNodeSubtreeCache(
+      @Value("${cache.supervisoryNodeSubtrees.maxSize}") int maxSize) {
+    return new LruCache<>("supervisoryNodeSubtrees", maxSize);
+  }
+
+  /**
+   * Cache of compiled Jasper reports of templates, keyed by ID of the template.
+   *
+   * @param maxSize Maximum number of templates whose reports are cached.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<UUID, CachedJasperReport> jasperReportCache(
+      @Value("${cache.jasperReports.maxSize}") int maxSize) {
+    return new LruCache<>("jasperReports", maxSize);
+  }
+
+  /**
+   * Cache of rendered reports, keyed by template, parameters and format of the report.
+   *
+   * @param maxSize Maximum number of reports cached.
+   * @param timeToLive Time in milliseconds after which cached reports expire.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<RenderedReportKey, byte[]> renderedReportCache(
+      @Value("${cache.renderedReports.maxSize}") int maxSize,
+      @Value("${cache.renderedReports.timeToLive}") long timeToLive) {
+    return new LruCache<>("renderedReports", maxSize, timeToLive);
+  }
+
+  /**
+   * Cache of authentications loaded for access tokens, keyed by hash of the token. Entries
+   * expire with the token, or after given time if the token expires later.
+   *
+   * @param maxSize Maximum number of tokens cached.
+   * @param timeToLive Time in milliseconds after which cached authentications expire.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<String, OAuth2Authentication> tokenAuthenticationCache(
+      @Value("${cache.tokenAuthentications.maxSize}") int maxSize,
+      @Value("${cache.tokenAuthentications.timeToLive}") long timeToLive) {
+    return new LruCache<>("tokenAuthentications", maxSize, timeToLive);
+  }
+
+  /**
+   * Cache of principals of authenticated users, keyed by ID of the user.
+   *
+   * @param maxSize Maximum number of users whose principals are cached.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<UUID, UserPrincipal> userPrincipalCache(
+      @Value("${cache.userPrincipals.maxSize}") int maxSize) {
+    return new LruCache<>("userPrincipals", maxSize);
+  }
+
+  /**
+   * Cache of facilities found by ID, see {@link ReferenceDataCacheAspect}.
+   *
+   * @param maxSize Maximum number of facilities cached.
+   * @param timeToLive Time in milliseconds after which cached facilities expire.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<UUID, Facility> facilityCache(
+      @Value("${cache.facilities.maxSize}") int maxSize,
+      @Value("${cache.facilities.timeToLive}") long timeToLive) {
+    return new LruCache<>("facilities", maxSize, timeToLive);
+  }
+
+  /**
+   * Cache of programs found by ID, see {@link ReferenceDataCacheAspect}.
+   *
+   * @param maxSize Maximum number of programs cached.
+   * @param timeToLive Time in milliseconds after which cached programs expire.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<UUID, Program> programCache(
+      @Value("${cache.programs.maxSize}") int maxSize,
+      @Value("${cache.programs.timeToLive}") long timeToLive) {
+    return new LruCache<>("programs", maxSize, timeToLive);
+  }
+
+  /**
+   * Cache of products found by ID, see {@link ReferenceDataCacheAspect}.
+   *
+   * @param maxSize Maximum number of products cached.
+   * @param timeToLive Time in milliseconds after which cached products expire.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<UUID, Product> productCache(
+      @Value("${cache.products.maxSize}") int maxSize,
+      @Value("${cache.products.timeToLive}") long timeToLive) {
+    return new LruCache<>("products", maxSize, timeToLive);
+  }
+
+  /**
+   * Cache of processing periods found by ID, see {@link ReferenceDataCacheAspect}.
+   *
+   * @param maxSize Maximum number of processing periods cached.
+   * @param timeToLive Time in milliseconds after which cached processing periods expire.
+   * @return Created cache.
+   */
+  @Bean
+  public LruCache<UUID, ProcessingPeriod> processingPeriodCache(
+      @Value("${cache.processingPeriods.maxSize}") int maxSize,
+      @Value("${cache.processingPeriods.timeToLive}") long timeToLive) {
+    return new LruCache<>("processingPeriods", maxSize, timeToLive);
+  }
+}
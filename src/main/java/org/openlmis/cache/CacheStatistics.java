@@ -0,0 +1,36 @@
+package org.openlmis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Snapshot of counters of a single {@link LruCache}.
+ */
+@Getter
+@AllArgsConstructor
+public class CacheStatistics {
+
+  private String name;
+
+  private int size;
+
+  private int maxSize;
+
+  private long hits;
+
+  private long misses;
+
+  private long evictions;
+
+  private long invalidations;
+
+  /**
+   * Returns ratio of hits to all lookups, or 0 if there were no lookups yet.
+   *
+   * @return Hit ratio of the cache.
+   */
+  public double getHitRatio() {
+    long requests = hits + misses;
+    return requests == 0 ? 0 : (double) hits / requests;
+  }
+}
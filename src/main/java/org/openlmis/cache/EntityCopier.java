@@ -0,0 +1,113 @@
+package org.openlmis.cache;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+
+/**
+ * Makes deep copies of entities, so they can be cached and handed out without sharing any
+ * instance. Referenced entities, embeddables and collections are copied as well, collections
+ * into plain Java collections. Copying a lazy collection or proxy initializes it, so entities
+ * loaded from the database have to be copied while their session is open. Other values,
+ * like strings, numbers, UUIDs or dates of java.time, are immutable and are not copied.
+ */
+class EntityCopier {
+
+  private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+  /**
+   * Returns deep copy of given entity.
+   *
+   * @param entity Entity to copy.
+   * @param <T> Type of the entity.
+   * @return Copy of the entity or null if the entity is null.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T copy(T entity) {
+    return (T) copy(entity, new IdentityHashMap<>());
+  }
+
+  private static Object copy(Object value, Map<Object, Object> copies) {
+    Object object = value instanceof HibernateProxy
+        ? ((HibernateProxy) value).getHibernateLazyInitializer().getImplementation() : value;
+    if (object == null) {
+      return null;
+    }
+    Object copy = copies.get(object);
+    if (copy != null) {
+      return copy;
+    }
+
+    if (object instanceof Collection) {
+      return copyCollection((Collection<?>) object, copies);
+    } else if (object instanceof Map) {
+      return copyMap((Map<?, ?>) object, copies);
+    } else if (object instanceof Date) {
+      return ((Date) object).clone();
+    } else if (isEntity(object.getClass())) {
+      return copyEntity(object, copies);
+    }
+    return object;
+  }
+
+  private static Object copyEntity(Object entity, Map<Object, Object> copies) {
+    Object copy = BeanUtils.instantiateClass(entity.getClass());
+    copies.put(entity, copy);
+    for (Field field : getFields(entity.getClass())) {
+      Object value = ReflectionUtils.getField(field, entity);
+      ReflectionUtils.setField(field, copy, copy(value, copies));
+    }
+    return copy;
+  }
+
+  private static Collection<Object> copyCollection(Collection<?> collection,
+                                                   Map<Object, Object> copies) {
+    Collection<Object> copy = collection instanceof Set
+        ? new LinkedHashSet<>() : new ArrayList<>(collection.size());
+    copies.put(collection, copy);
+    for (Object element : collection) {
+      copy.add(copy(element, copies));
+    }
+    return copy;
+  }
+
+  private static Map<Object, Object> copyMap(Map<?, ?> map, Map<Object, Object> copies) {
+    Map<Object, Object> copy = new LinkedHashMap<>();
+    copies.put(map, copy);
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      copy.put(copy(entry.getKey(), copies), copy(entry.getValue(), copies));
+    }
+    return copy;
+  }
+
+  private static boolean isEntity(Class<?> type) {
+    return type.isAnnotationPresent(Entity.class) || type.isAnnotationPresent(Embeddable.class);
+  }
+
+  private static List<Field> getFields(Class<?> type) {
+    return FIELDS.computeIfAbsent(type, key -> {
+      List<Field> fields = new ArrayList<>();
+      ReflectionUtils.doWithFields(key, field -> {
+        ReflectionUtils.makeAccessible(field);
+        fields.add(field);
+      }, field -> !Modifier.isStatic(field.getModifiers()));
+      return fields;
+    });
+  }
+}
@@ -0,0 +1,260 @@
+package org.openlmis.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded, thread-safe in-process cache which evicts the least recently used entry when it is
+ * full and, optionally, entries older than a given time to live. Keeps hit, miss and eviction
+ * counters which are exposed through {@link #getStatistics()}. Every invalidation starts a new
+ * generation of the cache, so a value loaded before an invalidation, which may already be
+ * stale, can be kept out of the cache, see {@link #put(Object, Object, long, long)}.
+ *
+ * @param <K> type of keys.
+ * @param <V> type of cached values.
+ */
+public class LruCache<K, V> {
+
+  private final String name;
+
+  private final int maxSize;
+
+  private final long timeToLive;
+
+  private final Map<K, Entry<V>> entries;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private final AtomicLong evictions = new AtomicLong();
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  private long generation;
+
+  /**
+   * Creates new cache.
+   *
+   * @param name Name under which statistics of the cache are exposed.
+   * @param maxSize Maximum number of entries kept in the cache.
+   */
+  public LruCache(String name, int maxSize) {
+    this(name, maxSize, 0);
+  }
+
+  /**
+   * Creates new cache whose entries expire after given time.
+   *
+   * @param name Name under which statistics of the cache are exposed.
+   * @param maxSize Maximum number of entries kept in the cache.
+   * @param timeToLive Time in milliseconds after which cached entries expire, or 0 if they
+   *                   should never expire.
+   */
+  public LruCache(String name, int maxSize, long timeToLive) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+    }
+    if (timeToLive < 0) {
+      throw new IllegalArgumentException("Time to live must not be negative: " + timeToLive);
+    }
+    this.name = name;
+    this.maxSize = maxSize;
+    this.timeToLive = timeToLive;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns value cached for given key.
+   *
+   * @param key Key of the value.
+   * @return Cached value or null if there is none.
+   */
+  public synchronized V get(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry != null && entry.isExpired()) {
+      entries.remove(key);
+      evictions.incrementAndGet();
+      entry = null;
+    }
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.value;
+  }
+
+  /**
+   * Returns value cached for given key, loading and caching it if it is not present.
+   * Null values returned by the loader are not cached, and neither are values loaded while
+   * the cache was invalidated, since they may have been read before the change which caused
+   * the invalidation.
+   *
+   * @param key Key of the value.
+   * @param loader Function used to load missing value.
+   * @return Cached or loaded value.
+   */
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    long loadGeneration;
+    synchronized (this) {
+      V value = get(key);
+      if (value != null) {
+        return value;
+      }
+      loadGeneration = generation;
+    }
+    V value = loader.apply(key);
+    if (value != null) {
+      put(key, value, Long.MAX_VALUE, loadGeneration);
+    }
+    return value;
+  }
+
+  /**
+   * Returns current generation of the cache, which changes whenever any value is invalidated.
+   * Read it before loading a value and pass it to {@link #put(Object, Object, long, long)}.
+   *
+   * @return Current generation.
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Caches value under given key, evicting the least recently used entry if the cache is full.
+   *
+   * @param key Key of the value.
+   * @param value Value to be cached.
+   */
+  public void put(K key, V value) {
+    put(key, value, Long.MAX_VALUE);
+  }
+
+  /**
+   * Caches value under given key until given time, evicting the least recently used entry if
+   * the cache is full. The value never stays cached longer than the time to live of the cache.
+   *
+   * @param key Key of the value.
+   * @param value Value to be cached.
+   * @param expiryTime Time in milliseconds since epoch at which the value expires.
+   */
+  public synchronized void put(K key, V value, long expiryTime) {
+    put(key, value, expiryTime, generation);
+  }
+
+  /**
+   * Caches value loaded in given generation of the cache, unless the cache was invalidated
+   * since then. The value never stays cached longer than the time to live of the cache.
+   *
+   * @param key Key of the value.
+   * @param value Value to be cached.
+   * @param expiryTime Time in milliseconds since epoch at which the value expires.
+   * @param loadGeneration Generation of the cache read before the value was loaded.
+   * @return true if the value was cached, false if it was discarded.
+   */
+  public synchronized boolean put(K key, V value, long expiryTime, long loadGeneration) {
+    if (loadGeneration != generation) {
+      return false;
+    }
+    long expiry = timeToLive == 0
+        ? expiryTime : Math.min(expiryTime, System.currentTimeMillis() + timeToLive);
+    entries.put(key, new Entry<>(value, expiry));
+    Iterator<K> iterator = entries.keySet().iterator();
+    while (entries.size() > maxSize) {
+      iterator.next();
+      iterator.remove();
+      evictions.incrementAndGet();
+    }
+    return true;
+  }
+
+  /**
+   * Removes value cached for given key.
+   *
+   * @param key Key of the value.
+   */
+  public synchronized void invalidate(K key) {
+    generation++;
+    if (entries.remove(key) != null) {
+      invalidations.incrementAndGet();
+    }
+  }
+
+  /**
+   * Removes values cached for all keys matching the predicate.
+   *
+   * @param predicate Predicate matching keys of values to remove.
+   */
+  public synchronized void invalidateIf(Predicate<? super K> predicate) {
+    generation++;
+    Iterator<K> iterator = entries.keySet().iterator();
+    while (iterator.hasNext()) {
+      if (predicate.test(iterator.next())) {
+        iterator.remove();
+        invalidations.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Removes all cached values matching the predicate.
+   *
+   * @param predicate Predicate matching values to remove.
+   */
+  public synchronized void invalidateValuesIf(Predicate<? super V> predicate) {
+    generation++;
+    Iterator<Entry<V>> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      if (predicate.test(iterator.next().value)) {
+        iterator.remove();
+        invalidations.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Removes all cached values.
+   */
+  public synchronized void invalidateAll() {
+    generation++;
+    invalidations.addAndGet(entries.size());
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns current statistics of the cache.
+   *
+   * @return Statistics with counters of the cache.
+   */
+  public CacheStatistics getStatistics() {
+    return new CacheStatistics(name, size(), maxSize, hits.get(), misses.get(),
+        evictions.get(), invalidations.get());
+  }
+
+  private static class Entry<V> {
+    private final V value;
+    private final long expiryTime;
+
+    Entry(V value, long expiryTime) {
+      this.value = value;
+      this.expiryTime = expiryTime;
+    }
+
+    boolean isExpired() {
+      return System.currentTimeMillis() >= expiryTime;
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package org.openlmis.cache;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openlmis.product.domain.Product;
+import org.openlmis.product.repository.ProductRepository;
+import org.openlmis.referencedata.domain.BaseEntity;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.ProcessingPeriod;
+import org.openlmis.referencedata.domain.Program;
+import org.openlmis.referencedata.repository.FacilityRepository;
+import org.openlmis.referencedata.repository.ProcessingPeriodRepository;
+import org.openlmis.referencedata.repository.ProgramRepository;
+import org.openlmis.referencedata.repository.ReferenceDataRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Read-through cache of facilities, programs, products and processing periods found by ID.
+ * Entities are served from the cache only outside of transactions, so entities loaded in a
+ * transaction are still managed. The cache holds deep copies of the entities, made while they
+ * are loaded in a read-only transaction, so their lazy collections are initialized and no
+ * instance is tied to a closed session. Every caller gets its own copy, so changes made to it,
+ * for example by an update which is later saved, are not seen by other callers. Cached
+ * entities are removed when they are saved or deleted through their repository, both right
+ * away and once the transaction commits.
+ */
+@Aspect
+@Component
+public class ReferenceDataCacheAspect {
+
+  @Autowired
+  private LruCache<UUID, Facility> facilityCache;
+
+  @Autowired
+  private LruCache<UUID, Program> programCache;
+
+  @Autowired
+  private LruCache<UUID, Product> productCache;
+
+  @Autowired
+  private LruCache<UUID, ProcessingPeriod> processingPeriodCache;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  /**
+   * Returns copy of cached entity of given ID, finding and caching it if it is missing.
+   *
+   * @param joinPoint Call of the findOne method.
+   * @param repository Repository of the entity.
+   * @param id ID of the entity.
+   * @return Copy of found entity or null if there is no such entity.
+   * @throws Throwable if the repository call fails.
+   */
+  @Around("target(repository) && execution(* findOne(..)) && args(id)")
+  public Object findOne(ProceedingJoinPoint joinPoint, ReferenceDataRepository<?, ?> repository,
+                        Object id) throws Throwable {
+    LruCache<UUID, Object> cache = getCache(repository);
+    if (cache == null || !(id instanceof UUID)
+        || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+
+    Object entity = cache.get((UUID) id);
+    if (entity == null) {
+      long generation = cache.getGeneration();
+      entity = load(joinPoint);
+      if (entity == null) {
+        return null;
+      }
+      cache.put((UUID) id, entity, Long.MAX_VALUE, generation);
+    }
+    return EntityCopier.copy(entity);
+  }
+
+  private Object load(ProceedingJoinPoint joinPoint) throws Throwable {
+    DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+    definition.setReadOnly(true);
+    TransactionStatus status = transactionManager.getTransaction(definition);
+    Object entity;
+    try {
+      entity = EntityCopier.copy(joinPoint.proceed());
+    } catch (Throwable ex) {
+      transactionManager.rollback(status);
+      throw ex;
+    }
+    transactionManager.commit(status);
+    return entity;
+  }
+
+  /**
+   * Removes saved or deleted entities from the cache.
+   *
+   * @param joinPoint Call of the save or delete method.
+   * @param repository Repository of the entity.
+   */
+  @AfterReturning("target(repository) && (execution(* save(..)) || execution(* delete*(..)))")
+  public void afterWrite(JoinPoint joinPoint, ReferenceDataRepository<?, ?> repository) {
+    LruCache<UUID, Object> cache = getCache(repository);
+    if (cache == null) {
+      return;
+    }
+
+    Object[] args = joinPoint.getArgs();
+    invalidate(cache, args);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // entity could have been cached again from the database before the commit
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+              invalidate(cache, args);
+            }
+          });
+    }
+  }
+
+  private void invalidate(LruCache<UUID, Object> cache, Object[] args) {
+    if (args.length == 0) {
+      cache.invalidateAll();
+      return;
+    }
+    Object arg = args[0];
+    if (arg instanceof UUID) {
+      cache.invalidate((UUID) arg);
+    } else if (arg instanceof BaseEntity) {
+      invalidate(cache, (BaseEntity) arg);
+    } else if (arg instanceof Iterable) {
+      for (Object entity : (Iterable<?>) arg) {
+        if (entity instanceof BaseEntity) {
+          invalidate(cache, (BaseEntity) entity);
+        }
+      }
+    } else {
+      cache.invalidateAll();
+    }
+  }
+
+  private void invalidate(LruCache<UUID, Object> cache, BaseEntity entity) {
+    if (entity.getId() != null) {
+      cache.invalidate(entity.getId());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private LruCache<UUID, Object> getCache(ReferenceDataRepository<?, ?> repository) {
+    LruCache<UUID, ?> cache = null;
+    if (repository instanceof FacilityRepository) {
+      cache = facilityCache;
+    } else if (repository instanceof ProgramRepository) {
+      cache = programCache;
+    } else if (repository instanceof ProductRepository) {
+      cache = productCache;
+    } else if (repository instanceof ProcessingPeriodRepository) {
+      cache = processingPeriodCache;
+    }
+    return (LruCache<UUID, Object>) cache;
+  }
+}
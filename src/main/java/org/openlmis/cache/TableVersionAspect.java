@@ -0,0 +1,54 @@
+package org.openlmis.cache;
+
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Increments {@link TableVersions} whenever entities are saved or deleted through a repository.
+ * Within a transaction the version is incremented once the transaction commits, so a response
+ * read before the commit is never tagged with the new version.
+ */
+@Aspect
+@Component
+public class TableVersionAspect {
+
+  @Autowired
+  private TableVersions tableVersions;
+
+  private final ConcurrentMap<Class<?>, Class<?>> entityTypes = new ConcurrentHashMap<>();
+
+  /**
+   * Increments version of the table of the repository.
+   *
+   * @param repository Repository the entities were written through.
+   */
+  @AfterReturning("target(repository) && (execution(* save(..)) || execution(* delete*(..)))")
+  public void afterWrite(CrudRepository<?, ?> repository) {
+    Class<?> entityType = entityTypes.computeIfAbsent(repository.getClass(),
+        type -> ResolvableType.forClass(type).as(CrudRepository.class).resolveGeneric(0));
+    if (entityType == null) {
+      return;
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+              tableVersions.increment(entityType);
+            }
+          });
+    } else {
+      tableVersions.increment(entityType);
+    }
+  }
+}
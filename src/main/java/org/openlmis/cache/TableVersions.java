@@ -0,0 +1,57 @@
+package org.openlmis.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of database tables, identified by their entity types. A counter is
+ * incremented whenever entities of its type are written through a repository, see
+ * {@link TableVersionAspect}. Responses built only from unchanged tables are identical, so the
+ * versions are used to compute their ETags without reading the tables.
+ */
+@Component
+public class TableVersions {
+
+  // counters start from zero on each start, so ETags of earlier runs must not match
+  private final String instanceId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+  private final ConcurrentMap<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+  /**
+   * Increments version of the table of given entity type.
+   *
+   * @param entityType Type of the written entities.
+   */
+  public void increment(Class<?> entityType) {
+    versions.computeIfAbsent(entityType, type -> new AtomicLong()).incrementAndGet();
+  }
+
+  /**
+   * Returns current version of the table of given entity type.
+   *
+   * @param entityType Type of the entities.
+   * @return Number of writes of the entities since the start.
+   */
+  public long getVersion(Class<?> entityType) {
+    AtomicLong version = versions.get(entityType);
+    return version == null ? 0 : version.get();
+  }
+
+  /**
+   * Returns strong ETag of a response built from tables of given entity types. The ETag changes
+   * whenever any of the tables is written.
+   *
+   * @param entityTypes Types of all entities the response is built from.
+   * @return Quoted ETag.
+   */
+  public String getETag(Class<?>... entityTypes) {
+    StringBuilder etag = new StringBuilder("\"").append(instanceId);
+    for (Class<?> entityType : entityTypes) {
+      etag.append('-').append(getVersion(entityType));
+    }
+    return etag.append('"').toString();
+  }
+}
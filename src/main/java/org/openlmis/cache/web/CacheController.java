@@ -0,0 +1,35 @@
+package org.openlmis.cache.web;
+
+import org.openlmis.cache.CacheStatistics;
+import org.openlmis.cache.LruCache;
+import org.openlmis.referencedata.web.BaseController;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Controller
+public class CacheController extends BaseController {
+
+  @Autowired
+  private List<LruCache<?, ?>> caches;
+
+  /**
+   * Returns statistics of all in-process caches.
+   *
+   * @return ResponseEntity with hit, miss and eviction counters of every cache.
+   */
+  @RequestMapping(value = "/caches", method = RequestMethod.GET)
+  public ResponseEntity<?> getCacheStatistics() {
+    List<CacheStatistics> statistics = new ArrayList<>();
+    for (LruCache<?, ?> cache : caches) {
+      statistics.add(cache.getStatistics());
+    }
+    return new ResponseEntity<>(statistics, HttpStatus.OK);
+  }
+}
@@ -1,70 +1,64 @@
 package org.openlmis.csv.generator;
 
-import static ch.qos.logback.core.util.CloseUtil.closeQuietly;
-
 import lombok.NoArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.supercsv.io.CsvMapWriter;
-import org.supercsv.io.ICsvMapWriter;
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.design.JRDesignField;
+import org.supercsv.io.CsvListWriter;
+import org.supercsv.io.ICsvListWriter;
 import org.supercsv.prefs.CsvPreference;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
-import java.util.List;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 @NoArgsConstructor
 public class CsvGenerator {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(CsvGenerator.class);
-
-  /**
-   * Generates CSV String from given rows.
-   *
-   * @param rows - list of Map which values are Csv row values
-   * @param chosenColumns - array of chosen columns names which defines
-   *        what fields of Object will be written to CSV
-   * @return String containing Object exported to CSV format
-   */
-  public String toCsv(List<Map<String, Object>> rows, String[] chosenColumns) {
-    StringWriter writer = new StringWriter();
-    writeCsv(rows, chosenColumns, writer);
-    return writer.toString();
-  }
+  private static final int BUFFER_SIZE = 8192;
 
   /**
-   * Generates CSV file to given output built from given rows.
+   * Streams CSV built from rows of given report data source to given output. Values of the
+   * chosen columns are read as fields of the data source, so no map is created per row. The
+   * output is flushed but not closed.
    *
-   * @param rows - list of Map which values are Csv row values
+   * @param rows - data source which fields are Csv row values
    * @param chosenColumns - array of chosen columns names which defines
-   *        what fields of Object will be written to CSV
+   *        what fields of the data source will be written to CSV
    * @param output - csv will be writen on this output
+   * @throws IOException if reading the data source or writing to the output fails
    */
-  public void toCsv(List<Map<String, Object>> rows, String[] chosenColumns, OutputStream output) {
-    Writer writer = new BufferedWriter(new OutputStreamWriter(output));
-    writeCsv(rows, chosenColumns, writer);
-  }
-
-  private void writeCsv(List<Map<String, Object>> rows, String[] chosenColumns, Writer writer) {
-    if (!rows.isEmpty()) {
-      ICsvMapWriter mapWriter = null;
-      try {
-        mapWriter = new CsvMapWriter(writer, CsvPreference.STANDARD_PREFERENCE);
-        mapWriter.writeHeader(chosenColumns);
+  public void writeCsv(JRDataSource rows, String[] chosenColumns, OutputStream output)
+      throws IOException {
+    try {
+      if (!rows.next()) {
+        return;
+      }
+      JRField[] fields = new JRField[chosenColumns.length];
+      for (int i = 0; i < chosenColumns.length; i++) {
+        JRDesignField field = new JRDesignField();
+        field.setName(chosenColumns[i]);
+        fields[i] = field;
+      }
 
-        for (Map<String, Object> row : rows) {
-          mapWriter.write(row, chosenColumns);
+      Writer writer = new BufferedWriter(
+          new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+      ICsvListWriter listWriter = new CsvListWriter(writer, CsvPreference.STANDARD_PREFERENCE);
+      listWriter.writeHeader(chosenColumns);
+      Object[] row = new Object[fields.length];
+      do {
+        for (int i = 0; i < fields.length; i++) {
+          row[i] = rows.getFieldValue(fields[i]);
         }
-      } catch (IOException ex) {
-        LOGGER.debug(ex.getMessage(), ex);
-      } finally {
-        closeQuietly(mapWriter);
-      }
+        listWriter.write(row);
+      } while (rows.next());
+      listWriter.flush();
+    } catch (JRException ex) {
+      throw new IOException("Could not read CSV rows", ex);
     }
   }
 }
@@ -2,18 +2,18 @@ package org.openlmis.csv.web;
 
 import org.openlmis.fulfillment.domain.Order;
 import org.openlmis.fulfillment.repository.OrderRepository;
-import org.openlmis.fulfillment.service.OrderService;
+import org.openlmis.fulfillment.service.OrderDocumentService;
 import org.openlmis.referencedata.web.BaseController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -26,27 +26,33 @@ public class CsvController extends BaseController {
   @Autowired
   private OrderRepository orderRepository;
 
+  @Autowired
+  private OrderDocumentService orderDocumentService;
+
   /**
-   * Get CSV from Order.
+   * Get CSV from Order. The CSV is streamed to the response as it is generated.
    */
   @RequestMapping(value = "/orders/csv/{id}", method = RequestMethod.GET)
-  public ResponseEntity<?> getCsv(@PathVariable("id") UUID orderId) {
+  public void getCsv(@PathVariable("id") UUID orderId, HttpServletResponse response)
+      throws IOException {
     Order order = orderRepository.findOne(orderId);
     if (order == null) {
       logger.debug("Can't find order with id: {} !", orderId);
-      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+      response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      return;
     }
 
     List<String> header = new ArrayList<>();
-    header.add(OrderService.DEFAULT_COLUMNS[0]);
-    header.add(OrderService.DEFAULT_COLUMNS[1]);
-    header.add(OrderService.DEFAULT_COLUMNS[2]);
-    header.add(OrderService.DEFAULT_COLUMNS[3]);
-    header.add(OrderService.DEFAULT_COLUMNS[4]);
-    header.add(OrderService.DEFAULT_COLUMNS[5]);
-
-    OrderService generator = new OrderService();
-    String csv = generator.orderToCsv(order, header.toArray(new String[0]));
-    return new ResponseEntity<Object>(csv, HttpStatus.OK);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[0]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[1]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[2]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[3]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[4]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[5]);
+
+    response.setContentType("text/csv");
+    orderDocumentService.orderToCsv(order, header.toArray(new String[0]),
+        response.getOutputStream());
+    response.flushBuffer();
   }
 }
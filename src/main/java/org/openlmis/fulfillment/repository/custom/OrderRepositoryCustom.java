@@ -1,13 +1,18 @@
 package org.openlmis.fulfillment.repository.custom;
 
 import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.domain.OrderStatus;
 import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.Program;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderRepositoryCustom {
 
   List<Order> searchOrders(Facility supplyingFacility, Facility requestingFacility,
                            Program program);
+
+  void streamOrders(Facility supplyingFacility, Facility requestingFacility,
+                    Program program, OrderStatus status, Consumer<Order> consumer);
 }
@@ -1,6 +1,10 @@
 package org.openlmis.fulfillment.repository.custom.impl;
 
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.domain.OrderStatus;
 import org.openlmis.fulfillment.repository.custom.OrderRepositoryCustom;
 import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.Program;
@@ -12,9 +16,12 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class OrderRepositoryImpl implements OrderRepositoryCustom {
 
+  private static final int FETCH_SIZE = 100;
+
   @PersistenceContext
   private EntityManager entityManager;
 
@@ -30,6 +37,55 @@ public class OrderRepositoryImpl implements OrderRepositoryCustom {
     CriteriaBuilder builder = entityManager.getCriteriaBuilder();
     CriteriaQuery<Order> query = builder.createQuery(Order.class);
     Root<Order> root = query.from(Order.class);
+    query.where(searchPredicate(builder, root, supplyingFacility, requestingFacility, program));
+    return entityManager.createQuery(query).getResultList();
+  }
+
+  /**
+   * Method passes all Orders with matched parameters to the consumer, oldest first. Orders
+   * are read from a database cursor instead of being loaded into one list, and the
+   * persistence context is cleared after each fetched chunk, so memory use does not depend
+   * on the number of orders. Has to be called within a transaction.
+   * @param supplyingFacility supplyingFacility of searched Orders.
+   * @param requestingFacility requestingFacility of searched Orders.
+   * @param program program of searched Orders.
+   * @param status status of searched Orders.
+   * @param consumer Consumer to which every matched Order is passed.
+   */
+  public void streamOrders(Facility supplyingFacility, Facility requestingFacility,
+                           Program program, OrderStatus status, Consumer<Order> consumer) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Order> query = builder.createQuery(Order.class);
+    Root<Order> root = query.from(Order.class);
+    Predicate predicate = searchPredicate(builder, root,
+        supplyingFacility, requestingFacility, program);
+    if (status != null) {
+      predicate = builder.and(predicate, builder.equal(root.get("status"), status));
+    }
+    query.where(predicate);
+    query.orderBy(builder.asc(root.get("createdDate")), builder.asc(root.get("orderCode")));
+
+    ScrollableResults results = entityManager.createQuery(query)
+        .unwrap(Query.class)
+        .setFetchSize(FETCH_SIZE)
+        .setReadOnly(true)
+        .scroll(ScrollMode.FORWARD_ONLY);
+    try {
+      int count = 0;
+      while (results.next()) {
+        consumer.accept((Order) results.get(0));
+        if (++count % FETCH_SIZE == 0) {
+          entityManager.clear();
+        }
+      }
+    } finally {
+      results.close();
+    }
+  }
+
+  private Predicate searchPredicate(CriteriaBuilder builder, Root<Order> root,
+                                    Facility supplyingFacility, Facility requestingFacility,
+                                    Program program) {
     Predicate predicate = builder.conjunction();
     if (supplyingFacility != null) {
       predicate = builder.and(
@@ -48,8 +104,7 @@ public class OrderRepositoryImpl implements OrderRepositoryCustom {
               builder.equal(
                       root.get("program"), program));
     }
-    query.where(predicate);
-    return entityManager.createQuery(query).getResultList();
+    return predicate;
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package org.openlmis.fulfillment.service;
+
+import org.openlmis.fulfillment.domain.Order;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports orders as a ZIP archive with one CSV file per order.
+ */
+class CsvZipOrderExporter extends OrderExporter {
+
+  static final String FORMAT = "csv";
+
+  private final OrderDocumentService orderDocumentService;
+  private final OutputStream out;
+  private ZipOutputStream zip;
+
+  CsvZipOrderExporter(OrderDocumentService orderDocumentService, ExecutorService executor,
+                      int maxPendingOrders, OutputStream out) {
+    super(executor, maxPendingOrders);
+    this.orderDocumentService = orderDocumentService;
+    this.out = out;
+  }
+
+  @Override
+  void render(Order order, OutputStream content) throws IOException {
+    orderDocumentService.orderToCsv(order, OrderDocumentService.DEFAULT_COLUMNS, content);
+  }
+
+  @Override
+  void write(Order order, byte[] content) throws IOException {
+    if (zip == null) {
+      zip = new ZipOutputStream(out);
+    }
+    zip.putNextEntry(new ZipEntry("order-" + order.getOrderCode() + ".csv"));
+    zip.write(content);
+    zip.closeEntry();
+    zip.flush();
+  }
+
+  @Override
+  void complete() throws IOException {
+    if (zip != null) {
+      zip.finish();
+      zip.flush();
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package org.openlmis.fulfillment.service;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.export.JRPdfExporter;
+import net.sf.jasperreports.engine.fill.JRAbstractLRUVirtualizer;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import org.openlmis.csv.generator.CsvGenerator;
+import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.domain.OrderStatus;
+import org.openlmis.fulfillment.repository.OrderRepository;
+import org.openlmis.fulfillment.utils.OrderLineDataSource;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.Program;
+import org.openlmis.reporting.service.ReportVirtualizerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Renders orders to CSV and PDF documents, one at a time or as an export of many orders.
+ */
+@Service
+public class OrderDocumentService {
+
+  private final Logger logger = LoggerFactory.getLogger(OrderDocumentService.class);
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private ReportVirtualizerFactory reportVirtualizerFactory;
+
+  @Autowired
+  private ExecutorService orderExportExecutor;
+
+  @Value("${order.export.maxPendingOrders}")
+  private int maxPendingExportOrders;
+
+  private static final String ORDER_PDF_TEMPLATE = "jasperTemplates/ordersJasperTemplate.jrxml";
+
+  private volatile JasperReport orderPdfTemplate;
+
+  public static final String[] DEFAULT_COLUMNS = {OrderLineDataSource.FACILITY_CODE,
+    OrderLineDataSource.CREATED_DATE, OrderLineDataSource.ORDER_NUMBER,
+    OrderLineDataSource.PRODUCT_NAME, OrderLineDataSource.PRODUCT_CODE,
+    OrderLineDataSource.ORDERED_QUANTITY, OrderLineDataSource.FILLED_QUANTITY};
+
+  /**
+   * Writes all orders matching provided parameters to given OutputStream, either as a ZIP
+   * archive of CSV files, one per order, or as a single PDF file. Orders are read from
+   * a database cursor and rendered by a bounded pool of threads, and documents are written
+   * to the output as soon as they are ready, in order of creation of the orders. Nothing
+   * is written if no order matches.
+   * @param supplyingFacility supplyingFacility of exported Orders.
+   * @param requestingFacility requestingFacility of exported Orders.
+   * @param program program of exported Orders.
+   * @param status status of exported Orders.
+   * @param format Either "csv" or "pdf".
+   * @param out OutputStream to which exported orders will be written
+   * @return number of exported orders
+   * @throws IOException if rendering of any order or writing to the output fails; an order
+   *      which cannot be rendered is never left out of the export
+   */
+  @Transactional(readOnly = true)
+  public int exportOrders(Facility supplyingFacility, Facility requestingFacility,
+                          Program program, OrderStatus status, String format,
+                          OutputStream out) throws IOException {
+    OrderExporter exporter = OrderExporter.forFormat(format, this, orderExportExecutor,
+        maxPendingExportOrders, out);
+    try {
+      orderRepository.streamOrders(supplyingFacility, requestingFacility, program, status,
+          order -> {
+            try {
+              exporter.add(order);
+            } catch (IOException ex) {
+              throw new UncheckedIOException(ex);
+            }
+          });
+    } catch (UncheckedIOException ex) {
+      exporter.cancel();
+      throw ex.getCause();
+    } catch (RuntimeException ex) {
+      exporter.cancel();
+      throw ex;
+    }
+    return exporter.finish();
+  }
+
+  /**
+   * Changes order to CSV formatted String.
+   * @param order Order type object to be transformed into CSV
+   * @param chosenColumns String array containing names of columns to be taken from order
+   * @return CSV formatted String with an order
+   */
+  public String orderToCsv(Order order, String[] chosenColumns) {
+    if (order != null) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try {
+        orderToCsv(order, chosenColumns, out);
+      } catch (IOException ex) {
+        logger.debug(ex.getMessage(), ex);
+      }
+      return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    return null;
+  }
+
+  /**
+   * Streams order in CSV format to given OutputStream. Values are read from order lines one
+   * at a time while they are written, so memory use does not depend on the size of the order.
+   * @param order Order type object to be transformed into CSV
+   * @param chosenColumns String array containing names of columns to be taken from order
+   * @param out OutputStream to which the CSV content will be written
+   * @throws IOException if writing to the output fails
+   */
+  public void orderToCsv(Order order, String[] chosenColumns, OutputStream out)
+      throws IOException {
+    if (order != null) {
+      new CsvGenerator().writeCsv(new OrderLineDataSource(order), chosenColumns, out);
+    }
+  }
+
+  /**
+   * Changes order to PDF formatted file given at OutputStream.
+   * @param order Order type object to be transformed into CSV
+   * @param chosenColumns String array containing names of columns to be taken from order
+   * @param out OutputStream to which the pdf file content will be written
+   */
+  public void orderToPdf(Order order, String[] chosenColumns, OutputStream out) {
+    try {
+      writeOrderPdf(order, chosenColumns, out);
+    } catch (JRException ex) {
+      logger.debug("Error compiling jasper template.", ex);
+    } catch (IOException ex) {
+      logger.debug("Error reading from file.", ex);
+    }
+  }
+
+  /**
+   * Changes order to PDF formatted file given at OutputStream. Unlike orderToPdf, failures are
+   * passed to the caller instead of leaving the output empty.
+   * @param order Order type object to be transformed into PDF
+   * @param chosenColumns String array containing names of columns to be taken from order
+   * @param out OutputStream to which the pdf file content will be written
+   * @throws JRException if the template cannot be compiled or the report cannot be rendered
+   * @throws IOException if the template cannot be read
+   */
+  public void writeOrderPdf(Order order, String[] chosenColumns, OutputStream out)
+      throws JRException, IOException {
+    if (order != null) {
+      writePdf(new OrderLineDataSource(order), order.getOrderLines().size(), out);
+    }
+  }
+
+  //TODO: fix this temporary method after JasperTemplate class is finished
+  private void writePdf(OrderLineDataSource dataSource, int lineCount, OutputStream out)
+      throws JRException, IOException {
+    JasperReport pdfTemplate = getOrderPdfTemplate();
+    Map<String, Object> reportParams = new HashMap<>();
+    JRAbstractLRUVirtualizer virtualizer =
+        reportVirtualizerFactory.getVirtualizer(ORDER_PDF_TEMPLATE, lineCount);
+    if (virtualizer != null) {
+      reportParams.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+    }
+    try {
+      JasperPrint jasperPrint = JasperFillManager.fillReport(pdfTemplate, reportParams,
+              dataSource);
+      if (virtualizer != null) {
+        virtualizer.setReadOnly(true);
+      }
+      JRPdfExporter exporter = new JRPdfExporter();
+      exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+      exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(out));
+      exporter.exportReport();
+    } finally {
+      if (virtualizer != null) {
+        virtualizer.cleanup();
+      }
+    }
+  }
+
+  /**
+   * Returns the compiled order template. The template is read from the classpath and compiled
+   * on first use only; a compiled JasperReport is not modified by filling, so the same instance
+   * is shared by all threads.
+   */
+  private JasperReport getOrderPdfTemplate() throws JRException, IOException {
+    JasperReport template = orderPdfTemplate;
+    if (template == null) {
+      synchronized (this) {
+        template = orderPdfTemplate;
+        if (template == null) {
+          template = compileOrderPdfTemplate();
+          orderPdfTemplate = template;
+        }
+      }
+    }
+    return template;
+  }
+
+  /**
+   * Compiles the order template. Package-private so tests can count how often it is compiled.
+   */
+  JasperReport compileOrderPdfTemplate() throws JRException, IOException {
+    try (InputStream inputStream =
+             getClass().getClassLoader().getResourceAsStream(ORDER_PDF_TEMPLATE)) {
+      if (inputStream == null) {
+        throw new FileNotFoundException("File does not exist: " + ORDER_PDF_TEMPLATE);
+      }
+      return JasperCompileManager.compileReport(inputStream);
+    }
+  }
+}
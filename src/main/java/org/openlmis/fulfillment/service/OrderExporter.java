@@ -0,0 +1,137 @@
+package org.openlmis.fulfillment.service;
+
+import org.openlmis.fulfillment.domain.Order;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Writes documents of many orders to a single output. Documents are rendered by a pool of
+ * worker threads, at most a given number of orders ahead of the one being written, and are
+ * written in the order in which orders were added.
+ */
+abstract class OrderExporter {
+
+  private final ExecutorService executor;
+  private final int maxPendingOrders;
+  private final Deque<PendingOrder> pendingOrders = new ArrayDeque<>();
+  private int exportedOrders;
+
+  OrderExporter(ExecutorService executor, int maxPendingOrders) {
+    this.executor = executor;
+    this.maxPendingOrders = Math.max(1, maxPendingOrders);
+  }
+
+  /**
+   * Creates exporter writing orders in the given format.
+   *
+   * @param format Either "csv" for a ZIP of CSV files or "pdf" for a single PDF file.
+   * @return created exporter.
+   * @throws IllegalArgumentException if the format is not supported.
+   */
+  static OrderExporter forFormat(String format, OrderDocumentService orderDocumentService,
+                                 ExecutorService executor, int maxPendingOrders,
+                                 OutputStream out) {
+    if (CsvZipOrderExporter.FORMAT.equals(format)) {
+      return new CsvZipOrderExporter(orderDocumentService, executor, maxPendingOrders, out);
+    }
+    if (PdfOrderExporter.FORMAT.equals(format)) {
+      return new PdfOrderExporter(orderDocumentService, executor, maxPendingOrders, out);
+    }
+    throw new IllegalArgumentException("Unsupported export format: " + format);
+  }
+
+  /**
+   * Schedules rendering of the order. Blocks while writing the oldest rendered order if too
+   * many orders are already pending.
+   */
+  void add(Order order) throws IOException {
+    if (pendingOrders.size() >= maxPendingOrders) {
+      writeNext();
+    }
+    pendingOrders.add(new PendingOrder(order, executor.submit(() -> {
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      render(order, content);
+      return content.toByteArray();
+    })));
+  }
+
+  /**
+   * Writes all pending orders and completes the output.
+   *
+   * @return number of orders written.
+   */
+  int finish() throws IOException {
+    try {
+      while (!pendingOrders.isEmpty()) {
+        writeNext();
+      }
+      complete();
+      return exportedOrders;
+    } finally {
+      cancel();
+    }
+  }
+
+  /**
+   * Cancels rendering of all pending orders.
+   */
+  void cancel() {
+    for (PendingOrder pendingOrder : pendingOrders) {
+      pendingOrder.content.cancel(true);
+    }
+    pendingOrders.clear();
+  }
+
+  /**
+   * Renders the document of the order. Called by worker threads. A failure to render fails
+   * the whole export instead of leaving the order out.
+   */
+  abstract void render(Order order, OutputStream out) throws IOException;
+
+  /**
+   * Writes rendered document of the order to the output.
+   */
+  abstract void write(Order order, byte[] content) throws IOException;
+
+  /**
+   * Completes the output after all orders were written. Must not close the underlying stream.
+   */
+  abstract void complete() throws IOException;
+
+  private void writeNext() throws IOException {
+    PendingOrder pendingOrder = pendingOrders.poll();
+    byte[] content;
+    try {
+      content = pendingOrder.content.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      InterruptedIOException interrupted =
+          new InterruptedIOException("Export of orders was interrupted");
+      interrupted.initCause(ex);
+      throw interrupted;
+    } catch (ExecutionException ex) {
+      throw new IOException("Could not render order: "
+          + pendingOrder.order.getOrderCode(), ex);
+    }
+    write(pendingOrder.order, content);
+    exportedOrders++;
+  }
+
+  private static class PendingOrder {
+    private final Order order;
+    private final Future<byte[]> content;
+
+    PendingOrder(Order order, Future<byte[]> content) {
+      this.order = order;
+      this.content = content;
+    }
+  }
+}
@@ -1,15 +1,5 @@
 package org.openlmis.fulfillment.service;
 
-import net.sf.jasperreports.engine.JRException;
-import net.sf.jasperreports.engine.JasperCompileManager;
-import net.sf.jasperreports.engine.JasperFillManager;
-import net.sf.jasperreports.engine.JasperPrint;
-import net.sf.jasperreports.engine.JasperReport;
-import net.sf.jasperreports.engine.data.JRMapArrayDataSource;
-import net.sf.jasperreports.engine.export.JRPdfExporter;
-import net.sf.jasperreports.export.SimpleExporterInput;
-import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
-import org.openlmis.csv.generator.CsvGenerator;
 import org.openlmis.fulfillment.domain.Order;
 import org.openlmis.fulfillment.domain.OrderLine;
 import org.openlmis.fulfillment.domain.OrderNumberConfiguration;
@@ -25,40 +15,31 @@ import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionLine;
-import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.requisition.exception.RequisitionException;
 import org.openlmis.requisition.service.RequisitionService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class OrderService {
 
-  Logger logger = LoggerFactory.getLogger(OrderService.class);
-
   @Autowired
   private RequisitionService requisitionService;
 
   @Autowired
   private SupplyLineService supplyLineService;
 
-  @Autowired
-  private RequisitionRepository requisitionRepository;
-
   @Autowired
   private UserRepository userRepository;
 
@@ -71,9 +52,6 @@ public class OrderService {
   @Autowired
   private OrderNumberConfigurationRepository orderNumberConfigurationRepository;
 
-  public static final String[] DEFAULT_COLUMNS = {"facilityCode", "createdDate", "orderNum",
-    "productName", "productCode", "orderedQuantity", "filledQuantity"};
-
   /**
    * Finds orders matching all of provided parameters.
    * @param supplyingFacility supplyingFacility of searched Orders.
@@ -90,109 +68,29 @@ public class OrderService {
   }
 
   /**
-   * Changes order to CSV formatted String.
-   * @param order Order type object to be transformed into CSV
-   * @param chosenColumns String array containing names of columns to be taken from order
-   * @return CSV formatted String with an order
+   * Converting Requisition list to Orders. Requisitions, their supply lines and the order
+   * number configuration are loaded once for the whole list, and orders with their lines
+   * are inserted in JDBC batches when the transaction is flushed.
+   *
+   * @throws RequisitionException if any of given requisitions does not exist or has no
+   *      supervisory node with a supply line for its program, in which case nothing is released
+   *      or converted
    */
-  public String orderToCsv(Order order, String[] chosenColumns) {
-    if (order != null) {
-      List<Map<String, Object>> rows = orderToRows(order);
-      CsvGenerator generator = new CsvGenerator();
-
-      return generator.toCsv(rows, chosenColumns);
-    }
-
-    return null;
-  }
-
-  /**
-   * Changes order to PDF formatted file given at OutputStream.
-   * @param order Order type object to be transformed into CSV
-   * @param chosenColumns String array containing names of columns to be taken from order
-   * @param out OutputStream to which the pdf file content will be written
-   */
-  public void orderToPdf(Order order, String[] chosenColumns, OutputStream out) {
-    if (order != null) {
-      List<Map<String, Object>> rows = orderToRows(order);
-      writePdf(rows, chosenColumns, out);
-    }
-  }
-
-  //TODO: fix this temporary method after JasperTemplate class is finished
-  private void writePdf(List<Map<String, Object>> data, String[] chosenColumns,
-                        OutputStream out) {
-    try {
-      ClassLoader classLoader = getClass().getClassLoader();
-      File template = new File(
-          classLoader.getResource(
-              "jasperTemplates/ordersJasperTemplate.jrxml").getFile());
-
-      FileInputStream fis = new FileInputStream(template);
-      JasperReport pdfTemplate = JasperCompileManager.compileReport(fis);
-      HashMap<String, Object>[] params = new HashMap[data.size()];
-      int index = 0;
-      for (Map<String, Object> dataRow : data) {
-        params[index] = new HashMap<>();
-        params[index].put(DEFAULT_COLUMNS[3], dataRow.get(DEFAULT_COLUMNS[3]));
-        params[index].put(DEFAULT_COLUMNS[6], dataRow.get(DEFAULT_COLUMNS[6]));
-        params[index].put(DEFAULT_COLUMNS[5], dataRow.get(DEFAULT_COLUMNS[5]));
-        index++;
-      }
-      JRMapArrayDataSource dataSource = new JRMapArrayDataSource(params);
-      JasperPrint jasperPrint = JasperFillManager.fillReport(pdfTemplate, new HashMap<>(),
-              dataSource);
-      JRPdfExporter exporter = new JRPdfExporter();
-      exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
-      exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(out));
-      exporter.exportReport();
-    } catch (JRException ex) {
-      logger.debug("Error compiling jasper template.", ex);
-    } catch (FileNotFoundException ex) {
-      logger.debug("Error reading from file.", ex);
-    } catch (NullPointerException ex) {
-      logger.debug("File does not exist." , ex);
-    }
-  }
+  @Transactional(rollbackFor = RequisitionException.class)
+  public List<Order> convertToOrder(List<Requisition> requisitionList, UUID userId)
+      throws RequisitionException {
+    User user = userRepository.findOne(userId);
+    List<Requisition> releasedRequisitions =
+        requisitionService.releaseRequisitionsAsOrder(requisitionList);
 
-  private List<Map<String, Object>> orderToRows(Order order) {
-    List<Map<String, Object>> rows = new ArrayList<>();
-    List<OrderLine> orderLines = order.getOrderLines();
-    String orderNum = order.getOrderCode();
-    String facilityCode = order.getRequestingFacility().getCode();
-    LocalDateTime createdDate = order.getCreatedDate();
-
-    for (OrderLine orderLine : orderLines) {
-      Map<String, Object> row = new HashMap<>();
-
-      row.put(DEFAULT_COLUMNS[0], facilityCode);
-      row.put(DEFAULT_COLUMNS[1], createdDate);
-      row.put(DEFAULT_COLUMNS[2], orderNum);
-      row.put(DEFAULT_COLUMNS[3], orderLine.getProduct().getPrimaryName());
-      row.put(DEFAULT_COLUMNS[4], orderLine.getProduct().getCode());
-      row.put(DEFAULT_COLUMNS[5], orderLine.getOrderedQuantity());
-      row.put(DEFAULT_COLUMNS[6], orderLine.getFilledQuantity());
-
-      //products which have a final approved quantity of zero are omitted
-      if (orderLine.getOrderedQuantity() > 0) {
-        rows.add(row);
-      }
-    }
-    return rows;
-  }
+    Map<UUID, List<SupplyLine>> supplyLines = loadSupplyLines(releasedRequisitions);
+    OrderNumberConfiguration orderNumberConfiguration =
+        orderNumberConfigurationRepository.findAll().iterator().next();
 
-  /**
-   * Converting Requisition list to Orders.
-   */
-  @Transactional
-  public List<Order> convertToOrder(List<Requisition> requisitionList, UUID userId) {
-    User user = userRepository.findOne(userId);
-    requisitionService.releaseRequisitionsAsOrder(requisitionList);
     List<Order> convertedOrders = new ArrayList<>();
+    List<OrderLine> convertedOrderLines = new ArrayList<>();
 
-    for (Requisition requisition : requisitionList) {
-      requisition = requisitionRepository.findOne(requisition.getId());
-
+    for (Requisition requisition : releasedRequisitions) {
       Order order = new Order();
       order.setCreatedBy(user);
       order.setRequisition(requisition);
@@ -201,23 +99,16 @@ public class OrderService {
       order.setReceivingFacility(requisition.getFacility());
       order.setRequestingFacility(requisition.getFacility());
 
-      List<SupplyLine> supplyLines = supplyLineService
-          .searchSupplyLines(requisition.getProgram(), requisition.getSupervisoryNode());
-      SupplyLine supplyLine = supplyLines.get(0);
+      SupplyLine supplyLine = findSupplyLine(supplyLines, requisition);
 
       order.setSupplyingFacility(supplyLine.getSupplyingFacility());
       order.setProgram(supplyLine.getProgram());
 
-      OrderNumberConfiguration orderNumberConfiguration =
-          orderNumberConfigurationRepository.findAll().iterator().next();
-
       order.setOrderCode(orderNumberConfiguration.generateOrderNumber(
           requisition.getId(), order.getProgram().getCode(), requisition.getEmergency()));
 
       order.setQuotedCost(BigDecimal.ZERO);
 
-      orderRepository.save(order);
-
       List<OrderLine> orderLines = new ArrayList<>();
       for (RequisitionLine rl : requisition.getRequisitionLines()) {
         OrderLine orderLine = new OrderLine();
@@ -226,11 +117,46 @@ public class OrderService {
         orderLine.setFilledQuantity(0L);
         orderLine.setOrderedQuantity(rl.getRequestedQuantity().longValue());
         orderLines.add(orderLine);
-        orderLineRepository.save(orderLine);
       }
       order.setOrderLines(orderLines);
       convertedOrders.add(order);
+      convertedOrderLines.addAll(orderLines);
     }
+
+    orderRepository.save(convertedOrders);
+    orderLineRepository.save(convertedOrderLines);
     return convertedOrders;
   }
+
+  private Map<UUID, List<SupplyLine>> loadSupplyLines(List<Requisition> requisitions) {
+    Set<UUID> programIds = new HashSet<>();
+    for (Requisition requisition : requisitions) {
+      programIds.add(requisition.getProgram().getId());
+    }
+
+    Map<UUID, List<SupplyLine>> supplyLines = new HashMap<>();
+    for (SupplyLine supplyLine : supplyLineService.searchSupplyLines(programIds)) {
+      supplyLines.computeIfAbsent(supplyLine.getProgram().getId(), id -> new ArrayList<>())
+          .add(supplyLine);
+    }
+    return supplyLines;
+  }
+
+  private SupplyLine findSupplyLine(Map<UUID, List<SupplyLine>> supplyLines,
+                                    Requisition requisition) throws RequisitionException {
+    if (requisition.getSupervisoryNode() == null) {
+      throw new RequisitionException("Requisition has no supervisory node, so its supply line "
+          + "cannot be determined: " + requisition.getId());
+    }
+    List<SupplyLine> programSupplyLines = supplyLines.getOrDefault(
+        requisition.getProgram().getId(), Collections.emptyList());
+    for (SupplyLine supplyLine : programSupplyLines) {
+      if (requisition.getSupervisoryNode().getId().equals(
+          supplyLine.getSupervisoryNode().getId())) {
+        return supplyLine;
+      }
+    }
+    throw new RequisitionException(
+        "No supply line found for requisition: " + requisition.getId());
+  }
 }
@@ -0,0 +1,71 @@
+package org.openlmis.fulfillment.service;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.pdf.PdfCopy;
+import com.lowagie.text.pdf.PdfReader;
+import net.sf.jasperreports.engine.JRException;
+import org.openlmis.fulfillment.domain.Order;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Exports orders as a single PDF file containing pages of all orders. Pages of each order
+ * are copied to the output as soon as the order is rendered.
+ */
+class PdfOrderExporter extends OrderExporter {
+
+  static final String FORMAT = "pdf";
+
+  private final OrderDocumentService orderDocumentService;
+  private final OutputStream out;
+  private Document document;
+  private PdfCopy copy;
+
+  PdfOrderExporter(OrderDocumentService orderDocumentService, ExecutorService executor,
+                   int maxPendingOrders, OutputStream out) {
+    super(executor, maxPendingOrders);
+    this.orderDocumentService = orderDocumentService;
+    this.out = out;
+  }
+
+  @Override
+  void render(Order order, OutputStream content) throws IOException {
+    try {
+      orderDocumentService.writeOrderPdf(order, OrderDocumentService.DEFAULT_COLUMNS, content);
+    } catch (JRException ex) {
+      throw new IOException("Could not render order: " + order.getOrderCode(), ex);
+    }
+  }
+
+  @Override
+  void write(Order order, byte[] content) throws IOException {
+    PdfReader reader = new PdfReader(content);
+    try {
+      if (copy == null) {
+        document = new Document(reader.getPageSizeWithRotation(1));
+        copy = new PdfCopy(document, out);
+        copy.setCloseStream(false);
+        document.open();
+      }
+      for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+        copy.addPage(copy.getImportedPage(reader, page));
+      }
+      copy.freeReader(reader);
+      out.flush();
+    } catch (DocumentException ex) {
+      throw new IOException("Could not append order: " + order.getOrderCode(), ex);
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Override
+  void complete() {
+    if (document != null) {
+      document.close();
+    }
+  }
+}
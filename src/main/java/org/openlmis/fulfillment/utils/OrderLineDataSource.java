@@ -0,0 +1,85 @@
+package org.openlmis.fulfillment.utils;
+
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.JRRewindableDataSource;
+import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.domain.OrderLine;
+
+import java.util.Iterator;
+
+/**
+ * Report data source iterating over lines of an order. Field values are read from the current
+ * order line by field name, so no row objects are created for the lines. Lines with an ordered
+ * quantity of zero are skipped.
+ */
+public class OrderLineDataSource implements JRRewindableDataSource {
+
+  public static final String FACILITY_CODE = "facilityCode";
+  public static final String CREATED_DATE = "createdDate";
+  public static final String ORDER_NUMBER = "orderNum";
+  public static final String PRODUCT_NAME = "productName";
+  public static final String PRODUCT_CODE = "productCode";
+  public static final String ORDERED_QUANTITY = "orderedQuantity";
+  public static final String FILLED_QUANTITY = "filledQuantity";
+
+  private final Order order;
+  private Iterator<OrderLine> lines;
+  private OrderLine current;
+
+  public OrderLineDataSource(Order order) {
+    this.order = order;
+    moveFirst();
+  }
+
+  @Override
+  public boolean next() {
+    while (lines.hasNext()) {
+      OrderLine line = lines.next();
+      //products which have a final approved quantity of zero are omitted
+      if (line.getOrderedQuantity() > 0) {
+        current = line;
+        return true;
+      }
+    }
+    current = null;
+    return false;
+  }
+
+  @Override
+  public Object getFieldValue(JRField field) {
+    return getValue(field.getName());
+  }
+
+  /**
+   * Returns value of given column for the current order line.
+   *
+   * @param column Name of the column.
+   * @return Value of the column, or null if there is no such column.
+   */
+  public Object getValue(String column) {
+    switch (column) {
+      case FACILITY_CODE:
+        return order.getRequestingFacility().getCode();
+      case CREATED_DATE:
+        return order.getCreatedDate();
+      case ORDER_NUMBER:
+        return order.getOrderCode();
+      case PRODUCT_NAME:
+        return current.getProduct().getPrimaryName();
+      case PRODUCT_CODE:
+        return current.getProduct().getCode();
+      case ORDERED_QUANTITY:
+        return current.getOrderedQuantity();
+      case FILLED_QUANTITY:
+        return current.getFilledQuantity();
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public final void moveFirst() {
+    lines = order.getOrderLines().iterator();
+    current = null;
+  }
+}
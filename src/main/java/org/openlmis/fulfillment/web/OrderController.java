@@ -1,16 +1,17 @@
 package org.openlmis.fulfillment.web;
 
-import org.apache.tomcat.util.http.fileupload.IOUtils;
 import org.openlmis.fulfillment.domain.Order;
 import org.openlmis.fulfillment.domain.OrderStatus;
 import org.openlmis.fulfillment.repository.OrderRepository;
+import org.openlmis.fulfillment.service.OrderDocumentService;
 import org.openlmis.fulfillment.service.OrderService;
-import org.openlmis.hierarchyandsupervision.domain.User;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
 import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.referencedata.web.BaseController;
 import org.openlmis.requisition.domain.Requisition;
+import org.openlmis.requisition.exception.RequisitionException;
+import org.openlmis.security.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,10 +28,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -39,12 +37,17 @@ public class OrderController extends BaseController {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(OrderController.class);
 
+  private static final String CONTENT_DISPOSITION = "Content-Disposition";
+
   @Autowired
   private OrderRepository orderRepository;
 
   @Autowired
   private OrderService orderService;
 
+  @Autowired
+  private OrderDocumentService orderDocumentService;
+
   /**
    * Allows creating new orders.
    * If the id is specified, it will be ignored.
@@ -174,6 +177,66 @@ public class OrderController extends BaseController {
     return new ResponseEntity<>(result, HttpStatus.OK);
   }
 
+  /**
+   * Exports all Orders matching provided parameters, as a ZIP archive with one CSV file per
+   * order or as a single PDF file. The file is written to the response while orders are read.
+   * If any order cannot be rendered, the export fails: with "#500 Internal Server Error" if
+   * nothing was sent yet, otherwise the response is aborted.
+   *
+   * @param supplyingFacility supplyingFacility of exported Orders.
+   * @param requestingFacility requestingFacility of exported Orders.
+   * @param program program of exported Orders.
+   * @param status status of exported Orders, ORDERED by default.
+   * @param format String describing export format (csv or pdf)
+   * @param response HttpServletResponse object
+   */
+  @RequestMapping(value = "/orders/export", method = RequestMethod.GET)
+  public void exportOrders(
+          @RequestParam(value = "supplyingFacility", required = true) Facility supplyingFacility,
+          @RequestParam(value = "requestingFacility", required = false) Facility requestingFacility,
+          @RequestParam(value = "program", required = false) Program program,
+          @RequestParam(value = "status", required = false, defaultValue = "ORDERED")
+              OrderStatus status,
+          @RequestParam("format") String format,
+          HttpServletResponse response) throws IOException {
+    if (supplyingFacility == null) {
+      response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      return;
+    }
+    if ("pdf".equals(format)) {
+      response.setContentType("application/pdf");
+      response.addHeader(CONTENT_DISPOSITION, "attachment; filename=orders.pdf");
+    } else if ("csv".equals(format)) {
+      response.setContentType("application/zip");
+      response.addHeader(CONTENT_DISPOSITION, "attachment; filename=orders.zip");
+    } else {
+      response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      return;
+    }
+
+    int exported;
+    try {
+      exported = orderDocumentService.exportOrders(supplyingFacility, requestingFacility, program,
+          status, format, response.getOutputStream());
+    } catch (IOException ex) {
+      if (response.isCommitted()) {
+        throw ex;
+      }
+      LOGGER.error("Error exporting orders.", ex);
+      response.reset();
+      response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+          "Orders could not be exported.");
+      return;
+    }
+    LOGGER.debug("Exported " + exported + " orders");
+    if (exported == 0) {
+      response.reset();
+      response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+    } else {
+      response.flushBuffer();
+    }
+  }
+
   /**
    * Allows finalizing orders.
    *
@@ -216,25 +279,24 @@ public class OrderController extends BaseController {
       } catch (IOException ex) {
         LOGGER.info("Error sending error message to client.", ex);
       }
+      return;
     }
     String[] columns = {"productName", "filledQuantity", "orderedQuantity"};
     if (format.equals("pdf")) {
       response.setContentType("application/pdf");
-      response.addHeader("Content-Disposition",
+      response.addHeader(CONTENT_DISPOSITION,
               "attachment; filename=order-" + order.getOrderCode() + ".pdf");
       try {
-        orderService.orderToPdf(order, columns, response.getOutputStream());
+        orderDocumentService.orderToPdf(order, columns, response.getOutputStream());
       } catch (IOException ex) {
         LOGGER.debug("Error getting response output stream.", ex);
       }
     } else {
       response.setContentType("text/csv");
-      response.addHeader("Content-Disposition",
+      response.addHeader(CONTENT_DISPOSITION,
               "attachment; filename=order" + order.getOrderCode() + ".csv");
-      String csvContent = orderService.orderToCsv(order, columns);
       try {
-        InputStream input = new ByteArrayInputStream(csvContent.getBytes(StandardCharsets.UTF_8));
-        IOUtils.copy(input, response.getOutputStream());
+        orderDocumentService.orderToCsv(order, columns, response.getOutputStream());
         response.flushBuffer();
       } catch (IOException ex) {
         LOGGER.debug("Error writing csv file to output stream.", ex);
@@ -246,16 +308,25 @@ public class OrderController extends BaseController {
    * Converting Requisition list to orders.
    *
    * @param requisitionList List of Requisitions that will be converted to Orders
-   * @return ResponseEntity with the "#200 OK" HTTP response status on success
+   * @return ResponseEntity with the "#200 OK" HTTP response status on success, or "#400 Bad
+   *      Request" if any of the requisitions does not exist or has no supply line, in which case
+   *      none of them is converted
    */
   @RequestMapping(value = "/orders/requisitions", method = RequestMethod.POST)
   public ResponseEntity<?> convertToOrder(@RequestBody List<Requisition> requisitionList,
                                           OAuth2Authentication auth) {
     UUID userId = null;
     if (auth != null && auth.getPrincipal() != null) {
-      userId = ((User) auth.getPrincipal()).getId();
+      userId = ((UserPrincipal) auth.getPrincipal()).getUserId();
+    }
+    try {
+      orderService.convertToOrder(requisitionList, userId);
+    } catch (RequisitionException ex) {
+      ErrorResponse errorResponse =
+            new ErrorResponse("Requisitions cannot be converted to orders", ex.getMessage());
+      LOGGER.debug(errorResponse.getMessage(), ex);
+      return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
-    orderService.convertToOrder(requisitionList, userId);
     return new ResponseEntity<>(HttpStatus.CREATED);
   }
 }
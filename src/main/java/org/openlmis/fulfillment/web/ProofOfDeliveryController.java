@@ -1,13 +1,14 @@
 package org.openlmis.fulfillment.web;
 
-import net.sf.jasperreports.engine.JRException;
 import org.openlmis.fulfillment.domain.ProofOfDelivery;
 import org.openlmis.fulfillment.repository.ProofOfDeliveryRepository;
 import org.openlmis.fulfillment.utils.ReportUtils;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
 import org.openlmis.referencedata.web.BaseController;
+import org.openlmis.reporting.exception.ReportingException;
 import org.openlmis.reporting.model.Template;
-import org.openlmis.reporting.service.JasperReportsViewFactory;
+import org.openlmis.reporting.service.RenderedReportService;
+import org.openlmis.reporting.service.ReportRenderer;
 import org.openlmis.reporting.service.TemplateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,10 +22,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.servlet.ModelAndView;
-import org.springframework.web.servlet.view.jasperreports.JasperReportsMultiFormatView;
 
-import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Map;
 import java.util.UUID;
@@ -36,7 +35,7 @@ public class ProofOfDeliveryController extends BaseController {
   private static final String PRINT_POD = "Print POD";
 
   @Autowired
-  private JasperReportsViewFactory jasperReportsViewFactory;
+  private RenderedReportService renderedReportService;
 
   @Autowired
   private TemplateService templateService;
@@ -103,6 +102,7 @@ public class ProofOfDeliveryController extends BaseController {
 
       proofOfDeliveryToUpdate.updateFrom(proofOfDelivery);
       proofOfDeliveryToUpdate = proofOfDeliveryRepository.save(proofOfDeliveryToUpdate);
+      renderedReportService.evictReports(proofOfDeliveryToUpdate.getId());
 
       LOGGER.debug("Saved proofOfDelivery with id: " + proofOfDeliveryToUpdate.getId());
       return new ResponseEntity<ProofOfDelivery>(proofOfDeliveryToUpdate, HttpStatus.OK);
@@ -145,6 +145,7 @@ public class ProofOfDeliveryController extends BaseController {
     } else {
       try {
         proofOfDeliveryRepository.delete(proofOfDelivery);
+        renderedReportService.evictReports(proofOfDeliveryId);
       } catch (DataIntegrityViolationException ex) {
         ErrorResponse errorResponse =
               new ErrorResponse("An error occurred while deleting proofOfDelivery with id: "
@@ -157,17 +158,16 @@ public class ProofOfDeliveryController extends BaseController {
   }
 
   /**
-   * Print to PDF Proof of Delivery.
+   * Print to PDF Proof of Delivery. Printed reports are cached until the proof of delivery
+   * or any of its lines is changed.
    *
    * @param proofOfDeliveryId The UUID of the ProofOfDelivery to print
-   * @return ResponseEntity with the "#200 OK" HTTP response status and Pdf file on success,
-   *         or ResponseEntity containing the error description status.
+   * @param response HttpServletResponse to which the Pdf file is written
    */
   @RequestMapping(value = "/proofOfDeliveries/{id}/print", method = RequestMethod.GET)
   @ResponseBody
-  public ModelAndView print(HttpServletRequest request,
-                            @PathVariable("id") UUID proofOfDeliveryId)
-      throws JRException, IOException, ClassNotFoundException {
+  public void print(@PathVariable("id") UUID proofOfDeliveryId, HttpServletResponse response)
+      throws IOException, ReportingException {
 
     Template podPrintTemplate = templateService.getByName(PRINT_POD);
 
@@ -175,9 +175,12 @@ public class ProofOfDeliveryController extends BaseController {
     String formatId = "'" + proofOfDeliveryId + "'";
     params.put("pod_id", formatId);
 
-    JasperReportsMultiFormatView jasperView =
-        jasperReportsViewFactory.getJasperReportsView(podPrintTemplate, request);
+    byte[] report = renderedReportService.getReport(podPrintTemplate, params,
+        ReportRenderer.PDF, proofOfDeliveryId);
 
-    return new ModelAndView(jasperView, params);
+    response.setContentType("application/pdf");
+    response.setContentLength(report.length);
+    response.getOutputStream().write(report);
+    response.flushBuffer();
   }
 }
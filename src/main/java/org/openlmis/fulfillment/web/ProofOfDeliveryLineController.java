@@ -4,6 +4,7 @@ import org.openlmis.fulfillment.domain.ProofOfDeliveryLine;
 import org.openlmis.fulfillment.repository.ProofOfDeliveryLineRepository;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
 import org.openlmis.referencedata.web.BaseController;
+import org.openlmis.reporting.service.RenderedReportService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +29,9 @@ public class ProofOfDeliveryLineController extends BaseController {
   @Autowired
   private ProofOfDeliveryLineRepository proofOfDeliveryLineRepository;
 
+  @Autowired
+  private RenderedReportService renderedReportService;
+
 
   /**
    * Allows creating new proofOfDeliveryLines.
@@ -45,6 +49,7 @@ public class ProofOfDeliveryLineController extends BaseController {
       proofOfDeliveryLine.setId(null);
       ProofOfDeliveryLine newProofOfDeliveryLine
               = proofOfDeliveryLineRepository.save(proofOfDeliveryLine);
+      evictReports(newProofOfDeliveryLine);
       LOGGER.debug("Created new proofOfDeliveryLine with id: " + proofOfDeliveryLine.getId());
       return new ResponseEntity<ProofOfDeliveryLine>(newProofOfDeliveryLine, HttpStatus.CREATED);
     } catch (DataIntegrityViolationException ex) {
@@ -90,9 +95,11 @@ public class ProofOfDeliveryLineController extends BaseController {
         LOGGER.debug("Updating proofOfDeliveryLine with id: " + proofOfDeliveryLineId);
       }
 
+      evictReports(proofOfDeliveryLineToUpdate);
       proofOfDeliveryLineToUpdate.updateFrom(proofOfDeliveryLine);
       proofOfDeliveryLineToUpdate
             = proofOfDeliveryLineRepository.save(proofOfDeliveryLineToUpdate);
+      evictReports(proofOfDeliveryLineToUpdate);
 
       LOGGER.debug("Saved proofOfDeliveryLine with id: " + proofOfDeliveryLineToUpdate.getId());
       return new ResponseEntity<ProofOfDeliveryLine>(proofOfDeliveryLineToUpdate, HttpStatus.OK);
@@ -138,6 +145,7 @@ public class ProofOfDeliveryLineController extends BaseController {
     } else {
       try {
         proofOfDeliveryLineRepository.delete(proofOfDeliveryLine);
+        evictReports(proofOfDeliveryLine);
       } catch (DataIntegrityViolationException ex) {
         ErrorResponse errorResponse =
               new ErrorResponse("An error accurred while deleting proofOfDeliveryLine with id: "
@@ -148,4 +156,13 @@ public class ProofOfDeliveryLineController extends BaseController {
       return new ResponseEntity<ProofOfDeliveryLine>(HttpStatus.NO_CONTENT);
     }
   }
+
+  /**
+   * Removes cached reports of the proof of delivery the line belongs to.
+   */
+  private void evictReports(ProofOfDeliveryLine proofOfDeliveryLine) {
+    if (proofOfDeliveryLine.getProofOfDelivery() != null) {
+      renderedReportService.evictReports(proofOfDeliveryLine.getProofOfDelivery().getId());
+    }
+  }
 }
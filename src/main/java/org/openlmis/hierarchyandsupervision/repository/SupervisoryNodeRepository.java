@@ -1,10 +1,11 @@
 package org.openlmis.hierarchyandsupervision.repository;
 
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
+import org.openlmis.hierarchyandsupervision.repository.custom.SupervisoryNodeRepositoryCustom;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.util.UUID;
 
-public interface SupervisoryNodeRepository 
-    extends PagingAndSortingRepository<SupervisoryNode, UUID> {
+public interface SupervisoryNodeRepository
+    extends PagingAndSortingRepository<SupervisoryNode, UUID>, SupervisoryNodeRepositoryCustom {
 }
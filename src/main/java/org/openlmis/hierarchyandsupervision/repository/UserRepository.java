@@ -3,6 +3,7 @@ package org.openlmis.hierarchyandsupervision.repository;
 import org.openlmis.hierarchyandsupervision.domain.User;
 import org.openlmis.hierarchyandsupervision.repository.custom.UserRepositoryCustom;
 import org.openlmis.referencedata.repository.ReferenceDataRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.UUID;
@@ -11,4 +12,7 @@ public interface UserRepository extends
         ReferenceDataRepository<User, UUID>,
         UserRepositoryCustom {
   User findOneByUsername(@Param("username") String username);
+
+  @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id = :id")
+  User findOneWithRoles(@Param("id") UUID id);
 }
@@ -0,0 +1,9 @@
+package org.openlmis.hierarchyandsupervision.repository.custom;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface SupervisoryNodeRepositoryCustom {
+
+  Set<UUID> findSubtreeIds(UUID supervisoryNodeId);
+}
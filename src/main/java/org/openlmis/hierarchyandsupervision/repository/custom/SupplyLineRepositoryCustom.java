@@ -4,9 +4,13 @@ import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.hierarchyandsupervision.domain.SupplyLine;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 public interface SupplyLineRepositoryCustom {
 
   List<SupplyLine> searchSupplyLines(Program program, SupervisoryNode supervisoryNode);
+
+  List<SupplyLine> searchSupplyLines(Collection<UUID> programIds);
 }
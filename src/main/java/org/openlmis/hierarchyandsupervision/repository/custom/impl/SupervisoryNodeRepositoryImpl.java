@@ -0,0 +1,41 @@
+package org.openlmis.hierarchyandsupervision.repository.custom.impl;
+
+import org.openlmis.hierarchyandsupervision.repository.custom.SupervisoryNodeRepositoryCustom;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class SupervisoryNodeRepositoryImpl implements SupervisoryNodeRepositoryCustom {
+
+  private static final String SUBTREE_QUERY = "WITH RECURSIVE subtree(id) AS ("
+      + " SELECT id FROM referencedata.supervisory_nodes WHERE id = CAST(:id AS uuid)"
+      + " UNION"
+      + " SELECT node.id FROM referencedata.supervisory_nodes node"
+      + " JOIN subtree ON node.parentid = subtree.id)"
+      + " SELECT CAST(id AS varchar) FROM subtree";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Method returns IDs of given Supervisory Node and all Supervisory Nodes below it, on any
+   * level of the hierarchy. The whole subtree is resolved with a single recursive query.
+   * @param supervisoryNodeId ID of the root of searched subtree.
+   * @return set of IDs of Supervisory Nodes in the subtree, empty if the node does not exist.
+   */
+  public Set<UUID> findSubtreeIds(UUID supervisoryNodeId) {
+    List<?> ids = entityManager.createNativeQuery(SUBTREE_QUERY)
+        .setParameter("id", supervisoryNodeId.toString())
+        .getResultList();
+
+    Set<UUID> subtreeIds = new HashSet<>();
+    for (Object id : ids) {
+      subtreeIds.add(UUID.fromString(id.toString()));
+    }
+    return subtreeIds;
+  }
+}
@@ -1,8 +1,8 @@
 package org.openlmis.hierarchyandsupervision.repository.custom.impl;
 
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
-import org.openlmis.referencedata.domain.Program;
 import org.openlmis.hierarchyandsupervision.domain.SupplyLine;
+import org.openlmis.referencedata.domain.Program;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -10,7 +10,10 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 public class SupplyLineRepositoryImpl {
 
@@ -44,4 +47,24 @@ public class SupplyLineRepositoryImpl {
     query.where(predicate);
     return entityManager.createQuery(query).getResultList();
   }
+
+  /**
+   * Method returns all Supply lines of given programs. Supervisory nodes and supplying
+   * facilities of the lines are fetched in the same query.
+   * @param programIds ids of programs of searched Supply Lines.
+   * @return list of Supply Lines of given programs.
+   */
+  public List<SupplyLine> searchSupplyLines(Collection<UUID> programIds) {
+    if (programIds == null || programIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<SupplyLine> query = builder.createQuery(SupplyLine.class);
+    Root<SupplyLine> root = query.from(SupplyLine.class);
+    root.fetch("supervisoryNode");
+    root.fetch("supplyingFacility");
+
+    query.where(root.get("program").get("id").in(programIds));
+    return entityManager.createQuery(query).getResultList();
+  }
 }
@@ -0,0 +1,40 @@
+package org.openlmis.hierarchyandsupervision.service;
+
+import org.openlmis.cache.LruCache;
+import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
+import org.openlmis.hierarchyandsupervision.repository.SupervisoryNodeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class SupervisoryNodeService {
+
+  @Autowired
+  private SupervisoryNodeRepository supervisoryNodeRepository;
+
+  @Autowired
+  private LruCache<UUID, Set<UUID>> supervisoryNodeSubtreeCache;
+
+  /**
+   * Method returns IDs of given Supervisory Node and of all Supervisory Nodes below it,
+   * on any level of the hierarchy. Subtrees are resolved with a single query and cached.
+   * @param supervisoryNode root of the subtree.
+   * @return read-only set of IDs of Supervisory Nodes in the subtree.
+   */
+  public Set<UUID> getSubtreeIds(SupervisoryNode supervisoryNode) {
+    return supervisoryNodeSubtreeCache.get(supervisoryNode.getId(), supervisoryNodeId ->
+        Collections.unmodifiableSet(supervisoryNodeRepository.findSubtreeIds(supervisoryNodeId)));
+  }
+
+  /**
+   * Removes all cached subtrees. Has to be called whenever a Supervisory Node is created,
+   * updated or deleted, as any change of a parent affects subtrees of all its ancestors.
+   */
+  public void evictSubtrees() {
+    supervisoryNodeSubtreeCache.invalidateAll();
+  }
+}
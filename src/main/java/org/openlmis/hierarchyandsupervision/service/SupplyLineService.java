@@ -7,7 +7,9 @@ import org.openlmis.hierarchyandsupervision.repository.SupplyLineRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 public class SupplyLineService {
@@ -24,4 +26,13 @@ public class SupplyLineService {
   public List<SupplyLine> searchSupplyLines(Program program, SupervisoryNode supervisoryNode) {
     return supplyLineRepository.searchSupplyLines(program, supervisoryNode);
   }
+
+  /**
+   * Method returns all Supply Lines of given programs.
+   * @param programIds ids of programs of searched Supply Lines.
+   * @return list of Supply Lines of given programs.
+   */
+  public List<SupplyLine> searchSupplyLines(Collection<UUID> programIds) {
+    return supplyLineRepository.searchSupplyLines(programIds);
+  }
 }
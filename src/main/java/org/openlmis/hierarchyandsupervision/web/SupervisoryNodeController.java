@@ -2,6 +2,7 @@ package org.openlmis.hierarchyandsupervision.web;
 
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
 import org.openlmis.hierarchyandsupervision.repository.SupervisoryNodeRepository;
+import org.openlmis.hierarchyandsupervision.service.SupervisoryNodeService;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
 import org.openlmis.referencedata.web.BaseController;
 import org.slf4j.Logger;
@@ -27,6 +28,9 @@ public class SupervisoryNodeController extends BaseController {
   @Autowired
   private SupervisoryNodeRepository supervisoryNodeRepository;
 
+  @Autowired
+  private SupervisoryNodeService supervisoryNodeService;
+
   /**
    * Allows creating new supervisoryNode.
    * If the id is specified, it will be ignored.
@@ -40,6 +44,7 @@ public class SupervisoryNodeController extends BaseController {
       LOGGER.debug("Creating new supervisoryNode");
       supervisoryNode.setId(null);
       SupervisoryNode newSupervisoryNode = supervisoryNodeRepository.save(supervisoryNode);
+      supervisoryNodeService.evictSubtrees();
       LOGGER.debug("Created new supervisoryNode with id: " + supervisoryNode.getId());
       return new ResponseEntity<SupervisoryNode>(newSupervisoryNode, HttpStatus.CREATED);
     } catch (DataIntegrityViolationException ex) {
@@ -101,6 +106,7 @@ public class SupervisoryNodeController extends BaseController {
 
       supervisoryNodeToUpdate.updateFrom(supervisoryNode);
       supervisoryNodeToUpdate = supervisoryNodeRepository.save(supervisoryNodeToUpdate);
+      supervisoryNodeService.evictSubtrees();
 
       LOGGER.debug("Saved supervisoryNode with id: " + supervisoryNodeToUpdate.getId());
       return new ResponseEntity<SupervisoryNode>(supervisoryNodeToUpdate, HttpStatus.OK);
@@ -127,6 +133,7 @@ public class SupervisoryNodeController extends BaseController {
     } else {
       try {
         supervisoryNodeRepository.delete(supervisoryNode);
+        supervisoryNodeService.evictSubtrees();
       } catch (DataIntegrityViolationException ex) {
         ErrorResponse errorResponse =
               new ErrorResponse("An error occurred while deleting supervisoryNode with id: "
@@ -1,10 +1,16 @@
 package org.openlmis.hierarchyandsupervision.web;
 
+import org.openlmis.cache.TableVersions;
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
 import org.openlmis.hierarchyandsupervision.domain.SupplyLine;
 import org.openlmis.hierarchyandsupervision.repository.SupplyLineRepository;
 import org.openlmis.hierarchyandsupervision.service.SupplyLineService;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.FacilityOperator;
+import org.openlmis.referencedata.domain.FacilityType;
+import org.openlmis.referencedata.domain.GeographicLevel;
+import org.openlmis.referencedata.domain.GeographicZone;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.referencedata.web.BaseController;
 import org.slf4j.Logger;
@@ -20,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -35,6 +42,9 @@ public class SupplyLineController extends BaseController {
   @Autowired
   private SupplyLineRepository supplyLineRepository;
 
+  @Autowired
+  private TableVersions tableVersions;
+
   /**
    * Allows creating new supplyLines.
    * If the id is specified, it will be ignored.
@@ -59,13 +69,20 @@ public class SupplyLineController extends BaseController {
   }
 
   /**
-   * Get all supplyLines.
+   * Get all supplyLines. Responds with 304 Not Modified without reading them if none of them
+   * changed since the version identified by the If-None-Match header.
    *
+   * @param request Request with the If-None-Match header.
    * @return SupplyLines.
    */
   @RequestMapping(value = "/supplyLines", method = RequestMethod.GET)
   @ResponseBody
-  public ResponseEntity<?> getAllSupplyLines() {
+  public ResponseEntity<?> getAllSupplyLines(WebRequest request) {
+    if (request.checkNotModified(tableVersions.getETag(SupplyLine.class, SupervisoryNode.class,
+        Program.class, Facility.class, FacilityType.class, FacilityOperator.class,
+        GeographicZone.class, GeographicLevel.class))) {
+      return null;
+    }
     Iterable<SupplyLine> supplyLines = supplyLineRepository.findAll();
     return new ResponseEntity<>(supplyLines, HttpStatus.OK);
   }
@@ -12,13 +12,16 @@ import org.openlmis.referencedata.utils.LocalDatePersistenceConverter;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "periods", schema = "referencedata")
+@Table(name = "periods", schema = "referencedata",
+    indexes = @Index(name = "periods_processingscheduleid_startdate_idx",
+        columnList = "processingScheduleId, startDate"))
 @NoArgsConstructor
 public class ProcessingPeriod extends BaseEntity {
 
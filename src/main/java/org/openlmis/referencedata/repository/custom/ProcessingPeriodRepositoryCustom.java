@@ -9,4 +9,6 @@ import java.util.List;
 public interface ProcessingPeriodRepositoryCustom {
 
   List<ProcessingPeriod> searchPeriods(ProcessingSchedule processingSchedule, LocalDate toDate);
+
+  ProcessingPeriod findPreviousPeriod(ProcessingSchedule processingSchedule, LocalDate date);
 }
@@ -15,6 +15,8 @@ import java.util.List;
 
 public class ProcessingPeriodRepositoryImpl implements ProcessingPeriodRepositoryCustom {
 
+  private static final String START_DATE = "startDate";
+
   @PersistenceContext
   private EntityManager entityManager;
 
@@ -22,7 +24,7 @@ public class ProcessingPeriodRepositoryImpl implements ProcessingPeriodRepositor
    * Finds Periods matching all of provided parameters.
    * @param processingSchedule processingSchedule of searched Periods.
    * @param toDate to which day shall Period start.
-   * @return list of all Periods matching all of provided parameters.
+   * @return list of all Periods matching all of provided parameters, latest first.
    */
   public List<ProcessingPeriod> searchPeriods(
         ProcessingSchedule processingSchedule, LocalDate toDate) {
@@ -40,9 +42,34 @@ public class ProcessingPeriodRepositoryImpl implements ProcessingPeriodRepositor
       predicate = builder.and(
               predicate,
               builder.lessThanOrEqualTo(
-                      root.get("startDate"), toDate));
+                      root.get(START_DATE), toDate));
     }
     query.where(predicate);
+    query.orderBy(builder.desc(root.get(START_DATE)));
     return entityManager.createQuery(query).getResultList();
   }
+
+  /**
+   * Finds the latest Period of given schedule which starts before given date. Only a single row
+   * is read, using the (processingScheduleId, startDate) index of the periods table.
+   * @param processingSchedule processingSchedule of searched Period.
+   * @param date before which day shall Period start.
+   * @return the previous Period, or null if there is none.
+   */
+  public ProcessingPeriod findPreviousPeriod(
+        ProcessingSchedule processingSchedule, LocalDate date) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<ProcessingPeriod> query = builder.createQuery(ProcessingPeriod.class);
+    Root<ProcessingPeriod> root = query.from(ProcessingPeriod.class);
+    query.where(builder.and(
+            builder.equal(
+                    root.get("processingSchedule"), processingSchedule),
+            builder.lessThan(
+                    root.get(START_DATE), date)));
+    query.orderBy(builder.desc(root.get(START_DATE)));
+    List<ProcessingPeriod> periods = entityManager.createQuery(query)
+            .setMaxResults(1)
+            .getResultList();
+    return periods.isEmpty() ? null : periods.get(0);
+  }
 }
@@ -19,11 +19,21 @@ public class ProcessingPeriodService {
    * Finds Periods matching all of provided parameters.
    * @param processingSchedule processingSchedule of searched Periods.
    * @param toDate to which day shall Period start.
-   * @return list of all Periods matching all of provided parameters.
+   * @return list of all Periods matching all of provided parameters, latest first.
    */
   public List<ProcessingPeriod> searchPeriods(
         ProcessingSchedule processingSchedule, LocalDate toDate) {
     return periodRepository.searchPeriods(processingSchedule, toDate);
   }
 
+  /**
+   * Finds the Period of given schedule which directly precedes given date.
+   * @param processingSchedule processingSchedule of searched Period.
+   * @param date before which day shall Period start.
+   * @return the previous Period, or null if there is none.
+   */
+  public ProcessingPeriod findPreviousPeriod(
+        ProcessingSchedule processingSchedule, LocalDate date) {
+    return periodRepository.findPreviousPeriod(processingSchedule, date);
+  }
 }
@@ -1,9 +1,15 @@
 package org.openlmis.referencedata.web;
 
+import org.openlmis.cache.LruCache;
+import org.openlmis.cache.TableVersions;
 import org.openlmis.fulfillment.domain.Order;
 import org.openlmis.fulfillment.service.OrderService;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
 import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.FacilityOperator;
+import org.openlmis.referencedata.domain.FacilityType;
+import org.openlmis.referencedata.domain.GeographicLevel;
+import org.openlmis.referencedata.domain.GeographicZone;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.referencedata.repository.FacilityRepository;
 import org.openlmis.referencedata.repository.ProgramRepository;
@@ -20,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.UUID;
@@ -35,6 +42,12 @@ public class FacilityController extends BaseController {
   @Autowired
   private FacilityRepository facilityRepository;
 
+  @Autowired
+  private LruCache<UUID, Facility> facilityCache;
+
+  @Autowired
+  private TableVersions tableVersions;
+
   @Autowired
   private OrderService orderService;
 
@@ -62,13 +75,19 @@ public class FacilityController extends BaseController {
   }
 
   /**
-   * Get all facilities.
+   * Get all facilities. Responds with 304 Not Modified without reading them if none of them
+   * changed since the version identified by the If-None-Match header.
    *
+   * @param request Request with the If-None-Match header.
    * @return Facilities.
    */
   @RequestMapping(value = "/facilities", method = RequestMethod.GET)
   @ResponseBody
-  public ResponseEntity<?> getAllFacilities() {
+  public ResponseEntity<?> getAllFacilities(WebRequest request) {
+    if (request.checkNotModified(tableVersions.getETag(Facility.class, FacilityType.class,
+        FacilityOperator.class, GeographicZone.class, GeographicLevel.class, Program.class))) {
+      return null;
+    }
     Iterable<Facility> facilities = facilityRepository.findAll();
     return new ResponseEntity<>(facilities, HttpStatus.OK);
   }
@@ -104,6 +123,9 @@ public class FacilityController extends BaseController {
                   + facilityToUpdate.getId(), ex.getMessage());
       LOGGER.error(errorResponse.getMessage(), ex);
       return new ResponseEntity(HttpStatus.BAD_REQUEST);
+    } finally {
+      // updated entity may be the cached one, which must not stay cached if saving failed
+      facilityCache.invalidate(facilityId);
     }
   }
 
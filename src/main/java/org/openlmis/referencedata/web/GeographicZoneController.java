@@ -1,6 +1,8 @@
 package org.openlmis.referencedata.web;
 
+import org.openlmis.cache.TableVersions;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
+import org.openlmis.referencedata.domain.GeographicLevel;
 import org.openlmis.referencedata.domain.GeographicZone;
 import org.openlmis.referencedata.repository.GeographicZoneRepository;
 import org.slf4j.Logger;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -26,6 +29,9 @@ public class GeographicZoneController extends BaseController {
   @Autowired
   private GeographicZoneRepository geographicZoneRepository;
 
+  @Autowired
+  private TableVersions tableVersions;
+
   /**
    * Allows creating new geographicZones.
    * If the id is specified, it will be ignored.
@@ -50,13 +56,19 @@ public class GeographicZoneController extends BaseController {
   }
 
   /**
-   * Get all geographicZones.
+   * Get all geographicZones. Responds with 304 Not Modified without reading them if none of them
+   * changed since the version identified by the If-None-Match header.
    *
+   * @param request Request with the If-None-Match header.
    * @return GeographicZones.
    */
   @RequestMapping(value = "/geographicZones", method = RequestMethod.GET)
   @ResponseBody
-  public ResponseEntity<?> getAllGeographicZones() {
+  public ResponseEntity<?> getAllGeographicZones(WebRequest request) {
+    if (request.checkNotModified(tableVersions.getETag(GeographicZone.class,
+        GeographicLevel.class))) {
+      return null;
+    }
     Iterable<GeographicZone> geographicZones = geographicZoneRepository.findAll();
     return new ResponseEntity<>(geographicZones, HttpStatus.OK);
   }
@@ -1,5 +1,7 @@
 package org.openlmis.referencedata.web;
 
+import org.openlmis.cache.LruCache;
+import org.openlmis.cache.TableVersions;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
 import org.openlmis.referencedata.domain.ProcessingPeriod;
 import org.openlmis.referencedata.domain.ProcessingSchedule;
@@ -25,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -43,6 +46,12 @@ public class ProcessingPeriodController extends BaseController {
   @Autowired
   private ProcessingPeriodRepository periodRepository;
 
+  @Autowired
+  private LruCache<UUID, ProcessingPeriod> processingPeriodCache;
+
+  @Autowired
+  private TableVersions tableVersions;
+
   @Autowired
   private ExposedMessageSource messageSource;
 
@@ -101,13 +110,19 @@ public class ProcessingPeriodController extends BaseController {
   }
 
   /**
-   * Get all processingPeriods.
+   * Get all processingPeriods. Responds with 304 Not Modified without reading them if none of them
+   * changed since the version identified by the If-None-Match header.
    *
+   * @param request Request with the If-None-Match header.
    * @return ProcessingPeriods.
    */
   @RequestMapping(value = "/processingPeriods", method = RequestMethod.GET)
   @ResponseBody
-  public ResponseEntity<?> getAllProcessingPeriods() {
+  public ResponseEntity<?> getAllProcessingPeriods(WebRequest request) {
+    if (request.checkNotModified(tableVersions.getETag(ProcessingPeriod.class,
+        ProcessingSchedule.class))) {
+      return null;
+    }
     Iterable<ProcessingPeriod> periods = periodRepository.findAll();
     return new ResponseEntity<>(periods, HttpStatus.OK);
   }
@@ -143,6 +158,9 @@ public class ProcessingPeriodController extends BaseController {
                   + processingPeriodToUpdate.getId(), ex.getMessage());
       LOGGER.error(errorResponse.getMessage(), ex);
       return new ResponseEntity(HttpStatus.BAD_REQUEST);
+    } finally {
+      // updated entity may be the cached one, which must not stay cached if saving failed
+      processingPeriodCache.invalidate(periodId);
     }
   }
 
@@ -167,6 +167,11 @@ public class ProcessingScheduleController extends BaseController {
     Iterable<ProcessingPeriod> allPeriods = periodService.searchPeriods(schedule, null);
     if (!allPeriods.equals(null)) {
       ProcessingPeriod firstPeriod = allPeriods.iterator().next();
+      for (ProcessingPeriod period : allPeriods) {
+        if (period.getStartDate().isBefore(firstPeriod.getStartDate())) {
+          firstPeriod = period;
+        }
+      }
       ProcessingPeriod lastPeriod = periodRepository.findFirst1ByOrderByEndDateDesc();
       java.time.Period total = java.time.Period.between(firstPeriod.getStartDate(),
               lastPeriod.getEndDate());
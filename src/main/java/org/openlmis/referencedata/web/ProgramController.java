@@ -1,5 +1,7 @@
 package org.openlmis.referencedata.web;
 
+import org.openlmis.cache.LruCache;
+import org.openlmis.cache.TableVersions;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.referencedata.repository.ProgramRepository;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -26,6 +29,12 @@ public class ProgramController extends BaseController {
   @Autowired
   private ProgramRepository programRepository;
 
+  @Autowired
+  private LruCache<UUID, Program> programCache;
+
+  @Autowired
+  private TableVersions tableVersions;
+
   /**
    * Allows creating new programs.
    * If the id is specified, it will be ignored.
@@ -50,13 +59,18 @@ public class ProgramController extends BaseController {
   }
 
   /**
-   * Get all programs.
+   * Get all programs. Responds with 304 Not Modified without reading them if none of them
+   * changed since the version identified by the If-None-Match header.
    *
+   * @param request Request with the If-None-Match header.
    * @return Programs.
    */
   @RequestMapping(value = "/programs", method = RequestMethod.GET)
   @ResponseBody
-  public ResponseEntity<?> getAllPrograms() {
+  public ResponseEntity<?> getAllPrograms(WebRequest request) {
+    if (request.checkNotModified(tableVersions.getETag(Program.class))) {
+      return null;
+    }
     Iterable<Program> programs = programRepository.findAll();
     return new ResponseEntity<>(programs, HttpStatus.OK);
   }
@@ -133,6 +147,9 @@ public class ProgramController extends BaseController {
                   + programToUpdate.getId(), ex.getMessage());
       LOGGER.error(errorResponse.getMessage(), ex);
       return new ResponseEntity(HttpStatus.BAD_REQUEST);
+    } finally {
+      // updated entity may be the cached one, which must not stay cached if saving failed
+      programCache.invalidate(programId);
     }
   }
 }
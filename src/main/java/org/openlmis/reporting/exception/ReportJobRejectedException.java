@@ -0,0 +1,11 @@
+package org.openlmis.reporting.exception;
+
+/**
+ * Thrown when a report job can not be accepted because too many jobs are already pending.
+ */
+public class ReportJobRejectedException extends ReportingException {
+
+  public ReportJobRejectedException(String message) {
+    super(message);
+  }
+}
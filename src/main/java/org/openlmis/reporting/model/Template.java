@@ -11,6 +11,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.util.List;
 
 @Entity
@@ -26,11 +27,6 @@ public class Template extends BaseEntity {
   @Setter
   private String name;
 
-  @Column
-  @Getter
-  @Setter
-  private byte[] data;
-
   @OneToMany(mappedBy = "template", cascade = CascadeType.REMOVE)
   @Getter
   @Setter
@@ -46,6 +42,11 @@ public class Template extends BaseEntity {
   @Setter
   private String description;
 
+  @Version
+  @Getter
+  @Setter
+  private Long version;
+
   /**
    * Copy values of attributes into new or updated Template.
    *
@@ -53,7 +54,6 @@ public class Template extends BaseEntity {
    */
   public void updateFrom(Template template) {
     this.name = template.getName();
-    this.data = template.getData();
     this.templateParameters = template.getTemplateParameters();
     this.type = template.getType();
     this.description = template.getDescription();
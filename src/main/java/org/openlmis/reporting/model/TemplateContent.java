@@ -0,0 +1,48 @@
+package org.openlmis.reporting.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Type;
+
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Content of a report template, kept apart from the template so that reading templates never
+ * reads it. The source is the gzip compressed jrxml file of the template. The compiled report
+ * is created from the source when the report is first needed and is only valid for the
+ * JasperReports version it was compiled with.
+ */
+@Entity
+@Table(name = "template_contents")
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateContent {
+
+  @Id
+  @Type(type = "pg-uuid")
+  @Getter
+  @Setter
+  private UUID templateId;
+
+  @Column
+  @Getter
+  @Setter
+  private byte[] source;
+
+  @Column
+  @Getter
+  @Setter
+  private byte[] compiled;
+
+  @Column(columnDefinition = "text")
+  @Getter
+  @Setter
+  private String compiledVersion;
+}
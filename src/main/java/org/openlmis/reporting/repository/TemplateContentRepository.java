@@ -0,0 +1,16 @@
+package org.openlmis.reporting.repository;
+
+import org.openlmis.reporting.model.TemplateContent;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface TemplateContentRepository extends CrudRepository<TemplateContent, UUID> {
+
+  @Query("SELECT c.compiled FROM TemplateContent c "
+      + "WHERE c.templateId = :templateId AND c.compiledVersion = :compiledVersion")
+  byte[] findCompiled(@Param("templateId") UUID templateId,
+                      @Param("compiledVersion") String compiledVersion);
+}
@@ -0,0 +1,19 @@
+package org.openlmis.reporting.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import net.sf.jasperreports.engine.JasperReport;
+
+/**
+ * Jasper report deserialized from data of a template, together with the version of the
+ * template it was read from.
+ */
+@AllArgsConstructor
+public class CachedJasperReport {
+
+  @Getter
+  private final Long templateVersion;
+
+  @Getter
+  private final JasperReport report;
+}
@@ -1,91 +1,51 @@
 package org.openlmis.reporting.service;
 
-import static java.io.File.createTempFile;
-import static net.sf.jasperreports.engine.export.JRHtmlExporterParameter.IS_USING_IMAGES_TO_ALIGN;
-import static org.apache.commons.io.FileUtils.writeByteArrayToFile;
-
-import net.sf.jasperreports.engine.JRException;
-import net.sf.jasperreports.engine.JRExporterParameter;
 import net.sf.jasperreports.engine.JasperReport;
+import org.openlmis.cache.LruCache;
+import org.openlmis.reporting.exception.ReportingException;
 import org.openlmis.reporting.model.Template;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.WebApplicationContext;
-import org.springframework.web.context.support.WebApplicationContextUtils;
-import org.springframework.web.servlet.view.jasperreports.JasperReportsMultiFormatView;
-
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.util.HashMap;
-import java.util.Map;
 
-import javax.servlet.ServletContext;
-import javax.servlet.http.HttpServletRequest;
-import javax.sql.DataSource;
+import java.util.Objects;
+import java.util.UUID;
 
 @Service
 public class JasperReportsViewFactory {
 
   @Autowired
-  private DataSource replicationDataSource;
-
-  /**
-   * Create Jasper Report View.
-   * Create Jasper Report (".jasper" file) from bytes from Template entity.
-   * Set 'Jasper' exporter parameters, data source, web application context, url to file.
-   */
-  public JasperReportsMultiFormatView getJasperReportsView(Template template,
-                                                           HttpServletRequest request)
-      throws IOException, ClassNotFoundException, JRException {
-    JasperReportsMultiFormatView jasperView = new JasperReportsMultiFormatView();
-    setExportParams(jasperView);
-    jasperView.setJdbcDataSource(replicationDataSource);
-    jasperView.setUrl(getReportUrlForReportData(template));
-    if (getApplicationContext(request) != null) {
-      jasperView.setApplicationContext(getApplicationContext(request));
-    }
-    return jasperView;
-  }
+  private LruCache<UUID, CachedJasperReport> jasperReportCache;
 
-  /**
-   * Set exporter parameters in jasper view.
-   */
-  private void setExportParams(JasperReportsMultiFormatView jasperView) {
-    Map<JRExporterParameter, Object> reportFormatMap = new HashMap<>();
-    reportFormatMap.put(IS_USING_IMAGES_TO_ALIGN, false);
-    jasperView.setExporterParameters(reportFormatMap);
-  }
+  @Autowired
+  private TemplateContentService templateContentService;
 
   /**
-   * Get application context from servlet.
+   * Removes cached report of given template. Has to be called whenever the template is
+   * updated or deleted.
+   *
+   * @param templateId UUID of changed template.
    */
-  public WebApplicationContext getApplicationContext(HttpServletRequest servletRequest) {
-    ServletContext servletContext = servletRequest.getSession().getServletContext();
-    WebApplicationContext webApplicationContext =
-        WebApplicationContextUtils.getWebApplicationContext(servletContext);
-    return webApplicationContext;
+  public void evictReport(UUID templateId) {
+    if (templateId != null) {
+      jasperReportCache.invalidate(templateId);
+    }
   }
 
   /**
-   * Create ".jasper" file with byte array from Template.
+   * Get Jasper Report of Template. Reports are cached by template ID and read again only
+   * when the version of the template changes.
    *
-   * @return Url to ".jasper" file.
+   * @return Jasper Report of the template.
+   * @throws ReportingException if the report of the template could not be loaded.
    */
-  private String getReportUrlForReportData(Template template)
-      throws IOException, ClassNotFoundException, JRException {
-
-    File tmpFile = createTempFile(template.getName() + "_temp", ".jasper");
-    ObjectInputStream inputStream = new ObjectInputStream(
-        new ByteArrayInputStream(template.getData()));
-    JasperReport jasperReport = (JasperReport) inputStream.readObject();
-    ByteArrayOutputStream bos = new ByteArrayOutputStream();
-    ObjectOutputStream out = new ObjectOutputStream(bos);
-    out.writeObject(jasperReport);
-    writeByteArrayToFile(tmpFile, bos.toByteArray());
-    return tmpFile.toURI().toURL().toString();
+  public JasperReport getReport(Template template) throws ReportingException {
+    CachedJasperReport cachedReport = jasperReportCache.get(template.getId());
+    if (cachedReport == null
+        || !Objects.equals(cachedReport.getTemplateVersion(), template.getVersion())) {
+      cachedReport = new CachedJasperReport(template.getVersion(),
+          templateContentService.loadReport(template.getId()));
+      jasperReportCache.put(template.getId(), cachedReport);
+    }
+    return cachedReport.getReport();
   }
 }
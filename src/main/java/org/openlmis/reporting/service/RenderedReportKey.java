@@ -0,0 +1,28 @@
+package org.openlmis.reporting.service;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Identifies a rendered report by its template, a hash of its parameters and its format.
+ * The subject is the ID of the entity the report shows, used to find reports to evict when
+ * that entity changes.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class RenderedReportKey {
+
+  private final UUID templateId;
+
+  private final Long templateVersion;
+
+  private final String parametersHash;
+
+  private final String format;
+
+  private final UUID subjectId;
+}
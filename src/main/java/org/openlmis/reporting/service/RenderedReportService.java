@@ -0,0 +1,106 @@
+package org.openlmis.reporting.service;
+
+import org.openlmis.cache.LruCache;
+import org.openlmis.reporting.exception.ReportingException;
+import org.openlmis.reporting.model.Template;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import javax.xml.bind.DatatypeConverter;
+
+/**
+ * Renders reports of templates, reusing reports already rendered with the same parameters.
+ */
+@Service
+public class RenderedReportService {
+
+  @Autowired
+  private ReportRenderer reportRenderer;
+
+  @Autowired
+  private LruCache<RenderedReportKey, byte[]> renderedReportCache;
+
+  /**
+   * Returns report of the template rendered with given parameters. The report is rendered only
+   * if it is not cached already.
+   *
+   * @param template Template of the report.
+   * @param params Parameters passed to the report.
+   * @param format Format of the report, one of supported by {@link ReportRenderer}.
+   * @param subjectId UUID of the entity shown by the report, used to evict the report when
+   *                  the entity changes.
+   * @return Content of the rendered report.
+   * @throws ReportingException if the report can not be rendered.
+   */
+  public byte[] getReport(Template template, Map<String, Object> params, String format,
+                          UUID subjectId) throws ReportingException {
+    RenderedReportKey key = new RenderedReportKey(template.getId(), template.getVersion(),
+        hashParameters(params), format, subjectId);
+    byte[] report = renderedReportCache.get(key);
+    if (report == null) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      reportRenderer.render(template, params, format, out);
+      report = out.toByteArray();
+      renderedReportCache.put(key, report);
+    }
+    return report;
+  }
+
+  /**
+   * Removes cached reports showing given entity. Has to be called whenever the entity or any
+   * of its parts is updated or deleted.
+   *
+   * @param subjectId UUID of changed entity.
+   */
+  public void evictReports(UUID subjectId) {
+    if (subjectId != null) {
+      renderedReportCache.invalidateIf(key -> subjectId.equals(key.getSubjectId()));
+    }
+  }
+
+  /**
+   * Hashes parameters sorted by name, so the hash does not depend on the order in which they
+   * were put into the map. Resource bundles are represented by their name and locale.
+   */
+  private String hashParameters(Map<String, Object> params) {
+    SortedMap<String, String> normalized = new TreeMap<>();
+    for (Map.Entry<String, Object> param : params.entrySet()) {
+      normalized.put(param.getKey(), normalize(param.getValue()));
+    }
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (Map.Entry<String, String> param : normalized.entrySet()) {
+        update(digest, param.getKey());
+        update(digest, param.getValue());
+      }
+      return DatatypeConverter.printHexBinary(digest.digest());
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private void update(MessageDigest digest, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+    digest.update(bytes);
+  }
+
+  private String normalize(Object value) {
+    if (value instanceof ResourceBundle) {
+      ResourceBundle bundle = (ResourceBundle) value;
+      return bundle.getBaseBundleName() + "_" + bundle.getLocale();
+    }
+    return String.valueOf(value);
+  }
+}
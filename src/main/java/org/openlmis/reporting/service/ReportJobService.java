@@ -0,0 +1,210 @@
+package org.openlmis.reporting.service;
+
+import org.openlmis.reporting.exception.ReportJobRejectedException;
+import org.openlmis.reporting.exception.ReportingException;
+import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.utils.ReportJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Renders reports in the background. Jobs are run on a bounded pool of threads, with at most
+ * a given number of jobs of the same template running at once; the remaining jobs of that
+ * template wait until one of them finishes. Rendered reports are stored in files and removed,
+ * together with their jobs, once they are older than the configured time to live.
+ */
+@Service
+public class ReportJobService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReportJobService.class);
+
+  @Autowired
+  private ReportRenderer reportRenderer;
+
+  @Autowired
+  private ExecutorService reportJobExecutor;
+
+  @Value("${report.jobs.maxPendingJobs}")
+  private int maxPendingJobs;
+
+  @Value("${report.jobs.maxJobsPerTemplate}")
+  private int maxJobsPerTemplate;
+
+  @Value("${report.jobs.resultDirectory}")
+  private String resultDirectory;
+
+  @Value("${report.jobs.resultTimeToLive}")
+  private long resultTimeToLive;
+
+  private final Map<UUID, ReportJob> jobs = new ConcurrentHashMap<>();
+
+  // guarded by this
+  private final Map<UUID, Deque<PendingJob>> waitingJobs = new HashMap<>();
+  private final Map<UUID, Integer> runningJobs = new HashMap<>();
+  private int pendingJobs;
+
+  /**
+   * Creates the directory of results and removes results left by previous runs, as their
+   * jobs are not known anymore.
+   */
+  @PostConstruct
+  public void init() throws IOException {
+    Path directory = getResultDirectory();
+    Files.createDirectories(directory);
+    try (DirectoryStream<Path> results = Files.newDirectoryStream(directory)) {
+      for (Path result : results) {
+        Files.deleteIfExists(result);
+      }
+    }
+  }
+
+  /**
+   * Queues rendering of a report of the template.
+   *
+   * @param template Template of the report.
+   * @param params Parameters passed to the report.
+   * @param format Format of the report, one of supported by {@link ReportRenderer}.
+   * @param userId UUID of the user submitting the job, the only one allowed to read it.
+   * @return Queued job.
+   * @throws ReportJobRejectedException if too many jobs are already pending.
+   */
+  public ReportJob submit(Template template, Map<String, Object> params, String format,
+                          UUID userId) throws ReportJobRejectedException {
+    ReportJob job = new ReportJob(template.getId(), format, userId);
+    synchronized (this) {
+      if (pendingJobs >= maxPendingJobs) {
+        throw new ReportJobRejectedException("Too many report jobs are pending.");
+      }
+      pendingJobs++;
+      jobs.put(job.getId(), job);
+      waitingJobs.computeIfAbsent(template.getId(), id -> new ArrayDeque<>())
+          .add(new PendingJob(job, template, params));
+      dispatch(template.getId());
+    }
+    return job;
+  }
+
+  /**
+   * Finds job of given ID submitted by given user.
+   *
+   * @param jobId UUID of the job.
+   * @param userId UUID of the user reading the job.
+   * @return Job or null if there is no such job, it already expired or it was submitted by
+   *         another user.
+   */
+  public ReportJob getJob(UUID jobId, UUID userId) {
+    ReportJob job = jobs.get(jobId);
+    if (job == null || userId == null || !userId.equals(job.getSubmittedBy())) {
+      return null;
+    }
+    return job;
+  }
+
+  /**
+   * Removes jobs which finished longer ago than the time to live, together with their results.
+   */
+  @Scheduled(fixedDelayString = "${report.jobs.evictionInterval}")
+  public void evictExpiredJobs() {
+    LocalDateTime expiryDate = LocalDateTime.now().minus(resultTimeToLive, ChronoUnit.MILLIS);
+    Iterator<ReportJob> iterator = jobs.values().iterator();
+    while (iterator.hasNext()) {
+      ReportJob job = iterator.next();
+      if (job.isFinished() && job.getFinishedDate().isBefore(expiryDate)) {
+        iterator.remove();
+        deleteResult(job.getResult());
+      }
+    }
+  }
+
+  private synchronized void dispatch(UUID templateId) {
+    Deque<PendingJob> waiting = waitingJobs.get(templateId);
+    int running = runningJobs.getOrDefault(templateId, 0);
+    while (running < maxJobsPerTemplate && waiting != null && !waiting.isEmpty()) {
+      PendingJob pendingJob = waiting.poll();
+      running++;
+      reportJobExecutor.execute(() -> run(pendingJob));
+    }
+    if (waiting != null && waiting.isEmpty()) {
+      waitingJobs.remove(templateId);
+    }
+    if (running > 0) {
+      runningJobs.put(templateId, running);
+    } else {
+      runningJobs.remove(templateId);
+    }
+  }
+
+  private void run(PendingJob pendingJob) {
+    ReportJob job = pendingJob.job;
+    job.start();
+    Path result = getResultDirectory().resolve(job.getId() + "." + job.getFormat());
+    try {
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(result))) {
+        reportRenderer.render(pendingJob.template, pendingJob.params, job.getFormat(), out);
+      }
+      job.complete(result);
+    } catch (ReportingException | IOException | RuntimeException ex) {
+      LOGGER.warn("Report job " + job.getId() + " failed", ex);
+      deleteResult(result);
+      job.fail(ex.getMessage());
+    } finally {
+      finish(job.getTemplateId());
+    }
+  }
+
+  private synchronized void finish(UUID templateId) {
+    pendingJobs--;
+    runningJobs.merge(templateId, -1, Integer::sum);
+    dispatch(templateId);
+  }
+
+  private Path getResultDirectory() {
+    return Paths.get(resultDirectory);
+  }
+
+  private void deleteResult(Path result) {
+    if (result != null) {
+      try {
+        Files.deleteIfExists(result);
+      } catch (IOException ex) {
+        LOGGER.warn("Could not delete report " + result, ex);
+      }
+    }
+  }
+
+  private static class PendingJob {
+    private final ReportJob job;
+    private final Template template;
+    private final Map<String, Object> params;
+
+    PendingJob(ReportJob job, Template template, Map<String, Object> params) {
+      this.job = job;
+      this.template = template;
+      this.params = params;
+    }
+  }
+}
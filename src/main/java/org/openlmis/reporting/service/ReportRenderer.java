@@ -0,0 +1,208 @@
+package org.openlmis.reporting.service;
+
+import net.sf.jasperreports.engine.JRDataset;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JRQuery;
+import net.sf.jasperreports.engine.JRQueryChunk;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.export.HtmlExporter;
+import net.sf.jasperreports.engine.export.JRCsvExporter;
+import net.sf.jasperreports.engine.export.JRPdfExporter;
+import net.sf.jasperreports.engine.fill.JRAbstractLRUVirtualizer;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleHtmlExporterOutput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import net.sf.jasperreports.export.SimpleWriterExporterOutput;
+import org.openlmis.reporting.exception.ReportingException;
+import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.model.TemplateParameter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+/**
+ * Fills reports of templates with data of the database and exports them to a stream.
+ */
+@Component
+public class ReportRenderer {
+
+  public static final String PDF = "pdf";
+  public static final String CSV = "csv";
+  public static final String HTML = "html";
+
+  private static final Map<String, String> CONTENT_TYPES;
+
+  static {
+    Map<String, String> contentTypes = new HashMap<>();
+    contentTypes.put(PDF, "application/pdf");
+    contentTypes.put(CSV, "text/csv");
+    contentTypes.put(HTML, "text/html");
+    CONTENT_TYPES = Collections.unmodifiableMap(contentTypes);
+  }
+
+  private final ConversionService conversionService = new DefaultConversionService();
+
+  @Autowired
+  private DataSource replicationDataSource;
+
+  @Autowired
+  private JasperReportsViewFactory jasperReportsViewFactory;
+
+  @Autowired
+  private ReportVirtualizerFactory reportVirtualizerFactory;
+
+  public boolean isSupportedFormat(String format) {
+    return CONTENT_TYPES.containsKey(format);
+  }
+
+  public String getContentType(String format) {
+    return CONTENT_TYPES.get(format);
+  }
+
+  /**
+   * Converts parameters submitted for a report of the template to the types the template
+   * declares for them. Parameters the template does not declare are rejected, and so are
+   * parameters which a query of the report splices in with $P!{}, as their values would become
+   * part of the SQL.
+   *
+   * @param template Template of the report.
+   * @param values Submitted values of parameters by their names, may be null.
+   * @return Parameters converted to their declared types.
+   * @throws ReportingException if a parameter is not declared, its value can not be converted
+   *     or it is spliced into a query of the report.
+   */
+  public Map<String, Object> convertParameters(Template template, Map<String, Object> values)
+      throws ReportingException {
+    Map<String, Object> params = new HashMap<>();
+    if (values == null || values.isEmpty()) {
+      return params;
+    }
+    Map<String, String> dataTypes = new HashMap<>();
+    if (template.getTemplateParameters() != null) {
+      for (TemplateParameter parameter : template.getTemplateParameters()) {
+        dataTypes.put(parameter.getName(), parameter.getDataType());
+      }
+    }
+    for (String name : values.keySet()) {
+      if (!dataTypes.containsKey(name)) {
+        throw new ReportingException("Template does not declare parameter: " + name);
+      }
+    }
+
+    Set<String> splicedNames = getSplicedParameterNames(
+        jasperReportsViewFactory.getReport(template));
+    for (Map.Entry<String, Object> value : values.entrySet()) {
+      String name = value.getKey();
+      if (splicedNames.contains(name)) {
+        throw new ReportingException("Parameter can not be submitted: " + name);
+      }
+      params.put(name, convert(name, value.getValue(), dataTypes.get(name)));
+    }
+    return params;
+  }
+
+  /**
+   * Fills report of the template and exports it in given format.
+   *
+   * @param template Template of the report.
+   * @param params Parameters passed to the report.
+   * @param format One of pdf, csv or html.
+   * @param out OutputStream to which the report will be written.
+   * @throws ReportingException if the report can not be filled or exported.
+   */
+  public void render(Template template, Map<String, Object> params, String format,
+                     OutputStream out) throws ReportingException {
+    if (!isSupportedFormat(format)) {
+      throw new ReportingException("Unsupported report format: " + format);
+    }
+    Map<String, Object> reportParams = new HashMap<>(params);
+    JRAbstractLRUVirtualizer virtualizer = reportVirtualizerFactory.getVirtualizer(
+        template.getName(), ReportVirtualizerFactory.UNKNOWN_ROW_COUNT);
+    if (virtualizer != null) {
+      reportParams.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+    }
+    try (Connection connection = replicationDataSource.getConnection()) {
+      JasperPrint jasperPrint = JasperFillManager.fillReport(
+          jasperReportsViewFactory.getReport(template), reportParams, connection);
+      if (virtualizer != null) {
+        virtualizer.setReadOnly(true);
+      }
+      export(jasperPrint, format, out);
+    } catch (JRException | SQLException ex) {
+      throw new ReportingException("Could not render report of template: "
+          + template.getName(), ex);
+    } finally {
+      if (virtualizer != null) {
+        virtualizer.cleanup();
+      }
+    }
+  }
+
+  private Object convert(String name, Object value, String dataType)
+      throws ReportingException {
+    try {
+      return conversionService.convert(value, Class.forName(dataType));
+    } catch (ClassNotFoundException | ConversionException ex) {
+      throw new ReportingException("Invalid value of parameter: " + name, ex);
+    }
+  }
+
+  private Set<String> getSplicedParameterNames(JasperReport report) {
+    Set<String> names = new HashSet<>();
+    addSplicedParameterNames(report.getQuery(), names);
+    if (report.getDatasets() != null) {
+      for (JRDataset dataset : report.getDatasets()) {
+        addSplicedParameterNames(dataset.getQuery(), names);
+      }
+    }
+    return names;
+  }
+
+  private void addSplicedParameterNames(JRQuery query, Set<String> names) {
+    if (query == null || query.getChunks() == null) {
+      return;
+    }
+    for (JRQueryChunk chunk : query.getChunks()) {
+      if (chunk.getType() == JRQueryChunk.TYPE_PARAMETER_CLAUSE) {
+        names.add(chunk.getText());
+      }
+    }
+  }
+
+  private void export(JasperPrint jasperPrint, String format, OutputStream out)
+      throws JRException {
+    SimpleExporterInput input = new SimpleExporterInput(jasperPrint);
+    if (PDF.equals(format)) {
+      JRPdfExporter exporter = new JRPdfExporter();
+      exporter.setExporterInput(input);
+      exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(out));
+      exporter.exportReport();
+    } else if (CSV.equals(format)) {
+      JRCsvExporter exporter = new JRCsvExporter();
+      exporter.setExporterInput(input);
+      exporter.setExporterOutput(new SimpleWriterExporterOutput(out));
+      exporter.exportReport();
+    } else {
+      HtmlExporter exporter = new HtmlExporter();
+      exporter.setExporterInput(input);
+      exporter.setExporterOutput(new SimpleHtmlExporterOutput(out));
+      exporter.exportReport();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package org.openlmis.reporting.service;
+
+import net.sf.jasperreports.engine.fill.JRAbstractLRUVirtualizer;
+import net.sf.jasperreports.engine.fill.JRGzipVirtualizer;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Creates Jasper virtualizers for fills of large reports. A virtualized fill keeps only
+ * a limited number of filled pages in heap and stores the remaining ones compressed in memory
+ * ("gzip") or in a swap file ("swap"). Virtualization is used for reports with at least
+ * the configured number of rows and, by default, for reports whose number of rows is not known
+ * before the fill, like reports of templates filled from the database. Since a virtualizer keeps
+ * up to the configured number of pages in heap, such reports only leave heap once they grow
+ * past that page count. Templates listed as in-heap templates are never virtualized when
+ * their number of rows is unknown.
+ */
+@Component
+public class ReportVirtualizerFactory {
+
+  public static final int UNKNOWN_ROW_COUNT = -1;
+
+  private static final String GZIP = "gzip";
+  private static final String SWAP = "swap";
+
+  @Value("${report.virtualizer.type}")
+  private String type;
+
+  @Value("${report.virtualizer.rowThreshold}")
+  private int rowThreshold;
+
+  @Value("${report.virtualizer.inHeapTemplates}")
+  private String[] inHeapTemplates;
+
+  @Value("${report.virtualizer.maxPages}")
+  private int maxPages;
+
+  @Value("${report.virtualizer.swapDirectory}")
+  private String swapDirectory;
+
+  @Value("${report.virtualizer.swapBlockSize}")
+  private int swapBlockSize;
+
+  @Value("${report.virtualizer.swapMinGrowCount}")
+  private int swapMinGrowCount;
+
+  /**
+   * Creates virtualizer for a fill of the report, if the report should be virtualized.
+   * The virtualizer has to be passed to the fill as the REPORT_VIRTUALIZER parameter and
+   * cleaned up once the filled report is exported.
+   *
+   * @param templateName Name of the template of the report.
+   * @param rowCount Number of rows of the report, or {@link #UNKNOWN_ROW_COUNT} if it is not
+   *                 known before the fill.
+   * @return Created virtualizer, or null if the report should be filled in heap.
+   */
+  public JRAbstractLRUVirtualizer getVirtualizer(String templateName, int rowCount) {
+    if (!shouldVirtualize(templateName, rowCount)) {
+      return null;
+    }
+    if (GZIP.equals(type)) {
+      return new JRGzipVirtualizer(maxPages);
+    }
+    JRSwapFile swapFile = new JRSwapFile(swapDirectory, swapBlockSize, swapMinGrowCount);
+    return new JRSwapFileVirtualizer(maxPages, swapFile, true);
+  }
+
+  private boolean shouldVirtualize(String templateName, int rowCount) {
+    if (!GZIP.equals(type) && !SWAP.equals(type)) {
+      return false;
+    }
+    if (rowCount == UNKNOWN_ROW_COUNT) {
+      return !Arrays.asList(inHeapTemplates).contains(templateName);
+    }
+    return rowCount >= rowThreshold;
+  }
+}
@@ -0,0 +1,145 @@
+package org.openlmis.reporting.service;
+
+import net.sf.jasperreports.engine.JRConstants;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.xml.JRXmlWriter;
+import org.openlmis.reporting.exception.ReportingException;
+import org.openlmis.reporting.model.TemplateContent;
+import org.openlmis.reporting.repository.TemplateContentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores sources of report templates and provides their compiled reports. Compiled reports
+ * are stored next to the source the first time they are needed and compiled again whenever
+ * the JasperReports version changes.
+ */
+@Service
+public class TemplateContentService {
+
+  /**
+   * Version of compiled reports created by this JasperReports library. Serialized reports
+   * can only be read by a library with the same serial version.
+   */
+  public static final String COMPILED_VERSION = String.valueOf(JRConstants.SERIAL_VERSION_UID);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TemplateContentService.class);
+
+  private static final String ENCODING = StandardCharsets.UTF_8.name();
+
+  @Autowired
+  private TemplateContentRepository templateContentRepository;
+
+  /**
+   * Saves jrxml source of template. The report is compiled when it is first needed.
+   *
+   * @param templateId UUID of template.
+   * @param source Content of ".jrxml" file of template.
+   * @throws ReportingException if the source could not be compressed.
+   */
+  public void saveSource(UUID templateId, byte[] source) throws ReportingException {
+    try {
+      templateContentRepository.save(new TemplateContent(templateId, compress(source), null,
+          null));
+    } catch (IOException ex) {
+      throw new ReportingException("Report template error: reading file.", ex);
+    }
+  }
+
+  /**
+   * Removes content of template. Has to be called before the template is deleted.
+   *
+   * @param templateId UUID of deleted template.
+   */
+  public void deleteContent(UUID templateId) {
+    if (templateContentRepository.exists(templateId)) {
+      templateContentRepository.delete(templateId);
+    }
+  }
+
+  /**
+   * Gets compiled report of template. Only the compiled report is read, unless it is missing
+   * or was compiled by another JasperReports version. Then the report is compiled from the
+   * source and stored for next reads.
+   *
+   * @param templateId UUID of template.
+   * @return Compiled report.
+   * @throws ReportingException if template has no content or it could not be read.
+   */
+  public JasperReport loadReport(UUID templateId) throws ReportingException {
+    try {
+      byte[] compiled = templateContentRepository.findCompiled(templateId, COMPILED_VERSION);
+      if (compiled != null) {
+        return deserialize(compiled);
+      }
+      return compileReport(templateId);
+    } catch (IOException | ClassNotFoundException | JRException ex) {
+      throw new ReportingException("Report template error: could not load template "
+          + templateId, ex);
+    }
+  }
+
+  private JasperReport compileReport(UUID templateId)
+      throws ReportingException, IOException, ClassNotFoundException, JRException {
+    TemplateContent content = templateContentRepository.findOne(templateId);
+    if (content == null || content.getSource() == null && content.getCompiled() == null) {
+      throw new ReportingException("Report template error: missing content of template "
+          + templateId);
+    }
+
+    JasperReport report;
+    if (content.getSource() == null) {
+      // templates stored before sources were kept only have the serialized report
+      report = deserialize(content.getCompiled());
+      content.setSource(compress(JRXmlWriter.writeReport(report, ENCODING)
+          .getBytes(StandardCharsets.UTF_8)));
+    } else {
+      try (InputStream source = new GZIPInputStream(
+          new ByteArrayInputStream(content.getSource()))) {
+        report = JasperCompileManager.compileReport(source);
+      }
+    }
+    content.setCompiled(serialize(report));
+    content.setCompiledVersion(COMPILED_VERSION);
+    templateContentRepository.save(content);
+    LOGGER.debug("Compiled report of template {}", templateId);
+    return report;
+  }
+
+  private byte[] compress(byte[] data) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bos)) {
+      out.write(data);
+    }
+    return bos.toByteArray();
+  }
+
+  private byte[] serialize(JasperReport report) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+      out.writeObject(report);
+    }
+    return bos.toByteArray();
+  }
+
+  private JasperReport deserialize(byte[] compiled) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(compiled))) {
+      return (JasperReport) in.readObject();
+    }
+  }
+}
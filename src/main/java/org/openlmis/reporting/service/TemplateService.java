@@ -16,9 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 
 @Service
@@ -32,6 +30,9 @@ public class TemplateService {
   @Autowired
   private TemplateParameterRepository templateParameterRepository;
 
+  @Autowired
+  private TemplateContentService templateContentService;
+
   public Template getByName(String name) {
     return templateRepository.findByName(name);
   }
@@ -46,6 +47,11 @@ public class TemplateService {
     validateFile(template, file);
 
     saveWithParameters(template);
+    try {
+      templateContentService.saveSource(template.getId(), file.getBytes());
+    } catch (IOException ex) {
+      throw new ReportingException("Report template error: reading file.", ex);
+    }
   }
 
   /**
@@ -63,7 +69,6 @@ public class TemplateService {
    * Validate ".jrxml" report file with JasperCompileManager.
    * If report is valid create additional report parameters.
    * Save additional report parameters as TemplateParameter list.
-   * Save report file as ".jasper" in byte array in Template class.
    * If report is not valid throw exception.
    */
   private void validateFile(Template template, MultipartFile file) throws ReportingException {
@@ -83,10 +88,6 @@ public class TemplateService {
         }
         template.setTemplateParameters(parameters);
       }
-      ByteArrayOutputStream bos = new ByteArrayOutputStream();
-      ObjectOutputStream out = new ObjectOutputStream(bos);
-      out.writeObject(report);
-      template.setData(bos.toByteArray());
     } catch (JRException ex) {
       throw new ReportingException("Report template error: file invalid.", ex);
     } catch (IOException ex) {
@@ -0,0 +1,107 @@
+package org.openlmis.reporting.service;
+
+import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.repository.TemplateRepository;
+import org.openlmis.reporting.utils.TemplateLoadStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Loads reports of all templates into the report cache when the application starts, so the
+ * first requests do not have to read them and broken templates are found before any request
+ * needs them. Templates are loaded in parallel on a dedicated fork-join pool. The warm-up
+ * finishes before the embedded server starts accepting requests.
+ */
+@Service
+public class TemplateWarmUpService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TemplateWarmUpService.class);
+
+  @Autowired
+  private TemplateRepository templateRepository;
+
+  @Autowired
+  private JasperReportsViewFactory jasperReportsViewFactory;
+
+  @Value("${report.templates.warmUp.parallelism}")
+  private int parallelism;
+
+  private volatile List<TemplateLoadStatus> loadStatuses = Collections.emptyList();
+
+  /**
+   * Loads reports of all templates once the application context is refreshed.
+   */
+  @EventListener(ContextRefreshedEvent.class)
+  public void onContextRefreshed() {
+    warmUp();
+  }
+
+  /**
+   * Loads reports of all templates into the report cache in parallel. Templates which fail
+   * to load are logged and flagged in the load statuses, they do not stop the warm-up.
+   *
+   * @return Load statuses of all templates.
+   */
+  public List<TemplateLoadStatus> warmUp() {
+    List<Template> templates = new ArrayList<>();
+    templateRepository.findAll().forEach(templates::add);
+
+    long startTime = System.currentTimeMillis();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      loadStatuses = Collections.unmodifiableList(pool.submit(() -> templates.parallelStream()
+          .map(this::load)
+          .collect(Collectors.toList())).get());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      LOGGER.warn("Warm-up of report templates was interrupted");
+    } catch (ExecutionException ex) {
+      LOGGER.error("Warm-up of report templates failed", ex);
+    } finally {
+      pool.shutdown();
+    }
+
+    long failedCount = loadStatuses.stream().filter(status -> !status.isLoaded())
+        .count();
+    LOGGER.info("Loaded {} of {} report templates in {} ms", loadStatuses.size() - failedCount,
+        templates.size(), System.currentTimeMillis() - startTime);
+    return loadStatuses;
+  }
+
+  /**
+   * Returns load statuses of templates from the last warm-up.
+   *
+   * @return Load statuses of all templates.
+   */
+  public List<TemplateLoadStatus> getLoadStatuses() {
+    return loadStatuses;
+  }
+
+  private TemplateLoadStatus load(Template template) {
+    long startTime = System.currentTimeMillis();
+    try {
+      jasperReportsViewFactory.getReport(template);
+      long loadTime = System.currentTimeMillis() - startTime;
+      LOGGER.debug("Loaded report template {} in {} ms", template.getName(), loadTime);
+      return new TemplateLoadStatus(template.getId(), template.getName(), true, loadTime, null);
+    } catch (Exception ex) {
+      long loadTime = System.currentTimeMillis() - startTime;
+      LOGGER.warn("Could not load report template " + template.getName(), ex);
+      return new TemplateLoadStatus(template.getId(), template.getName(), false, loadTime,
+          Objects.toString(ex.getMessage(), ex.getClass().getName()));
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package org.openlmis.reporting.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Report rendered in the background. Status of the job is changed by the thread rendering
+ * the report and read by threads polling for it.
+ */
+public class ReportJob {
+
+  @Getter
+  private final UUID id;
+
+  @Getter
+  private final UUID templateId;
+
+  @Getter
+  private final String format;
+
+  @JsonIgnore
+  @Getter
+  private final UUID submittedBy;
+
+  @JsonSerialize(using = LocalDateTimeSerializer.class)
+  @Getter
+  private final LocalDateTime submittedDate;
+
+  @JsonSerialize(using = LocalDateTimeSerializer.class)
+  @Getter
+  private volatile LocalDateTime finishedDate;
+
+  @Getter
+  private volatile ReportJobStatus status;
+
+  @Getter
+  private volatile String errorMessage;
+
+  @JsonIgnore
+  @Getter
+  private volatile Path result;
+
+  /**
+   * Creates new queued job.
+   *
+   * @param templateId UUID of rendered template.
+   * @param format Format of rendered report.
+   * @param submittedBy UUID of the user who submitted the job.
+   */
+  public ReportJob(UUID templateId, String format, UUID submittedBy) {
+    this.id = UUID.randomUUID();
+    this.templateId = templateId;
+    this.format = format;
+    this.submittedBy = submittedBy;
+    this.submittedDate = LocalDateTime.now();
+    this.status = ReportJobStatus.QUEUED;
+  }
+
+  public void start() {
+    status = ReportJobStatus.RUNNING;
+  }
+
+  /**
+   * Marks the job as completed.
+   *
+   * @param result File with the rendered report.
+   */
+  public void complete(Path result) {
+    this.result = result;
+    this.finishedDate = LocalDateTime.now();
+    this.status = ReportJobStatus.COMPLETED;
+  }
+
+  /**
+   * Marks the job as failed.
+   *
+   * @param errorMessage Description of the failure.
+   */
+  public void fail(String errorMessage) {
+    this.errorMessage = errorMessage;
+    this.finishedDate = LocalDateTime.now();
+    this.status = ReportJobStatus.FAILED;
+  }
+
+  @JsonIgnore
+  public boolean isFinished() {
+    return status == ReportJobStatus.COMPLETED || status == ReportJobStatus.FAILED;
+  }
+}
@@ -0,0 +1,8 @@
+package org.openlmis.reporting.utils;
+
+public enum ReportJobStatus {
+  QUEUED,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
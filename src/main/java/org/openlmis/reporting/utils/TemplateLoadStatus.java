@@ -0,0 +1,24 @@
+package org.openlmis.reporting.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Result of loading the report of a template into the report cache at startup.
+ */
+@Getter
+@AllArgsConstructor
+public class TemplateLoadStatus {
+
+  private final UUID templateId;
+
+  private final String templateName;
+
+  private final boolean loaded;
+
+  private final long loadTime;
+
+  private final String errorMessage;
+}
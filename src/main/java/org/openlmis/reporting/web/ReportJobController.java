@@ -0,0 +1,172 @@
+package org.openlmis.reporting.web;
+
+import org.openlmis.fulfillment.utils.ReportUtils;
+import org.openlmis.referencedata.web.BaseController;
+import org.openlmis.reporting.exception.ReportJobRejectedException;
+import org.openlmis.reporting.exception.ReportingException;
+import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.repository.TemplateRepository;
+import org.openlmis.reporting.service.ReportJobService;
+import org.openlmis.reporting.service.ReportRenderer;
+import org.openlmis.reporting.utils.ReportJob;
+import org.openlmis.reporting.utils.ReportJobStatus;
+import org.openlmis.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.servlet.http.HttpServletResponse;
+
+@Controller
+public class ReportJobController extends BaseController {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReportJobController.class);
+
+  @Autowired
+  private TemplateRepository templateRepository;
+
+  @Autowired
+  private ReportJobService reportJobService;
+
+  @Autowired
+  private ReportRenderer reportRenderer;
+
+  /**
+   * Queues rendering of a report of the template in the background.
+   *
+   * @param templateId UUID of template to render
+   * @param format String describing report format (pdf, csv or html)
+   * @param parameters Parameters passed to the report, bound to the request body. Only
+   *                   parameters declared by the template are accepted.
+   * @param auth Authentication of the user submitting the job, who alone can read it later
+   * @return ResponseEntity containing the queued job and the "#202 Accepted" HTTP response
+   *         status, "#404 Not Found" if there is no such template, "#400 Bad Request" if the
+   *         format is not supported or the parameters are not accepted by the template,
+   *         "#401 Unauthorized" if there is no authenticated user, or "#503 Service
+   *         Unavailable" if too many jobs are pending.
+   */
+  @RequestMapping(value = "/reportJobs", method = RequestMethod.POST)
+  public ResponseEntity<?> submitReportJob(
+      @RequestParam("template") UUID templateId,
+      @RequestParam(value = "format", required = false, defaultValue = ReportRenderer.PDF)
+          String format,
+      @RequestBody(required = false) Map<String, Object> parameters,
+      OAuth2Authentication auth) throws IOException {
+    UUID userId = getUserId(auth);
+    if (userId == null) {
+      return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    }
+    if (!reportRenderer.isSupportedFormat(format)) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    Template template = templateRepository.findOne(templateId);
+    if (template == null) {
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    Map<String, Object> params = ReportUtils.createParametersMap();
+    try {
+      params.putAll(reportRenderer.convertParameters(template, parameters));
+    } catch (ReportingException ex) {
+      LOGGER.debug(ex.getMessage(), ex);
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    params.put("format", format);
+    try {
+      ReportJob job = reportJobService.submit(template, params, format, userId);
+      LOGGER.debug("Queued report job with id: " + job.getId());
+      return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    } catch (ReportJobRejectedException ex) {
+      LOGGER.warn(ex.getMessage());
+      return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+  }
+
+  /**
+   * Get status of chosen report job.
+   *
+   * @param jobId UUID of the job
+   * @param auth Authentication of the user reading the job
+   * @return ResponseEntity containing the job, "#401 Unauthorized" if there is no authenticated
+   *         user, or "#404 Not Found" if there is no such job, its result already expired or it
+   *         was submitted by another user.
+   */
+  @RequestMapping(value = "/reportJobs/{id}", method = RequestMethod.GET)
+  public ResponseEntity<?> getReportJob(@PathVariable("id") UUID jobId,
+                                        OAuth2Authentication auth) {
+    UUID userId = getUserId(auth);
+    if (userId == null) {
+      return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    }
+    ReportJob job = reportJobService.getJob(jobId, userId);
+    if (job == null) {
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+    return new ResponseEntity<>(job, HttpStatus.OK);
+  }
+
+  /**
+   * Writes the rendered report of chosen job to the response. Jobs submitted by another user
+   * are answered with "#404 Not Found", like jobs which do not exist, and requests without an
+   * authenticated user with "#401 Unauthorized".
+   *
+   * @param jobId UUID of the job
+   * @param auth Authentication of the user reading the job
+   * @param response HttpServletResponse object
+   */
+  @RequestMapping(value = "/reportJobs/{id}/result", method = RequestMethod.GET)
+  @ResponseBody
+  public void getReportJobResult(@PathVariable("id") UUID jobId, OAuth2Authentication auth,
+                                 HttpServletResponse response) throws IOException {
+    UUID userId = getUserId(auth);
+    if (userId == null) {
+      response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+      return;
+    }
+    ReportJob job = reportJobService.getJob(jobId, userId);
+    if (job == null) {
+      response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+    if (job.getStatus() != ReportJobStatus.COMPLETED) {
+      response.setStatus(HttpServletResponse.SC_CONFLICT);
+      return;
+    }
+
+    response.setContentType(reportRenderer.getContentType(job.getFormat()));
+    response.addHeader("Content-Disposition",
+        "attachment; filename=report-" + job.getId() + "." + job.getFormat());
+    try {
+      response.setContentLengthLong(Files.size(job.getResult()));
+      Files.copy(job.getResult(), response.getOutputStream());
+      response.flushBuffer();
+    } catch (NoSuchFileException ex) {
+      LOGGER.debug("Result of report job expired", ex);
+      response.reset();
+      response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+    }
+  }
+
+  private UUID getUserId(OAuth2Authentication auth) {
+    if (auth == null || auth.getPrincipal() == null) {
+      return null;
+    }
+    return ((UserPrincipal) auth.getPrincipal()).getUserId();
+  }
+}
@@ -6,7 +6,10 @@ import org.openlmis.referencedata.web.BaseController;
 import org.openlmis.reporting.exception.ReportingException;
 import org.openlmis.reporting.model.Template;
 import org.openlmis.reporting.repository.TemplateRepository;
+import org.openlmis.reporting.service.JasperReportsViewFactory;
+import org.openlmis.reporting.service.TemplateContentService;
 import org.openlmis.reporting.service.TemplateService;
+import org.openlmis.reporting.service.TemplateWarmUpService;
 import org.openlmis.requisition.domain.RequisitionTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -36,6 +39,15 @@ public class TemplateController extends BaseController {
   @Autowired
   private TemplateRepository templateRepository;
 
+  @Autowired
+  private JasperReportsViewFactory jasperReportsViewFactory;
+
+  @Autowired
+  private TemplateWarmUpService templateWarmUpService;
+
+  @Autowired
+  private TemplateContentService templateContentService;
+
   /**
    * Adding report templates with ".jrxml" format to database.
    *
@@ -48,7 +60,7 @@ public class TemplateController extends BaseController {
   @RequestMapping(value = "/templates", method = RequestMethod.POST)
   public ResponseEntity<?> createJasperReportTemplate(@RequestPart("file") MultipartFile file,
                                                       String name, String description) {
-    Template template = new Template(name, null, null, CONSISTENCY_REPORT, description);
+    Template template = new Template(name, null, CONSISTENCY_REPORT, description, null);
     try {
       templateService.validateFileAndInsertTemplate(template, file);
     } catch (ReportingException ex) {
@@ -70,6 +82,18 @@ public class TemplateController extends BaseController {
     return new ResponseEntity<>(templates, HttpStatus.OK);
   }
 
+  /**
+   * Get load statuses of templates, with load times and errors of templates which failed to
+   * load, from the warm-up at startup.
+   *
+   * @return Load statuses of templates.
+   */
+  @RequestMapping(value = "/templates/loadStatuses", method = RequestMethod.GET)
+  @ResponseBody
+  public ResponseEntity<?> getTemplateLoadStatuses() {
+    return new ResponseEntity<>(templateWarmUpService.getLoadStatuses(), HttpStatus.OK);
+  }
+
   /**
    * Allows updating templates.
    *
@@ -92,6 +116,7 @@ public class TemplateController extends BaseController {
 
       templateToUpdate.updateFrom(template);
       templateToUpdate = templateRepository.save(templateToUpdate);
+      jasperReportsViewFactory.evictReport(templateToUpdate.getId());
 
       LOGGER.debug("Saved template with id: " + templateToUpdate.getId());
       return new ResponseEntity<Template>(templateToUpdate, HttpStatus.OK);
@@ -136,7 +161,9 @@ public class TemplateController extends BaseController {
       return new ResponseEntity(HttpStatus.NOT_FOUND);
     } else {
       try {
+        templateContentService.deleteContent(templateId);
         templateRepository.delete(template);
+        jasperReportsViewFactory.evictReport(templateId);
       } catch (DataIntegrityViolationException ex) {
         ErrorResponse errorResponse =
               new ErrorResponse("An error accurred while deleting template with id: "
@@ -23,6 +23,7 @@ import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -30,9 +31,13 @@ import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Entity
-@Table(name = "requisitions")
+@Table(name = "requisitions", indexes = {
+    @Index(name = "requisitions_supervisorynodeid_status_idx",
+        columnList = "supervisoryNodeId, status"),
+    @Index(name = "requisitions_createddate_id_idx", columnList = "createdDate, id")})
 @NoArgsConstructor
 public class Requisition extends BaseEntity {
 
@@ -96,6 +101,22 @@ public class Requisition extends BaseEntity {
   @Setter
   private SupervisoryNode supervisoryNode;
 
+  /**
+   * Creates Requisition with given attributes, without its lines and comments.
+   */
+  public Requisition(UUID id, LocalDateTime createdDate, Facility facility, Program program,
+                     ProcessingPeriod processingPeriod, RequisitionStatus status,
+                     Boolean emergency, SupervisoryNode supervisoryNode) {
+    setId(id);
+    this.createdDate = createdDate;
+    this.facility = facility;
+    this.program = program;
+    this.processingPeriod = processingPeriod;
+    this.status = status;
+    this.emergency = emergency;
+    this.supervisoryNode = supervisoryNode;
+  }
+
   @PrePersist
   private void prePersist() {
     this.createdDate = LocalDateTime.now();
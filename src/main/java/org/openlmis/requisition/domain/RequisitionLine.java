@@ -1,5 +1,6 @@
 package org.openlmis.requisition.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -9,12 +10,14 @@ import org.openlmis.referencedata.domain.BaseEntity;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
 @Entity
-@Table(name = "requisition_lines")
+@Table(name = "requisition_lines", indexes = @Index(
+    name = "requisition_lines_requisitionid_idx", columnList = "requisitionId"))
 @NoArgsConstructor
 public class RequisitionLine extends BaseEntity {
 
@@ -26,6 +29,7 @@ public class RequisitionLine extends BaseEntity {
 
   @ManyToOne(cascade = CascadeType.REFRESH)
   @JoinColumn(name = "requisitionId")
+  @JsonIgnoreProperties("requisitionLines")
   @Getter
   @Setter
   private Requisition requisition;
@@ -1,6 +1,9 @@
 package org.openlmis.requisition.repository.custom;
 
 import org.openlmis.product.domain.Product;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.ProcessingPeriod;
+import org.openlmis.referencedata.domain.Program;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionLine;
 
@@ -9,4 +12,7 @@ import java.util.List;
 public interface RequisitionLineRepositoryCustom {
 
   List<RequisitionLine> searchRequisitionLines(Requisition requisition, Product product);
+
+  List<RequisitionLine> searchRequisitionLines(Facility facility, Program program,
+                                               ProcessingPeriod processingPeriod);
 }
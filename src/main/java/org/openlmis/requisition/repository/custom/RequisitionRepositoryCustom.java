@@ -6,9 +6,13 @@ import org.openlmis.referencedata.domain.ProcessingPeriod;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionStatus;
+import org.openlmis.requisition.utils.RequisitionSummary;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 public interface RequisitionRepositoryCustom {
 
@@ -18,4 +22,34 @@ public interface RequisitionRepositoryCustom {
                                        ProcessingPeriod processingPeriod,
                                        SupervisoryNode supervisoryNode,
                                        RequisitionStatus requisitionStatus);
+
+  List<Requisition> searchRequisitions(Facility facility, Program program,
+                                       LocalDateTime createdDateFrom,
+                                       LocalDateTime createdDateTo,
+                                       ProcessingPeriod processingPeriod,
+                                       SupervisoryNode supervisoryNode,
+                                       RequisitionStatus requisitionStatus,
+                                       LocalDateTime lastCreatedDate, UUID lastId,
+                                       Integer pageSize, boolean includeLines);
+
+  List<Requisition> searchRequisitions(Collection<UUID> supervisoryNodeIds,
+                                       RequisitionStatus requisitionStatus,
+                                       Pageable pageable);
+
+  List<RequisitionSummary> searchRequisitionSummaries(Facility facility, Program program,
+                                                      LocalDateTime createdDateFrom,
+                                                      LocalDateTime createdDateTo,
+                                                      ProcessingPeriod processingPeriod,
+                                                      SupervisoryNode supervisoryNode,
+                                                      RequisitionStatus requisitionStatus,
+                                                      LocalDateTime lastCreatedDate,
+                                                      UUID lastId, Integer pageSize);
+
+  List<RequisitionSummary> searchRequisitionSummaries(Collection<UUID> supervisoryNodeIds,
+                                                      RequisitionStatus requisitionStatus,
+                                                      Pageable pageable);
+
+  List<Requisition> searchRequisitionsWithLines(Collection<UUID> requisitionIds);
+
+  Requisition insertRequisition(Requisition requisition);
 }
@@ -0,0 +1,87 @@
+package org.openlmis.requisition.repository.custom.impl;
+
+import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
+import org.openlmis.referencedata.domain.BaseEntity;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.ProcessingPeriod;
+import org.openlmis.referencedata.domain.Program;
+import org.openlmis.requisition.domain.Requisition;
+import org.openlmis.requisition.domain.RequisitionStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads Requisitions without their lines. Requisition columns are selected together with IDs of
+ * the Facility, Program, Processing Period and Supervisory Node they reference, and each kind of
+ * referenced entity is then read with one query for all rows, instead of one query per row.
+ */
+class RequisitionHeaderMapper {
+
+  private static final String ID = "id";
+
+  private final EntityManager entityManager;
+
+  RequisitionHeaderMapper(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  void select(CriteriaQuery<Object[]> query, Root<Requisition> root) {
+    Join<Requisition, SupervisoryNode> node = root.join("supervisoryNode", JoinType.LEFT);
+    query.multiselect(root.get(ID), root.get("createdDate"), root.get("facility").get(ID),
+        root.get("program").get(ID), root.get("processingPeriod").get(ID), root.get("status"),
+        root.get("emergency"), node.get(ID));
+  }
+
+  List<Requisition> toRequisitions(List<Object[]> rows) {
+    Map<UUID, Facility> facilities = findByIds(Facility.class, rows, 2);
+    Map<UUID, Program> programs = findByIds(Program.class, rows, 3);
+    Map<UUID, ProcessingPeriod> periods = findByIds(ProcessingPeriod.class, rows, 4);
+    Map<UUID, SupervisoryNode> nodes = findByIds(SupervisoryNode.class, rows, 7);
+
+    List<Requisition> requisitions = new ArrayList<>(rows.size());
+    for (Object[] row : rows) {
+      requisitions.add(new Requisition((UUID) row[0], (LocalDateTime) row[1],
+          facilities.get(row[2]), programs.get(row[3]), periods.get(row[4]),
+          (RequisitionStatus) row[5], (Boolean) row[6], nodes.get(row[7])));
+    }
+    return requisitions;
+  }
+
+  private <T extends BaseEntity> Map<UUID, T> findByIds(Class<T> type, List<Object[]> rows,
+                                                         int column) {
+    Set<UUID> ids = new HashSet<>();
+    for (Object[] row : rows) {
+      if (row[column] != null) {
+        ids.add((UUID) row[column]);
+      }
+    }
+    if (ids.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<T> query = builder.createQuery(type);
+    Root<T> root = query.from(type);
+    query.where(root.get(ID).in(ids));
+
+    Map<UUID, T> entities = new HashMap<>();
+    for (T entity : entityManager.createQuery(query).getResultList()) {
+      entities.put(entity.getId(), entity);
+    }
+    return entities;
+  }
+}
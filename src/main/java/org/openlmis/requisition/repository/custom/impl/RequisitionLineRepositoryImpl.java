@@ -1,6 +1,9 @@
 package org.openlmis.requisition.repository.custom.impl;
 
 import org.openlmis.product.domain.Product;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.ProcessingPeriod;
+import org.openlmis.referencedata.domain.Program;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionLine;
 import org.openlmis.requisition.repository.custom.RequisitionLineRepositoryCustom;
@@ -9,6 +12,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.util.List;
@@ -46,4 +51,49 @@ public class RequisitionLineRepositoryImpl implements RequisitionLineRepositoryC
     query.where(predicate);
     return entityManager.createQuery(query).getResultList();
   }
+
+  /**
+   * Method returns all Requisition lines of regular (not emergency) requisitions with matched
+   * parameters, ordered by creation of their requisitions. Products of the lines and their
+   * categories are fetched in the same query, so the number of issued queries does not depend
+   * on the number of returned lines.
+   * @param facility facility of requisitions of searched requisition lines.
+   * @param program program of requisitions of searched requisition lines.
+   * @param processingPeriod processing period of requisitions of searched requisition lines.
+   * @return list of requisition lines with matched parameters.
+   */
+  public List<RequisitionLine> searchRequisitionLines(Facility facility, Program program,
+                                                      ProcessingPeriod processingPeriod) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<RequisitionLine> query = builder.createQuery(RequisitionLine.class);
+    Root<RequisitionLine> root = query.from(RequisitionLine.class);
+    root.fetch("product").fetch("productCategory", JoinType.LEFT);
+    Join<RequisitionLine, Requisition> requisition = root.join("requisition");
+    Predicate predicate = builder.or(
+        builder.isNull(requisition.get("emergency")),
+        builder.isFalse(requisition.get("emergency")));
+
+    if (facility != null) {
+      predicate = builder.and(
+              predicate,
+              builder.equal(
+                      requisition.get("facility"), facility));
+    }
+    if (program != null) {
+      predicate = builder.and(
+              predicate,
+              builder.equal(
+                      requisition.get("program"), program));
+    }
+    if (processingPeriod != null) {
+      predicate = builder.and(
+              predicate,
+              builder.equal(
+                      requisition.get("processingPeriod"), processingPeriod));
+    }
+
+    query.where(predicate);
+    query.orderBy(builder.asc(requisition.get("createdDate")), builder.asc(requisition.get("id")));
+    return entityManager.createQuery(query).getResultList();
+  }
 }
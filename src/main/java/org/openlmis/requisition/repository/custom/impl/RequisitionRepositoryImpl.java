@@ -5,20 +5,39 @@ import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.ProcessingPeriod;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.requisition.domain.Requisition;
+import org.openlmis.requisition.domain.RequisitionLine;
 import org.openlmis.requisition.domain.RequisitionStatus;
 import org.openlmis.requisition.repository.custom.RequisitionRepositoryCustom;
+import org.openlmis.requisition.utils.RequisitionSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 public class RequisitionRepositoryImpl implements RequisitionRepositoryCustom {
 
+  private static final String CREATED_DATE = "createdDate";
+  private static final String SUPERVISORY_NODE = "supervisoryNode";
+  private static final String STATUS = "status";
+
   @PersistenceContext
   private EntityManager entityManager;
 
@@ -42,6 +61,265 @@ public class RequisitionRepositoryImpl implements RequisitionRepositoryCustom {
     CriteriaBuilder builder = entityManager.getCriteriaBuilder();
     CriteriaQuery<Requisition> query = builder.createQuery(Requisition.class);
     Root<Requisition> root = query.from(Requisition.class);
+
+    query.where(searchPredicate(builder, root, facility, program, createdDateFrom,
+        createdDateTo, processingPeriod, supervisoryNode, requisitionStatus));
+    return entityManager.createQuery(query).getResultList();
+  }
+
+  /**
+   * Method returns one page of Requisitions with matched parameters. Requisitions are ordered
+   * by created date and ID, and the page starts right after the Requisition identified by
+   * given created date and ID (keyset pagination), so the cost of a page does not depend on
+   * how many pages were read before.
+   * @param facility facility of searched Requisitions.
+   * @param program program of searched Requisitions.
+   * @param createdDateFrom After what date should searched Requisition be created.
+   * @param createdDateTo Before what date should searched Requisition be created.
+   * @param processingPeriod processingPeriod of searched Requisitions.
+   * @param supervisoryNode supervisoryNode of searched Requisitions.
+   * @param requisitionStatus status of searched Requisitions.
+   * @param lastCreatedDate created date of the last Requisition of previous page, or null.
+   * @param lastId ID of the last Requisition of previous page, or null.
+   * @param pageSize maximum number of returned Requisitions, all are returned if null.
+   * @param includeLines if false, Requisition lines are neither loaded nor returned.
+   * @return list of Requisitions with matched parameters.
+   */
+  public List<Requisition> searchRequisitions(Facility facility, Program program,
+                                              LocalDateTime createdDateFrom,
+                                              LocalDateTime createdDateTo,
+                                              ProcessingPeriod processingPeriod,
+                                              SupervisoryNode supervisoryNode,
+                                              RequisitionStatus requisitionStatus,
+                                              LocalDateTime lastCreatedDate, UUID lastId,
+                                              Integer pageSize, boolean includeLines) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    if (includeLines) {
+      CriteriaQuery<Requisition> query = builder.createQuery(Requisition.class);
+      Root<Requisition> root = query.from(Requisition.class);
+      query.where(builder.and(
+          searchPredicate(builder, root, facility, program, createdDateFrom, createdDateTo,
+              processingPeriod, supervisoryNode, requisitionStatus),
+          keysetPredicate(builder, root, lastCreatedDate, lastId)));
+      query.orderBy(builder.asc(root.get(CREATED_DATE)), builder.asc(root.get("id")));
+      TypedQuery<Requisition> typedQuery = entityManager.createQuery(query);
+      if (pageSize != null) {
+        typedQuery.setMaxResults(pageSize);
+      }
+      return typedQuery.getResultList();
+    }
+
+    RequisitionHeaderMapper mapper = new RequisitionHeaderMapper(entityManager);
+    CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+    Root<Requisition> root = query.from(Requisition.class);
+    mapper.select(query, root);
+    query.where(builder.and(
+        searchPredicate(builder, root, facility, program, createdDateFrom, createdDateTo,
+            processingPeriod, supervisoryNode, requisitionStatus),
+        keysetPredicate(builder, root, lastCreatedDate, lastId)));
+    query.orderBy(builder.asc(root.get(CREATED_DATE)), builder.asc(root.get("id")));
+    TypedQuery<Object[]> typedQuery = entityManager.createQuery(query);
+    if (pageSize != null) {
+      typedQuery.setMaxResults(pageSize);
+    }
+    return mapper.toRequisitions(typedQuery.getResultList());
+  }
+
+  /**
+   * Method returns one page of Requisitions with given status supervised by any of given
+   * Supervisory Nodes. Requisitions are ordered by created date, so pages are stable.
+   * @param supervisoryNodeIds IDs of supervisoryNodes of searched Requisitions.
+   * @param requisitionStatus status of searched Requisitions.
+   * @param pageable page to return, all matched Requisitions are returned if null.
+   * @return list of Requisitions with matched parameters.
+   */
+  public List<Requisition> searchRequisitions(Collection<UUID> supervisoryNodeIds,
+                                              RequisitionStatus requisitionStatus,
+                                              Pageable pageable) {
+    if (supervisoryNodeIds == null || supervisoryNodeIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Requisition> query = builder.createQuery(Requisition.class);
+    Root<Requisition> root = query.from(Requisition.class);
+    Predicate predicate = root.get(SUPERVISORY_NODE).get("id").in(supervisoryNodeIds);
+    if (requisitionStatus != null) {
+      predicate = builder.and(predicate,
+              builder.equal(root.get(STATUS), requisitionStatus));
+    }
+
+    query.where(predicate);
+    query.orderBy(builder.asc(root.get(CREATED_DATE)), builder.asc(root.get("id")));
+
+    TypedQuery<Requisition> typedQuery = entityManager.createQuery(query);
+    if (pageable != null) {
+      typedQuery.setFirstResult(pageable.getOffset());
+      typedQuery.setMaxResults(pageable.getPageSize());
+    }
+    return typedQuery.getResultList();
+  }
+
+  /**
+   * Method returns summaries of Requisitions with matched parameters, ordered by created date
+   * and ID. Only the Requisition rows and their referenced Facility, Program and Processing
+   * Period are read, Requisition lines are only counted.
+   * @param facility facility of searched Requisitions.
+   * @param program program of searched Requisitions.
+   * @param createdDateFrom After what date should searched Requisition be created.
+   * @param createdDateTo Before what date should searched Requisition be created.
+   * @param processingPeriod processingPeriod of searched Requisitions.
+   * @param supervisoryNode supervisoryNode of searched Requisitions.
+   * @param requisitionStatus status of searched Requisitions.
+   * @param lastCreatedDate created date of the last Requisition of previous page, or null.
+   * @param lastId ID of the last Requisition of previous page, or null.
+   * @param pageSize maximum number of returned summaries, all are returned if null.
+   * @return list of summaries of Requisitions with matched parameters.
+   */
+  public List<RequisitionSummary> searchRequisitionSummaries(Facility facility, Program program,
+                                                             LocalDateTime createdDateFrom,
+                                                             LocalDateTime createdDateTo,
+                                                             ProcessingPeriod processingPeriod,
+                                                             SupervisoryNode supervisoryNode,
+                                                             RequisitionStatus requisitionStatus,
+                                                             LocalDateTime lastCreatedDate,
+                                                             UUID lastId, Integer pageSize) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<RequisitionSummary> query = builder.createQuery(RequisitionSummary.class);
+    Root<Requisition> root = query.from(Requisition.class);
+    selectSummaries(builder, query, root);
+
+    query.where(builder.and(
+        searchPredicate(builder, root, facility, program, createdDateFrom, createdDateTo,
+            processingPeriod, supervisoryNode, requisitionStatus),
+        keysetPredicate(builder, root, lastCreatedDate, lastId)));
+
+    TypedQuery<RequisitionSummary> typedQuery = entityManager.createQuery(query);
+    if (pageSize != null) {
+      typedQuery.setMaxResults(pageSize);
+    }
+    return typedQuery.getResultList();
+  }
+
+  /**
+   * Method returns summaries of one page of Requisitions with given status supervised by any
+   * of given Supervisory Nodes. Summaries are ordered by created date and ID.
+   * @param supervisoryNodeIds IDs of supervisoryNodes of searched Requisitions.
+   * @param requisitionStatus status of searched Requisitions.
+   * @param pageable page to return, all matched summaries are returned if null.
+   * @return list of summaries of Requisitions with matched parameters.
+   */
+  public List<RequisitionSummary> searchRequisitionSummaries(
+      Collection<UUID> supervisoryNodeIds, RequisitionStatus requisitionStatus,
+      Pageable pageable) {
+    if (supervisoryNodeIds == null || supervisoryNodeIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<RequisitionSummary> query = builder.createQuery(RequisitionSummary.class);
+    Root<Requisition> root = query.from(Requisition.class);
+    selectSummaries(builder, query, root);
+
+    Predicate predicate = root.get(SUPERVISORY_NODE).get("id").in(supervisoryNodeIds);
+    if (requisitionStatus != null) {
+      predicate = builder.and(predicate,
+              builder.equal(root.get(STATUS), requisitionStatus));
+    }
+    query.where(predicate);
+
+    TypedQuery<RequisitionSummary> typedQuery = entityManager.createQuery(query);
+    if (pageable != null) {
+      typedQuery.setFirstResult(pageable.getOffset());
+      typedQuery.setMaxResults(pageable.getPageSize());
+    }
+    return typedQuery.getResultList();
+  }
+
+  /**
+   * Method returns Requisitions with given IDs. Their Requisition lines are fetched in the
+   * same query.
+   * @param requisitionIds IDs of searched Requisitions.
+   * @return list of found Requisitions, IDs which do not exist are skipped.
+   */
+  public List<Requisition> searchRequisitionsWithLines(Collection<UUID> requisitionIds) {
+    if (requisitionIds == null || requisitionIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Requisition> query = builder.createQuery(Requisition.class);
+    Root<Requisition> root = query.from(Requisition.class);
+    root.fetch("requisitionLines", JoinType.LEFT);
+
+    query.select(root).distinct(true).where(root.get("id").in(requisitionIds));
+    return entityManager.createQuery(query).getResultList();
+  }
+
+  /**
+   * Inserts given new Requisition together with its Requisition lines. The requisition row is
+   * persisted first and every line references it, so all line inserts are flushed at once and
+   * sent in JDBC batches (see hibernate.jdbc.batch_size) after the row they point to.
+   * @param requisition new Requisition to insert, ids of it and its lines are ignored.
+   * @return inserted Requisition.
+   */
+  @Transactional
+  public Requisition insertRequisition(Requisition requisition) {
+    requisition.setId(null);
+    entityManager.persist(requisition);
+
+    if (requisition.getRequisitionLines() != null) {
+      for (RequisitionLine requisitionLine : requisition.getRequisitionLines()) {
+        requisitionLine.setId(null);
+        requisitionLine.setRequisition(requisition);
+        entityManager.persist(requisitionLine);
+      }
+    }
+
+    entityManager.flush();
+    return requisition;
+  }
+
+  private Predicate keysetPredicate(CriteriaBuilder builder, Root<Requisition> root,
+                                    LocalDateTime lastCreatedDate, UUID lastId) {
+    if (lastCreatedDate == null || lastId == null) {
+      return builder.conjunction();
+    }
+    Path<LocalDateTime> createdDate = root.get(CREATED_DATE);
+    Path<UUID> id = root.get("id");
+    return builder.or(
+        builder.greaterThan(createdDate, lastCreatedDate),
+        builder.and(builder.equal(createdDate, lastCreatedDate),
+            builder.greaterThan(id, lastId)));
+  }
+
+  private void selectSummaries(CriteriaBuilder builder, CriteriaQuery<RequisitionSummary> query,
+                               Root<Requisition> root) {
+    Join<Requisition, Facility> facility = root.join("facility");
+    Join<Requisition, Program> program = root.join("program");
+    Join<Requisition, ProcessingPeriod> period = root.join("processingPeriod");
+    Join<Requisition, RequisitionLine> lines = root.join("requisitionLines", JoinType.LEFT);
+
+    List<Expression<?>> columns = Arrays.asList(root.get("id"),
+        facility.get("code"), facility.get("name"), program.get("id"), program.get("name"),
+        period.get("id"), period.get("name"), root.get(STATUS), root.get("emergency"),
+        root.get(CREATED_DATE));
+    List<Selection<?>> selections = new ArrayList<>(columns);
+    selections.add(builder.count(lines));
+
+    query.select(builder.construct(RequisitionSummary.class,
+        selections.toArray(new Selection<?>[selections.size()])));
+    query.groupBy(columns);
+    query.orderBy(builder.asc(root.get(CREATED_DATE)), builder.asc(root.get("id")));
+  }
+
+  private Predicate searchPredicate(CriteriaBuilder builder, Root<Requisition> root,
+                                    Facility facility, Program program,
+                                    LocalDateTime createdDateFrom,
+                                    LocalDateTime createdDateTo,
+                                    ProcessingPeriod processingPeriod,
+                                    SupervisoryNode supervisoryNode,
+                                    RequisitionStatus requisitionStatus) {
     Predicate predicate = builder.conjunction();
     if (facility != null) {
       predicate = builder.and(predicate, builder.equal(root.get("facility"), facility));
@@ -51,11 +329,11 @@ public class RequisitionRepositoryImpl implements RequisitionRepositoryCustom {
     }
     if (createdDateFrom != null) {
       predicate = builder.and(predicate,
-              builder.greaterThanOrEqualTo(root.get("createdDate"), createdDateFrom));
+              builder.greaterThanOrEqualTo(root.get(CREATED_DATE), createdDateFrom));
     }
     if (createdDateTo != null) {
       predicate = builder.and(predicate,
-              builder.lessThanOrEqualTo(root.get("createdDate"), createdDateTo));
+              builder.lessThanOrEqualTo(root.get(CREATED_DATE), createdDateTo));
     }
     if (processingPeriod != null) {
       predicate = builder.and(predicate,
@@ -63,14 +341,12 @@ public class RequisitionRepositoryImpl implements RequisitionRepositoryCustom {
     }
     if (supervisoryNode != null) {
       predicate = builder.and(predicate,
-              builder.equal(root.get("supervisoryNode"), supervisoryNode));
+              builder.equal(root.get(SUPERVISORY_NODE), supervisoryNode));
     }
     if (requisitionStatus != null) {
       predicate = builder.and(predicate,
-              builder.equal(root.get("status"), requisitionStatus));
+              builder.equal(root.get(STATUS), requisitionStatus));
     }
-
-    query.where(predicate);
-    return entityManager.createQuery(query).getResultList();
+    return predicate;
   }
 }
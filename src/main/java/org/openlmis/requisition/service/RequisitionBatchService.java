@@ -0,0 +1,138 @@
+package org.openlmis.requisition.service;
+
+import org.openlmis.requisition.domain.Requisition;
+import org.openlmis.requisition.domain.RequisitionStatus;
+import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.requisition.utils.RequisitionActionResult;
+import org.openlmis.requisition.validate.RequisitionValidator;
+import org.openlmis.settings.service.ConfigurationSettingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Applies status changes to many Requisitions at once. Each Requisition gets its own result,
+ * so one which cannot be changed does not stop the others.
+ */
+@Service
+public class RequisitionBatchService {
+  private static final String REQUISITION_DOES_NOT_EXISTS_MESSAGE = "Requisition does not exist: ";
+  private static final String SKIP_AUTHORIZATION = "skipAuthorization";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RequisitionBatchService.class);
+
+  @Autowired
+  private RequisitionRepository requisitionRepository;
+
+  @Autowired
+  private RequisitionLineService requisitionLineService;
+
+  @Autowired
+  private ConfigurationSettingService configurationSettingService;
+
+  @Autowired
+  @Qualifier("beforeSaveRequisitionValidator")
+  private RequisitionValidator validator;
+
+  /**
+   * Authorizes all given Requisitions at once. Requisitions are loaded with a single query and
+   * all changes are flushed together when the transaction ends. A Requisition which cannot be
+   * authorized is reported in its result and does not stop the others.
+   *
+   * @param requisitionIds UUIDs of Requisitions to be authorized.
+   * @return Result for every distinct given UUID, in the given order.
+   */
+  @Transactional
+  public List<RequisitionActionResult> authorize(Collection<UUID> requisitionIds) {
+    boolean skipAuthorization = configurationSettingService.getBoolValue(SKIP_AUTHORIZATION);
+    Map<UUID, Requisition> requisitions = loadRequisitions(requisitionIds);
+
+    List<RequisitionActionResult> results = new ArrayList<>();
+    for (UUID requisitionId : new LinkedHashSet<>(requisitionIds)) {
+      Requisition requisition = requisitions.get(requisitionId);
+      if (skipAuthorization) {
+        results.add(failure(requisitionId,
+            "Requisition authorization is configured to be skipped"));
+      } else if (requisition == null) {
+        results.add(failure(requisitionId, REQUISITION_DOES_NOT_EXISTS_MESSAGE + requisitionId));
+      } else if (requisition.getStatus() != RequisitionStatus.SUBMITTED) {
+        results.add(failure(requisitionId, "Cannot authorize requisition: " + requisitionId
+            + " . Requisition must have submitted status to be authorized"));
+      } else if (!isValid(requisition)) {
+        results.add(failure(requisitionId, "Requisition object is not valid."));
+      } else {
+        requisition.setStatus(RequisitionStatus.AUTHORIZED);
+        requisitionLineService.calculateRequisitionLineFields(requisition);
+        results.add(success(requisition));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Approves all given Requisitions at once. Requisitions are loaded with a single query and
+   * all changes are flushed together when the transaction ends. A Requisition which cannot be
+   * approved is reported in its result and does not stop the others.
+   *
+   * @param requisitionIds UUIDs of Requisitions to be approved.
+   * @return Result for every distinct given UUID, in the given order.
+   */
+  @Transactional
+  public List<RequisitionActionResult> approve(Collection<UUID> requisitionIds) {
+    boolean skipAuthorization = configurationSettingService.getBoolValue(SKIP_AUTHORIZATION);
+    Map<UUID, Requisition> requisitions = loadRequisitions(requisitionIds);
+
+    List<RequisitionActionResult> results = new ArrayList<>();
+    for (UUID requisitionId : new LinkedHashSet<>(requisitionIds)) {
+      Requisition requisition = requisitions.get(requisitionId);
+      if (requisition == null) {
+        results.add(failure(requisitionId, REQUISITION_DOES_NOT_EXISTS_MESSAGE + requisitionId));
+      } else if (requisition.getStatus() == RequisitionStatus.AUTHORIZED
+          || skipAuthorization && requisition.getStatus() == RequisitionStatus.SUBMITTED) {
+        requisition.setStatus(RequisitionStatus.APPROVED);
+        results.add(success(requisition));
+      } else {
+        results.add(failure(requisitionId, "Cannot approve requisition: " + requisitionId
+            + " . Requisition must be authorized to be approved"));
+      }
+    }
+    return results;
+  }
+
+  private Map<UUID, Requisition> loadRequisitions(Collection<UUID> requisitionIds) {
+    Map<UUID, Requisition> requisitions = new HashMap<>();
+    for (Requisition requisition
+        : requisitionRepository.searchRequisitionsWithLines(requisitionIds)) {
+      requisitions.put(requisition.getId(), requisition);
+    }
+    return requisitions;
+  }
+
+  private boolean isValid(Requisition requisition) {
+    Errors errors = new BeanPropertyBindingResult(requisition, "requisition");
+    validator.validate(requisition, errors);
+    return !errors.hasErrors();
+  }
+
+  private RequisitionActionResult success(Requisition requisition) {
+    return new RequisitionActionResult(requisition.getId(), true, requisition.getStatus(), null);
+  }
+
+  private RequisitionActionResult failure(UUID requisitionId, String message) {
+    LOGGER.debug(message);
+    return new RequisitionActionResult(requisitionId, false, null, message);
+  }
+}
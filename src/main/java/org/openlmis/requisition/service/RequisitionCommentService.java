@@ -1,16 +1,15 @@
 package org.openlmis.requisition.service;
 
-import org.openlmis.hierarchyandsupervision.domain.User;
 import org.openlmis.requisition.domain.Comment;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.exception.CommentNotFoundException;
 import org.openlmis.requisition.exception.RequisitionNotFoundException;
 import org.openlmis.requisition.repository.CommentRepository;
 import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.security.UserPrincipalService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -31,6 +30,9 @@ public class RequisitionCommentService {
   @Autowired
   private CommentRepository commentRepository;
 
+  @Autowired
+  private UserPrincipalService userPrincipalService;
+
   /**
    * Inserts a new comment and ties it with a requisition.
    * @param requisitionId the id of the requisition
@@ -44,8 +46,7 @@ public class RequisitionCommentService {
     Requisition requisition = findRequisition(requisitionId);
 
 
-    User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-    comment.setAuthor(user);
+    comment.setAuthor(userPrincipalService.getUser(userPrincipalService.getCurrentPrincipal()));
     comment.setRequisition(requisition);
 
     commentRepository.save(comment);
@@ -1,7 +1,9 @@
 package org.openlmis.requisition.service;
 
 import org.openlmis.product.domain.Product;
+import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.ProcessingPeriod;
+import org.openlmis.referencedata.domain.Program;
 import org.openlmis.referencedata.service.ProcessingPeriodService;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionLine;
@@ -12,7 +14,10 @@ import org.openlmis.requisition.repository.RequisitionLineRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class RequisitionLineService {
@@ -68,6 +73,32 @@ public class RequisitionLineService {
     return requisitionLineRepository.searchRequisitionLines(requisition, product);
   }
 
+  /**
+   * Method returns requisition lines of the regular requisition with matched parameters, keyed
+   * by ID of their product. All lines are loaded with a single query. Emergency requisitions are
+   * skipped, and if more than one regular requisition matches, only lines of the earliest
+   * created one are returned.
+   * @param facility facility of requisitions of searched requisition lines.
+   * @param program program of requisitions of searched requisition lines.
+   * @param processingPeriod processing period of requisitions of searched requisition lines.
+   * @return map of requisition lines with matched parameters, keyed by product ID.
+   */
+  public Map<UUID, RequisitionLine> searchRequisitionLinesByProduct(
+      Facility facility, Program program, ProcessingPeriod processingPeriod) {
+    Map<UUID, RequisitionLine> requisitionLines = new HashMap<>();
+    UUID requisitionId = null;
+    for (RequisitionLine requisitionLine : requisitionLineRepository
+        .searchRequisitionLines(facility, program, processingPeriod)) {
+      if (requisitionId == null) {
+        requisitionId = requisitionLine.getRequisition().getId();
+      } else if (!requisitionId.equals(requisitionLine.getRequisition().getId())) {
+        break;
+      }
+      requisitionLines.putIfAbsent(requisitionLine.getProduct().getId(), requisitionLine);
+    }
+    return requisitionLines;
+  }
+
   /**
    * Initiate all RequisitionLine fields from given Requisition to default value.
    *
@@ -92,33 +123,28 @@ public class RequisitionLineService {
 
   private void initiateBeginningBalance(Requisition requisition,
                                         RequisitionTemplate requisitionTemplate) {
-    Iterable<ProcessingPeriod> previousPeriods = periodService.searchPeriods(
+    ProcessingPeriod previousPeriod = periodService.findPreviousPeriod(
         requisition.getProcessingPeriod().getProcessingSchedule(),
         requisition.getProcessingPeriod().getStartDate());
 
     if (requisitionTemplate.getColumnsMap().get("beginningBalance").getIsDisplayed()
-        && previousPeriods != null && previousPeriods.iterator().hasNext()) {
-
-      List<Requisition> previousRequisition;
-      List<RequisitionLine> previousRequisitionLine;
-      previousRequisition = requisitionService.searchRequisitions(
-              requisition.getFacility(),
-              requisition.getProgram(),
-              null,null,
-              previousPeriods.iterator().next(),
-              null,
-              null);
-      if (previousRequisition.size() == 0) {
+        && previousPeriod != null) {
+
+      Map<UUID, RequisitionLine> previousRequisitionLines = searchRequisitionLinesByProduct(
+          requisition.getFacility(),
+          requisition.getProgram(),
+          previousPeriod);
+      if (previousRequisitionLines.isEmpty()) {
         return;
       }
       for (RequisitionLine requisitionLine : requisition.getRequisitionLines()) {
-        previousRequisitionLine = searchRequisitionLines(
-            previousRequisition.get(0), requisitionLine.getProduct());
-
         if (requisitionLine.getBeginningBalance() == null) {
+          RequisitionLine previousRequisitionLine =
+              previousRequisitionLines.get(requisitionLine.getProduct().getId());
+
           if (previousRequisitionLine != null
-              && previousRequisitionLine.get(0).getStockInHand() != null) {
-            requisitionLine.setBeginningBalance(previousRequisitionLine.get(0).getStockInHand());
+              && previousRequisitionLine.getStockInHand() != null) {
+            requisitionLine.setBeginningBalance(previousRequisitionLine.getStockInHand());
           } else {
             requisitionLine.setBeginningBalance(0);
           }
@@ -132,11 +158,11 @@ public class RequisitionLineService {
   }
 
   private void resetBeginningBalance(Requisition requisition, RequisitionLine requisitionLine) {
-    Iterable<ProcessingPeriod> previousPeriods = periodService.searchPeriods(
+    ProcessingPeriod previousPeriod = periodService.findPreviousPeriod(
         requisitionLine.getRequisition().getProcessingPeriod().getProcessingSchedule(),
         requisitionLine.getRequisition().getProcessingPeriod().getStartDate());
 
-    if (!previousPeriods.iterator().hasNext()) {
+    if (previousPeriod == null) {
       requisitionLine.setBeginningBalance(0);
       return;
     }
@@ -146,7 +172,7 @@ public class RequisitionLineService {
                 requisition.getProgram(),
                 null,
                 null,
-                previousPeriods.iterator().next(),
+                previousPeriod,
                 null,
                 null);
 
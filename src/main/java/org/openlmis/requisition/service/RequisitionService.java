@@ -3,6 +3,7 @@ package org.openlmis.requisition.service;
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
 import org.openlmis.hierarchyandsupervision.domain.User;
 import org.openlmis.hierarchyandsupervision.repository.UserRepository;
+import org.openlmis.hierarchyandsupervision.service.SupervisoryNodeService;
 import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.ProcessingPeriod;
 import org.openlmis.referencedata.domain.Program;
@@ -10,18 +11,22 @@ import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionLine;
 import org.openlmis.requisition.domain.RequisitionStatus;
 import org.openlmis.requisition.exception.RequisitionException;
-import org.openlmis.requisition.repository.RequisitionLineRepository;
+import org.openlmis.requisition.exception.RequisitionNotFoundException;
 import org.openlmis.requisition.repository.RequisitionRepository;
 import org.openlmis.settings.service.ConfigurationSettingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -30,6 +35,7 @@ public class RequisitionService {
   private static final String REQUISITION_NULL_MESSAGE = "requisition cannot be null";
   private static final String REQUISITION_DOES_NOT_EXISTS_MESSAGE = "Requisition does not exist: ";
   private static final String REQUISITION_BAD_STATUS_MESSAGE = "requisition has bad status";
+  private static final String SKIP_AUTHORIZATION = "skipAuthorization";
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RequisitionService.class);
 
@@ -43,19 +49,21 @@ public class RequisitionService {
   private RequisitionLineService requisitionLineService;
 
   @Autowired
-  private RequisitionLineRepository requisitionLineRepository;
+  private ConfigurationSettingService configurationSettingService;
 
   @Autowired
-  private ConfigurationSettingService configurationSettingService;
+  private SupervisoryNodeService supervisoryNodeService;
 
   /**
-   * Initiated given requisition if possible.
+   * Initiated given requisition if possible. The requisition and all of its lines are
+   * inserted in a single flush.
    *
    * @param requisitionDto Requisition object to initiate.
    * @return Initiated requisition.
    * @throws RequisitionException Exception thrown when
    *      it is not possible to initialize a requisition.
    */
+  @Transactional
   public Requisition initiateRequisition(Requisition requisitionDto)
                                           throws RequisitionException {
 
@@ -66,16 +74,12 @@ public class RequisitionService {
       requisitionDto.setStatus(RequisitionStatus.INITIATED);
       requisitionLineService.initiateRequisitionLineFields(requisitionDto);
 
-      requisitionDto.getRequisitionLines().forEach(
-          requisitionLine -> requisitionLineRepository.save(requisitionLine));
-      requisitionRepository.save(requisitionDto);
+      return requisitionRepository.insertRequisition(requisitionDto);
 
     } else {
       throw new RequisitionException("Cannot initiate requisition."
           + " Requisition with such parameters already exists");
     }
-
-    return requisitionDto;
   }
 
   /**
@@ -187,41 +191,50 @@ public class RequisitionService {
             createdDateTo, processingPeriod, supervisoryNode, requisitionStatus);
   }
 
+  /**
+   * Finds one page of requisitions matching all of provided parameters. The page starts
+   * right after the requisition with given created date and ID.
+   */
+  public List<Requisition> searchRequisitions(Facility facility, Program program,
+                                              LocalDateTime createdDateFrom,
+                                              LocalDateTime createdDateTo,
+                                              ProcessingPeriod processingPeriod,
+                                              SupervisoryNode supervisoryNode,
+                                              RequisitionStatus requisitionStatus,
+                                              LocalDateTime lastCreatedDate, UUID lastId,
+                                              Integer pageSize, boolean includeLines) {
+    return requisitionRepository.searchRequisitions(
+            facility, program, createdDateFrom, createdDateTo, processingPeriod,
+            supervisoryNode, requisitionStatus, lastCreatedDate, lastId, pageSize, includeLines);
+  }
+
   /**
    * Get requisitions to approve for specified user.
    */
-  public List<Requisition> getRequisitionsForApproval(UUID userId) {
+  public List<Requisition> getRequisitionsForApproval(UUID userId, Pageable pageable) {
     User user = userRepository.findOne(userId);
     List<Requisition> requisitionsForApproval = new ArrayList<>();
     if (user.getSupervisedNode() != null) {
-      requisitionsForApproval.addAll(getAuthorizedRequisitions(user.getSupervisedNode()));
+      requisitionsForApproval.addAll(
+          getAuthorizedRequisitions(user.getSupervisedNode(), pageable));
     }
     return requisitionsForApproval;
   }
 
   /**
-   * Get authorized requisitions supervised by specified Node.
+   * Get authorized requisitions supervised by specified Node or any Node below it in the
+   * supervisory hierarchy. The subtree is resolved by a single (cached) lookup and all
+   * requisitions are loaded with a single query.
+   *
+   * @param supervisoryNode Supervisory Node of searched requisitions.
+   * @param pageable Page of requisitions to return, all of them are returned if null.
+   * @return Authorized requisitions.
    */
-  public List<Requisition> getAuthorizedRequisitions(SupervisoryNode supervisoryNode) {
-    List<Requisition> requisitions = new ArrayList<>();
-    Set<SupervisoryNode> supervisoryNodes = supervisoryNode.getChildNodes();
-    if (supervisoryNodes == null) {
-      supervisoryNodes = new HashSet<>();
-    }
-    supervisoryNodes.add(supervisoryNode);
-
-    for (SupervisoryNode supNode : supervisoryNodes) {
-      List<Requisition> reqList = searchRequisitions(null, null, null, null, null, supNode, null);
-      if (reqList != null) {
-        for (Requisition req : reqList) {
-          if (req.getStatus() == RequisitionStatus.AUTHORIZED) {
-            requisitions.add(req);
-          }
-        }
-      }
-    }
-
-    return requisitions;
+  public List<Requisition> getAuthorizedRequisitions(SupervisoryNode supervisoryNode,
+                                                     Pageable pageable) {
+    Set<UUID> supervisoryNodeIds = supervisoryNodeService.getSubtreeIds(supervisoryNode);
+    return requisitionRepository.searchRequisitions(
+        supervisoryNodeIds, RequisitionStatus.AUTHORIZED, pageable);
   }
 
   /**
@@ -236,7 +249,7 @@ public class RequisitionService {
    */
   public Requisition authorize(UUID requisitionId, Requisition requisitionDto,
                                boolean validationErrors) throws RequisitionException {
-    if (configurationSettingService.getBoolValue("skipAuthorization")) {
+    if (configurationSettingService.getBoolValue(SKIP_AUTHORIZATION)) {
       throw new RequisitionException("Requisition authorization is configured to be skipped");
     }
     Requisition requisition = requisitionRepository.findOne(requisitionId);
@@ -254,19 +267,38 @@ public class RequisitionService {
     }
   }
 
-
   /**
-   * Releases the list of given requisitions as order.
+   * Releases the list of given requisitions as order. All requisitions are loaded with
+   * a single query and their new status is flushed when the transaction commits.
    *
    * @param requisitionList list of requisitions to be released as order
    * @return list of released requisitions
+   * @throws RequisitionNotFoundException if any of given requisitions does not exist, in which
+   *      case none of them is released
    */
-  public List<Requisition> releaseRequisitionsAsOrder(List<Requisition> requisitionList) {
-    List<Requisition> releasedRequisitions = new ArrayList<>();
+  @Transactional
+  public List<Requisition> releaseRequisitionsAsOrder(List<Requisition> requisitionList)
+      throws RequisitionNotFoundException {
+    Set<UUID> requisitionIds = new LinkedHashSet<>();
     for (Requisition requisition : requisitionList) {
-      Requisition loadedRequisition = requisitionRepository.findOne(requisition.getId());
+      requisitionIds.add(requisition.getId());
+    }
+    Map<UUID, Requisition> requisitions = new HashMap<>();
+    for (Requisition requisition
+        : requisitionRepository.searchRequisitionsWithLines(requisitionIds)) {
+      requisitions.put(requisition.getId(), requisition);
+    }
+    for (UUID requisitionId : requisitionIds) {
+      if (!requisitions.containsKey(requisitionId)) {
+        throw new RequisitionNotFoundException(requisitionId);
+      }
+    }
+
+    List<Requisition> releasedRequisitions = new ArrayList<>();
+    for (UUID requisitionId : requisitionIds) {
+      Requisition loadedRequisition = requisitions.get(requisitionId);
       loadedRequisition.setStatus(RequisitionStatus.RELEASED);
-      releasedRequisitions.add(requisitionRepository.save(loadedRequisition));
+      releasedRequisitions.add(loadedRequisition);
     }
     return releasedRequisitions;
   }
@@ -283,5 +315,4 @@ public class RequisitionService {
       return null;
     }
   }
-
 }
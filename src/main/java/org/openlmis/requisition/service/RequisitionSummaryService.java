@@ -0,0 +1,65 @@
+package org.openlmis.requisition.service;
+
+import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
+import org.openlmis.hierarchyandsupervision.domain.User;
+import org.openlmis.hierarchyandsupervision.repository.UserRepository;
+import org.openlmis.hierarchyandsupervision.service.SupervisoryNodeService;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.ProcessingPeriod;
+import org.openlmis.referencedata.domain.Program;
+import org.openlmis.requisition.domain.RequisitionStatus;
+import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.requisition.utils.RequisitionSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class RequisitionSummaryService {
+
+  @Autowired
+  private RequisitionRepository requisitionRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private SupervisoryNodeService supervisoryNodeService;
+
+  /**
+   * Finds summaries of requisitions matching all of provided parameters. Requisition lines
+   * are not loaded.
+   */
+  public List<RequisitionSummary> searchRequisitionSummaries(Facility facility, Program program,
+                                                             LocalDateTime createdDateFrom,
+                                                             LocalDateTime createdDateTo,
+                                                             ProcessingPeriod processingPeriod,
+                                                             SupervisoryNode supervisoryNode,
+                                                             RequisitionStatus requisitionStatus,
+                                                             LocalDateTime lastCreatedDate,
+                                                             UUID lastId, Integer pageSize) {
+    return requisitionRepository.searchRequisitionSummaries(
+            facility, program, createdDateFrom, createdDateTo, processingPeriod,
+            supervisoryNode, requisitionStatus, lastCreatedDate, lastId, pageSize);
+  }
+
+  /**
+   * Get summaries of requisitions to approve for specified user.
+   */
+  public List<RequisitionSummary> getRequisitionSummariesForApproval(UUID userId,
+                                                                     Pageable pageable) {
+    User user = userRepository.findOne(userId);
+    if (user.getSupervisedNode() == null) {
+      return new ArrayList<>();
+    }
+    Set<UUID> supervisoryNodeIds = supervisoryNodeService.getSubtreeIds(user.getSupervisedNode());
+    return requisitionRepository.searchRequisitionSummaries(
+        supervisoryNodeIds, RequisitionStatus.AUTHORIZED, pageable);
+  }
+}
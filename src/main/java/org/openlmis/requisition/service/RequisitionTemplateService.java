@@ -1,12 +1,19 @@
 package org.openlmis.requisition.service;
 
+import org.openlmis.cache.LruCache;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.requisition.domain.RequisitionTemplate;
+import org.openlmis.requisition.domain.RequisitionTemplateColumn;
 import org.openlmis.requisition.repository.RequisitionTemplateRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class RequisitionTemplateService {
@@ -14,14 +21,64 @@ public class RequisitionTemplateService {
   @Autowired
   private RequisitionTemplateRepository requisitionTemplateRepository;
 
+  @Autowired
+  private LruCache<UUID, List<RequisitionTemplate>> requisitionTemplateCache;
+
   /**
-   * Method returns all requisition templates with matched parameters.
+   * Method returns all requisition templates with matched parameters. Templates of a single
+   * program are served from cache. Every call gets its own copies of the cached templates,
+   * their columns and program, with read-only column maps.
    * @param program program of searched requisition templates.
    * @return list of requisition templates with matched parameters.
    */
   public List<RequisitionTemplate> searchRequisitionTemplates(Program program) {
-    return requisitionTemplateRepository.searchRequisitionTemplates(program);
+    if (program == null || program.getId() == null) {
+      return requisitionTemplateRepository.searchRequisitionTemplates(program);
+    }
+    return copy(requisitionTemplateCache.get(program.getId(), programId ->
+        copy(requisitionTemplateRepository.searchRequisitionTemplates(program))));
   }
-}
 
+  /**
+   * Removes cached requisition templates of given program. Has to be called whenever
+   * a requisition template of the program is created, updated or deleted.
+   * @param program program of changed requisition templates.
+   */
+  public void evictRequisitionTemplates(Program program) {
+    if (program != null && program.getId() != null) {
+      requisitionTemplateCache.invalidate(program.getId());
+    }
+  }
 
+  private List<RequisitionTemplate> copy(List<RequisitionTemplate> requisitionTemplates) {
+    List<RequisitionTemplate> copies = new ArrayList<>();
+    for (RequisitionTemplate requisitionTemplate : requisitionTemplates) {
+      Map<String, RequisitionTemplateColumn> columns = new HashMap<>();
+      for (Map.Entry<String, RequisitionTemplateColumn> entry
+          : requisitionTemplate.getColumnsMap().entrySet()) {
+        RequisitionTemplateColumn column = entry.getValue();
+        columns.put(entry.getKey(), new RequisitionTemplateColumn(column.getName(),
+            column.getLabel(), column.getDisplayOrder(), column.getIsDisplayed(),
+            column.getIsDisplayRequired(), column.getCanChangeOrder(),
+            column.getCanBeChangedByUser(), column.getSource()));
+      }
+
+      RequisitionTemplate copy = new RequisitionTemplate();
+      copy.setId(requisitionTemplate.getId());
+      copy.setProgram(copy(requisitionTemplate.getProgram()));
+      copy.setColumnsMap(Collections.unmodifiableMap(columns));
+      copies.add(copy);
+    }
+    return Collections.unmodifiableList(copies);
+  }
+
+  private Program copy(Program program) {
+    if (program == null) {
+      return null;
+    }
+    Program copy = new Program();
+    copy.setId(program.getId());
+    copy.updateFrom(program);
+    return copy;
+  }
+}
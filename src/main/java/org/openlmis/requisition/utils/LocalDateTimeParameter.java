@@ -0,0 +1,49 @@
+package org.openlmis.requisition.utils;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+public final class LocalDateTimeParameter {
+
+  private static final int MIN_FIELDS = 5;
+  private static final int MAX_FIELDS = 7;
+
+  private LocalDateTimeParameter() {
+  }
+
+  /**
+   * Parses date and time given in one of the forms written by Jackson's LocalDateTimeSerializer,
+   * so a created date read from a response can be sent back as it is. Accepted are ISO local
+   * date and time (2016-10-17T07:14:00.123) and the array of fields written when dates are
+   * serialized as timestamps ([2016,10,17,7,14,0,123000000]), with or without brackets. Trailing
+   * seconds and nanoseconds equal to zero may be left out of the array, as the serializer does.
+   *
+   * @param value date and time to parse.
+   * @return parsed date and time.
+   * @throws DateTimeException if the value is in neither of the forms.
+   */
+  public static LocalDateTime parse(String value) {
+    String trimmed = value.trim();
+    if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+      trimmed = trimmed.substring(1, trimmed.length() - 1);
+    }
+    if (!trimmed.contains(",")) {
+      return LocalDateTime.parse(trimmed);
+    }
+
+    String[] parts = trimmed.split(",");
+    if (parts.length < MIN_FIELDS || parts.length > MAX_FIELDS) {
+      throw new DateTimeException("Unexpected number of date and time fields: " + value);
+    }
+    int[] fields = new int[MAX_FIELDS];
+    try {
+      for (int i = 0; i < parts.length; i++) {
+        fields[i] = Integer.parseInt(parts[i].trim());
+      }
+    } catch (NumberFormatException ex) {
+      throw new DateTimeException("Date and time fields have to be numbers: " + value, ex);
+    }
+    return LocalDateTime.of(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5],
+        fields[6]);
+  }
+}
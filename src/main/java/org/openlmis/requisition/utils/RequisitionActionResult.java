@@ -0,0 +1,33 @@
+package org.openlmis.requisition.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.openlmis.requisition.domain.RequisitionStatus;
+
+import java.util.UUID;
+
+/**
+ * Outcome of an action applied to a single Requisition as part of a batch.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequisitionActionResult {
+
+  @Getter
+  @Setter
+  private UUID requisitionId;
+
+  @Getter
+  @Setter
+  private boolean successful;
+
+  @Getter
+  @Setter
+  private RequisitionStatus status;
+
+  @Getter
+  @Setter
+  private String message;
+}
@@ -0,0 +1,69 @@
+package org.openlmis.requisition.utils;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.openlmis.requisition.domain.RequisitionStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Header of a Requisition used by list views. It is selected directly from the database,
+ * so neither Requisition lines nor comments are loaded.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequisitionSummary {
+
+  @Getter
+  @Setter
+  private UUID id;
+
+  @Getter
+  @Setter
+  private String facilityCode;
+
+  @Getter
+  @Setter
+  private String facilityName;
+
+  @Getter
+  @Setter
+  private UUID programId;
+
+  @Getter
+  @Setter
+  private String programName;
+
+  @Getter
+  @Setter
+  private UUID processingPeriodId;
+
+  @Getter
+  @Setter
+  private String processingPeriodName;
+
+  @Getter
+  @Setter
+  private RequisitionStatus status;
+
+  @Getter
+  @Setter
+  private Boolean emergency;
+
+  @JsonSerialize(using = LocalDateTimeSerializer.class)
+  @JsonDeserialize(using = LocalDateTimeDeserializer.class)
+  @Getter
+  @Setter
+  private LocalDateTime createdDate;
+
+  @Getter
+  @Setter
+  private Long requisitionLinesCount;
+}
@@ -1,7 +1,6 @@
 package org.openlmis.requisition.web;
 
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
-import org.openlmis.hierarchyandsupervision.domain.User;
 import org.openlmis.hierarchyandsupervision.utils.ErrorResponse;
 import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.ProcessingPeriod;
@@ -11,14 +10,23 @@ import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionStatus;
 import org.openlmis.requisition.exception.RequisitionException;
 import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.requisition.service.RequisitionBatchService;
 import org.openlmis.requisition.service.RequisitionService;
+import org.openlmis.requisition.service.RequisitionSummaryService;
+import org.openlmis.requisition.utils.LocalDateTimeParameter;
+import org.openlmis.requisition.utils.RequisitionActionResult;
+import org.openlmis.requisition.utils.RequisitionSummary;
 import org.openlmis.requisition.validate.RequisitionValidator;
+import org.openlmis.security.UserPrincipal;
 import org.openlmis.settings.service.ConfigurationSettingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -36,6 +44,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.validation.Valid;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -49,6 +58,7 @@ import static org.springframework.web.bind.annotation.RequestMethod.POST;
 public class RequisitionController extends BaseController {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RequisitionController.class);
+  private static final String SUMMARY_VIEW = "summary";
 
   @Autowired
   private RequisitionRepository requisitionRepository;
@@ -60,9 +70,18 @@ public class RequisitionController extends BaseController {
   @Autowired
   private RequisitionService requisitionService;
 
+  @Autowired
+  private RequisitionSummaryService requisitionSummaryService;
+
+  @Autowired
+  private RequisitionBatchService requisitionBatchService;
+
   @Autowired
   private ConfigurationSettingService configurationSettingService;
 
+  @Value("${requisition.search.maxPageSize}")
+  private int maxSearchPageSize;
+
   @InitBinder("requisition")
   protected void initBinder(final WebDataBinder binder) {
     binder.addValidators(validator);
@@ -172,7 +191,13 @@ public class RequisitionController extends BaseController {
   }
 
   /**
-   * Finds requisitions matching all of provided parameters.
+   * Finds one page of requisitions matching all of provided parameters, ordered by created
+   * date and ID. The next page starts after the requisition given by lastCreatedDate and
+   * lastId, which should be taken from the last requisition of the previous page, and
+   * lastCreatedDate is accepted in the form createdDate is returned in. Page size is capped by
+   * requisition.search.maxPageSize, which is also the default size, so a response never holds
+   * more requisitions than that. Further requisitions are read page by page. With view=summary
+   * only requisition summaries are returned.
    */
   @RequestMapping(value = "/requisitions/search", method = RequestMethod.GET)
   public ResponseEntity<?> searchRequisitions(
@@ -185,10 +210,37 @@ public class RequisitionController extends BaseController {
       @RequestParam(value = "processingPeriod", required = false) ProcessingPeriod processingPeriod,
       @RequestParam(value = "supervisoryNode", required = false) SupervisoryNode supervisoryNode,
       @RequestParam(value = "requisitionStatus", required = false)
-              RequisitionStatus requisitionStatus) {
+              RequisitionStatus requisitionStatus,
+      @RequestParam(value = "lastCreatedDate", required = false) String lastCreatedDate,
+      @RequestParam(value = "lastId", required = false) UUID lastId,
+      @RequestParam(value = "size", required = false) Integer size,
+      @RequestParam(value = "includeLines", required = false, defaultValue = "true")
+              boolean includeLines,
+      @RequestParam(value = "view", required = false) String view) {
+    if (size != null && size < 1 || lastCreatedDate == null ^ lastId == null
+        || isUnknownView(view)) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    LocalDateTime lastCreated = null;
+    if (lastCreatedDate != null) {
+      try {
+        lastCreated = LocalDateTimeParameter.parse(lastCreatedDate);
+      } catch (DateTimeException ex) {
+        LOGGER.debug(ex.getMessage(), ex);
+        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+      }
+    }
+    int pageSize = size == null ? maxSearchPageSize : Math.min(size, maxSearchPageSize);
 
+    if (SUMMARY_VIEW.equals(view)) {
+      List<RequisitionSummary> summaries = requisitionSummaryService.searchRequisitionSummaries(
+          facility, program, createdDateFrom, createdDateTo, processingPeriod, supervisoryNode,
+          requisitionStatus, lastCreated, lastId, pageSize);
+      return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
     List<Requisition> result = requisitionService.searchRequisitions(facility, program,
-        createdDateFrom, createdDateTo, processingPeriod, supervisoryNode, requisitionStatus);
+        createdDateFrom, createdDateTo, processingPeriod, supervisoryNode, requisitionStatus,
+        lastCreated, lastId, pageSize, includeLines);
 
     return new ResponseEntity<>(result, HttpStatus.OK);
   }
@@ -246,15 +298,59 @@ public class RequisitionController extends BaseController {
   }
 
   /**
-   * Get requisitions to approve for right supervisor.
+   * Approve all requisitions with given ids at once. Requisitions which cannot be approved
+   * are reported in the result and do not stop approval of the others.
+   *
+   * @param requisitionIds UUIDs of requisitions to approve.
+   * @return ResponseEntity with result of approval of every requisition.
+   */
+  @RequestMapping(value = "/requisitions/approve", method = RequestMethod.PUT)
+  public ResponseEntity<?> approveRequisitions(@RequestBody List<UUID> requisitionIds) {
+    if (requisitionIds == null || requisitionIds.isEmpty()) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    List<RequisitionActionResult> results = requisitionBatchService.approve(requisitionIds);
+    LOGGER.debug("Approved batch of " + requisitionIds.size() + " requisitions");
+    return new ResponseEntity<>(results, HttpStatus.OK);
+  }
+
+  /**
+   * Get requisitions to approve for right supervisor. If size is given, only the requested
+   * page of requisitions is returned. With view=summary only requisition summaries are returned.
    */
   @RequestMapping(value = "/requisitions/requisitions-for-approval", method = RequestMethod.GET)
-  public ResponseEntity<Object> listForApproval(OAuth2Authentication auth) {
-    User user = (User) auth.getPrincipal();
-    List<Requisition> requisitions = requisitionService.getRequisitionsForApproval(user.getId());
+  public ResponseEntity<Object> listForApproval(
+      @RequestParam(value = "page", required = false) Integer page,
+      @RequestParam(value = "size", required = false) Integer size,
+      @RequestParam(value = "view", required = false) String view,
+      OAuth2Authentication auth) {
+    if (isUnknownView(view)) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    Pageable pageable = null;
+    if (size != null) {
+      try {
+        pageable = new PageRequest(page == null ? 0 : page, size);
+      } catch (IllegalArgumentException ex) {
+        LOGGER.debug(ex.getMessage(), ex);
+        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+      }
+    }
+    UserPrincipal user = (UserPrincipal) auth.getPrincipal();
+    if (SUMMARY_VIEW.equals(view)) {
+      List<RequisitionSummary> summaries =
+          requisitionSummaryService.getRequisitionSummariesForApproval(user.getUserId(), pageable);
+      return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
+    List<Requisition> requisitions =
+        requisitionService.getRequisitionsForApproval(user.getUserId(), pageable);
     return new ResponseEntity<>(requisitions, HttpStatus.OK);
   }
 
+  private boolean isUnknownView(String view) {
+    return view != null && !SUMMARY_VIEW.equals(view);
+  }
+
   private Map<String, String> getRequisitionErrors(BindingResult bindingResult) {
     return new HashMap<String, String>() {
       {
@@ -268,11 +364,21 @@ public class RequisitionController extends BaseController {
   /**
    * Get all submitted Requisitions.
    *
+   * @param view If equal to "summary", only requisition summaries are returned.
    * @return Submitted requisitions.
    */
   @RequestMapping(value = "/requisitions/submitted", method = RequestMethod.GET)
   @ResponseBody
-  public ResponseEntity<?> getSubmittedRequisitions() {
+  public ResponseEntity<?> getSubmittedRequisitions(
+      @RequestParam(value = "view", required = false) String view) {
+    if (isUnknownView(view)) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    if (SUMMARY_VIEW.equals(view)) {
+      List<RequisitionSummary> summaries = requisitionSummaryService.searchRequisitionSummaries(
+          null, null, null, null, null, null, RequisitionStatus.SUBMITTED, null, null, null);
+      return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
 
     Iterable<Requisition> submittedRequisitions = requisitionService.searchRequisitions(
                 null, null, null, null, null, null, RequisitionStatus.SUBMITTED);
@@ -283,6 +389,23 @@ public class RequisitionController extends BaseController {
     }
   }
 
+  /**
+   * Authorize all requisitions with given ids at once. Requisitions which cannot be authorized
+   * are reported in the result and do not stop authorization of the others.
+   *
+   * @param requisitionIds UUIDs of requisitions to authorize.
+   * @return ResponseEntity with result of authorization of every requisition.
+   */
+  @RequestMapping(value = "/requisitions/authorize", method = RequestMethod.PUT)
+  public ResponseEntity<?> authorizeRequisitions(@RequestBody List<UUID> requisitionIds) {
+    if (requisitionIds == null || requisitionIds.isEmpty()) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    List<RequisitionActionResult> results = requisitionBatchService.authorize(requisitionIds);
+    LOGGER.debug("Authorized batch of " + requisitionIds.size() + " requisitions");
+    return new ResponseEntity<>(results, HttpStatus.OK);
+  }
+
   /**
    * Authorize given requisition.
    *
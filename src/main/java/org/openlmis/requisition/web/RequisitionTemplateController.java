@@ -50,6 +50,7 @@ public class RequisitionTemplateController extends BaseController {
       requisitionTemplate.setId(null);
       RequisitionTemplate newRequisitionTemplate =
             requisitionTemplateRepository.save(requisitionTemplate);
+      requisitionTemplateService.evictRequisitionTemplates(newRequisitionTemplate.getProgram());
       LOGGER.debug("Created new requisitionTemplate with id: " + requisitionTemplate.getId());
       return new ResponseEntity<RequisitionTemplate>(newRequisitionTemplate, HttpStatus.CREATED);
     } catch (DataIntegrityViolationException ex) {
@@ -95,8 +96,12 @@ public class RequisitionTemplateController extends BaseController {
         LOGGER.debug("Updating requisitionTemplate with id: " + requisitionTemplateId);
       }
 
+      Program previousProgram = requisitionTemplateToUpdate.getProgram();
       requisitionTemplateToUpdate.updateFrom(requisitionTemplate);
       requisitionTemplateToUpdate = requisitionTemplateRepository.save(requisitionTemplateToUpdate);
+      requisitionTemplateService.evictRequisitionTemplates(previousProgram);
+      requisitionTemplateService.evictRequisitionTemplates(
+          requisitionTemplateToUpdate.getProgram());
 
       LOGGER.debug("Saved requisitionTemplate with id: " + requisitionTemplateToUpdate.getId());
       return new ResponseEntity<RequisitionTemplate>(requisitionTemplateToUpdate, HttpStatus.OK);
@@ -142,6 +147,7 @@ public class RequisitionTemplateController extends BaseController {
     } else {
       try {
         requisitionTemplateRepository.delete(requisitionTemplate);
+        requisitionTemplateService.evictRequisitionTemplates(requisitionTemplate.getProgram());
       } catch (DataIntegrityViolationException ex) {
         ErrorResponse errorResponse =
               new ErrorResponse("An error accurred while deleting requisitionTemplate with id: "
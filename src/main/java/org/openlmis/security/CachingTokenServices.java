@@ -0,0 +1,105 @@
+package org.openlmis.security;
+
+import org.openlmis.cache.LruCache;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token services caching authentications loaded by another token services, so that a token is
+ * not checked against the auth service on every request. Authentications are kept until the
+ * token expires, but no longer than time to live of the cache. Tokens are cached by their hash,
+ * and concurrent requests with the same token not yet cached wait for a single load. The auth
+ * service does not notify resource servers when a token is revoked or its user logs out, so
+ * such a token is still accepted until its cached authentication expires. The time to live of
+ * the cache bounds how long that lasts.
+ */
+public class CachingTokenServices implements ResourceServerTokenServices {
+
+  private final ResourceServerTokenServices delegate;
+
+  private final LruCache<String, OAuth2Authentication> cache;
+
+  private final ConcurrentMap<String, CompletableFuture<OAuth2Authentication>> loads =
+      new ConcurrentHashMap<>();
+
+  public CachingTokenServices(ResourceServerTokenServices delegate,
+                              LruCache<String, OAuth2Authentication> cache) {
+    this.delegate = delegate;
+    this.cache = cache;
+  }
+
+  @Override
+  public OAuth2Authentication loadAuthentication(String accessToken)
+      throws AuthenticationException {
+    String key = hash(accessToken);
+    OAuth2Authentication authentication = cache.get(key);
+    if (authentication == null) {
+      authentication = load(key, accessToken);
+    }
+    // the caller sets request details on returned authentication, so it must not be shared
+    return new OAuth2Authentication(authentication.getOAuth2Request(),
+        authentication.getUserAuthentication());
+  }
+
+  @Override
+  public OAuth2AccessToken readAccessToken(String accessToken) {
+    return delegate.readAccessToken(accessToken);
+  }
+
+  private OAuth2Authentication load(String key, String accessToken) {
+    CompletableFuture<OAuth2Authentication> load = new CompletableFuture<>();
+    CompletableFuture<OAuth2Authentication> pending = loads.putIfAbsent(key, load);
+    if (pending != null) {
+      return await(pending);
+    }
+
+    try {
+      // an authentication loaded while its user was evicted may hold a stale principal
+      long generation = cache.getGeneration();
+      OAuth2Authentication authentication = delegate.loadAuthentication(accessToken);
+      Long expiration = ExpiringAccessTokenConverter.getExpiration(authentication);
+      cache.put(key, authentication, expiration == null ? Long.MAX_VALUE : expiration,
+          generation);
+      load.complete(authentication);
+      return authentication;
+    } catch (RuntimeException ex) {
+      load.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      loads.remove(key, load);
+    }
+  }
+
+  private OAuth2Authentication await(CompletableFuture<OAuth2Authentication> pending) {
+    try {
+      return pending.join();
+    } catch (CompletionException ex) {
+      // rethrow exception of the load, e.g. InvalidTokenException, as it was thrown
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  private String hash(String accessToken) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return Base64.getEncoder().encodeToString(
+          digest.digest(accessToken.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not supported", ex);
+    }
+  }
+}
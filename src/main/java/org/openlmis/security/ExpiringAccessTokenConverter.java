@@ -0,0 +1,49 @@
+package org.openlmis.security;
+
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Access token converter which keeps expiration time of the token in extensions of the
+ * extracted OAuth2 request, so the authentication can be cached no longer than the token is
+ * valid.
+ */
+public class ExpiringAccessTokenConverter extends DefaultAccessTokenConverter {
+
+  static final String EXPIRATION = "exp";
+
+  @Override
+  public OAuth2Authentication extractAuthentication(Map<String, ?> map) {
+    OAuth2Authentication authentication = super.extractAuthentication(map);
+    Object expiration = map.get(EXPIRATION);
+    if (!(expiration instanceof Number)) {
+      return authentication;
+    }
+
+    OAuth2Request request = authentication.getOAuth2Request();
+    Map<String, Serializable> extensions = new HashMap<>(request.getExtensions());
+    // exp is given in seconds since epoch
+    extensions.put(EXPIRATION, ((Number) expiration).longValue() * 1000);
+    OAuth2Request expiringRequest = new OAuth2Request(request.getRequestParameters(),
+        request.getClientId(), request.getAuthorities(), request.isApproved(),
+        request.getScope(), request.getResourceIds(), request.getRedirectUri(),
+        request.getResponseTypes(), extensions);
+    return new OAuth2Authentication(expiringRequest, authentication.getUserAuthentication());
+  }
+
+  /**
+   * Returns expiration time of the token the authentication was extracted from.
+   *
+   * @param authentication Authentication extracted by this converter.
+   * @return Expiration time in milliseconds since epoch, or null if the token had none.
+   */
+  public static Long getExpiration(OAuth2Authentication authentication) {
+    Serializable expiration = authentication.getOAuth2Request().getExtensions().get(EXPIRATION);
+    return expiration instanceof Long ? (Long) expiration : null;
+  }
+}
@@ -1,5 +1,6 @@
 package org.openlmis.security;
 
+import org.openlmis.cache.LruCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -11,11 +12,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableResourceServer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.ResourceServerConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.ResourceServerSecurityConfigurer;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
 import org.springframework.security.oauth2.provider.authentication.BearerTokenExtractor;
 import org.springframework.security.oauth2.provider.authentication.TokenExtractor;
 import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.RemoteTokenServices;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
 import org.springframework.security.oauth2.provider.token.UserAuthenticationConverter;
 import org.springframework.security.web.authentication.preauth.AbstractPreAuthenticatedProcessingFilter;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -79,7 +82,7 @@ public class ResourceServerSecurityConfiguration implements ResourceServerConfig
    */
   @Bean
   public AccessTokenConverter accessTokenConverter() {
-    DefaultAccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+    DefaultAccessTokenConverter accessTokenConverter = new ExpiringAccessTokenConverter();
     accessTokenConverter.setUserTokenConverter(userAuthenticationConverter());
     return accessTokenConverter;
   }
@@ -90,23 +93,26 @@ public class ResourceServerSecurityConfiguration implements ResourceServerConfig
   }
 
   /**
-   * RemoteTokenServices bean initializer.
+   * Token services bean initializer. Tokens are checked against the auth server and
+   * authentications of checked tokens are cached until the tokens expire.
    * @param checkTokenUrl url to check tokens against
    * @param clientId client's id
    * @param clientSecret client's secret
+   * @param tokenAuthenticationCache cache of authentications of checked tokens
    * @return token services
    */
   @Bean
   @Autowired
-  public RemoteTokenServices remoteTokenServices(@Value("${auth.server.url}") String checkTokenUrl,
-                                                 @Value("${auth.server.clientId}") String clientId,
-                                                 @Value("${auth.server.clientSecret}")
-                                                           String clientSecret) {
+  public ResourceServerTokenServices tokenServices(
+      @Value("${auth.server.url}") String checkTokenUrl,
+      @Value("${auth.server.clientId}") String clientId,
+      @Value("${auth.server.clientSecret}") String clientSecret,
+      LruCache<String, OAuth2Authentication> tokenAuthenticationCache) {
     final RemoteTokenServices remoteTokenServices = new RemoteTokenServices();
     remoteTokenServices.setCheckTokenEndpointUrl(checkTokenUrl);
     remoteTokenServices.setClientId(clientId);
     remoteTokenServices.setClientSecret(clientSecret);
     remoteTokenServices.setAccessTokenConverter(accessTokenConverter());
-    return remoteTokenServices;
+    return new CachingTokenServices(remoteTokenServices, tokenAuthenticationCache);
   }
 }
@@ -0,0 +1,77 @@
+package org.openlmis.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.openlmis.hierarchyandsupervision.domain.Role;
+import org.openlmis.hierarchyandsupervision.domain.User;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of an authenticated user, used as principal of requests instead of the
+ * user entity. Holds only IDs, so handlers which need the entity or its relations have to load
+ * them through {@link UserPrincipalService#getUser(UserPrincipal)}.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class UserPrincipal implements Principal, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final UUID userId;
+  private final String username;
+  private final UUID homeFacilityId;
+  private final UUID supervisedNodeId;
+  private final Set<UUID> roleIds;
+
+  private UserPrincipal(UUID userId, String username, UUID homeFacilityId,
+                        UUID supervisedNodeId, Set<UUID> roleIds) {
+    this.userId = userId;
+    this.username = username;
+    this.homeFacilityId = homeFacilityId;
+    this.supervisedNodeId = supervisedNodeId;
+    this.roleIds = Collections.unmodifiableSet(roleIds);
+  }
+
+  /**
+   * Creates snapshot of given user.
+   *
+   * @param user User to take the snapshot of.
+   * @return Principal of the user.
+   */
+  public static UserPrincipal of(User user) {
+    Set<UUID> roleIds = new LinkedHashSet<>();
+    if (user.getRoles() != null) {
+      for (Role role : user.getRoles()) {
+        roleIds.add(role.getId());
+      }
+    }
+    return new UserPrincipal(user.getId(), user.getUsername(),
+        user.getHomeFacility() == null ? null : user.getHomeFacility().getId(),
+        user.getSupervisedNode() == null ? null : user.getSupervisedNode().getId(),
+        roleIds);
+  }
+
+  /**
+   * Creates principal of user which is known only by username, e.g. when the token has no
+   * reference data user.
+   *
+   * @param username Name of the user.
+   * @return Principal of the user, without ID.
+   */
+  public static UserPrincipal of(String username) {
+    return new UserPrincipal(null, username, null, null, Collections.emptySet());
+  }
+
+  @Override
+  public String getName() {
+    return username;
+  }
+}
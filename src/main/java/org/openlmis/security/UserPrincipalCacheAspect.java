@@ -0,0 +1,48 @@
+package org.openlmis.security;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.openlmis.hierarchyandsupervision.domain.User;
+import org.openlmis.hierarchyandsupervision.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Evicts cached principals of users saved or deleted through {@link UserRepository}, so users
+ * changed anywhere, not only through the user endpoints, are not served from the cache.
+ */
+@Aspect
+@Component
+public class UserPrincipalCacheAspect {
+
+  @Autowired
+  private UserPrincipalService userPrincipalService;
+
+  /**
+   * Evicts principals of saved or deleted users.
+   *
+   * @param joinPoint Call of the save or delete method.
+   * @param repository Repository of users.
+   */
+  @AfterReturning("target(repository) && (execution(* save(..)) || execution(* delete*(..)))")
+  public void afterWrite(JoinPoint joinPoint, UserRepository repository) {
+    Object[] args = joinPoint.getArgs();
+    Object arg = args.length == 0 ? null : args[0];
+    if (arg instanceof UUID) {
+      userPrincipalService.evictPrincipal((UUID) arg);
+    } else if (arg instanceof User) {
+      userPrincipalService.evictPrincipal(((User) arg).getId());
+    } else if (arg instanceof Iterable) {
+      for (Object user : (Iterable<?>) arg) {
+        if (user instanceof User) {
+          userPrincipalService.evictPrincipal(((User) user).getId());
+        }
+      }
+    } else {
+      userPrincipalService.evictAllPrincipals();
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package org.openlmis.security;
+
+import org.openlmis.cache.LruCache;
+import org.openlmis.hierarchyandsupervision.domain.User;
+import org.openlmis.hierarchyandsupervision.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Provides principals of authenticated users. Principals are cached by user ID and are evicted
+ * by {@link UserPrincipalCacheAspect} whenever users are saved or deleted.
+ */
+@Service
+public class UserPrincipalService {
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private LruCache<UUID, UserPrincipal> userPrincipalCache;
+
+  @Autowired
+  private LruCache<String, OAuth2Authentication> tokenAuthenticationCache;
+
+  /**
+   * Gets principal of user with given ID.
+   *
+   * @param userId UUID of the user.
+   * @return Principal of the user, or null if there is no such user.
+   */
+  public UserPrincipal getPrincipal(UUID userId) {
+    return userPrincipalCache.get(userId, id -> {
+      User user = userRepository.findOneWithRoles(id);
+      return user == null ? null : UserPrincipal.of(user);
+    });
+  }
+
+  /**
+   * Gets principal of the user authenticated in current request.
+   *
+   * @return Principal of current user, or null if there is none.
+   */
+  public UserPrincipal getCurrentPrincipal() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+      return null;
+    }
+    return (UserPrincipal) authentication.getPrincipal();
+  }
+
+  /**
+   * Loads user entity of given principal. Use only when the entity itself is needed.
+   *
+   * @param principal Principal of the user.
+   * @return User, or null if the principal has no reference data user.
+   */
+  public User getUser(UserPrincipal principal) {
+    if (principal == null || principal.getUserId() == null) {
+      return null;
+    }
+    return userRepository.findOne(principal.getUserId());
+  }
+
+  /**
+   * Removes cached principal of given user, together with cached authentications of its
+   * tokens. Has to be called whenever the user is updated or deleted. In a transaction, they
+   * are removed again once it commits, since the old user could be cached again before that.
+   *
+   * @param userId UUID of changed user.
+   */
+  public void evictPrincipal(UUID userId) {
+    if (userId == null) {
+      return;
+    }
+    evictNowAndAfterCommit(() -> {
+      userPrincipalCache.invalidate(userId);
+      tokenAuthenticationCache.invalidateValuesIf(authentication ->
+          authentication.getPrincipal() instanceof UserPrincipal
+              && userId.equals(((UserPrincipal) authentication.getPrincipal()).getUserId()));
+    });
+  }
+
+  /**
+   * Removes all cached principals, together with cached authentications of their tokens.
+   * Has to be called when users were changed, but it is not known which ones.
+   */
+  public void evictAllPrincipals() {
+    evictNowAndAfterCommit(() -> {
+      userPrincipalCache.invalidateAll();
+      tokenAuthenticationCache.invalidateValuesIf(authentication ->
+          authentication.getPrincipal() instanceof UserPrincipal);
+    });
+  }
+
+  private void evictNowAndAfterCommit(Runnable eviction) {
+    eviction.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+              eviction.run();
+            }
+          });
+    }
+  }
+}
@@ -1,7 +1,5 @@
 package org.openlmis.security;
 
-import org.openlmis.hierarchyandsupervision.domain.User;
-import org.openlmis.hierarchyandsupervision.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -13,10 +11,11 @@ import java.util.UUID;
 public class UserTokenConverter extends DefaultUserAuthenticationConverter {
 
   @Autowired
-  private UserRepository userRepository;
+  private UserPrincipalService userPrincipalService;
 
   /**
-   * Extracts an Authentication from a map.
+   * Extracts an Authentication from a map. The principal of the authentication is a cached
+   * snapshot of the reference data user, not the user entity.
    * @param map map containing information about the user.
    * @return authentication token.
      */
@@ -24,14 +23,13 @@ public class UserTokenConverter extends DefaultUserAuthenticationConverter {
     UsernamePasswordAuthenticationToken token =
         (UsernamePasswordAuthenticationToken) super.extractAuthentication(map);
     if (token != null) {
-      User principal = new User();
-      principal.setUsername(token.getPrincipal().toString());
+      UserPrincipal principal = null;
       Object userId = map.get("referenceDataUserId");
       if (userId != null) {
-        User user = userRepository.findOne(UUID.fromString((String) userId));
-        if (user != null) {
-          principal = user;
-        }
+        principal = userPrincipalService.getPrincipal(UUID.fromString((String) userId));
+      }
+      if (principal == null) {
+        principal = UserPrincipal.of(token.getPrincipal().toString());
       }
       return new UsernamePasswordAuthenticationToken(principal, token.getCredentials(),
           token.getAuthorities());
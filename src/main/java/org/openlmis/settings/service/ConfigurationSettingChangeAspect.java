@@ -0,0 +1,26 @@
+package org.openlmis.settings.service;
+
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes settings held by {@link ConfigurationSettingService} whenever they are saved or
+ * deleted through the repository.
+ */
+@Aspect
+@Component
+public class ConfigurationSettingChangeAspect {
+
+  @Autowired
+  @Lazy
+  private ConfigurationSettingService configurationSettingService;
+
+  @AfterReturning("target(org.openlmis.settings.repository.ConfigurationSettingRepository)"
+      + " && (execution(* save(..)) || execution(* delete*(..)))")
+  public void afterSettingsChanged() {
+    configurationSettingService.refreshAfterCommit();
+  }
+}
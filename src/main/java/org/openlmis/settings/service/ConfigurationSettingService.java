@@ -4,28 +4,47 @@ import lombok.NoArgsConstructor;
 import org.openlmis.settings.domain.ConfigurationSetting;
 import org.openlmis.settings.exception.ConfigurationSettingException;
 import org.openlmis.settings.repository.ConfigurationSettingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provides configuration settings. All settings are kept in memory and read without accessing
+ * the database. The settings are reloaded periodically and after they are written through
+ * {@link ConfigurationSettingRepository}, see {@link ConfigurationSettingChangeAspect}.
+ */
 @Service
 @NoArgsConstructor
 public class ConfigurationSettingService {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationSettingService.class);
+
   @Autowired
   private ConfigurationSettingRepository configurationSettingRepository;
 
+  private volatile Settings settings;
+
   /**
-   * Return cofiguration setting with given key.
+   * Return cofiguration setting with given key. A new instance is returned on every call, so
+   * changing it does not affect the settings held in memory.
    * @param key String value of key.
    * @return Configuration setting containing given key.
    * @throws ConfigurationSettingException Exception saying that setting was not found.
    */
   public ConfigurationSetting getByKey(String key) throws ConfigurationSettingException {
-    ConfigurationSetting setting = configurationSettingRepository.findOne(key);
-    if (setting == null) {
+    Map<String, String> values = getSettings().values;
+    if (!values.containsKey(key)) {
       throw new ConfigurationSettingException("Configuration setting '" + key + "' not found");
     }
-    return setting;
+    return new ConfigurationSetting(key, values.get(key));
   }
 
   /**
@@ -35,11 +54,23 @@ public class ConfigurationSettingService {
    * @return String value of given key.
    */
   public String getStringValue(String key) throws ConfigurationSettingException {
-    ConfigurationSetting configurationSetting = configurationSettingRepository.findOne(key);
-    if (configurationSetting == null || configurationSetting.getValue() == null) {
+    String value = getStringValue(key, null);
+    if (value == null) {
       throw new ConfigurationSettingException("Configuration setting '" + key + "' not found");
     }
-    return configurationSetting.getValue();
+    return value;
+  }
+
+  /**
+   * Return value for given key, or the default value if there is no such setting.
+   *
+   * @param key String value indicates key.
+   * @param defaultValue Value returned if setting does not exist.
+   * @return String value of given key.
+   */
+  public String getStringValue(String key, String defaultValue) {
+    String value = getSettings().values.get(key);
+    return value == null ? defaultValue : value;
   }
 
   /**
@@ -50,11 +81,81 @@ public class ConfigurationSettingService {
    * @return Boolean value of given key.
    */
   public Boolean getBoolValue(String key) {
-    try {
-      String value = getStringValue(key);
-      return Boolean.parseBoolean(value);
-    } catch (ConfigurationSettingException exception) {
-      return false;
+    return Boolean.parseBoolean(getStringValue(key, null));
+  }
+
+  /**
+   * Return integer value for given key, or the default value if there is no such setting or
+   * its value is not an integer.
+   *
+   * @param key String value indicates key.
+   * @param defaultValue Value returned if setting does not exist or is not an integer.
+   * @return Integer value of given key.
+   */
+  public int getIntValue(String key, int defaultValue) {
+    Integer value = getSettings().intValues.get(key);
+    return value == null ? defaultValue : value;
+  }
+
+  /**
+   * Reloads all settings from the database.
+   */
+  @Scheduled(fixedDelayString = "${settings.refreshInterval}")
+  public synchronized void refresh() {
+    settings = new Settings(configurationSettingRepository.findAll());
+  }
+
+  /**
+   * Reloads all settings once the current transaction commits, or immediately if there is no
+   * transaction. Has to be called whenever the settings are changed.
+   */
+  public void refreshAfterCommit() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+              refresh();
+            }
+          });
+    } else {
+      refresh();
+    }
+  }
+
+  private Settings getSettings() {
+    Settings current = settings;
+    if (current == null) {
+      refresh();
+      current = settings;
+    }
+    return current;
+  }
+
+  /**
+   * Immutable snapshot of all settings. Only the values are kept, not the loaded entities, so
+   * the snapshot cannot be changed through them. Integer values are parsed once when the
+   * settings are loaded.
+   */
+  private static class Settings {
+    private final Map<String, String> values;
+    private final Map<String, Integer> intValues;
+
+    Settings(Iterable<ConfigurationSetting> all) {
+      Map<String, String> settingsValues = new HashMap<>();
+      Map<String, Integer> settingsIntValues = new HashMap<>();
+      for (ConfigurationSetting setting : all) {
+        settingsValues.put(setting.getKey(), setting.getValue());
+        if (setting.getValue() != null) {
+          try {
+            settingsIntValues.put(setting.getKey(), Integer.valueOf(setting.getValue().trim()));
+          } catch (NumberFormatException ex) {
+            LOGGER.trace("Setting {} is not an integer", setting.getKey(), ex);
+          }
+        }
+      }
+      this.values = Collections.unmodifiableMap(settingsValues);
+      this.intValues = Collections.unmodifiableMap(settingsIntValues);
     }
   }
 }
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS periods_processingscheduleid_startdate_idx
+    ON referencedata.periods (processingScheduleId, startDate);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS requisitions_supervisorynodeid_status_idx
+    ON requisition.requisitions (supervisoryNodeId, status);
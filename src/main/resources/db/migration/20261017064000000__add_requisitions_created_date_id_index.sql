@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS requisitions_createddate_id_idx
+    ON requisition.requisitions (createdDate, id);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS requisition_lines_requisitionid_idx
+    ON requisition.requisition_lines (requisitionId);
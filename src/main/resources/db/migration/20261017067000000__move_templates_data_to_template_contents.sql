@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS requisition.template_contents (
+    templateid uuid NOT NULL PRIMARY KEY REFERENCES requisition.templates (id) ON DELETE CASCADE,
+    source bytea,
+    compiled bytea,
+    compiledversion text
+);
+
+-- Existing templates only have the serialized report. Their jrxml source is written from it
+-- and the report is compiled again the first time the template is loaded.
+INSERT INTO requisition.template_contents (templateid, source, compiled, compiledversion)
+SELECT t.id, NULL, t.data, NULL
+FROM requisition.templates t
+WHERE t.data IS NOT NULL
+    AND NOT EXISTS (SELECT 1 FROM requisition.template_contents c WHERE c.templateid = t.id);
+
+ALTER TABLE requisition.templates DROP COLUMN IF EXISTS data;
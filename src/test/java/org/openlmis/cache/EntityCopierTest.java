@@ -0,0 +1,77 @@
+package org.openlmis.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.domain.OrderLine;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.GeographicLevel;
+import org.openlmis.referencedata.domain.GeographicZone;
+import org.openlmis.referencedata.domain.Program;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+
+public class EntityCopierTest {
+
+  private static final String CODE = "code";
+
+  @Test
+  public void shouldCopyEntityWithReferencedEntitiesAndCollections() {
+    GeographicLevel level = new GeographicLevel();
+    level.setCode(CODE);
+    GeographicZone zone = new GeographicZone();
+    zone.setLevel(level);
+    Program program = new Program();
+    program.setId(UUID.randomUUID());
+    Facility facility = new Facility();
+    facility.setId(UUID.randomUUID());
+    facility.setCode(CODE);
+    facility.setGoLiveDate(new Date());
+    facility.setGeographicZone(zone);
+    facility.setSupportedPrograms(Collections.singletonList(program));
+
+    Facility copy = EntityCopier.copy(facility);
+
+    assertNotSame(facility, copy);
+    assertSame(facility.getId(), copy.getId());
+    assertEquals(CODE, copy.getCode());
+    assertNotSame(facility.getGoLiveDate(), copy.getGoLiveDate());
+    assertEquals(facility.getGoLiveDate(), copy.getGoLiveDate());
+    assertNotSame(zone, copy.getGeographicZone());
+    assertNotSame(level, copy.getGeographicZone().getLevel());
+    assertEquals(CODE, copy.getGeographicZone().getLevel().getCode());
+    assertNotSame(facility.getSupportedPrograms(), copy.getSupportedPrograms());
+    assertNotSame(program, copy.getSupportedPrograms().get(0));
+    assertEquals(program.getId(), copy.getSupportedPrograms().get(0).getId());
+    assertNull(copy.getOperator());
+  }
+
+  @Test
+  public void shouldCopyEntityReferencedMoreThanOnceOnlyOnce() {
+    Order order = new Order();
+    OrderLine first = new OrderLine();
+    first.setOrder(order);
+    OrderLine second = new OrderLine();
+    second.setOrder(order);
+    order.setOrderLines(Arrays.asList(first, second));
+
+    Order copy = EntityCopier.copy(order);
+
+    assertNotSame(order, copy);
+    assertEquals(2, copy.getOrderLines().size());
+    assertSame(copy, copy.getOrderLines().get(0).getOrder());
+    assertSame(copy, copy.getOrderLines().get(1).getOrder());
+  }
+
+  @Test
+  public void shouldReturnNullForNullEntity() {
+    assertNull(EntityCopier.copy(null));
+  }
+}
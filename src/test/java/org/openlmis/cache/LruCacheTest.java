@@ -0,0 +1,163 @@
+package org.openlmis.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("PMD.TooManyMethods")
+public class LruCacheTest {
+
+  private static final int MAX_SIZE = 2;
+  private static final String NAME = "test";
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+  private static final String FIRST = "first";
+  private static final String SECOND = "second";
+
+  private LruCache<String, String> cache;
+
+  @Before
+  public void setUp() {
+    cache = new LruCache<>(NAME, MAX_SIZE);
+  }
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    cache.put(KEY, VALUE);
+
+    assertEquals(VALUE, cache.get(KEY));
+    assertNull(cache.get("other"));
+
+    CacheStatistics statistics = cache.getStatistics();
+    assertEquals(1, statistics.getHits());
+    assertEquals(1, statistics.getMisses());
+    assertEquals(0.5, statistics.getHitRatio(), 0);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+    cache.put(FIRST, "1");
+    cache.put(SECOND, "2");
+    cache.get(FIRST);
+    cache.put("third", "3");
+
+    assertEquals(MAX_SIZE, cache.size());
+    assertEquals("1", cache.get(FIRST));
+    assertNull(cache.get(SECOND));
+    assertEquals(1, cache.getStatistics().getEvictions());
+  }
+
+  @Test
+  public void shouldLoadMissingValueOnlyOnce() {
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get(KEY, key -> key + loads.incrementAndGet());
+    String value = cache.get(KEY, key -> key + loads.incrementAndGet());
+
+    assertEquals("key1", value);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void shouldNotCacheValueLoadedWhileCacheWasInvalidated() {
+    String value = cache.get(KEY, key -> {
+      // invalidated by a change committed while the old value was being loaded
+      cache.invalidate(key);
+      return VALUE;
+    });
+
+    assertEquals(VALUE, value);
+    assertNull(cache.get(KEY));
+  }
+
+  @Test
+  public void shouldNotCacheValueLoadedInPreviousGeneration() {
+    long generation = cache.getGeneration();
+    cache.invalidateAll();
+
+    assertFalse(cache.put(KEY, VALUE, Long.MAX_VALUE, generation));
+    assertNull(cache.get(KEY));
+    assertTrue(cache.put(KEY, VALUE, Long.MAX_VALUE, cache.getGeneration()));
+    assertEquals(VALUE, cache.get(KEY));
+  }
+
+  @Test
+  public void shouldInvalidateEntries() {
+    cache.put(FIRST, "1");
+    cache.put(SECOND, "2");
+
+    cache.invalidate(FIRST);
+    assertNull(cache.get(FIRST));
+    assertEquals(1, cache.size());
+
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+    assertEquals(2, cache.getStatistics().getInvalidations());
+  }
+
+  @Test
+  public void shouldInvalidateEntriesMatchingPredicate() {
+    cache.put(FIRST, "1");
+    cache.put(SECOND, "2");
+
+    cache.invalidateIf(key -> key.startsWith("f"));
+
+    assertNull(cache.get(FIRST));
+    assertEquals("2", cache.get(SECOND));
+    assertEquals(1, cache.getStatistics().getInvalidations());
+  }
+
+  @Test
+  public void shouldInvalidateEntriesWithValueMatchingPredicate() {
+    cache.put(FIRST, "1");
+    cache.put(SECOND, "2");
+
+    cache.invalidateValuesIf("2"::equals);
+
+    assertEquals("1", cache.get(FIRST));
+    assertNull(cache.get(SECOND));
+    assertEquals(1, cache.getStatistics().getInvalidations());
+  }
+
+  @Test
+  public void shouldExpireEntriesAfterTimeToLive() throws InterruptedException {
+    cache = new LruCache<>(NAME, MAX_SIZE, 1);
+    cache.put(KEY, VALUE);
+
+    Thread.sleep(10);
+
+    assertNull(cache.get(KEY));
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getStatistics().getEvictions());
+  }
+
+  @Test
+  public void shouldExpireEntryAtGivenTime() {
+    cache.put(FIRST, "1", System.currentTimeMillis() - 1);
+    cache.put(SECOND, "2", System.currentTimeMillis() + 60000);
+
+    assertNull(cache.get(FIRST));
+    assertEquals("2", cache.get(SECOND));
+  }
+
+  @Test
+  public void shouldNotKeepEntryLongerThanTimeToLive() throws InterruptedException {
+    cache = new LruCache<>(NAME, MAX_SIZE, 1);
+    cache.put(KEY, VALUE, Long.MAX_VALUE);
+
+    Thread.sleep(10);
+
+    assertNull(cache.get(KEY));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotAllowNonPositiveSize() {
+    new LruCache<>(NAME, 0);
+  }
+}
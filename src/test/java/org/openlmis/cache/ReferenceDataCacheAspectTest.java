@@ -0,0 +1,184 @@
+package org.openlmis.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.hierarchyandsupervision.domain.User;
+import org.openlmis.hierarchyandsupervision.repository.UserRepository;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.repository.FacilityRepository;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+@SuppressWarnings("PMD.TooManyMethods")
+@RunWith(MockitoJUnitRunner.class)
+public class ReferenceDataCacheAspectTest {
+
+  private static final int MAX_SIZE = 10;
+  private static final long TIME_TO_LIVE = 60000;
+  private static final String CODE = "code";
+
+  @Mock
+  private FacilityRepository facilityRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private ReferenceDataCacheAspect aspect;
+  private LruCache<UUID, Facility> facilityCache;
+  private Facility facility;
+
+  @Before
+  public void setUp() {
+    aspect = new ReferenceDataCacheAspect();
+    facilityCache = new LruCache<>("facilities", MAX_SIZE, TIME_TO_LIVE);
+    ReflectionTestUtils.setField(aspect, "facilityCache", facilityCache);
+    ReflectionTestUtils.setField(aspect, "programCache",
+        new LruCache<>("programs", MAX_SIZE, TIME_TO_LIVE));
+    ReflectionTestUtils.setField(aspect, "productCache",
+        new LruCache<>("products", MAX_SIZE, TIME_TO_LIVE));
+    ReflectionTestUtils.setField(aspect, "processingPeriodCache",
+        new LruCache<>("processingPeriods", MAX_SIZE, TIME_TO_LIVE));
+
+    ReflectionTestUtils.setField(aspect, "transactionManager", transactionManager);
+
+    facility = new Facility();
+    facility.setId(UUID.randomUUID());
+    facility.setCode(CODE);
+    when(facilityRepository.findOne(facility.getId())).thenReturn(facility);
+  }
+
+  @After
+  public void tearDown() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+  }
+
+  @Test
+  public void shouldFindFacilityOnlyOnce() {
+    FacilityRepository repository = proxy(facilityRepository);
+
+    repository.findOne(facility.getId());
+    Facility found = repository.findOne(facility.getId());
+
+    assertEquals(facility.getId(), found.getId());
+    assertEquals(facility.getCode(), found.getCode());
+    verify(facilityRepository, times(1)).findOne(facility.getId());
+    assertEquals(1, facilityCache.getStatistics().getHits());
+  }
+
+  @Test
+  public void shouldFindFacilityInReadOnlyTransaction() {
+    proxy(facilityRepository).findOne(facility.getId());
+
+    ArgumentCaptor<TransactionDefinition> definition =
+        ArgumentCaptor.forClass(TransactionDefinition.class);
+    verify(transactionManager).getTransaction(definition.capture());
+    assertTrue(definition.getValue().isReadOnly());
+    verify(transactionManager).commit(any(TransactionStatus.class));
+  }
+
+  @Test
+  public void shouldNotShareFacilityWithCallers() {
+    FacilityRepository repository = proxy(facilityRepository);
+
+    Facility first = repository.findOne(facility.getId());
+    first.setCode("changed");
+    facility.setCode("changedInDatabase");
+    Facility second = repository.findOne(facility.getId());
+
+    assertNotSame(facility, first);
+    assertNotSame(first, second);
+    assertEquals(CODE, second.getCode());
+  }
+
+  @Test
+  public void shouldRollBackAndNotCacheIfFacilityCannotBeFound() {
+    IllegalStateException exception = new IllegalStateException("database is down");
+    when(facilityRepository.findOne(facility.getId())).thenThrow(exception);
+
+    try {
+      proxy(facilityRepository).findOne(facility.getId());
+      fail("Exception should be propagated");
+    } catch (IllegalStateException ex) {
+      assertSame(exception, ex);
+    }
+
+    verify(transactionManager).rollback(any(TransactionStatus.class));
+    assertEquals(0, facilityCache.size());
+  }
+
+  @Test
+  public void shouldFindFacilityAgainAfterItWasSaved() {
+    FacilityRepository repository = proxy(facilityRepository);
+
+    repository.findOne(facility.getId());
+    repository.save(facility);
+    repository.findOne(facility.getId());
+
+    verify(facilityRepository, times(2)).findOne(facility.getId());
+  }
+
+  @Test
+  public void shouldFindFacilityAgainAfterItWasDeletedById() {
+    FacilityRepository repository = proxy(facilityRepository);
+
+    repository.findOne(facility.getId());
+    repository.delete(facility.getId());
+    repository.findOne(facility.getId());
+
+    verify(facilityRepository, times(2)).findOne(facility.getId());
+  }
+
+  @Test
+  public void shouldNotUseCacheInTransaction() {
+    FacilityRepository repository = proxy(facilityRepository);
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+
+    repository.findOne(facility.getId());
+    repository.findOne(facility.getId());
+
+    verify(facilityRepository, times(2)).findOne(facility.getId());
+    assertEquals(0, facilityCache.size());
+  }
+
+  @Test
+  public void shouldNotCacheEntitiesOfOtherRepositories() {
+    UUID userId = UUID.randomUUID();
+    when(userRepository.findOne(userId)).thenReturn(new User());
+    UserRepository repository = proxy(userRepository);
+
+    repository.findOne(userId);
+    repository.findOne(userId);
+
+    verify(userRepository, times(2)).findOne(userId);
+  }
+
+  private <T> T proxy(T repository) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(repository);
+    factory.addAspect(aspect);
+    return factory.getProxy();
+  }
+}
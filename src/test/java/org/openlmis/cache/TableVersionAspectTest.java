@@ -0,0 +1,105 @@
+package org.openlmis.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.hierarchyandsupervision.domain.SupplyLine;
+import org.openlmis.hierarchyandsupervision.repository.SupplyLineRepository;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.Program;
+import org.openlmis.referencedata.repository.FacilityRepository;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TableVersionAspectTest {
+
+  @Mock
+  private FacilityRepository facilityRepository;
+
+  @Mock
+  private SupplyLineRepository supplyLineRepository;
+
+  private TableVersions tableVersions;
+  private TableVersionAspect aspect;
+
+  @Before
+  public void setUp() {
+    tableVersions = new TableVersions();
+    aspect = new TableVersionAspect();
+    ReflectionTestUtils.setField(aspect, "tableVersions", tableVersions);
+  }
+
+  @After
+  public void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  public void shouldIncrementVersionOfSavedEntities() {
+    FacilityRepository repository = proxy(facilityRepository);
+
+    repository.save(new Facility());
+    repository.delete(UUID.randomUUID());
+    repository.findOne(UUID.randomUUID());
+
+    assertEquals(2, tableVersions.getVersion(Facility.class));
+    assertEquals(0, tableVersions.getVersion(Program.class));
+  }
+
+  @Test
+  public void shouldIncrementVersionOfNotReferenceDataRepositories() {
+    SupplyLineRepository repository = proxy(supplyLineRepository);
+
+    repository.save(new SupplyLine());
+
+    assertEquals(1, tableVersions.getVersion(SupplyLine.class));
+  }
+
+  @Test
+  public void shouldIncrementVersionAfterCommit() {
+    FacilityRepository repository = proxy(facilityRepository);
+    TransactionSynchronizationManager.initSynchronization();
+
+    repository.save(new Facility());
+    assertEquals(0, tableVersions.getVersion(Facility.class));
+
+    for (TransactionSynchronization synchronization
+        : TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCommit();
+    }
+    assertEquals(1, tableVersions.getVersion(Facility.class));
+  }
+
+  @Test
+  public void shouldChangeETagOnlyWhenAnyOfTablesChanges() {
+    String etag = tableVersions.getETag(Facility.class, Program.class);
+    assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    assertEquals(etag, tableVersions.getETag(Facility.class, Program.class));
+
+    tableVersions.increment(SupplyLine.class);
+    assertEquals(etag, tableVersions.getETag(Facility.class, Program.class));
+
+    tableVersions.increment(Program.class);
+    assertNotEquals(etag, tableVersions.getETag(Facility.class, Program.class));
+  }
+
+  private <T> T proxy(T repository) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(repository);
+    factory.addAspect(aspect);
+    return factory.getProxy();
+  }
+}
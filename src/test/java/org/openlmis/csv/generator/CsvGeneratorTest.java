@@ -7,7 +7,8 @@ import org.mockito.Mockito;
 import org.openlmis.fulfillment.domain.Order;
 import org.openlmis.fulfillment.domain.OrderLine;
 import org.openlmis.fulfillment.domain.OrderStatus;
-import org.openlmis.fulfillment.service.OrderService;
+import org.openlmis.fulfillment.service.OrderDocumentService;
+import org.openlmis.fulfillment.utils.OrderLineDataSource;
 import org.openlmis.hierarchyandsupervision.domain.User;
 import org.openlmis.product.domain.Product;
 import org.openlmis.referencedata.domain.Facility;
@@ -16,12 +17,16 @@ import org.openlmis.referencedata.domain.GeographicLevel;
 import org.openlmis.referencedata.domain.GeographicZone;
 import org.openlmis.referencedata.domain.Program;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static org.openlmis.fulfillment.service.OrderDocumentService.DEFAULT_COLUMNS;
+
 public class CsvGeneratorTest {
 
   private Facility facility = new Facility();
@@ -66,13 +71,13 @@ public class CsvGeneratorTest {
     Mockito.doReturn(orderLines).when(testOrder).getOrderLines();
 
     List<String> header = new ArrayList<>();
-    header.add(OrderService.DEFAULT_COLUMNS[0]);
-    header.add(OrderService.DEFAULT_COLUMNS[1]);
-    header.add(OrderService.DEFAULT_COLUMNS[3]);
-    header.add(OrderService.DEFAULT_COLUMNS[4]);
-    header.add(OrderService.DEFAULT_COLUMNS[5]);
+    header.add(DEFAULT_COLUMNS[0]);
+    header.add(DEFAULT_COLUMNS[1]);
+    header.add(DEFAULT_COLUMNS[3]);
+    header.add(DEFAULT_COLUMNS[4]);
+    header.add(DEFAULT_COLUMNS[5]);
 
-    OrderService generator = new OrderService();
+    OrderDocumentService generator = new OrderDocumentService();
     String csv = generator.orderToCsv(testOrder, header.toArray(new String[0]));
 
     String exp = "facilityCode,createdDate,productName,productCode,orderedQuantity\r\n"
@@ -82,6 +87,26 @@ public class CsvGeneratorTest {
     Assert.assertEquals(exp, csv);
   }
 
+  @Test
+  public void testCsvStreamWriteFromDataSource() throws IOException {
+    Order order = generateInstance();
+    List<OrderLine> orderLines = generateOrderLines();
+    orderLines.add(generateOrderLine("Example pName 4", "4Q4Q4Q4", 0));
+    order.setOrderLines(orderLines);
+    String[] header = {DEFAULT_COLUMNS[2], DEFAULT_COLUMNS[4], DEFAULT_COLUMNS[5],
+        "unknownColumn"};
+
+    ByteArrayOutputStream output = Mockito.spy(new ByteArrayOutputStream());
+    new CsvGenerator().writeCsv(new OrderLineDataSource(order), header, output);
+
+    String exp = "orderNum,productCode,orderedQuantity,unknownColumn\r\n"
+            + "1t1t1t,1Q1Q1Q1,11111111,\r\n"
+            + "1t1t1t,2Q2Q2Q2,22222222,\r\n"
+            + "1t1t1t,3Q3Q3Q3,33333333,\r\n";
+    Assert.assertEquals(exp, output.toString("UTF-8"));
+    Mockito.verify(output, Mockito.never()).close();
+  }
+
   private Order generateInstance() {
     Order order = new Order();
     order.setOrderCode("1t1t1t");
@@ -0,0 +1,123 @@
+package org.openlmis.fulfillment.service;
+
+import static org.junit.Assert.assertTrue;
+import static org.openlmis.fulfillment.service.OrderDocumentService.DEFAULT_COLUMNS;
+
+import net.sf.jasperreports.engine.JRException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.utils.OrderGenerator;
+import org.openlmis.reporting.service.ReportVirtualizerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Renders an order with a very large number of lines to PDF. The test is run by the
+ * largeReportTest task with a constrained heap. Since a fill held in heap can still fit in it,
+ * the test checks that filled pages were written to the swap file by the time the PDF is
+ * exported, so it fails whenever the fill is not virtualized.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OrderDocumentServiceLargeReportTest {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(OrderDocumentServiceLargeReportTest.class);
+
+  private static final int LINE_COUNT = 100000;
+
+  @Rule
+  public TemporaryFolder swapFolder = new TemporaryFolder();
+
+  @Spy
+  private ReportVirtualizerFactory reportVirtualizerFactory = new ReportVirtualizerFactory();
+
+  @InjectMocks
+  private OrderDocumentService orderDocumentService;
+
+  @Before
+  public void setUp() {
+    ReflectionTestUtils.setField(reportVirtualizerFactory, "type", "swap");
+    ReflectionTestUtils.setField(reportVirtualizerFactory, "rowThreshold", 10000);
+    ReflectionTestUtils.setField(reportVirtualizerFactory, "inHeapTemplates", new String[0]);
+    ReflectionTestUtils.setField(reportVirtualizerFactory, "maxPages", 100);
+    ReflectionTestUtils.setField(reportVirtualizerFactory, "swapDirectory",
+        swapFolder.getRoot().getAbsolutePath());
+    ReflectionTestUtils.setField(reportVirtualizerFactory, "swapBlockSize", 4096);
+    ReflectionTestUtils.setField(reportVirtualizerFactory, "swapMinGrowCount", 100);
+  }
+
+  @Test
+  public void shouldRenderOrderWithManyLinesToPdfSwappingPagesOutOfHeap()
+      throws JRException, IOException {
+    Order order = OrderGenerator.generateOrderWithLines(LINE_COUNT);
+    SwapCheckingOutputStream output = new SwapCheckingOutputStream(swapFolder.getRoot());
+
+    long startTime = System.currentTimeMillis();
+    orderDocumentService.writeOrderPdf(order, DEFAULT_COLUMNS, output);
+    LOGGER.info("Rendered order with {} lines to {} bytes of PDF in {} ms, swapping {} bytes",
+        LINE_COUNT, output.getCount(), System.currentTimeMillis() - startTime,
+        output.getSwappedBytes());
+
+    assertTrue(output.getCount() > 0);
+    assertTrue("Filled pages should be swapped out of heap", output.getSwappedBytes() > 0);
+  }
+
+  /**
+   * Counts written bytes. On the first write, which happens once the report is filled and
+   * before the virtualizer is cleaned up, it also records the size of the swap files.
+   */
+  private static class SwapCheckingOutputStream extends OutputStream {
+
+    private final File swapDirectory;
+    private long count;
+    private long swappedBytes = -1;
+
+    SwapCheckingOutputStream(File swapDirectory) {
+      this.swapDirectory = swapDirectory;
+    }
+
+    @Override
+    public void write(int oneByte) {
+      recordSwappedBytes();
+      count++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      recordSwappedBytes();
+      count += length;
+    }
+
+    long getCount() {
+      return count;
+    }
+
+    long getSwappedBytes() {
+      return swappedBytes;
+    }
+
+    private void recordSwappedBytes() {
+      if (swappedBytes < 0) {
+        swappedBytes = 0;
+        File[] swapFiles = swapDirectory.listFiles();
+        if (swapFiles != null) {
+          for (File swapFile : swapFiles) {
+            swappedBytes += swapFile.length();
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,295 @@
+package org.openlmis.fulfillment.service;
+
+import com.lowagie.text.pdf.PdfReader;
+import net.sf.jasperreports.engine.JRException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.domain.OrderLine;
+import org.openlmis.fulfillment.domain.OrderStatus;
+import org.openlmis.fulfillment.repository.OrderRepository;
+import org.openlmis.hierarchyandsupervision.domain.User;
+import org.openlmis.product.domain.Product;
+import org.openlmis.referencedata.domain.Facility;
+import org.openlmis.referencedata.domain.Program;
+import org.openlmis.reporting.service.ReportVirtualizerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.UnusedPrivateField"})
+@RunWith(MockitoJUnitRunner.class)
+public class OrderDocumentServiceTest {
+
+  @Mock
+  private OrderRepository orderRepository;
+
+  @Spy
+  private ReportVirtualizerFactory reportVirtualizerFactory = new ReportVirtualizerFactory();
+
+  @InjectMocks
+  private OrderDocumentService orderDocumentService;
+
+  private ExecutorService exportExecutor;
+
+  @Before
+  public void setUp() {
+    exportExecutor = Executors.newFixedThreadPool(2);
+    ReflectionTestUtils.setField(orderDocumentService, "orderExportExecutor", exportExecutor);
+    ReflectionTestUtils.setField(orderDocumentService, "maxPendingExportOrders", 2);
+  }
+
+  @After
+  public void tearDown() {
+    exportExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shouldConvertOrderToCsvIfItExists() throws IOException, URISyntaxException {
+    Order order = generateOrder();
+    when(order.getRequestingFacility().getCode()).thenReturn("FacilityCode");
+    when(order.getOrderLines().get(0).getProduct().getPrimaryName()).thenReturn("product");
+    when(order.getOrderLines().get(0).getProduct().getCode()).thenReturn("productCode");
+
+    //Creation date has to be static cuz we read expected csv from file
+    ZonedDateTime zdt = ZonedDateTime.parse("2016-08-27T11:30Z");
+    LocalDateTime ldt = zdt.toLocalDateTime();
+    order.setCreatedDate(ldt);
+
+    List<String> header = new ArrayList<>();
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[0]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[1]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[3]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[4]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[5]);
+
+    String received = orderDocumentService.orderToCsv(
+        order, header.toArray(new String[0])).replace("\r\n","\n");
+    String expected = prepareExpectedCsvOutput(order, header);
+    assertEquals(expected, received);
+  }
+
+  @Test
+  public void shouldStreamOrderAsCsv() throws IOException, URISyntaxException {
+    Order order = generateOrder();
+    when(order.getRequestingFacility().getCode()).thenReturn("FacilityCode");
+    when(order.getOrderLines().get(0).getProduct().getPrimaryName()).thenReturn("product");
+    when(order.getOrderLines().get(0).getProduct().getCode()).thenReturn("productCode");
+    order.setCreatedDate(ZonedDateTime.parse("2016-08-27T11:30Z").toLocalDateTime());
+
+    List<String> header = new ArrayList<>();
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[0]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[1]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[3]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[4]);
+    header.add(OrderDocumentService.DEFAULT_COLUMNS[5]);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    orderDocumentService.orderToCsv(order, header.toArray(new String[0]), output);
+
+    String received = output.toString("UTF-8").replace("\r\n","\n");
+    assertEquals(prepareExpectedCsvOutput(order, header), received);
+  }
+
+  @Test
+  public void shouldRenderOrderPdfWithoutRecompilingTemplate() throws Exception {
+    OrderDocumentService service = spy(orderDocumentService);
+    Order order = generateOrderWithProducts(10);
+
+    for (int i = 0; i < 3; i++) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      service.orderToPdf(order, OrderDocumentService.DEFAULT_COLUMNS, output);
+      assertTrue(output.size() > 0);
+    }
+
+    verify(service, times(1)).compileOrderPdfTemplate();
+  }
+
+  @Test
+  public void shouldExportOrdersAsZipOfCsvFiles() throws IOException {
+    List<Order> exportedOrders = generateOrdersToExport(5);
+    Facility supplyingFacility = exportedOrders.get(0).getSupplyingFacility();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    int count = orderDocumentService.exportOrders(supplyingFacility, null, null,
+        OrderStatus.ORDERED, "csv", output);
+
+    assertEquals(5, count);
+    List<String> entryNames = new ArrayList<>();
+    try (ZipInputStream zip = new ZipInputStream(
+        new ByteArrayInputStream(output.toByteArray()))) {
+      for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+        entryNames.add(entry.getName());
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        for (int read = zip.read(buffer); read > 0; read = zip.read(buffer)) {
+          content.write(buffer, 0, read);
+        }
+        assertTrue(content.toString("UTF-8").contains("ProductCode0"));
+      }
+    }
+    List<String> expectedNames = new ArrayList<>();
+    for (Order order : exportedOrders) {
+      expectedNames.add("order-" + order.getOrderCode() + ".csv");
+    }
+    assertEquals(expectedNames, entryNames);
+  }
+
+  @Test
+  public void shouldExportOrdersAsSinglePdf() throws IOException {
+    List<Order> exportedOrders = generateOrdersToExport(3);
+    Facility supplyingFacility = exportedOrders.get(0).getSupplyingFacility();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    int count = orderDocumentService.exportOrders(supplyingFacility, null, null,
+        OrderStatus.ORDERED, "pdf", output);
+
+    assertEquals(3, count);
+    PdfReader reader = new PdfReader(output.toByteArray());
+    assertTrue(reader.getNumberOfPages() >= 3);
+    reader.close();
+  }
+
+  @Test
+  public void shouldNotWriteAnythingWhenThereAreNoOrdersToExport() throws IOException {
+    Facility supplyingFacility = mock(Facility.class);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    int count = orderDocumentService.exportOrders(supplyingFacility, null, null,
+        OrderStatus.ORDERED, "csv", output);
+
+    assertEquals(0, count);
+    assertEquals(0, output.size());
+  }
+
+  @Test
+  public void shouldFailExportIfOrderCannotBeRendered() throws Exception {
+    List<Order> exportedOrders = generateOrdersToExport(3);
+    Facility supplyingFacility = exportedOrders.get(0).getSupplyingFacility();
+    OrderDocumentService service = spy(orderDocumentService);
+    doThrow(new JRException("fill failed")).when(service)
+        .writeOrderPdf(eq(exportedOrders.get(1)), any(), any());
+
+    try {
+      service.exportOrders(supplyingFacility, null, null, OrderStatus.ORDERED, "pdf",
+          new ByteArrayOutputStream());
+      fail("Export should fail instead of leaving out the order which cannot be rendered");
+    } catch (IOException ex) {
+      assertTrue(ex.getMessage().contains("OrderCode1"));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotExportOrdersInUnsupportedFormat() throws IOException {
+    orderDocumentService.exportOrders(mock(Facility.class), null, null, OrderStatus.ORDERED, "xls",
+        new ByteArrayOutputStream());
+  }
+
+  private Order generateOrder() {
+    Order order = new Order();
+    order.setProgram(mock(Program.class));
+    order.setCreatedDate(LocalDateTime.now());
+    order.setCreatedBy(mock(User.class));
+    order.setReceivingFacility(mock(Facility.class));
+    order.setSupplyingFacility(mock(Facility.class));
+    order.setRequestingFacility(mock(Facility.class));
+    order.setQuotedCost(BigDecimal.valueOf(1));
+    order.setOrderCode("OrderCode0");
+    order.setStatus(OrderStatus.ORDERED);
+    List<OrderLine> orderLines = new ArrayList<>();
+    orderLines.add(generateOrderLine(order));
+    order.setOrderLines(orderLines);
+    return order;
+  }
+
+  private Order generateOrderWithProducts(int lineCount) {
+    Facility facility = new Facility();
+    facility.setCode("FacilityCode");
+    Order order = generateOrder();
+    order.setRequestingFacility(facility);
+    List<OrderLine> orderLines = new ArrayList<>();
+    for (int i = 0; i < lineCount; i++) {
+      Product product = new Product();
+      product.setCode("ProductCode" + i);
+      product.setPrimaryName("Product" + i);
+      OrderLine orderLine = generateOrderLine(order);
+      orderLine.setProduct(product);
+      orderLines.add(orderLine);
+    }
+    order.setOrderLines(orderLines);
+    return order;
+  }
+
+  private List<Order> generateOrdersToExport(int orderCount) {
+    Facility supplyingFacility = mock(Facility.class);
+    List<Order> exportedOrders = new ArrayList<>();
+    for (int i = 0; i < orderCount; i++) {
+      Order order = generateOrderWithProducts(20);
+      order.setOrderCode("OrderCode" + i);
+      order.setSupplyingFacility(supplyingFacility);
+      exportedOrders.add(order);
+    }
+    doAnswer(invocation -> {
+      Consumer<Order> consumer = (Consumer<Order>) invocation.getArguments()[4];
+      exportedOrders.forEach(consumer);
+      return null;
+    }).when(orderRepository).streamOrders(eq(supplyingFacility), any(), any(),
+        eq(OrderStatus.ORDERED), any());
+    return exportedOrders;
+  }
+
+  private OrderLine generateOrderLine(Order order) {
+    OrderLine orderLine = new OrderLine();
+    orderLine.setId(UUID.randomUUID());
+    orderLine.setFilledQuantity(1000L);
+    orderLine.setOrder(order);
+    orderLine.setOrderedQuantity(1000L);
+    orderLine.setProduct(mock(Product.class));
+    return orderLine;
+  }
+
+  private String prepareExpectedCsvOutput(Order order, List<String> header)
+      throws IOException, URISyntaxException {
+    URL url = Thread.currentThread().getContextClassLoader()
+        .getResource("OrderDocumentServiceTest_expected.csv");
+    byte[] encoded = Files.readAllBytes(Paths.get(url.getPath()));
+    return new String(encoded, Charset.defaultCharset());
+  }
+}
@@ -0,0 +1,114 @@
+package org.openlmis.fulfillment.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.sf.jasperreports.engine.design.JRDesignField;
+import org.junit.Before;
+import org.junit.Test;
+import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.domain.OrderLine;
+import org.openlmis.fulfillment.utils.OrderLineDataSource;
+import org.openlmis.product.domain.Product;
+import org.openlmis.referencedata.domain.Facility;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class OrderLineDataSourceTest {
+
+  private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2016, 10, 17, 7, 14);
+
+  private Order order;
+
+  @Before
+  public void setUp() {
+    Facility facility = new Facility();
+    facility.setCode("FacilityCode");
+
+    order = new Order();
+    order.setOrderCode("OrderCode");
+    order.setCreatedDate(CREATED_DATE);
+    order.setRequestingFacility(facility);
+    order.setOrderLines(Arrays.asList(
+        generateOrderLine("P0", 0L),
+        generateOrderLine("P1", 10L),
+        generateOrderLine("P2", 0L),
+        generateOrderLine("P3", 30L),
+        generateOrderLine("P4", 0L)));
+  }
+
+  @Test
+  public void shouldMapFieldsOfOrderAndCurrentLine() {
+    OrderLineDataSource dataSource = new OrderLineDataSource(order);
+
+    assertTrue(dataSource.next());
+    assertEquals("FacilityCode", dataSource.getValue(OrderLineDataSource.FACILITY_CODE));
+    assertEquals(CREATED_DATE, dataSource.getValue(OrderLineDataSource.CREATED_DATE));
+    assertEquals("OrderCode", dataSource.getValue(OrderLineDataSource.ORDER_NUMBER));
+    assertEquals("Product P1", dataSource.getValue(OrderLineDataSource.PRODUCT_NAME));
+    assertEquals("P1", dataSource.getValue(OrderLineDataSource.PRODUCT_CODE));
+    assertEquals(10L, dataSource.getValue(OrderLineDataSource.ORDERED_QUANTITY));
+    assertEquals(5L, dataSource.getValue(OrderLineDataSource.FILLED_QUANTITY));
+    assertNull(dataSource.getValue("unknownColumn"));
+  }
+
+  @Test
+  public void shouldReadFieldValuesByFieldName() {
+    OrderLineDataSource dataSource = new OrderLineDataSource(order);
+    JRDesignField field = new JRDesignField();
+    field.setName(OrderLineDataSource.PRODUCT_CODE);
+
+    assertTrue(dataSource.next());
+    assertEquals("P1", dataSource.getFieldValue(field));
+  }
+
+  @Test
+  public void shouldSkipLinesWithZeroOrderedQuantity() {
+    assertEquals(Arrays.asList("P1", "P3"), readProductCodes(new OrderLineDataSource(order)));
+  }
+
+  @Test
+  public void shouldReadLinesAgainAfterRewind() {
+    OrderLineDataSource dataSource = new OrderLineDataSource(order);
+    assertTrue(dataSource.next());
+
+    dataSource.moveFirst();
+
+    assertEquals(Arrays.asList("P1", "P3"), readProductCodes(dataSource));
+    assertFalse(dataSource.next());
+    dataSource.moveFirst();
+    assertEquals(Arrays.asList("P1", "P3"), readProductCodes(dataSource));
+  }
+
+  @Test
+  public void shouldHaveNoRowsIfAllLinesHaveZeroOrderedQuantity() {
+    order.setOrderLines(Arrays.asList(generateOrderLine("P0", 0L), generateOrderLine("P1", 0L)));
+
+    assertFalse(new OrderLineDataSource(order).next());
+  }
+
+  private List<String> readProductCodes(OrderLineDataSource dataSource) {
+    List<String> productCodes = new ArrayList<>();
+    while (dataSource.next()) {
+      productCodes.add((String) dataSource.getValue(OrderLineDataSource.PRODUCT_CODE));
+    }
+    return productCodes;
+  }
+
+  private OrderLine generateOrderLine(String productCode, long orderedQuantity) {
+    Product product = new Product();
+    product.setCode(productCode);
+    product.setPrimaryName("Product " + productCode);
+    OrderLine orderLine = new OrderLine();
+    orderLine.setOrder(order);
+    orderLine.setProduct(product);
+    orderLine.setOrderedQuantity(orderedQuantity);
+    orderLine.setFilledQuantity(orderedQuantity / 2);
+    return orderLine;
+  }
+}
@@ -26,28 +26,25 @@ import org.openlmis.referencedata.domain.Program;
 import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionLine;
 import org.openlmis.requisition.domain.RequisitionStatus;
-import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.requisition.exception.RequisitionException;
 import org.openlmis.requisition.service.RequisitionService;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -67,9 +64,6 @@ public class OrderServiceTest {
   @Mock
   private UserRepository userRepository;
 
-  @Mock
-  private RequisitionRepository requisitionRepository;
-
   @Mock
   private OrderLineRepository orderLineRepository;
 
@@ -88,31 +82,28 @@ public class OrderServiceTest {
   private List<Order> orders;
   private List<Requisition> requisitions;
   private List<SupplyLine> supplyLines;
+  private UUID programId;
 
   @Before
   public void setUp() {
     orders = new ArrayList<>();
     requisitions = new ArrayList<>();
     supplyLines = new ArrayList<>();
+    programId = UUID.randomUUID();
+    when(program.getId()).thenReturn(programId);
     generateInstances();
   }
 
   @Test
-  public void shouldConvertRequisitionsToOrders() {
+  public void shouldConvertRequisitionsToOrders() throws RequisitionException {
     User user = mock(User.class);
     UUID userId = UUID.randomUUID();
     when(user.getId()).thenReturn(userId);
     when(userRepository.findOne(userId)).thenReturn(user);
 
-    for (int i = 0; i < requisitions.size(); i++) {
-      when(requisitionRepository
-              .findOne(requisitions.get(i).getId()))
-              .thenReturn(requisitions.get(i));
-      when(supplyLineService.searchSupplyLines(
-              requisitions.get(i).getProgram(),
-              requisitions.get(i).getSupervisoryNode()))
-              .thenReturn(Arrays.asList(supplyLines.get(i)));
-    }
+    when(requisitionService.releaseRequisitionsAsOrder(requisitions)).thenReturn(requisitions);
+    when(supplyLineService.searchSupplyLines(Collections.singleton(programId)))
+        .thenReturn(supplyLines);
     OrderNumberConfiguration orderNumberConfiguration =
         new OrderNumberConfiguration("prefix", true, true, true);
     when(orderNumberConfigurationRepository.findAll())
@@ -156,9 +147,45 @@ public class OrderServiceTest {
       assertEquals(requisitionLine.getProduct().getId(), orderLine.getProduct().getId());
     }
 
-    verify(requisitionRepository, atLeastOnce()).findOne(anyObject());
-    verify(supplyLineService, atLeastOnce()).searchSupplyLines(anyObject(), anyObject());
-    verify(orderRepository, atLeastOnce()).save(any(Order.class));
+    verify(supplyLineService).searchSupplyLines(Collections.singleton(programId));
+    verify(orderNumberConfigurationRepository).findAll();
+    verify(orderRepository).save(orders);
+    verify(orderRepository, never()).save(any(Order.class));
+    verify(orderLineRepository, never()).save(any(OrderLine.class));
+  }
+
+  @Test(expected = RequisitionException.class)
+  public void shouldNotConvertRequisitionWithoutSupplyLine() throws RequisitionException {
+    when(requisitionService.releaseRequisitionsAsOrder(requisitions)).thenReturn(requisitions);
+    when(supplyLineService.searchSupplyLines(Collections.singleton(programId)))
+        .thenReturn(Collections.singletonList(supplyLines.get(0)));
+    when(orderNumberConfigurationRepository.findAll())
+        .thenReturn(Arrays.asList(new OrderNumberConfiguration("prefix", true, true, true)));
+    when(program.getCode()).thenReturn("code");
+
+    orderService.convertToOrder(requisitions, UUID.randomUUID());
+  }
+
+  @Test(expected = RequisitionException.class)
+  public void shouldNotConvertRequisitionWithoutSupervisoryNode() throws RequisitionException {
+    requisitions.get(1).setSupervisoryNode(null);
+    when(requisitionService.releaseRequisitionsAsOrder(requisitions)).thenReturn(requisitions);
+    when(supplyLineService.searchSupplyLines(Collections.singleton(programId)))
+        .thenReturn(supplyLines);
+    when(orderNumberConfigurationRepository.findAll())
+        .thenReturn(Arrays.asList(new OrderNumberConfiguration("prefix", true, true, true)));
+    when(program.getCode()).thenReturn("code");
+
+    orderService.convertToOrder(requisitions, UUID.randomUUID());
+  }
+
+  @Test
+  public void shouldRollBackConversionWhenRequisitionCannotBeConverted()
+      throws NoSuchMethodException {
+    Transactional transactional = OrderService.class
+        .getMethod("convertToOrder", List.class, UUID.class).getAnnotation(Transactional.class);
+
+    assertTrue(Arrays.asList(transactional.rollbackFor()).contains(RequisitionException.class));
   }
 
   @Test
@@ -189,31 +216,6 @@ public class OrderServiceTest {
     verify(orderRepository, atLeastOnce()).searchOrders(anyObject(), anyObject(), anyObject());
   }
 
-  @Test
-  public void shouldConvertOrderToCsvIfItExists() throws IOException, URISyntaxException {
-    Order order = orders.get(0);
-    when(order.getRequestingFacility().getCode()).thenReturn("FacilityCode");
-    when(order.getOrderLines().get(0).getProduct().getPrimaryName()).thenReturn("product");
-    when(order.getOrderLines().get(0).getProduct().getCode()).thenReturn("productCode");
-
-    //Creation date has to be static cuz we read expected csv from file
-    ZonedDateTime zdt = ZonedDateTime.parse("2016-08-27T11:30Z");
-    LocalDateTime ldt = zdt.toLocalDateTime();
-    order.setCreatedDate(ldt);
-
-    List<String> header = new ArrayList<>();
-    header.add(OrderService.DEFAULT_COLUMNS[0]);
-    header.add(OrderService.DEFAULT_COLUMNS[1]);
-    header.add(OrderService.DEFAULT_COLUMNS[3]);
-    header.add(OrderService.DEFAULT_COLUMNS[4]);
-    header.add(OrderService.DEFAULT_COLUMNS[5]);
-
-    String received = orderService.orderToCsv(
-        order, header.toArray(new String[0])).replace("\r\n","\n");
-    String expected = prepareExpectedCsvOutput(order, header);
-    assertEquals(expected, received);
-  }
-
   private void generateInstances() {
     generateOrders();
     generateRequisitions();
@@ -269,7 +271,9 @@ public class OrderServiceTest {
     requisition.setProgram(program);
     requisition.setCreatedDate(LocalDateTime.now());
     requisition.setStatus(RequisitionStatus.INITIATED);
-    requisition.setSupervisoryNode(mock(SupervisoryNode.class));
+    SupervisoryNode supervisoryNode = mock(SupervisoryNode.class);
+    when(supervisoryNode.getId()).thenReturn(UUID.randomUUID());
+    requisition.setSupervisoryNode(supervisoryNode);
     requisition.setEmergency(true);
     List<RequisitionLine> requisitionLines = new ArrayList<>();
     requisitionLines.add(generateRequisitionLine());
@@ -302,12 +306,4 @@ public class OrderServiceTest {
     supplyLine.setSupplyingFacility(facility);
     return supplyLine;
   }
-
-  private String prepareExpectedCsvOutput(Order order, List<String> header)
-      throws IOException, URISyntaxException {
-    URL url =
-        Thread.currentThread().getContextClassLoader().getResource("OrderServiceTest_expected.csv");
-    byte[] encoded = Files.readAllBytes(Paths.get(url.getPath()));
-    return new String(encoded, Charset.defaultCharset());
-  }
 }
@@ -0,0 +1,50 @@
+package org.openlmis.fulfillment.utils;
+
+import org.openlmis.fulfillment.domain.Order;
+import org.openlmis.fulfillment.domain.OrderLine;
+import org.openlmis.fulfillment.domain.OrderStatus;
+import org.openlmis.product.domain.Product;
+import org.openlmis.referencedata.domain.Facility;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds orders to print, with all fields read by the order template set.
+ */
+public final class OrderGenerator {
+
+  private OrderGenerator() {
+  }
+
+  /**
+   * Creates ordered order with given number of lines, each of a different product.
+   *
+   * @param lineCount Number of order lines.
+   * @return Created order.
+   */
+  public static Order generateOrderWithLines(int lineCount) {
+    Facility facility = new Facility();
+    facility.setCode("FacilityCode");
+    Order order = new Order();
+    order.setOrderCode("OrderCode");
+    order.setCreatedDate(LocalDateTime.now());
+    order.setRequestingFacility(facility);
+    order.setStatus(OrderStatus.ORDERED);
+    List<OrderLine> orderLines = new ArrayList<>(lineCount);
+    for (int i = 0; i < lineCount; i++) {
+      Product product = new Product();
+      product.setCode("ProductCode" + i);
+      product.setPrimaryName("Product" + i);
+      OrderLine orderLine = new OrderLine();
+      orderLine.setOrder(order);
+      orderLine.setProduct(product);
+      orderLine.setOrderedQuantity(1000L);
+      orderLine.setFilledQuantity(1000L);
+      orderLines.add(orderLine);
+    }
+    order.setOrderLines(orderLines);
+    return order;
+  }
+}
@@ -0,0 +1,72 @@
+package org.openlmis.hierarchyandsupervision.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.cache.LruCache;
+import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
+import org.openlmis.hierarchyandsupervision.repository.SupervisoryNodeRepository;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("PMD.UnusedPrivateField")
+@RunWith(MockitoJUnitRunner.class)
+public class SupervisoryNodeServiceTest {
+
+  @Mock
+  private SupervisoryNodeRepository supervisoryNodeRepository;
+
+  @Spy
+  private LruCache<UUID, Set<UUID>> supervisoryNodeSubtreeCache =
+      new LruCache<>("supervisoryNodeSubtrees", 10);
+
+  @InjectMocks
+  private SupervisoryNodeService supervisoryNodeService;
+
+  private SupervisoryNode supervisoryNode;
+  private Set<UUID> subtreeIds;
+
+  @Before
+  public void setUp() {
+    supervisoryNode = new SupervisoryNode();
+    supervisoryNode.setId(UUID.randomUUID());
+    subtreeIds = new HashSet<>(Arrays.asList(supervisoryNode.getId(), UUID.randomUUID()));
+    when(supervisoryNodeRepository.findSubtreeIds(supervisoryNode.getId()))
+        .thenReturn(subtreeIds);
+  }
+
+  @Test
+  public void shouldResolveSubtreeOfSupervisoryNodeOnlyOnce() {
+    supervisoryNodeService.getSubtreeIds(supervisoryNode);
+    Set<UUID> receivedIds = supervisoryNodeService.getSubtreeIds(supervisoryNode);
+
+    assertEquals(subtreeIds, receivedIds);
+    verify(supervisoryNodeRepository, times(1)).findSubtreeIds(supervisoryNode.getId());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void shouldReturnReadOnlySubtree() {
+    supervisoryNodeService.getSubtreeIds(supervisoryNode).add(UUID.randomUUID());
+  }
+
+  @Test
+  public void shouldResolveSubtreeAgainAfterEviction() {
+    supervisoryNodeService.getSubtreeIds(supervisoryNode);
+    supervisoryNodeService.evictSubtrees();
+    supervisoryNodeService.getSubtreeIds(supervisoryNode);
+
+    verify(supervisoryNodeRepository, times(2)).findSubtreeIds(supervisoryNode.getId());
+  }
+}
@@ -1,5 +1,6 @@
 package org.openlmis.referencedata.service;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -10,6 +11,8 @@ import org.openlmis.settings.exception.ConfigurationSettingException;
 import org.openlmis.settings.repository.ConfigurationSettingRepository;
 import org.openlmis.settings.service.ConfigurationSettingService;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -26,10 +29,15 @@ public class ConfigurationSettingServiceTest {
 
   private static final String TEST_STRING = "testString";
 
+  @Before
+  public void setUp() {
+    when(repository.findAll()).thenReturn(Collections.emptyList());
+  }
+
   @Test
   public void shouldGetSettingValue() throws ConfigurationSettingException {
-    when(repository.findOne(TEST_STRING)).thenReturn(
-            new ConfigurationSetting(TEST_STRING, "testValue"));
+    when(repository.findAll()).thenReturn(Collections.singletonList(
+            new ConfigurationSetting(TEST_STRING, "testValue")));
     assertEquals("testValue", service.getStringValue(TEST_STRING));
   }
 
@@ -45,15 +53,15 @@ public class ConfigurationSettingServiceTest {
 
   @Test
   public void shouldReturnTrueBooleanValue() {
-    when(repository.findOne("testTrue")).thenReturn(
-            new ConfigurationSetting(TEST_STRING, "true"));
+    when(repository.findAll()).thenReturn(Collections.singletonList(
+            new ConfigurationSetting("testTrue", "true")));
     assertTrue(service.getBoolValue("testTrue"));
   }
 
   @Test
   public void shouldReturnFalseBooleanValue() {
-    when(repository.findOne(TEST_STRING)).thenReturn(
-            new ConfigurationSetting(TEST_STRING, "false"));
+    when(repository.findAll()).thenReturn(Collections.singletonList(
+            new ConfigurationSetting(TEST_STRING, "false")));
     assertFalse(service.getBoolValue("testTrue"));
   }
 }
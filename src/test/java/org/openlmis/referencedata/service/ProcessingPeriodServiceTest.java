@@ -58,6 +58,18 @@ public class ProcessingPeriodServiceTest {
     }
   }
 
+  @Test
+  public void shouldFindPreviousPeriodIfItExists() {
+    when(periodRepository
+            .findPreviousPeriod(schedule, periods.get(0).getStartDate()))
+            .thenReturn(periods.get(1));
+
+    ProcessingPeriod previousPeriod = periodService
+            .findPreviousPeriod(schedule, periods.get(0).getStartDate());
+
+    assertEquals(periods.get(1), previousPeriod);
+  }
+
   private void generateInstances() {
     final int periodCount = 5;
     for (int i = 0; i < periodCount; i++) {
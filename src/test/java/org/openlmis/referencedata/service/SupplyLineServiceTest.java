@@ -13,6 +13,7 @@ import org.openlmis.hierarchyandsupervision.repository.SupplyLineRepository;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -43,4 +44,19 @@ public class SupplyLineServiceTest {
     assertEquals(1, receivedSupplyLines.size());
     assertEquals(supplyLine, receivedSupplyLines.get(0));
   }
+
+  @Test
+  public void shouldFindSupplyLinesOfGivenPrograms() {
+    List<UUID> programIds = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
+    SupplyLine supplyLine = mock(SupplyLine.class);
+
+    when(supplyLineRepository
+            .searchSupplyLines(programIds))
+            .thenReturn(Arrays.asList(supplyLine));
+
+    List<SupplyLine> receivedSupplyLines = supplyLineService.searchSupplyLines(programIds);
+
+    assertEquals(1, receivedSupplyLines.size());
+    assertEquals(supplyLine, receivedSupplyLines.get(0));
+  }
 }
@@ -0,0 +1,138 @@
+package org.openlmis.reporting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.cache.LruCache;
+import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.service.RenderedReportKey;
+import org.openlmis.reporting.service.RenderedReportService;
+import org.openlmis.reporting.service.ReportRenderer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+@SuppressWarnings("PMD.UnusedPrivateField")
+@RunWith(MockitoJUnitRunner.class)
+public class RenderedReportServiceTest {
+
+  private static final String PDF = "pdf";
+  private static final String POD_ID = "pod_id";
+  private static final String HASH_PARAMETERS = "hashParameters";
+  private static final byte[] REPORT = "report".getBytes(StandardCharsets.UTF_8);
+
+  @Mock
+  private ReportRenderer reportRenderer;
+
+  @Spy
+  private LruCache<RenderedReportKey, byte[]> renderedReportCache =
+      new LruCache<>("renderedReports", 10, 60000);
+
+  @InjectMocks
+  private RenderedReportService renderedReportService;
+
+  private Template template;
+  private UUID proofOfDeliveryId;
+  private Map<String, Object> params;
+
+  @Before
+  public void setUp() throws Exception {
+    template = new Template();
+    template.setId(UUID.randomUUID());
+    template.setVersion(0L);
+    proofOfDeliveryId = UUID.randomUUID();
+    params = new HashMap<>();
+    params.put(POD_ID, "'" + proofOfDeliveryId + "'");
+
+    doAnswer(invocation -> {
+      ((OutputStream) invocation.getArguments()[3]).write(REPORT);
+      return null;
+    }).when(reportRenderer).render(any(Template.class), anyMapOf(String.class, Object.class),
+        eq(PDF), any(OutputStream.class));
+  }
+
+  @Test
+  public void shouldRenderReportOnlyOnceForSameParameters() throws Exception {
+    byte[] first = renderedReportService.getReport(template, params, PDF, proofOfDeliveryId);
+    byte[] second = renderedReportService.getReport(template, new HashMap<>(params), PDF,
+        proofOfDeliveryId);
+
+    assertArrayEquals(REPORT, first);
+    assertArrayEquals(REPORT, second);
+    verify(reportRenderer, times(1)).render(eq(template), anyMapOf(String.class, Object.class),
+        eq(PDF), any(OutputStream.class));
+  }
+
+  @Test
+  public void shouldRenderReportAgainForDifferentParameters() throws Exception {
+    renderedReportService.getReport(template, params, PDF, proofOfDeliveryId);
+    UUID otherProofOfDeliveryId = UUID.randomUUID();
+    Map<String, Object> otherParams = new HashMap<>();
+    otherParams.put(POD_ID, "'" + otherProofOfDeliveryId + "'");
+    renderedReportService.getReport(template, otherParams, PDF, otherProofOfDeliveryId);
+
+    verify(reportRenderer, times(2)).render(eq(template), anyMapOf(String.class, Object.class),
+        eq(PDF), any(OutputStream.class));
+  }
+
+  @Test
+  public void shouldRenderReportAgainAfterEvictingItsSubject() throws Exception {
+    renderedReportService.getReport(template, params, PDF, proofOfDeliveryId);
+    renderedReportService.evictReports(proofOfDeliveryId);
+    renderedReportService.getReport(template, params, PDF, proofOfDeliveryId);
+
+    verify(reportRenderer, times(2)).render(eq(template), anyMapOf(String.class, Object.class),
+        eq(PDF), any(OutputStream.class));
+  }
+
+  @Test
+  public void shouldRenderReportAgainWhenTemplateVersionChanged() throws Exception {
+    renderedReportService.getReport(template, params, PDF, proofOfDeliveryId);
+    template.setVersion(1L);
+    renderedReportService.getReport(template, params, PDF, proofOfDeliveryId);
+
+    verify(reportRenderer, times(2)).render(eq(template), anyMapOf(String.class, Object.class),
+        eq(PDF), any(OutputStream.class));
+  }
+
+  @Test
+  public void shouldHashParametersIndependentlyOfTheirOrder() {
+    Map<String, Object> first = new LinkedHashMap<>();
+    first.put("a", 1);
+    first.put("b", Locale.ENGLISH);
+    Map<String, Object> second = new LinkedHashMap<>();
+    second.put("b", Locale.ENGLISH);
+    second.put("a", 1);
+    Map<String, Object> other = new LinkedHashMap<>();
+    other.put("a", 2);
+    other.put("b", Locale.ENGLISH);
+
+    String hash = ReflectionTestUtils.invokeMethod(renderedReportService, HASH_PARAMETERS,
+        first);
+
+    assertEquals(hash,
+        ReflectionTestUtils.invokeMethod(renderedReportService, HASH_PARAMETERS, second));
+    assertNotEquals(hash,
+        ReflectionTestUtils.invokeMethod(renderedReportService, HASH_PARAMETERS, other));
+  }
+}
@@ -0,0 +1,207 @@
+package org.openlmis.reporting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.reporting.exception.ReportJobRejectedException;
+import org.openlmis.reporting.exception.ReportingException;
+import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.service.ReportJobService;
+import org.openlmis.reporting.service.ReportRenderer;
+import org.openlmis.reporting.utils.ReportJob;
+import org.openlmis.reporting.utils.ReportJobStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReportJobServiceTest {
+
+  private static final String PDF = "pdf";
+  private static final byte[] REPORT = "report".getBytes(StandardCharsets.UTF_8);
+  private static final long TIMEOUT_MILLIS = 10000;
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  @Rule
+  public TemporaryFolder resultFolder = new TemporaryFolder();
+
+  @Mock
+  private ReportRenderer reportRenderer;
+
+  @InjectMocks
+  private ReportJobService reportJobService;
+
+  private ExecutorService reportJobExecutor;
+  private Template template;
+  private Map<String, Object> params;
+
+  @Before
+  public void setUp() throws Exception {
+    reportJobExecutor = Executors.newFixedThreadPool(4);
+    ReflectionTestUtils.setField(reportJobService, "reportJobExecutor", reportJobExecutor);
+    ReflectionTestUtils.setField(reportJobService, "maxPendingJobs", 10);
+    ReflectionTestUtils.setField(reportJobService, "maxJobsPerTemplate", 1);
+    ReflectionTestUtils.setField(reportJobService, "resultTimeToLive", 3600000L);
+    ReflectionTestUtils.setField(reportJobService, "resultDirectory",
+        resultFolder.getRoot().getAbsolutePath());
+    reportJobService.init();
+
+    template = generateTemplate();
+    params = Collections.singletonMap("param", "value");
+  }
+
+  @After
+  public void tearDown() {
+    reportJobExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shouldRenderReportInBackgroundAndStoreResult() throws Exception {
+    doAnswer(invocation -> {
+      ((OutputStream) invocation.getArguments()[3]).write(REPORT);
+      return null;
+    }).when(reportRenderer).render(eq(template), eq(params), eq(PDF), any(OutputStream.class));
+
+    ReportJob job = reportJobService.submit(template, params, PDF, USER_ID);
+    awaitFinished(job);
+
+    assertEquals(ReportJobStatus.COMPLETED, job.getStatus());
+    assertEquals(template.getId(), job.getTemplateId());
+    assertArrayEquals(REPORT, Files.readAllBytes(job.getResult()));
+    assertEquals(job, reportJobService.getJob(job.getId(), USER_ID));
+  }
+
+  @Test
+  public void shouldMarkJobAsFailedWhenRenderingFails() throws Exception {
+    doThrow(new ReportingException("Could not render report"))
+        .when(reportRenderer).render(any(Template.class), anyMapOf(String.class, Object.class),
+            anyString(), any(OutputStream.class));
+
+    ReportJob job = reportJobService.submit(template, params, PDF, USER_ID);
+    awaitFinished(job);
+
+    assertEquals(ReportJobStatus.FAILED, job.getStatus());
+    assertEquals("Could not render report", job.getErrorMessage());
+    assertNull(job.getResult());
+    assertEquals(0, resultFolder.getRoot().list().length);
+  }
+
+  @Test
+  public void shouldLimitNumberOfRunningJobsOfSameTemplate() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Map<UUID, AtomicInteger> running = new ConcurrentHashMap<>();
+    AtomicInteger maxRunning = new AtomicInteger();
+    doAnswer(invocation -> {
+      Template rendered = (Template) invocation.getArguments()[0];
+      AtomicInteger counter = running.computeIfAbsent(rendered.getId(),
+          id -> new AtomicInteger());
+      maxRunning.accumulateAndGet(counter.incrementAndGet(), Math::max);
+      if (rendered == template) {
+        release.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      }
+      counter.decrementAndGet();
+      return null;
+    }).when(reportRenderer).render(any(Template.class), anyMapOf(String.class, Object.class),
+        anyString(), any(OutputStream.class));
+
+    ReportJob first = reportJobService.submit(template, params, PDF, USER_ID);
+    ReportJob second = reportJobService.submit(template, params, PDF, USER_ID);
+    ReportJob otherTemplateJob = reportJobService.submit(generateTemplate(), params, PDF,
+        USER_ID);
+    awaitFinished(otherTemplateJob);
+
+    assertFalse(first.isFinished());
+    assertEquals(ReportJobStatus.QUEUED, second.getStatus());
+
+    release.countDown();
+    awaitFinished(first);
+    awaitFinished(second);
+    assertEquals(ReportJobStatus.COMPLETED, second.getStatus());
+    assertEquals(1, maxRunning.get());
+  }
+
+  @Test
+  public void shouldNotGetJobSubmittedByAnotherUser() throws Exception {
+    ReportJob job = reportJobService.submit(template, params, PDF, USER_ID);
+
+    assertEquals(USER_ID, job.getSubmittedBy());
+    assertNull(reportJobService.getJob(job.getId(), UUID.randomUUID()));
+    assertNull(reportJobService.getJob(job.getId(), null));
+    assertEquals(job, reportJobService.getJob(job.getId(), USER_ID));
+  }
+
+  @Test(expected = ReportJobRejectedException.class)
+  public void shouldRejectJobsWhenTooManyArePending() throws Exception {
+    ReflectionTestUtils.setField(reportJobService, "maxPendingJobs", 2);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> release.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+        .when(reportRenderer).render(any(Template.class), anyMapOf(String.class, Object.class),
+            anyString(), any(OutputStream.class));
+
+    try {
+      reportJobService.submit(template, params, PDF, USER_ID);
+      reportJobService.submit(template, params, PDF, USER_ID);
+      reportJobService.submit(template, params, PDF, USER_ID);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void shouldEvictExpiredJobsWithTheirResults() throws Exception {
+    ReflectionTestUtils.setField(reportJobService, "resultTimeToLive", 0L);
+    ReportJob job = reportJobService.submit(template, params, PDF, USER_ID);
+    awaitFinished(job);
+    assertTrue(Files.exists(job.getResult()));
+
+    Thread.sleep(1);
+    reportJobService.evictExpiredJobs();
+
+    assertNull(reportJobService.getJob(job.getId(), USER_ID));
+    assertFalse(Files.exists(job.getResult()));
+  }
+
+  private Template generateTemplate() {
+    Template generated = new Template();
+    generated.setId(UUID.randomUUID());
+    generated.setName("template" + generated.getId());
+    return generated;
+  }
+
+  private void awaitFinished(ReportJob job) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(job.isFinished());
+  }
+}
@@ -0,0 +1,108 @@
+package org.openlmis.reporting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.design.JRDesignQuery;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.reporting.exception.ReportingException;
+import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.model.TemplateParameter;
+import org.openlmis.reporting.service.JasperReportsViewFactory;
+import org.openlmis.reporting.service.ReportRenderer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReportRendererTest {
+
+  private static final String FACILITY_ID = "facility_id";
+  private static final String LINE_COUNT = "line_count";
+  private static final String CLAUSE = "clause";
+
+  @Mock
+  private JasperReportsViewFactory jasperReportsViewFactory;
+
+  @InjectMocks
+  private ReportRenderer reportRenderer;
+
+  private Template template;
+
+  @Before
+  public void setUp() throws ReportingException {
+    template = new Template();
+    template.setId(UUID.randomUUID());
+    template.setTemplateParameters(new ArrayList<>());
+    addParameter(FACILITY_ID, UUID.class);
+    addParameter(LINE_COUNT, Integer.class);
+    addParameter(CLAUSE, String.class);
+
+    JRDesignQuery query = new JRDesignQuery();
+    query.setText("SELECT * FROM lines WHERE facilityid = $P{facility_id} $P!{clause}");
+    JasperReport report = mock(JasperReport.class);
+    when(report.getQuery()).thenReturn(query);
+    when(jasperReportsViewFactory.getReport(template)).thenReturn(report);
+  }
+
+  @Test
+  public void shouldConvertParametersToDeclaredTypes() throws ReportingException {
+    UUID facilityId = UUID.randomUUID();
+    Map<String, Object> values = new HashMap<>();
+    values.put(FACILITY_ID, facilityId.toString());
+    values.put(LINE_COUNT, "20");
+
+    Map<String, Object> params = reportRenderer.convertParameters(template, values);
+
+    assertEquals(facilityId, params.get(FACILITY_ID));
+    assertEquals(20, params.get(LINE_COUNT));
+    assertEquals(2, params.size());
+  }
+
+  @Test
+  public void shouldNotLoadReportWithoutParameters() throws ReportingException {
+    assertTrue(reportRenderer.convertParameters(template, null).isEmpty());
+    assertTrue(reportRenderer.convertParameters(template, Collections.emptyMap()).isEmpty());
+
+    verify(jasperReportsViewFactory, never()).getReport(any());
+  }
+
+  @Test(expected = ReportingException.class)
+  public void shouldRejectParameterNotDeclaredByTemplate() throws ReportingException {
+    reportRenderer.convertParameters(template, Collections.singletonMap("format", "pdf"));
+  }
+
+  @Test(expected = ReportingException.class)
+  public void shouldRejectParameterSplicedIntoQuery() throws ReportingException {
+    reportRenderer.convertParameters(template,
+        Collections.singletonMap(CLAUSE, "OR 1 = 1"));
+  }
+
+  @Test(expected = ReportingException.class)
+  public void shouldRejectValueWhichCannotBeConverted() throws ReportingException {
+    reportRenderer.convertParameters(template,
+        Collections.singletonMap(FACILITY_ID, "1; DROP TABLE lines"));
+  }
+
+  private void addParameter(String name, Class<?> dataType) {
+    TemplateParameter parameter = new TemplateParameter();
+    parameter.setTemplate(template);
+    parameter.setName(name);
+    parameter.setDataType(dataType.getName());
+    template.getTemplateParameters().add(parameter);
+  }
+}
@@ -0,0 +1,74 @@
+package org.openlmis.reporting;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.sf.jasperreports.engine.fill.JRAbstractLRUVirtualizer;
+import net.sf.jasperreports.engine.fill.JRGzipVirtualizer;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import org.junit.Before;
+import org.junit.Test;
+import org.openlmis.reporting.service.ReportVirtualizerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ReportVirtualizerFactoryTest {
+
+  private static final String TYPE = "type";
+  private static final String TEMPLATE = "report.jrxml";
+  private static final String IN_HEAP_TEMPLATE = "inHeap.jrxml";
+
+  private ReportVirtualizerFactory virtualizerFactory;
+
+  @Before
+  public void setUp() {
+    virtualizerFactory = new ReportVirtualizerFactory();
+    ReflectionTestUtils.setField(virtualizerFactory, TYPE, "swap");
+    ReflectionTestUtils.setField(virtualizerFactory, "rowThreshold", 1000);
+    ReflectionTestUtils.setField(virtualizerFactory, "inHeapTemplates",
+        new String[] {IN_HEAP_TEMPLATE});
+    ReflectionTestUtils.setField(virtualizerFactory, "maxPages", 10);
+    ReflectionTestUtils.setField(virtualizerFactory, "swapDirectory",
+        System.getProperty("java.io.tmpdir"));
+    ReflectionTestUtils.setField(virtualizerFactory, "swapBlockSize", 4096);
+    ReflectionTestUtils.setField(virtualizerFactory, "swapMinGrowCount", 10);
+  }
+
+  @Test
+  public void shouldNotVirtualizeSmallReports() {
+    assertNull(virtualizerFactory.getVirtualizer(TEMPLATE, 999));
+  }
+
+  @Test
+  public void shouldVirtualizeReportsAboveRowThreshold() {
+    JRAbstractLRUVirtualizer virtualizer = virtualizerFactory.getVirtualizer(TEMPLATE, 1000);
+
+    assertTrue(virtualizer instanceof JRSwapFileVirtualizer);
+    virtualizer.cleanup();
+  }
+
+  @Test
+  public void shouldVirtualizeReportsOfUnknownSizeByDefault() {
+    ReflectionTestUtils.setField(virtualizerFactory, TYPE, "gzip");
+
+    JRAbstractLRUVirtualizer virtualizer = virtualizerFactory.getVirtualizer(TEMPLATE,
+        ReportVirtualizerFactory.UNKNOWN_ROW_COUNT);
+
+    assertTrue(virtualizer instanceof JRGzipVirtualizer);
+    virtualizer.cleanup();
+  }
+
+  @Test
+  public void shouldNotVirtualizeReportsOfUnknownSizeOfInHeapTemplates() {
+    assertNull(virtualizerFactory.getVirtualizer(IN_HEAP_TEMPLATE,
+        ReportVirtualizerFactory.UNKNOWN_ROW_COUNT));
+  }
+
+  @Test
+  public void shouldNotVirtualizeWhenDisabled() {
+    ReflectionTestUtils.setField(virtualizerFactory, TYPE, "none");
+
+    assertNull(virtualizerFactory.getVirtualizer(TEMPLATE, 100000));
+    assertNull(virtualizerFactory.getVirtualizer(TEMPLATE,
+        ReportVirtualizerFactory.UNKNOWN_ROW_COUNT));
+  }
+}
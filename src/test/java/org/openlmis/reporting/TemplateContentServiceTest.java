@@ -0,0 +1,144 @@
+package org.openlmis.reporting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.reporting.exception.ReportingException;
+import org.openlmis.reporting.model.TemplateContent;
+import org.openlmis.reporting.repository.TemplateContentRepository;
+import org.openlmis.reporting.service.TemplateContentService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TemplateContentServiceTest {
+
+  private static final String REPORT_NAME = "AircraftReportColumnIndex";
+
+  @Mock
+  private TemplateContentRepository templateContentRepository;
+
+  @InjectMocks
+  private TemplateContentService templateContentService;
+
+  private UUID templateId;
+  private byte[] source;
+
+  @Before
+  public void setUp() throws Exception {
+    templateId = UUID.randomUUID();
+    try (InputStream inputStream = getClass().getClassLoader()
+        .getResourceAsStream("jasperTemplates/ordersJasperTemplate.jrxml")) {
+      source = IOUtils.toByteArray(inputStream);
+    }
+  }
+
+  @Test
+  public void shouldSaveCompressedSourceWithoutCompiledReport() throws Exception {
+    templateContentService.saveSource(templateId, source);
+
+    TemplateContent content = captureSavedContent();
+    assertEquals(templateId, content.getTemplateId());
+    assertArrayEquals(source, decompress(content.getSource()));
+    assertNull(content.getCompiled());
+  }
+
+  @Test
+  public void shouldReadOnlyCompiledReportOfCurrentVersion() throws Exception {
+    when(templateContentRepository.findCompiled(templateId,
+        TemplateContentService.COMPILED_VERSION)).thenReturn(serialize(compileReport()));
+
+    JasperReport report = templateContentService.loadReport(templateId);
+
+    assertEquals(REPORT_NAME, report.getName());
+    verify(templateContentRepository, never()).findOne(templateId);
+    verify(templateContentRepository, never()).save(any(TemplateContent.class));
+  }
+
+  @Test
+  public void shouldCompileAndStoreReportWhenCompiledReportIsOutdated() throws Exception {
+    when(templateContentRepository.findOne(templateId))
+        .thenReturn(new TemplateContent(templateId, compress(source), null, "0"));
+
+    JasperReport report = templateContentService.loadReport(templateId);
+
+    assertEquals(REPORT_NAME, report.getName());
+    TemplateContent content = captureSavedContent();
+    assertNotNull(content.getCompiled());
+    assertEquals(TemplateContentService.COMPILED_VERSION, content.getCompiledVersion());
+  }
+
+  @Test
+  public void shouldWriteSourceOfTemplateStoredOnlyAsSerializedReport() throws Exception {
+    when(templateContentRepository.findOne(templateId))
+        .thenReturn(new TemplateContent(templateId, null, serialize(compileReport()), null));
+
+    JasperReport report = templateContentService.loadReport(templateId);
+
+    assertEquals(REPORT_NAME, report.getName());
+    TemplateContent content = captureSavedContent();
+    JasperReport recompiled = JasperCompileManager.compileReport(
+        new ByteArrayInputStream(decompress(content.getSource())));
+    assertEquals(REPORT_NAME, recompiled.getName());
+    assertEquals(TemplateContentService.COMPILED_VERSION, content.getCompiledVersion());
+  }
+
+  @Test(expected = ReportingException.class)
+  public void shouldThrowExceptionWhenTemplateHasNoContent() throws Exception {
+    templateContentService.loadReport(templateId);
+  }
+
+  private TemplateContent captureSavedContent() {
+    ArgumentCaptor<TemplateContent> captor = ArgumentCaptor.forClass(TemplateContent.class);
+    verify(templateContentRepository).save(captor.capture());
+    return captor.getValue();
+  }
+
+  private JasperReport compileReport() throws Exception {
+    return JasperCompileManager.compileReport(new ByteArrayInputStream(source));
+  }
+
+  private byte[] serialize(JasperReport report) throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+      out.writeObject(report);
+    }
+    return bos.toByteArray();
+  }
+
+  private byte[] compress(byte[] data) throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bos)) {
+      out.write(data);
+    }
+    return bos.toByteArray();
+  }
+
+  private byte[] decompress(byte[] data) throws Exception {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+      return IOUtils.toByteArray(in);
+    }
+  }
+}
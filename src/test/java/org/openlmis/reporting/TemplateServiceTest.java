@@ -7,11 +7,8 @@ import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
-import static org.powermock.api.mockito.PowerMockito.spy;
-import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 import net.sf.jasperreports.engine.JRExpression;
 import net.sf.jasperreports.engine.JRParameter;
@@ -31,6 +28,7 @@ import org.openlmis.reporting.model.Template;
 import org.openlmis.reporting.model.TemplateParameter;
 import org.openlmis.reporting.repository.TemplateParameterRepository;
 import org.openlmis.reporting.repository.TemplateRepository;
+import org.openlmis.reporting.service.TemplateContentService;
 import org.openlmis.reporting.service.TemplateService;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -38,9 +36,7 @@ import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
-import java.io.ObjectOutputStream;
 
 @RunWith(PowerMockRunner.class)
 @PowerMockRunnerDelegate(BlockJUnit4ClassRunner.class)
@@ -53,6 +49,9 @@ public class TemplateServiceTest {
   @Mock
   private TemplateParameterRepository templateParameterRepository;
 
+  @Mock
+  private TemplateContentService templateContentService;
+
   @InjectMocks
   private TemplateService templateService;
 
@@ -200,20 +199,15 @@ public class TemplateServiceTest {
     when(param2.getDescription()).thenReturn("desc");
     when(param2.getDefaultValueExpression()).thenReturn(jrExpression);
 
-    ByteArrayOutputStream byteOutputStream = mock(ByteArrayOutputStream.class);
-    whenNew(ByteArrayOutputStream.class).withAnyArguments().thenReturn(byteOutputStream);
-    ObjectOutputStream objectOutputStream = spy(new ObjectOutputStream(byteOutputStream));
-    whenNew(ObjectOutputStream.class).withArguments(byteOutputStream)
-        .thenReturn(objectOutputStream);
-    doNothing().when(objectOutputStream).writeObject(report);
-    byte[] byteData = new byte[1];
-    when(byteOutputStream.toByteArray()).thenReturn(byteData);
+    byte[] source = new byte[1];
+    when(file.getBytes()).thenReturn(source);
     Template template = new Template();
 
     templateService.validateFileAndInsertTemplate(template, file);
 
     verify(templateRepository).save(template);
     verify(templateParameterRepository, atLeast(1)).save(any(TemplateParameter.class));
+    verify(templateContentService).saveSource(template.getId(), source);
 
     assertThat(template.getTemplateParameters().get(0).getDisplayName(),
         is(PARAM_DISPLAY_NAME));
@@ -251,14 +245,8 @@ public class TemplateServiceTest {
     when(param2.getValueClassName()).thenReturn("Integer");
     when(param2.getDefaultValueExpression()).thenReturn(null);
 
-    ByteArrayOutputStream byteOutputStream = mock(ByteArrayOutputStream.class);
-    whenNew(ByteArrayOutputStream.class).withAnyArguments().thenReturn(byteOutputStream);
-    ObjectOutputStream objectOutputStream = spy(new ObjectOutputStream(byteOutputStream));
-    whenNew(ObjectOutputStream.class).withArguments(byteOutputStream)
-        .thenReturn(objectOutputStream);
-    doNothing().when(objectOutputStream).writeObject(report);
-    byte[] byteData = new byte[1];
-    when(byteOutputStream.toByteArray()).thenReturn(byteData);
+    byte[] source = new byte[1];
+    when(file.getBytes()).thenReturn(source);
     Template template = new Template();
 
     templateService.validateFileAndInsertTemplate(template, file);
@@ -0,0 +1,115 @@
+package org.openlmis.reporting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.cache.LruCache;
+import org.openlmis.reporting.exception.ReportingException;
+import org.openlmis.reporting.model.Template;
+import org.openlmis.reporting.repository.TemplateRepository;
+import org.openlmis.reporting.service.CachedJasperReport;
+import org.openlmis.reporting.service.JasperReportsViewFactory;
+import org.openlmis.reporting.service.TemplateContentService;
+import org.openlmis.reporting.service.TemplateWarmUpService;
+import org.openlmis.reporting.utils.TemplateLoadStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TemplateWarmUpServiceTest {
+
+  @Mock
+  private TemplateRepository templateRepository;
+
+  @Mock
+  private TemplateContentService templateContentService;
+
+  private JasperReportsViewFactory jasperReportsViewFactory = new JasperReportsViewFactory();
+
+  @InjectMocks
+  private TemplateWarmUpService templateWarmUpService;
+
+  private LruCache<UUID, CachedJasperReport> jasperReportCache =
+      new LruCache<>("jasperReports", 10);
+
+  @Before
+  public void setUp() {
+    ReflectionTestUtils.setField(jasperReportsViewFactory, "jasperReportCache",
+        jasperReportCache);
+    ReflectionTestUtils.setField(jasperReportsViewFactory, "templateContentService",
+        templateContentService);
+    ReflectionTestUtils.setField(templateWarmUpService, "jasperReportsViewFactory",
+        jasperReportsViewFactory);
+    ReflectionTestUtils.setField(templateWarmUpService, "parallelism", 2);
+  }
+
+  @Test
+  public void shouldLoadReportsOfAllTemplatesIntoCache() throws Exception {
+    Template first = generateTemplate("first.jrxml", compileReport());
+    Template second = generateTemplate("second.jrxml", compileReport());
+    when(templateRepository.findAll()).thenReturn(Arrays.asList(first, second));
+
+    List<TemplateLoadStatus> statuses = templateWarmUpService.warmUp();
+
+    assertEquals(2, statuses.size());
+    assertTrue(statuses.stream().allMatch(TemplateLoadStatus::isLoaded));
+    assertNotNull(jasperReportCache.get(first.getId()));
+    assertNotNull(jasperReportCache.get(second.getId()));
+  }
+
+  @Test
+  public void shouldFlagTemplatesWhichFailedToLoad() throws Exception {
+    Template valid = generateTemplate("valid.jrxml", compileReport());
+    Template broken = generateTemplate("broken.jrxml", null);
+    when(templateContentService.loadReport(broken.getId()))
+        .thenThrow(new ReportingException("Report template error: file invalid."));
+    when(templateRepository.findAll()).thenReturn(Arrays.asList(valid, broken));
+
+    templateWarmUpService.warmUp();
+
+    List<TemplateLoadStatus> statuses = templateWarmUpService.getLoadStatuses();
+    assertEquals(2, statuses.size());
+    for (TemplateLoadStatus status : statuses) {
+      if (valid.getId().equals(status.getTemplateId())) {
+        assertTrue(status.isLoaded());
+      } else {
+        assertFalse(status.isLoaded());
+        assertNotNull(status.getErrorMessage());
+      }
+    }
+    assertEquals(1, jasperReportCache.size());
+  }
+
+  private Template generateTemplate(String name, JasperReport report) throws Exception {
+    Template template = new Template();
+    template.setId(UUID.randomUUID());
+    template.setName(name);
+    template.setVersion(0L);
+    if (report != null) {
+      when(templateContentService.loadReport(template.getId())).thenReturn(report);
+    }
+    return template;
+  }
+
+  private JasperReport compileReport() throws Exception {
+    try (InputStream inputStream = getClass().getClassLoader()
+        .getResourceAsStream("jasperTemplates/ordersJasperTemplate.jrxml")) {
+      return JasperCompileManager.compileReport(inputStream);
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package org.openlmis.requisition.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.requisition.domain.Requisition;
+import org.openlmis.requisition.domain.RequisitionStatus;
+import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.requisition.utils.RequisitionActionResult;
+import org.openlmis.requisition.validate.RequisitionValidator;
+import org.openlmis.settings.service.ConfigurationSettingService;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.Errors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequisitionBatchServiceTest {
+
+  private static final String SKIP_AUTHORIZATION = "skipAuthorization";
+
+  @Mock
+  private RequisitionRepository requisitionRepository;
+
+  @Mock
+  private RequisitionLineService requisitionLineService;
+
+  @Mock
+  private ConfigurationSettingService configurationSettingService;
+
+  @Mock
+  private RequisitionValidator validator;
+
+  @InjectMocks
+  private RequisitionBatchService requisitionBatchService;
+
+  private List<Requisition> requisitions = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    when(configurationSettingService.getBoolValue(SKIP_AUTHORIZATION)).thenReturn(false);
+    when(requisitionRepository.searchRequisitionsWithLines(anyCollection()))
+        .thenReturn(requisitions);
+  }
+
+  @Test
+  public void shouldAuthorizeValidSubmittedRequisitionsAndReportOthers() {
+    Requisition valid = generateRequisition(RequisitionStatus.SUBMITTED);
+    Requisition authorized = generateRequisition(RequisitionStatus.AUTHORIZED);
+    Requisition invalid = generateRequisition(RequisitionStatus.SUBMITTED);
+    UUID missingId = UUID.randomUUID();
+    rejectOnValidation(invalid);
+
+    List<RequisitionActionResult> results = requisitionBatchService.authorize(Arrays.asList(
+        valid.getId(), authorized.getId(), invalid.getId(), missingId, valid.getId()));
+
+    assertEquals(4, results.size());
+    assertSuccess(results.get(0), valid, RequisitionStatus.AUTHORIZED);
+    assertFailure(results.get(1), authorized, RequisitionStatus.AUTHORIZED);
+    assertFailure(results.get(2), invalid, RequisitionStatus.SUBMITTED);
+    assertEquals(missingId, results.get(3).getRequisitionId());
+    assertFalse(results.get(3).isSuccessful());
+    verify(requisitionLineService).calculateRequisitionLineFields(valid);
+    verify(requisitionLineService, never()).calculateRequisitionLineFields(invalid);
+    verify(requisitionRepository, never()).save(any(Requisition.class));
+  }
+
+  @Test
+  public void shouldNotAuthorizeAnyRequisitionIfAuthorizationIsSkipped() {
+    when(configurationSettingService.getBoolValue(SKIP_AUTHORIZATION)).thenReturn(true);
+    Requisition submitted = generateRequisition(RequisitionStatus.SUBMITTED);
+
+    List<RequisitionActionResult> results =
+        requisitionBatchService.authorize(Arrays.asList(submitted.getId()));
+
+    assertFailure(results.get(0), submitted, RequisitionStatus.SUBMITTED);
+  }
+
+  @Test
+  public void shouldApproveAuthorizedRequisitionsAndReportOthers() {
+    Requisition authorized = generateRequisition(RequisitionStatus.AUTHORIZED);
+    Requisition submitted = generateRequisition(RequisitionStatus.SUBMITTED);
+    UUID missingId = UUID.randomUUID();
+
+    List<RequisitionActionResult> results = requisitionBatchService.approve(
+        Arrays.asList(submitted.getId(), missingId, authorized.getId()));
+
+    assertEquals(3, results.size());
+    assertFailure(results.get(0), submitted, RequisitionStatus.SUBMITTED);
+    assertEquals(missingId, results.get(1).getRequisitionId());
+    assertFalse(results.get(1).isSuccessful());
+    assertSuccess(results.get(2), authorized, RequisitionStatus.APPROVED);
+    verify(requisitionRepository, never()).save(any(Requisition.class));
+  }
+
+  @Test
+  public void shouldApproveSubmittedRequisitionsIfAuthorizationIsSkipped() {
+    when(configurationSettingService.getBoolValue(SKIP_AUTHORIZATION)).thenReturn(true);
+    Requisition submitted = generateRequisition(RequisitionStatus.SUBMITTED);
+    Requisition initiated = generateRequisition(RequisitionStatus.INITIATED);
+
+    List<RequisitionActionResult> results = requisitionBatchService.approve(
+        Arrays.asList(submitted.getId(), initiated.getId()));
+
+    assertSuccess(results.get(0), submitted, RequisitionStatus.APPROVED);
+    assertFailure(results.get(1), initiated, RequisitionStatus.INITIATED);
+  }
+
+  @Test
+  public void shouldPropagateUnexpectedFailureSoWholeBatchIsRolledBack() throws Exception {
+    Requisition first = generateRequisition(RequisitionStatus.SUBMITTED);
+    Requisition second = generateRequisition(RequisitionStatus.SUBMITTED);
+    doThrow(new IllegalStateException("calculation failed"))
+        .when(requisitionLineService).calculateRequisitionLineFields(second);
+
+    try {
+      requisitionBatchService.authorize(Arrays.asList(first.getId(), second.getId()));
+      fail("Unexpected failure of one requisition should not be turned into a result");
+    } catch (IllegalStateException ex) {
+      assertEquals("calculation failed", ex.getMessage());
+    }
+
+    // the status of the first one was only changed on the managed entity, which is not flushed
+    // because the transaction rolls back on the runtime exception
+    verify(requisitionRepository, never()).save(any(Requisition.class));
+    assertNotNull(RequisitionBatchService.class
+        .getMethod("authorize", Collection.class).getAnnotation(Transactional.class));
+    assertNotNull(RequisitionBatchService.class
+        .getMethod("approve", Collection.class).getAnnotation(Transactional.class));
+  }
+
+  private Requisition generateRequisition(RequisitionStatus status) {
+    Requisition requisition = new Requisition();
+    requisition.setId(UUID.randomUUID());
+    requisition.setStatus(status);
+    requisitions.add(requisition);
+    return requisition;
+  }
+
+  private void rejectOnValidation(Requisition requisition) {
+    doAnswer(invocation -> {
+      ((Errors) invocation.getArguments()[1]).reject("invalid");
+      return null;
+    }).when(validator).validate(eq(requisition), any(Errors.class));
+  }
+
+  private void assertSuccess(RequisitionActionResult result, Requisition requisition,
+                             RequisitionStatus status) {
+    assertEquals(requisition.getId(), result.getRequisitionId());
+    assertTrue(result.isSuccessful());
+    assertEquals(status, result.getStatus());
+    assertNull(result.getMessage());
+    assertEquals(status, requisition.getStatus());
+  }
+
+  private void assertFailure(RequisitionActionResult result, Requisition requisition,
+                             RequisitionStatus unchangedStatus) {
+    assertEquals(requisition.getId(), result.getRequisitionId());
+    assertFalse(result.isSuccessful());
+    assertNotNull(result.getMessage());
+    assertEquals(unchangedStatus, requisition.getStatus());
+  }
+}
@@ -31,6 +31,9 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings({"PMD.TooManyMethods"})
@@ -175,6 +178,113 @@ public class RequisitionLineServiceTest {
         .get(BEGINNING_BALANCE_FIELD).getDisplayOrder());
   }
 
+  @Test
+  public void shouldLoadPreviousRequisitionLinesWithSingleCallRegardlessOfLineCount() {
+    final int linesCount = 300;
+
+    setBeginningBalanceDisplayed();
+    Requisition previousRequisition = createTestRequisition(requisition.getFacility(), period,
+        program, RequisitionStatus.APPROVED);
+
+    List<RequisitionLine> requisitionLines = new ArrayList<>();
+    List<RequisitionLine> previousRequisitionLines = new ArrayList<>();
+    for (int lineNumber = 0; lineNumber < linesCount; lineNumber++) {
+      Product product = new Product();
+      product.setId(UUID.randomUUID());
+      requisitionLines.add(createTestRequisitionLine(product, 10, null, requisition));
+      previousRequisitionLines.add(
+          createTestRequisitionLine(product, 10, lineNumber, previousRequisition));
+    }
+    requisition.setRequisitionLines(requisitionLines);
+
+    when(requisitionLineRepository
+        .searchRequisitionLines(requisition.getFacility(), requisition.getProgram(), period))
+        .thenReturn(previousRequisitionLines);
+
+    requisitionLineService.initiateRequisitionLineFields(requisition);
+
+    verify(requisitionLineRepository, times(1)).searchRequisitionLines(
+        requisition.getFacility(), requisition.getProgram(), period);
+    verify(requisitionLineRepository, never()).searchRequisitionLines(any(), any());
+    verify(requisitionService, never()).searchRequisitions(
+        any(), any(), any(), any(), any(), any(), any());
+    for (int lineNumber = 0; lineNumber < linesCount; lineNumber++) {
+      assertEquals(Integer.valueOf(lineNumber),
+          requisitionLines.get(lineNumber).getBeginningBalance());
+    }
+  }
+
+  @Test
+  public void shouldInitiateBeginningBalanceFromEarliestPreviousRequisitionOnly() {
+    setBeginningBalanceDisplayed();
+    requisitionLine.setBeginningBalance(null);
+    Product otherProduct = new Product();
+    otherProduct.setId(UUID.randomUUID());
+    RequisitionLine otherProductLine =
+        createTestRequisitionLine(otherProduct, 10, null, requisition);
+    requisition.getRequisitionLines().add(otherProductLine);
+
+    Requisition earliestRequisition = createTestRequisition(requisition.getFacility(), period,
+        program, RequisitionStatus.APPROVED);
+    Requisition laterRequisition = createTestRequisition(requisition.getFacility(), period,
+        program, RequisitionStatus.APPROVED);
+    when(requisitionLineRepository
+        .searchRequisitionLines(requisition.getFacility(), requisition.getProgram(), period))
+        .thenReturn(Arrays.asList(
+            createTestRequisitionLine(requisitionLine.getProduct(), 10, 5, earliestRequisition),
+            createTestRequisitionLine(requisitionLine.getProduct(), 10, 7, laterRequisition),
+            createTestRequisitionLine(otherProduct, 10, 9, laterRequisition)));
+
+    requisitionLineService.initiateRequisitionLineFields(requisition);
+
+    assertEquals(Integer.valueOf(5), requisitionLine.getBeginningBalance());
+    assertEquals(Integer.valueOf(0), otherProductLine.getBeginningBalance());
+  }
+
+  @Test
+  public void shouldInitiateBeginningBalanceToZeroIfProductWasNotInPreviousPeriod() {
+    setBeginningBalanceDisplayed();
+
+    Product product = new Product();
+    product.setId(UUID.randomUUID());
+    RequisitionLine newProductLine = createTestRequisitionLine(product, 10, null, requisition);
+    requisition.getRequisitionLines().add(newProductLine);
+
+    requisitionLineService.initiateRequisitionLineFields(requisition);
+
+    assertEquals(Integer.valueOf(0), newProductLine.getBeginningBalance());
+  }
+
+  @Test
+  public void shouldInitiateBeginningBalanceToZeroIfThereIsNoPreviousPeriod() {
+    setBeginningBalanceDisplayed();
+
+    when(periodService.findPreviousPeriod(any(), any())).thenReturn(null);
+
+    requisitionLineService.initiateRequisitionLineFields(requisition);
+
+    assertEquals(Integer.valueOf(0), requisitionLine.getBeginningBalance());
+    verify(requisitionLineRepository, never()).searchRequisitionLines(any(), any(), any());
+  }
+
+  @Test
+  public void shouldResetBeginningBalanceToZeroIfThereIsNoPreviousPeriod()
+      throws RequisitionException {
+    HashMap<String, RequisitionTemplateColumn> requisitionTemplateColumnHashMap = new HashMap<>();
+
+    requisitionTemplateColumnHashMap.put(BEGINNING_BALANCE_FIELD, new RequisitionTemplateColumn(
+        BEGINNING_BALANCE_FIELD, BEGINNING_BALANCE_FIELD, 1, true, true, true, false, SOURCE));
+
+    requisitionTemplate.setColumnsMap(requisitionTemplateColumnHashMap);
+    requisitionLine.setBeginningBalance(222);
+
+    when(periodService.findPreviousPeriod(any(), any())).thenReturn(null);
+
+    requisitionLineService.save(requisition, requisitionLine);
+
+    assertEquals(Integer.valueOf(0), requisitionLine.getBeginningBalance());
+  }
+
   @Test
   public void shouldFindRequisitionLineIfItExists() {
     List<RequisitionLine> receivedRequisitionLines = requisitionLineService.searchRequisitionLines(
@@ -184,10 +294,21 @@ public class RequisitionLineServiceTest {
     assertEquals(requisitionLine, receivedRequisitionLines.get(0));
   }
 
+  private void setBeginningBalanceDisplayed() {
+    HashMap<String, RequisitionTemplateColumn> requisitionTemplateColumnHashMap = new HashMap<>();
+
+    requisitionTemplateColumnHashMap.put(BEGINNING_BALANCE_FIELD, new RequisitionTemplateColumn(
+        BEGINNING_BALANCE_FIELD, BEGINNING_BALANCE_FIELD, 1, true, false, true, true, SOURCE));
+
+    requisitionTemplate.setColumnsMap(requisitionTemplateColumnHashMap);
+  }
+
   private void generateInstances() {
     requisition = createTestRequisition(mock(Facility.class), period, program,
         RequisitionStatus.INITIATED);
-    requisitionLine = createTestRequisitionLine(mock(Product.class), 10, 20, requisition);
+    Product product = new Product();
+    product.setId(UUID.randomUUID());
+    requisitionLine = createTestRequisitionLine(product, 10, 20, requisition);
 
     requisition.setRequisitionLines(new ArrayList<>(Arrays.asList(requisitionLine)));
     requisitionTemplate = new RequisitionTemplate();
@@ -222,8 +343,8 @@ public class RequisitionLineServiceTest {
         .searchRequisitionTemplates(program))
         .thenReturn(Arrays.asList(requisitionTemplate));
     when(periodService
-        .searchPeriods(any(), any()))
-        .thenReturn(Arrays.asList(period));
+        .findPreviousPeriod(any(), any()))
+        .thenReturn(period);
     when(requisitionService
         .searchRequisitions(requisition.getFacility(), requisition.getProgram(),
             null,null, period, null, null))
@@ -231,5 +352,8 @@ public class RequisitionLineServiceTest {
     when(requisitionLineRepository
         .searchRequisitionLines(eq(requisition), any()))
         .thenReturn(Arrays.asList(requisitionLine));
+    when(requisitionLineRepository
+        .searchRequisitionLines(requisition.getFacility(), requisition.getProgram(), period))
+        .thenReturn(Arrays.asList(requisitionLine));
   }
 }
@@ -9,6 +9,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
 import org.openlmis.hierarchyandsupervision.domain.User;
 import org.openlmis.hierarchyandsupervision.repository.UserRepository;
+import org.openlmis.hierarchyandsupervision.service.SupervisoryNodeService;
 import org.openlmis.referencedata.domain.Facility;
 import org.openlmis.referencedata.domain.ProcessingPeriod;
 import org.openlmis.referencedata.domain.Program;
@@ -16,20 +17,30 @@ import org.openlmis.requisition.domain.Requisition;
 import org.openlmis.requisition.domain.RequisitionLine;
 import org.openlmis.requisition.domain.RequisitionStatus;
 import org.openlmis.requisition.exception.RequisitionException;
-import org.openlmis.requisition.repository.RequisitionLineRepository;
+import org.openlmis.requisition.exception.RequisitionNotFoundException;
 import org.openlmis.requisition.repository.RequisitionRepository;
 import org.openlmis.settings.service.ConfigurationSettingService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,15 +56,15 @@ public class RequisitionServiceTest {
   @Mock
   private RequisitionLineService requisitionLineService;
 
-  @Mock
-  private RequisitionLineRepository requisitionLineRepository;
-
   @Mock
   private ConfigurationSettingService configurationSettingService;
 
   @Mock
   private RequisitionRepository requisitionRepository;
 
+  @Mock
+  private SupervisoryNodeService supervisoryNodeService;
+
   @InjectMocks
   private RequisitionService requisitionService;
 
@@ -138,21 +149,42 @@ public class RequisitionServiceTest {
   @Test
   public void shouldGetAuthorizedRequisitionsIfSupervisoryNodeProvided() {
     SupervisoryNode supervisoryNode = mock(SupervisoryNode.class);
+    Set<UUID> supervisoryNodeIds = Collections.singleton(UUID.randomUUID());
 
     requisition.setStatus(RequisitionStatus.AUTHORIZED);
     requisition.setSupervisoryNode(supervisoryNode);
 
+    when(supervisoryNodeService.getSubtreeIds(supervisoryNode)).thenReturn(supervisoryNodeIds);
     when(requisitionRepository
-        .searchRequisitions(null, null, null, null, null, supervisoryNode, null))
+        .searchRequisitions(supervisoryNodeIds, RequisitionStatus.AUTHORIZED, null))
         .thenReturn(Arrays.asList(requisition));
 
     List<Requisition> authorizedRequisitions =
-        requisitionService.getAuthorizedRequisitions(supervisoryNode);
+        requisitionService.getAuthorizedRequisitions(supervisoryNode, null);
     List<Requisition> expected = Arrays.asList(requisition);
 
     assertEquals(expected, authorizedRequisitions);
   }
 
+  @Test
+  public void shouldGetAuthorizedRequisitionsOfWholeSupervisoryNodeSubtreeWithSingleQuery() {
+    SupervisoryNode supervisoryNode = mock(SupervisoryNode.class);
+    Set<UUID> subtreeIds = new HashSet<>();
+    for (int i = 0; i < 40; i++) {
+      subtreeIds.add(UUID.randomUUID());
+    }
+    Pageable pageable = new PageRequest(1, 10);
+
+    when(supervisoryNodeService.getSubtreeIds(supervisoryNode)).thenReturn(subtreeIds);
+
+    requisitionService.getAuthorizedRequisitions(supervisoryNode, pageable);
+
+    verify(supervisoryNodeService).getSubtreeIds(supervisoryNode);
+    verify(supervisoryNode, never()).getChildNodes();
+    verify(requisitionRepository).searchRequisitions(
+        subtreeIds, RequisitionStatus.AUTHORIZED, pageable);
+  }
+
   @Test
   public void shouldGetRequisitionsForApprovalIfUserHasSupervisedNode() {
     SupervisoryNode supervisoryNode = mock(SupervisoryNode.class);
@@ -167,12 +199,14 @@ public class RequisitionServiceTest {
     when(userRepository
             .findOne(userId))
             .thenReturn(user);
+    Set<UUID> supervisoryNodeIds = Collections.singleton(UUID.randomUUID());
+    when(supervisoryNodeService.getSubtreeIds(supervisoryNode)).thenReturn(supervisoryNodeIds);
     when(requisitionRepository
-            .searchRequisitions(null, null, null, null, null, supervisoryNode, null))
+            .searchRequisitions(supervisoryNodeIds, RequisitionStatus.AUTHORIZED, null))
             .thenReturn(Arrays.asList(requisition));
 
     List<Requisition> requisitionsForApproval =
-        requisitionService.getRequisitionsForApproval(userId);
+        requisitionService.getRequisitionsForApproval(userId, null);
 
     assertEquals(1, requisitionsForApproval.size());
     assertEquals(requisitionsForApproval.get(0), requisition);
@@ -189,6 +223,20 @@ public class RequisitionServiceTest {
     assertEquals(initiatedRequisition.getStatus(), RequisitionStatus.INITIATED);
   }
 
+  @Test
+  public void shouldInsertRequisitionWithLinesAtOnceWhenInitiating()
+      throws RequisitionException {
+    requisition.setStatus(null);
+    when(requisitionRepository
+            .findOne(requisition.getId()))
+            .thenReturn(null);
+    requisitionService.initiateRequisition(requisition);
+
+    verify(requisitionLineService).initiateRequisitionLineFields(requisition);
+    verify(requisitionRepository).insertRequisition(requisition);
+    verify(requisitionRepository, never()).save(requisition);
+  }
+
   @Test(expected = RequisitionException.class)
   public void shouldThrowExceptionWhenInitiatingEmptyRequisition()
           throws RequisitionException {
@@ -238,11 +286,34 @@ public class RequisitionServiceTest {
   }
 
   @Test
-  public void shouldReleaseRequisitionsAsOrder() {
+  public void shouldReleaseRequisitionsAsOrder() throws RequisitionException {
     List<Requisition> requisitions = Arrays.asList(requisition);
+    when(requisitionRepository.searchRequisitionsWithLines(
+        Collections.singleton(requisition.getId())))
+        .thenReturn(requisitions);
     List<Requisition> expectedRequisitions = requisitionService
         .releaseRequisitionsAsOrder(requisitions);
     assertEquals(RequisitionStatus.RELEASED, expectedRequisitions.get(0).getStatus());
+    verify(requisitionRepository, never()).findOne(any(UUID.class));
+    verify(requisitionRepository, never()).save(any(Requisition.class));
+  }
+
+  @Test
+  public void shouldNotReleaseAnyRequisitionIfOneDoesNotExist() throws RequisitionException {
+    Requisition missingRequisition = new Requisition();
+    missingRequisition.setId(UUID.randomUUID());
+    when(requisitionRepository.searchRequisitionsWithLines(anyCollection()))
+        .thenReturn(Arrays.asList(requisition));
+
+    try {
+      requisitionService.releaseRequisitionsAsOrder(
+          Arrays.asList(requisition, missingRequisition));
+      fail("Requisition which does not exist should be rejected");
+    } catch (RequisitionNotFoundException ex) {
+      assertTrue(ex.getMessage().contains(missingRequisition.getId().toString()));
+    }
+
+    assertNotEquals(RequisitionStatus.RELEASED, requisition.getStatus());
   }
 
   @Test
@@ -312,5 +383,8 @@ public class RequisitionServiceTest {
     when(requisitionRepository
             .save(requisition))
             .thenReturn(requisition);
+    when(requisitionRepository
+            .insertRequisition(requisition))
+            .thenReturn(requisition);
   }
 }
@@ -0,0 +1,82 @@
+package org.openlmis.requisition.service;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
+import org.openlmis.hierarchyandsupervision.domain.User;
+import org.openlmis.hierarchyandsupervision.repository.UserRepository;
+import org.openlmis.hierarchyandsupervision.service.SupervisoryNodeService;
+import org.openlmis.requisition.domain.RequisitionStatus;
+import org.openlmis.requisition.repository.RequisitionRepository;
+import org.openlmis.requisition.utils.RequisitionSummary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequisitionSummaryServiceTest {
+
+  @Mock
+  private RequisitionRepository requisitionRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private SupervisoryNodeService supervisoryNodeService;
+
+  @InjectMocks
+  private RequisitionSummaryService requisitionSummaryService;
+
+  @Test
+  public void shouldGetSummariesOfRequisitionsForApprovalFromSupervisoryNodeSubtree() {
+    SupervisoryNode supervisoryNode = mock(SupervisoryNode.class);
+    User user = mock(User.class);
+    UUID userId = UUID.randomUUID();
+    Set<UUID> supervisoryNodeIds = Collections.singleton(UUID.randomUUID());
+    RequisitionSummary summary = new RequisitionSummary();
+    Pageable pageable = new PageRequest(0, 10);
+
+    when(user.getSupervisedNode()).thenReturn(supervisoryNode);
+    when(userRepository.findOne(userId)).thenReturn(user);
+    when(supervisoryNodeService.getSubtreeIds(supervisoryNode)).thenReturn(supervisoryNodeIds);
+    when(requisitionRepository
+        .searchRequisitionSummaries(supervisoryNodeIds, RequisitionStatus.AUTHORIZED, pageable))
+        .thenReturn(Arrays.asList(summary));
+
+    List<RequisitionSummary> summaries =
+        requisitionSummaryService.getRequisitionSummariesForApproval(userId, pageable);
+
+    assertEquals(Arrays.asList(summary), summaries);
+  }
+
+  @Test
+  public void shouldNotGetSummariesOfRequisitionsForApprovalIfUserSupervisesNoNode() {
+    User user = mock(User.class);
+    UUID userId = UUID.randomUUID();
+    when(userRepository.findOne(userId)).thenReturn(user);
+
+    List<RequisitionSummary> summaries =
+        requisitionSummaryService.getRequisitionSummariesForApproval(userId, null);
+
+    assertTrue(summaries.isEmpty());
+    verify(requisitionRepository, never()).searchRequisitionSummaries(
+        any(Set.class), any(RequisitionStatus.class), any(Pageable.class));
+  }
+}
@@ -4,24 +4,38 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.cache.LruCache;
 import org.openlmis.referencedata.domain.Program;
 import org.openlmis.requisition.domain.RequisitionTemplate;
+import org.openlmis.requisition.domain.RequisitionTemplateColumn;
+import org.openlmis.requisition.domain.SourceType;
 import org.openlmis.requisition.repository.RequisitionTemplateRepository;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RequisitionTemplateServiceTest {
 
+  private static final String BEGINNING_BALANCE_FIELD = "beginningBalance";
+
   @Mock
   private RequisitionTemplateRepository requisitionTemplateRepository;
 
+  @Spy
+  private LruCache<UUID, List<RequisitionTemplate>> requisitionTemplateCache =
+      new LruCache<>("requisitionTemplates", 10);
+
   @InjectMocks
   private RequisitionTemplateService requisitionTemplateService;
 
@@ -40,4 +54,93 @@ public class RequisitionTemplateServiceTest {
     assertEquals(1, receivedRequisitionTemplates.size());
     assertEquals(requisitionTemplate, receivedRequisitionTemplates.get(0));
   }
+
+  @Test
+  public void shouldLoadRequisitionTemplatesOfProgramOnlyOnce() {
+    Program program = generateProgram();
+    RequisitionTemplate requisitionTemplate = generateRequisitionTemplate(program);
+
+    when(requisitionTemplateRepository
+            .searchRequisitionTemplates(program))
+            .thenReturn(Arrays.asList(requisitionTemplate));
+
+    requisitionTemplateService.searchRequisitionTemplates(program);
+    List<RequisitionTemplate> receivedRequisitionTemplates =
+            requisitionTemplateService.searchRequisitionTemplates(program);
+
+    verify(requisitionTemplateRepository, times(1)).searchRequisitionTemplates(program);
+    assertEquals(1, receivedRequisitionTemplates.size());
+    assertNotSame(requisitionTemplate, receivedRequisitionTemplates.get(0));
+    assertEquals(requisitionTemplate.getId(), receivedRequisitionTemplates.get(0).getId());
+    assertEquals(requisitionTemplate.getColumnsMap().get(BEGINNING_BALANCE_FIELD).getLabel(),
+        receivedRequisitionTemplates.get(0).getColumnsMap().get(BEGINNING_BALANCE_FIELD)
+            .getLabel());
+  }
+
+  @Test
+  public void shouldReloadRequisitionTemplatesOfProgramAfterEviction() {
+    Program program = generateProgram();
+    RequisitionTemplate requisitionTemplate = generateRequisitionTemplate(program);
+
+    when(requisitionTemplateRepository
+            .searchRequisitionTemplates(program))
+            .thenReturn(Arrays.asList(requisitionTemplate));
+
+    requisitionTemplateService.searchRequisitionTemplates(program);
+    requisitionTemplateService.evictRequisitionTemplates(program);
+    requisitionTemplateService.searchRequisitionTemplates(program);
+
+    verify(requisitionTemplateRepository, times(2)).searchRequisitionTemplates(program);
+    assertEquals(1, requisitionTemplateCache.getStatistics().getInvalidations());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void shouldNotAllowModifyingCachedRequisitionTemplates() {
+    Program program = generateProgram();
+
+    when(requisitionTemplateRepository
+            .searchRequisitionTemplates(program))
+            .thenReturn(Arrays.asList(generateRequisitionTemplate(program)));
+
+    requisitionTemplateService.searchRequisitionTemplates(program).get(0)
+        .getColumnsMap().remove(BEGINNING_BALANCE_FIELD);
+  }
+
+  @Test
+  public void shouldNotShareCachedColumnsAndProgramBetweenCallers() {
+    Program program = generateProgram();
+    program.setName("name");
+
+    when(requisitionTemplateRepository
+            .searchRequisitionTemplates(program))
+            .thenReturn(Arrays.asList(generateRequisitionTemplate(program)));
+
+    RequisitionTemplate first = requisitionTemplateService.searchRequisitionTemplates(program)
+        .get(0);
+    first.getColumnsMap().get(BEGINNING_BALANCE_FIELD).setDisplayOrder(5);
+    first.getProgram().setName("changed");
+    program.setName("changed in database");
+    RequisitionTemplate second = requisitionTemplateService.searchRequisitionTemplates(program)
+        .get(0);
+
+    assertNotSame(first.getProgram(), second.getProgram());
+    assertEquals(1, second.getColumnsMap().get(BEGINNING_BALANCE_FIELD).getDisplayOrder());
+    assertEquals("name", second.getProgram().getName());
+  }
+
+  private Program generateProgram() {
+    Program program = new Program();
+    program.setId(UUID.randomUUID());
+    return program;
+  }
+
+  private RequisitionTemplate generateRequisitionTemplate(Program program) {
+    RequisitionTemplate requisitionTemplate = new RequisitionTemplate();
+    requisitionTemplate.setId(UUID.randomUUID());
+    requisitionTemplate.setProgram(program);
+    requisitionTemplate.getColumnsMap().put(BEGINNING_BALANCE_FIELD,
+        new RequisitionTemplateColumn(BEGINNING_BALANCE_FIELD, BEGINNING_BALANCE_FIELD, 1,
+            true, false, true, true, SourceType.USER_INPUT));
+    return requisitionTemplate;
+  }
 }
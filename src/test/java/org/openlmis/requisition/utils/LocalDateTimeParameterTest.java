@@ -0,0 +1,67 @@
+package org.openlmis.requisition.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openlmis.requisition.domain.Requisition;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+public class LocalDateTimeParameterTest {
+
+  private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  @Test
+  public void shouldParseCreatedDateSerializedAsTimestamp() {
+    assertRoundTrip(LocalDateTime.of(2016, 10, 17, 7, 14, 5, 123000000));
+  }
+
+  @Test
+  public void shouldParseCreatedDateSerializedWithoutSecondsAndNanos() {
+    assertRoundTrip(LocalDateTime.of(2016, 10, 17, 7, 14));
+    assertRoundTrip(LocalDateTime.of(2016, 10, 17, 7, 14, 5));
+  }
+
+  @Test
+  public void shouldParseCreatedDateSerializedAsIsoString() {
+    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    assertRoundTrip(LocalDateTime.of(2016, 10, 17, 7, 14, 5, 123000000));
+    assertRoundTrip(LocalDateTime.of(2016, 10, 17, 7, 14));
+  }
+
+  @Test
+  public void shouldParseFieldsWithoutBrackets() {
+    Assert.assertEquals(LocalDateTime.of(2016, 10, 17, 7, 14, 5, 123000000),
+        LocalDateTimeParameter.parse("2016,10,17,7,14,5,123000000"));
+  }
+
+  @Test(expected = DateTimeException.class)
+  public void shouldNotParseTooFewFields() {
+    LocalDateTimeParameter.parse("[2016,10,17]");
+  }
+
+  @Test(expected = DateTimeException.class)
+  public void shouldNotParseFieldsWhichAreNotNumbers() {
+    LocalDateTimeParameter.parse("2016,10,17,7,a");
+  }
+
+  @Test(expected = DateTimeException.class)
+  public void shouldNotParseOtherText() {
+    LocalDateTimeParameter.parse("yesterday");
+  }
+
+  private void assertRoundTrip(LocalDateTime createdDate) {
+    Requisition requisition = new Requisition();
+    requisition.setCreatedDate(createdDate);
+
+    JsonNode serialized = objectMapper.valueToTree(requisition).get("createdDate");
+    String parameter = serialized.isTextual() ? serialized.asText() : serialized.toString();
+
+    Assert.assertEquals(createdDate, LocalDateTimeParameter.parse(parameter));
+  }
+}
@@ -0,0 +1,122 @@
+package org.openlmis.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.cache.LruCache;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingTokenServicesTest {
+
+  private static final String TOKEN = "token";
+
+  @Mock
+  private ResourceServerTokenServices delegate;
+
+  private CachingTokenServices tokenServices;
+
+  @Before
+  public void setUp() {
+    tokenServices = new CachingTokenServices(delegate,
+        new LruCache<>("tokenAuthentications", 10, 60000));
+  }
+
+  @Test
+  public void shouldCheckTokenOnlyOnce() {
+    OAuth2Authentication authentication = authentication(System.currentTimeMillis() + 60000);
+    when(delegate.loadAuthentication(TOKEN)).thenReturn(authentication);
+
+    OAuth2Authentication first = tokenServices.loadAuthentication(TOKEN);
+    OAuth2Authentication second = tokenServices.loadAuthentication(TOKEN);
+
+    verify(delegate, times(1)).loadAuthentication(TOKEN);
+    assertEquals(authentication.getOAuth2Request(), second.getOAuth2Request());
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void shouldCheckTokenAgainWhenItExpired() {
+    when(delegate.loadAuthentication(TOKEN))
+        .thenReturn(authentication(System.currentTimeMillis() - 1000));
+
+    tokenServices.loadAuthentication(TOKEN);
+    tokenServices.loadAuthentication(TOKEN);
+
+    verify(delegate, times(2)).loadAuthentication(TOKEN);
+  }
+
+  @Test
+  public void shouldNotCacheInvalidToken() {
+    OAuth2Authentication authentication = authentication(System.currentTimeMillis() + 60000);
+    when(delegate.loadAuthentication(TOKEN))
+        .thenThrow(new InvalidTokenException(TOKEN))
+        .thenReturn(authentication);
+
+    try {
+      tokenServices.loadAuthentication(TOKEN);
+      fail();
+    } catch (InvalidTokenException ex) {
+      assertEquals(TOKEN, ex.getMessage());
+    }
+    OAuth2Authentication loaded = tokenServices.loadAuthentication(TOKEN);
+
+    assertEquals(authentication.getOAuth2Request(), loaded.getOAuth2Request());
+    verify(delegate, times(2)).loadAuthentication(TOKEN);
+  }
+
+  @Test
+  public void shouldCheckTokenOnceForConcurrentRequests() throws Exception {
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch loadReleased = new CountDownLatch(1);
+    OAuth2Authentication authentication = authentication(System.currentTimeMillis() + 60000);
+    when(delegate.loadAuthentication(TOKEN)).thenAnswer(invocation -> {
+      loadStarted.countDown();
+      loadReleased.await(5, TimeUnit.SECONDS);
+      return authentication;
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Future<OAuth2Authentication> first =
+          executor.submit(() -> tokenServices.loadAuthentication(TOKEN));
+      loadStarted.await(5, TimeUnit.SECONDS);
+      final Future<OAuth2Authentication> second =
+          executor.submit(() -> tokenServices.loadAuthentication(TOKEN));
+      Thread.sleep(50);
+      loadReleased.countDown();
+
+      assertEquals(authentication.getOAuth2Request(), first.get().getOAuth2Request());
+      assertEquals(authentication.getOAuth2Request(), second.get().getOAuth2Request());
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(delegate, times(1)).loadAuthentication(TOKEN);
+  }
+
+  private OAuth2Authentication authentication(long expiration) {
+    Map<String, Object> map = new HashMap<>();
+    map.put("client_id", "client");
+    map.put(ExpiringAccessTokenConverter.EXPIRATION, expiration / 1000);
+    return new ExpiringAccessTokenConverter().extractAuthentication(map);
+  }
+}
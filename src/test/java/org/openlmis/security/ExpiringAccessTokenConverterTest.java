@@ -0,0 +1,41 @@
+package org.openlmis.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ExpiringAccessTokenConverterTest {
+
+  private static final String CLIENT_ID = "client_id";
+  private static final String CLIENT = "client";
+
+  private ExpiringAccessTokenConverter converter = new ExpiringAccessTokenConverter();
+
+  @Test
+  public void shouldKeepExpirationOfToken() {
+    Map<String, Object> map = new HashMap<>();
+    map.put(CLIENT_ID, CLIENT);
+    map.put(ExpiringAccessTokenConverter.EXPIRATION, 1500000000);
+
+    OAuth2Authentication authentication = converter.extractAuthentication(map);
+
+    assertEquals(CLIENT, authentication.getOAuth2Request().getClientId());
+    assertEquals(Long.valueOf(1500000000000L),
+        ExpiringAccessTokenConverter.getExpiration(authentication));
+  }
+
+  @Test
+  public void shouldReturnNullExpirationWhenTokenHasNone() {
+    Map<String, Object> map = new HashMap<>();
+    map.put(CLIENT_ID, CLIENT);
+
+    OAuth2Authentication authentication = converter.extractAuthentication(map);
+
+    assertNull(ExpiringAccessTokenConverter.getExpiration(authentication));
+  }
+}
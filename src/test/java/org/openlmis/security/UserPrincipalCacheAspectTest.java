@@ -0,0 +1,74 @@
+package org.openlmis.security;
+
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.hierarchyandsupervision.domain.User;
+import org.openlmis.hierarchyandsupervision.repository.UserRepository;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UserPrincipalCacheAspectTest {
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private UserPrincipalService userPrincipalService;
+
+  @InjectMocks
+  private UserPrincipalCacheAspect aspect;
+
+  private UserRepository repository;
+  private User user;
+
+  @Before
+  public void setUp() {
+    AspectJProxyFactory factory = new AspectJProxyFactory(userRepository);
+    factory.addAspect(aspect);
+    repository = factory.getProxy();
+
+    user = new User();
+    user.setId(UUID.randomUUID());
+  }
+
+  @Test
+  public void shouldEvictPrincipalOfSavedUser() {
+    repository.save(user);
+
+    verify(userPrincipalService).evictPrincipal(user.getId());
+  }
+
+  @Test
+  public void shouldEvictPrincipalsOfSavedUsers() {
+    User other = new User();
+    other.setId(UUID.randomUUID());
+
+    repository.save(Arrays.asList(user, other));
+
+    verify(userPrincipalService).evictPrincipal(user.getId());
+    verify(userPrincipalService).evictPrincipal(other.getId());
+  }
+
+  @Test
+  public void shouldEvictPrincipalOfUserDeletedById() {
+    repository.delete(user.getId());
+
+    verify(userPrincipalService).evictPrincipal(user.getId());
+  }
+
+  @Test
+  public void shouldEvictAllPrincipalsWhenAllUsersAreDeleted() {
+    repository.deleteAll();
+
+    verify(userPrincipalService).evictAllPrincipals();
+  }
+}
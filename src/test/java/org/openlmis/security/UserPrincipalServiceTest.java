@@ -0,0 +1,153 @@
+package org.openlmis.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.cache.LruCache;
+import org.openlmis.hierarchyandsupervision.domain.Role;
+import org.openlmis.hierarchyandsupervision.domain.SupervisoryNode;
+import org.openlmis.hierarchyandsupervision.domain.User;
+import org.openlmis.hierarchyandsupervision.repository.UserRepository;
+import org.openlmis.referencedata.domain.Facility;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.UUID;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UserPrincipalServiceTest {
+
+  private static final String USERNAME = "admin";
+
+  @Mock
+  private UserRepository userRepository;
+
+  @InjectMocks
+  private UserPrincipalService userPrincipalService;
+
+  private LruCache<String, OAuth2Authentication> tokenAuthenticationCache;
+  private User user;
+
+  @Before
+  public void setUp() {
+    tokenAuthenticationCache = new LruCache<>("tokenAuthentications", 10);
+    ReflectionTestUtils.setField(userPrincipalService, "userPrincipalCache",
+        new LruCache<>("userPrincipals", 10));
+    ReflectionTestUtils.setField(userPrincipalService, "tokenAuthenticationCache",
+        tokenAuthenticationCache);
+
+    Facility facility = new Facility();
+    facility.setId(UUID.randomUUID());
+    SupervisoryNode node = new SupervisoryNode();
+    node.setId(UUID.randomUUID());
+    Role role = new Role();
+    role.setId(UUID.randomUUID());
+    user = new User();
+    user.setId(UUID.randomUUID());
+    user.setUsername(USERNAME);
+    user.setHomeFacility(facility);
+    user.setSupervisedNode(node);
+    user.setRoles(Collections.singletonList(role));
+    when(userRepository.findOneWithRoles(user.getId())).thenReturn(user);
+  }
+
+  @Test
+  public void shouldLoadPrincipalOfUserOnlyOnce() {
+    userPrincipalService.getPrincipal(user.getId());
+    UserPrincipal principal = userPrincipalService.getPrincipal(user.getId());
+
+    verify(userRepository, times(1)).findOneWithRoles(user.getId());
+    assertEquals(user.getId(), principal.getUserId());
+    assertEquals(USERNAME, principal.getName());
+    assertEquals(user.getHomeFacility().getId(), principal.getHomeFacilityId());
+    assertEquals(user.getSupervisedNode().getId(), principal.getSupervisedNodeId());
+    assertEquals(Collections.singleton(user.getRoles().get(0).getId()), principal.getRoleIds());
+  }
+
+  @Test
+  public void shouldEvictPrincipalAndTokensOfUser() {
+    UserPrincipal principal = userPrincipalService.getPrincipal(user.getId());
+    tokenAuthenticationCache.put("user", authentication(principal));
+    tokenAuthenticationCache.put("other", authentication(UserPrincipal.of("other")));
+
+    userPrincipalService.evictPrincipal(user.getId());
+    userPrincipalService.getPrincipal(user.getId());
+
+    verify(userRepository, times(2)).findOneWithRoles(user.getId());
+    assertNull(tokenAuthenticationCache.get("user"));
+    assertEquals(1, tokenAuthenticationCache.size());
+  }
+
+  @Test
+  public void shouldNotCachePrincipalLoadedWhileUserWasEvicted() {
+    when(userRepository.findOneWithRoles(user.getId())).thenAnswer(invocation -> {
+      // the user is changed and evicted while its old version is being loaded
+      userPrincipalService.evictPrincipal(user.getId());
+      return user;
+    }).thenReturn(user);
+
+    userPrincipalService.getPrincipal(user.getId());
+    userPrincipalService.getPrincipal(user.getId());
+    userPrincipalService.getPrincipal(user.getId());
+
+    verify(userRepository, times(2)).findOneWithRoles(user.getId());
+  }
+
+  @Test
+  public void shouldEvictPrincipalAgainAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      userPrincipalService.evictPrincipal(user.getId());
+      // the old user is read again before the change is committed
+      userPrincipalService.getPrincipal(user.getId());
+
+      for (TransactionSynchronization synchronization
+          : TransactionSynchronizationManager.getSynchronizations()) {
+        synchronization.afterCommit();
+      }
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    userPrincipalService.getPrincipal(user.getId());
+
+    verify(userRepository, times(2)).findOneWithRoles(user.getId());
+  }
+
+  @Test
+  public void shouldEvictAllPrincipalsAndTheirTokens() {
+    UserPrincipal principal = userPrincipalService.getPrincipal(user.getId());
+    tokenAuthenticationCache.put("user", authentication(principal));
+
+    userPrincipalService.evictAllPrincipals();
+    userPrincipalService.getPrincipal(user.getId());
+
+    verify(userRepository, times(2)).findOneWithRoles(user.getId());
+    assertEquals(0, tokenAuthenticationCache.size());
+  }
+
+  @Test
+  public void shouldNotLoadUserOfPrincipalWithoutId() {
+    assertNull(userPrincipalService.getUser(UserPrincipal.of(USERNAME)));
+  }
+
+  private OAuth2Authentication authentication(UserPrincipal principal) {
+    OAuth2Request request = new OAuth2Request(null, "client", null, true, null, null, null,
+        null, null);
+    return new OAuth2Authentication(request,
+        new UsernamePasswordAuthenticationToken(principal, null, null));
+  }
+}
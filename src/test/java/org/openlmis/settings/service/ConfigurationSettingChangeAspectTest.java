@@ -0,0 +1,87 @@
+package org.openlmis.settings.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openlmis.settings.domain.ConfigurationSetting;
+import org.openlmis.settings.repository.ConfigurationSettingRepository;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigurationSettingChangeAspectTest {
+
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+  private static final String CHANGED = "changed";
+
+  @Mock
+  private ConfigurationSettingRepository configurationSettingRepository;
+
+  @InjectMocks
+  private ConfigurationSettingService configurationSettingService;
+
+  private ConfigurationSettingRepository repository;
+
+  @Before
+  public void setUp() {
+    ConfigurationSettingChangeAspect aspect = new ConfigurationSettingChangeAspect();
+    ReflectionTestUtils.setField(aspect, "configurationSettingService",
+        configurationSettingService);
+    AspectJProxyFactory factory = new AspectJProxyFactory(configurationSettingRepository);
+    factory.addAspect(aspect);
+    repository = factory.getProxy();
+
+    mockSettings(VALUE);
+  }
+
+  @After
+  public void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  public void shouldMakeSavedSettingVisibleRightAfterCommit() {
+    assertEquals(VALUE, configurationSettingService.getStringValue(KEY, null));
+    TransactionSynchronizationManager.initSynchronization();
+
+    repository.save(mockSettings(CHANGED));
+    assertEquals(VALUE, configurationSettingService.getStringValue(KEY, null));
+
+    for (TransactionSynchronization synchronization
+        : TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCommit();
+    }
+    assertEquals(CHANGED, configurationSettingService.getStringValue(KEY, null));
+  }
+
+  @Test
+  public void shouldMakeDeletedSettingInvisibleWithoutTransaction() {
+    assertEquals(VALUE, configurationSettingService.getStringValue(KEY, null));
+    when(configurationSettingRepository.findAll()).thenReturn(Collections.emptyList());
+
+    repository.delete(KEY);
+
+    assertEquals("default", configurationSettingService.getStringValue(KEY, "default"));
+  }
+
+  private ConfigurationSetting mockSettings(String value) {
+    ConfigurationSetting setting = new ConfigurationSetting(KEY, value);
+    when(configurationSettingRepository.findAll())
+        .thenReturn(Collections.singletonList(setting));
+    return setting;
+  }
+}
@@ -10,9 +10,19 @@ import org.openlmis.settings.domain.ConfigurationSetting;
 import org.openlmis.settings.exception.ConfigurationSettingException;
 import org.openlmis.settings.repository.ConfigurationSettingRepository;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+
+@SuppressWarnings("PMD.TooManyMethods")
 @RunWith(MockitoJUnitRunner.class)
 public class ConfigurationSettingServiceTest {
 
@@ -22,6 +32,12 @@ public class ConfigurationSettingServiceTest {
   @InjectMocks
   private ConfigurationSettingService configurationSettingService;
 
+  private static final String KEY = "key";
+  private static final String EMPTY_KEY = "testEmpty";
+  private static final String INT_KEY = "int";
+  private static final String VALUE = "value";
+  private static final String CHANGED = "changed";
+
   private ConfigurationSetting configurationSetting;
 
   @Before
@@ -32,29 +48,45 @@ public class ConfigurationSettingServiceTest {
 
   @Test
   public void shouldGetConfigurationSettingByKeyIfKeyExists() throws ConfigurationSettingException {
-    assertTrue(configurationSettingService.getByKey("key").equals(configurationSetting));
+    ConfigurationSetting setting = configurationSettingService.getByKey(KEY);
+
+    assertEquals(configurationSetting.getKey(), setting.getKey());
+    assertEquals(configurationSetting.getValue(), setting.getValue());
+  }
+
+  @Test
+  public void shouldNotChangeSettingsThroughReturnedOrLoadedSetting()
+      throws ConfigurationSettingException {
+    ConfigurationSetting setting = configurationSettingService.getByKey(KEY);
+    assertNotSame(setting, configurationSettingService.getByKey(KEY));
+
+    setting.setValue(CHANGED);
+    configurationSetting.setValue(CHANGED);
+
+    assertEquals(VALUE, configurationSettingService.getStringValue(KEY));
+    assertEquals(VALUE, configurationSettingService.getByKey(KEY).getValue());
   }
 
   @Test(expected = ConfigurationSettingException.class)
   public void shouldGetConfigurationSettingByKeyIfDoesNotKeyExists()
       throws ConfigurationSettingException {
-    configurationSettingService.getByKey("testEmpty");
+    configurationSettingService.getByKey(EMPTY_KEY);
   }
 
   @Test
   public void shouldGetValueIfKeyExists() throws ConfigurationSettingException {
-    assertTrue(configurationSettingService.getStringValue("key").equals("value"));
+    assertTrue(configurationSettingService.getStringValue(KEY).equals(VALUE));
   }
 
   @Test(expected = ConfigurationSettingException.class)
   public void shouldThrowExceptionIfKeyDoesNotExists() throws ConfigurationSettingException {
-    configurationSettingService.getStringValue("testEmpty");
+    configurationSettingService.getStringValue(EMPTY_KEY);
   }
 
   @Test
   public void shouldCatchExceptionAndReturnFalseIfKeyDoesNotExists()
           throws ConfigurationSettingException {
-    assertTrue(configurationSettingService.getBoolValue("testEmpty").equals(Boolean.FALSE));
+    assertTrue(configurationSettingService.getBoolValue(EMPTY_KEY).equals(Boolean.FALSE));
   }
 
   @Test
@@ -62,9 +94,8 @@ public class ConfigurationSettingServiceTest {
     configurationSetting = new ConfigurationSetting();
     configurationSetting.setKey("testTrue");
     configurationSetting.setValue(Boolean.TRUE.toString());
-    when(configurationSettingRepository
-            .findOne(configurationSetting.getKey()))
-            .thenReturn(configurationSetting);
+    when(configurationSettingRepository.findAll())
+            .thenReturn(Collections.singletonList(configurationSetting));
     assertTrue(configurationSettingService.getBoolValue("testTrue").equals(Boolean.TRUE));
   }
 
@@ -73,21 +104,50 @@ public class ConfigurationSettingServiceTest {
     ConfigurationSetting setting = new ConfigurationSetting();
     setting.setKey("testFalse");
     setting.setValue(Boolean.FALSE.toString());
-    when(configurationSettingRepository
-            .findOne(configurationSetting.getKey()))
-            .thenReturn(configurationSetting);
+    when(configurationSettingRepository.findAll())
+            .thenReturn(Collections.singletonList(configurationSetting));
     assertTrue(configurationSettingService.getBoolValue("testFalse").equals(Boolean.FALSE));
   }
 
+  @Test
+  public void shouldGetIntValueIfKeyExists() {
+    when(configurationSettingRepository.findAll()).thenReturn(Arrays.asList(
+        new ConfigurationSetting(INT_KEY, "42"), new ConfigurationSetting("notInt", VALUE)));
+
+    assertEquals(42, configurationSettingService.getIntValue(INT_KEY, 0));
+    assertEquals(7, configurationSettingService.getIntValue("notInt", 7));
+    assertEquals(7, configurationSettingService.getIntValue(EMPTY_KEY, 7));
+  }
+
+  @Test
+  public void shouldReadSettingsFromDatabaseOnlyOnce() throws ConfigurationSettingException {
+    configurationSettingService.getStringValue(KEY);
+    configurationSettingService.getBoolValue(EMPTY_KEY);
+    configurationSettingService.getByKey(KEY);
+
+    verify(configurationSettingRepository, times(1)).findAll();
+    verify(configurationSettingRepository, never()).findOne(anyString());
+  }
+
+  @Test
+  public void shouldGetChangedValueAfterRefresh() {
+    configurationSettingService.getStringValue(KEY, null);
+    when(configurationSettingRepository.findAll())
+        .thenReturn(Collections.singletonList(new ConfigurationSetting(KEY, CHANGED)));
+
+    configurationSettingService.refreshAfterCommit();
+
+    assertEquals(CHANGED, configurationSettingService.getStringValue(KEY, null));
+  }
+
   private void generateInstances() {
     configurationSetting = new ConfigurationSetting();
-    configurationSetting.setKey("key");
-    configurationSetting.setValue("value");
+    configurationSetting.setKey(KEY);
+    configurationSetting.setValue(VALUE);
   }
 
   private void mockRepositories() {
-    when(configurationSettingRepository
-            .findOne(configurationSetting.getKey()))
-            .thenReturn(configurationSetting);
+    when(configurationSettingRepository.findAll())
+            .thenReturn(Collections.singletonList(configurationSetting));
   }
 }